@@ -2,8 +2,12 @@ package com.tenco.bank;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // outbox relay 등 @Scheduled 작업 활성화
+@ConfigurationPropertiesScan // bank.* 설정 클래스 등록
 public class ClassBankApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,27 @@
+package com.tenco.bank.config;
+
+/**
+ * 현재 스레드의 격벽 그룹
+ * BulkheadRoutingDataSource 가 커넥션을 얻을 때 이 값을 보고 커넥션 풀을 고른다.
+ * 값이 없으면 기본 풀 (스케줄러, 배치, 격벽 지정이 없는 요청)
+ */
+public final class BulkheadContext {
+
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+	private BulkheadContext() {
+	}
+
+	public static String current() {
+		return CURRENT.get();
+	}
+
+	public static void set(String group) {
+		CURRENT.set(group);
+	}
+
+	public static void clear() {
+		CURRENT.remove();
+	}
+
+}
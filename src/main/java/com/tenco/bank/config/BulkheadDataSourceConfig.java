@@ -0,0 +1,88 @@
+package com.tenco.bank.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 격벽 그룹별 커넥션 풀 (bank.bulkhead.separate-pools=true 일 때만 동작)
+ *
+ * default : spring.datasource (스케줄러, 배치, 격벽 지정이 없는 요청)
+ * read    : bank.bulkhead.groups.read.pool-size
+ * write   : bank.bulkhead.groups.write.pool-size
+ * 모두 같은 DB 를 바라보고 풀만 나눈다. 읽기/쓰기 분리(bank.datasource.routing), 샤딩과 같이 켤 수 없다.
+ * (둘 다 dataSource 를 @Primary 로 만든다 -> 같이 켜면 시작할 때 설정 오류로 멈춘다.)
+ */
+@Configuration
+@Conditional(BulkheadDataSourceConfig.SeparatePoolsCondition.class)
+public class BulkheadDataSourceConfig {
+
+	// 함께 켤 수 없는 데이터소스 설정
+	private static final String[] CONFLICTS = { "bank.datasource.routing.enabled", "bank.sharding.enabled" };
+
+	@Bean
+	@Primary
+	DataSource dataSource(DataSourceProperties dataSourceProperties, BulkheadProperties properties) {
+		HikariDataSource defaultPool = createPool(dataSourceProperties, "bulkhead-" + BulkheadRoutingDataSource.DEFAULT);
+
+		Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+		properties.getGroups().forEach((group, config) -> {
+			HikariDataSource pool = createPool(dataSourceProperties, "bulkhead-" + group);
+			pool.setMaximumPoolSize(config.getPoolSize());
+			pools.put(group, pool);
+		});
+
+		Map<Object, Object> targets = new HashMap<>(pools);
+		targets.put(BulkheadRoutingDataSource.DEFAULT, defaultPool);
+
+		// 그룹은 컨트롤러 진입 전(인터셉터)에 정해지므로 커넥션 획득을 미룰 필요가 없다.
+		BulkheadRoutingDataSource routing = new BulkheadRoutingDataSource(pools);
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(defaultPool);
+		routing.afterPropertiesSet();
+		return routing;
+	}
+
+	private HikariDataSource createPool(DataSourceProperties dataSourceProperties, String poolName) {
+		HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		pool.setPoolName(poolName);
+		return pool;
+	}
+
+	// separate-pools=true 일 때만, 다른 데이터소스 설정과 같이 켜져 있으면 예외
+	static class SeparatePoolsCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			Environment environment = context.getEnvironment();
+			if (!environment.getProperty("bank.bulkhead.separate-pools", Boolean.class, false)) {
+				return false;
+			}
+			for (String conflict : CONFLICTS) {
+				if (environment.getProperty(conflict, Boolean.class, false)) {
+					throw new IllegalStateException(
+							"bank.bulkhead.separate-pools 는 " + conflict + " 와 같이 켤 수 없습니다.");
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
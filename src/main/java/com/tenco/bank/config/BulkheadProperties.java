@@ -0,0 +1,32 @@
+package com.tenco.bank.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 읽기/쓰기 격벽 설정 (application.yml - bank.bulkhead)
+ * 그룹 이름은 @Bulkhead 값 (read, write)
+ */
+@Data
+@ConfigurationProperties(prefix = "bank.bulkhead")
+public class BulkheadProperties {
+
+	private boolean enabled = true;
+
+	// true 면 그룹별로 커넥션 풀을 따로 만든다. (읽기/쓰기 분리, 샤딩과 같이 사용 불가)
+	private boolean separatePools;
+
+	private Map<String, Group> groups = new LinkedHashMap<>();
+
+	@Data
+	public static class Group {
+		private int maxConcurrent = 50; // 동시에 처리할 수 있는 요청 수 (서블릿 스레드 점유 상한)
+		private long maxWaitMs = 0; // 자리가 없을 때 기다리는 시간, 넘으면 503
+		private int poolSize = 10; // separate-pools 일 때 그룹 전용 커넥션 수
+	}
+
+}
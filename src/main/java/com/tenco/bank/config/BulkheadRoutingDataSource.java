@@ -0,0 +1,34 @@
+package com.tenco.bank.config;
+
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 격벽 그룹별 커넥션 풀로 보낸다. (BulkheadContext 값 기준, 없으면 기본 풀)
+ * 느린 조회 화면이 커넥션을 다 써도 이체는 자기 풀에서 커넥션을 얻는다.
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource {
+
+	public static final String DEFAULT = "default";
+
+	private final Map<String, HikariDataSource> pools;
+
+	public BulkheadRoutingDataSource(Map<String, HikariDataSource> pools) {
+		this.pools = pools;
+	}
+
+	// 그룹 전용 풀 (지표 조회용), 없으면 null
+	public HikariDataSource getPool(String group) {
+		return pools.get(group);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		String group = BulkheadContext.current();
+		return (group != null && pools.containsKey(group)) ? group : DEFAULT;
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.tenco.bank.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.tenco.bank.repository.breaker.CircuitBreakerDataSource;
+import com.tenco.bank.repository.breaker.DatabaseCircuitBreaker;
+
+/**
+ * DB 서킷 브레이커 (bank.circuit-breaker.enabled=true 일 때만 동작)
+ * 기본, 읽기/쓰기 분리, 샤딩, 격벽 풀 어느 구성이든 최종 dataSource 빈을 CircuitBreakerDataSource 로 감싼다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bank.circuit-breaker", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CircuitBreakerConfig {
+
+	// BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static + 지연 조회
+	@Bean
+	static BeanPostProcessor circuitBreakerDataSourcePostProcessor(ObjectProvider<DatabaseCircuitBreaker> circuitBreaker) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+						&& !(bean instanceof CircuitBreakerDataSource)) {
+					return new CircuitBreakerDataSource(dataSource, circuitBreaker.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.tenco.bank.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 읽기/쓰기 데이터소스 분리 (bank.datasource.routing.enabled=true 일 때만 동작)
+ *
+ * primary  : spring.datasource (쓰기, 일반 트랜잭션)
+ * replica-N: bank.datasource.routing.replicas (readOnly 트랜잭션)
+ *
+ * 로컬 테스트 : --spring.profiles.active=replica (H2 2개로 primary, replica 흉내)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bank.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+	@Bean
+	ReplicaStickiness replicaStickiness(DataSourceRoutingProperties properties) {
+		return new ReplicaStickiness(properties.getStickyMillis());
+	}
+
+	@Bean
+	@Primary
+	DataSource dataSource(DataSourceProperties primaryProperties, DataSourceRoutingProperties properties,
+			ReplicaStickiness stickiness) {
+		Map<Object, Object> targets = new HashMap<>();
+
+		HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+		targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+
+		List<DataSourceRoutingProperties.Replica> replicas = properties.getReplicas();
+		for (int i = 0; i < replicas.size(); i++) {
+			String key = ReadWriteRoutingDataSource.REPLICA_PREFIX + i;
+			targets.put(key, createReplica(key, replicas.get(i)));
+		}
+
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicas.size(), stickiness);
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+
+		// 첫 쿼리 시점까지 커넥션 획득을 미뤄야 readOnly 여부로 라우팅할 수 있다.
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	private DataSource createReplica(String poolName, DataSourceRoutingProperties.Replica replica) {
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(replica.getUrl())
+				.username(replica.getUsername())
+				.password(replica.getPassword())
+				.driverClassName(replica.getDriverClassName())
+				.build();
+		dataSource.setPoolName(poolName);
+		dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+		dataSource.setReadOnly(true);
+
+		if (!replica.getInitScripts().isEmpty()) {
+			ResourceLoader resourceLoader = new DefaultResourceLoader();
+			ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+			replica.getInitScripts().forEach(script -> populator.addScript(resourceLoader.getResource(script)));
+			// 스크립트 실행은 쓰기이므로 readOnly 커넥션이 아닌 별도 커넥션으로 실행
+			try (HikariDataSource init = DataSourceBuilder.create()
+					.type(HikariDataSource.class)
+					.url(replica.getUrl())
+					.username(replica.getUsername())
+					.password(replica.getPassword())
+					.driverClassName(replica.getDriverClassName())
+					.build()) {
+				DatabasePopulatorUtils.execute(populator, init);
+			}
+		}
+		return dataSource;
+	}
+
+}
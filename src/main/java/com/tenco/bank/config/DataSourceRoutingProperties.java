@@ -0,0 +1,36 @@
+package com.tenco.bank.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 읽기/쓰기 데이터소스 분리 설정 (application.yml - bank.datasource.routing)
+ * 쓰기(primary)는 spring.datasource 를 그대로 사용한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "bank.datasource.routing")
+public class DataSourceRoutingProperties {
+
+	private boolean enabled;
+
+	// 본인 거래 직후 이 시간 동안은 읽기도 primary 에서 (read-your-writes), 0 이면 사용 안 함
+	private long stickyMillis = 3000;
+
+	private List<Replica> replicas = new ArrayList<>();
+
+	@Data
+	public static class Replica {
+		private String url;
+		private String username;
+		private String password;
+		private String driverClassName;
+		private int maximumPoolSize = 10;
+		// 로컬 테스트용 (H2 replica 를 띄울 때 스키마, 데이터 생성 스크립트)
+		private List<String> initScripts = new ArrayList<>();
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.tenco.bank.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 대용량 테스트 데이터 생성 설정 (application-datagen.yml - bank.datagen)
+ * 건수는 scale 배수로 늘어난다. 같은 seed, scale 이면 같은 데이터가 만들어진다.
+ */
+@Data
+@ConfigurationProperties(prefix = "bank.datagen")
+public class DatasetProperties {
+
+	private boolean enabled;
+	private long seed = 42;
+	private int scale = 1;
+
+	// scale 1 기준 건수
+	private int users = 10_000;
+	private int maxAccountsPerUser = 3;
+	private int merchants = 50; // 입금이 몰리는 가맹점 계좌 수
+	private long histories = 1_000_000;
+
+	private int years = 3; // 거래내역 기간 (현재 기준 과거 N년)
+	private double zipfExponent = 1.1; // 계좌 활동 쏠림 정도 (클수록 소수 계좌에 집중)
+	private double merchantShare = 0.3; // 이체 중 가맹점으로 가는 비율
+	private String password = "1234"; // 사용자 비밀번호 (bcrypt 는 한 번만 계산), 계좌 비밀번호
+
+	private int batchSize = 5000; // JDBC batch 크기
+	private boolean exitAfter = true; // 생성 후 애플리케이션 종료
+
+}
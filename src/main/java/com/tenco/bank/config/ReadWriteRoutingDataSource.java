@@ -0,0 +1,40 @@
+package com.tenco.bank.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * @Transactional(readOnly = true) 로 시작된 트랜잭션은 replica 로, 나머지는 primary 로 보낸다.
+ *
+ * 주의 : 트랜잭션 매니저는 readOnly 표시를 하기 전에 커넥션을 먼저 얻기 때문에
+ *       반드시 LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리 시점에 라우팅되도록 해야 한다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	public static final String PRIMARY = "primary";
+	public static final String REPLICA_PREFIX = "replica-";
+
+	private final int replicaCount;
+	private final ReplicaStickiness stickiness;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReadWriteRoutingDataSource(int replicaCount, ReplicaStickiness stickiness) {
+		this.replicaCount = replicaCount;
+		this.stickiness = stickiness;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (replicaCount == 0 || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return PRIMARY;
+		}
+		if (stickiness.isCurrentUserSticky()) {
+			return PRIMARY;
+		}
+		// replica 가 여러 대면 라운드 로빈
+		return REPLICA_PREFIX + Math.floorMod(next.getAndIncrement(), replicaCount);
+	}
+
+}
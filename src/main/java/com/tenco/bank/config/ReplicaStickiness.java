@@ -0,0 +1,71 @@
+package com.tenco.bank.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.service.AccountHistoryEvent;
+import com.tenco.bank.utils.Define;
+
+/**
+ * read-your-writes
+ * 거래가 커밋되면 관련 계좌 소유자를 일정 시간 primary 에 고정한다.
+ * replica 복제 지연 때문에 방금 한 이체가 목록/상세 화면에 안 보이는 문제를 막는다.
+ */
+public class ReplicaStickiness {
+
+	private final long stickyMillis;
+	private final Map<Integer, Long> stickyUntil = new ConcurrentHashMap<>();
+
+	public ReplicaStickiness(long stickyMillis) {
+		this.stickyMillis = stickyMillis;
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onHistoryCommitted(AccountHistoryEvent event) {
+		if (stickyMillis <= 0) {
+			return;
+		}
+		long until = System.currentTimeMillis() + stickyMillis;
+		mark(event.getWithdrawAccount(), until);
+		mark(event.getDepositAccount(), until);
+	}
+
+	// 현재 요청의 로그인 사용자가 고정 시간 안에 있는지
+	public boolean isCurrentUserSticky() {
+		if (stickyMillis <= 0 || stickyUntil.isEmpty()) {
+			return false;
+		}
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return false;
+		}
+		User principal = (User) attributes.getAttribute(Define.PRINCIPAL, RequestAttributes.SCOPE_SESSION);
+		if (principal == null) {
+			return false;
+		}
+
+		Long until = stickyUntil.get(principal.getId());
+		if (until == null) {
+			return false;
+		}
+		if (until < System.currentTimeMillis()) {
+			stickyUntil.remove(principal.getId(), until);
+			return false;
+		}
+		return true;
+	}
+
+	private void mark(Account account, long until) {
+		if (account != null && account.getUserId() != null) {
+			stickyUntil.put(account.getUserId(), until);
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.tenco.bank.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.tenco.bank.repository.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 계좌 샤딩 데이터소스 (bank.sharding.enabled=true 일 때만 동작)
+ * 기존 매퍼 인터페이스는 그대로 두고 그 아래 데이터소스에서 ShardContext 로 샤드를 고른다.
+ * 읽기/쓰기 분리(bank.datasource.routing)와 같이 켤 수 없다.
+ *
+ * 로컬 테스트 : --spring.profiles.active=shard (H2 2개)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bank.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+	@Bean
+	@Primary
+	DataSource dataSource(ShardingProperties properties) {
+		List<ShardingProperties.Shard> shards = properties.getShards();
+		if (shards.isEmpty()) {
+			throw new IllegalStateException("bank.sharding.shards 설정이 없습니다.");
+		}
+
+		Map<Object, Object> targets = new HashMap<>();
+		for (int i = 0; i < shards.size(); i++) {
+			targets.put(i, createShard("shard-" + i, shards.get(i)));
+		}
+
+		ShardRoutingDataSource routing = new ShardRoutingDataSource();
+		routing.setTargetDataSources(targets);
+		routing.setDefaultTargetDataSource(targets.get(0));
+		routing.afterPropertiesSet();
+
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	private DataSource createShard(String poolName, ShardingProperties.Shard shard) {
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(shard.getUrl())
+				.username(shard.getUsername())
+				.password(shard.getPassword())
+				.driverClassName(shard.getDriverClassName())
+				.build();
+		dataSource.setPoolName(poolName);
+		dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+		if (shard.getConnectionInitSql() != null) {
+			dataSource.setConnectionInitSql(shard.getConnectionInitSql());
+		}
+
+		if (!shard.getInitScripts().isEmpty()) {
+			ResourceLoader resourceLoader = new DefaultResourceLoader();
+			ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+			shard.getInitScripts().forEach(script -> populator.addScript(resourceLoader.getResource(script)));
+			DatabasePopulatorUtils.execute(populator, dataSource);
+		}
+		return dataSource;
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.tenco.bank.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 계좌 샤딩 설정 (application.yml - bank.sharding)
+ * 샤드 순서가 샤드 번호이다. 운영 중에 순서를 바꾸거나 개수를 바꾸면 계좌 위치가 달라지므로 주의
+ */
+@Data
+@ConfigurationProperties(prefix = "bank.sharding")
+public class ShardingProperties {
+
+	private boolean enabled;
+
+	// 다른 샤드로 보내는 이체가 이 시간 이상 PENDING 이면 복구 대상 (in-doubt)
+	private long inDoubtAfterMillis = 30000;
+	private int recoveryBatchSize = 100;
+
+	private List<Shard> shards = new ArrayList<>();
+
+	@Data
+	public static class Shard {
+		private String url;
+		private String username;
+		private String password;
+		private String driverClassName;
+		private int maximumPoolSize = 10;
+		// MySQL : SET SESSION auto_increment_increment = {샤드 수}, auto_increment_offset = {샤드번호 + 1}
+		private String connectionInitSql;
+		// 로컬 테스트용 (H2 샤드 스키마 생성 스크립트)
+		private List<String> initScripts = new ArrayList<>();
+	}
+
+}
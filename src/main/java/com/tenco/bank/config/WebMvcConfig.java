@@ -8,7 +8,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.tenco.bank.handler.AdmissionInterceptor;
 import com.tenco.bank.handler.AuthInterceptor;
+import com.tenco.bank.handler.BulkheadInterceptor;
+import com.tenco.bank.handler.CircuitBreakerInterceptor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,6 +21,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
 	
 	@Autowired	// DI
 	private final AuthInterceptor authInterceptor;
+	private final CircuitBreakerInterceptor circuitBreakerInterceptor;
+	private final AdmissionInterceptor admissionInterceptor;
+	private final BulkheadInterceptor bulkheadInterceptor;
 	
 	// @RequiredArgsConstructor <- 생성자 대신 사용 가능
 	
@@ -25,7 +31,19 @@ public class WebMvcConfig implements WebMvcConfigurer {
 	@Override
 	public void addInterceptors(InterceptorRegistry registry) {
 		registry.addInterceptor(authInterceptor).addPathPatterns("/account/**")
-		.addPathPatterns("/auth/**");
+		.addPathPatterns("/auth/**")
+		.addPathPatterns("/metrics/**")
+		.addPathPatterns("/api/**");
+		
+		// DB 장애 중에는 쓰기 요청을 바로 거절
+		registry.addInterceptor(circuitBreakerInterceptor).addPathPatterns("/account/**", "/api/**");
+		
+		// 로그인 확인 다음에 입장 제어 (SSE 는 오래 열려 있는 연결이라 제외 - 자체 최대 연결 수 사용)
+		registry.addInterceptor(admissionInterceptor).addPathPatterns("/account/**", "/api/**")
+		.excludePathPatterns("/account/stream");
+		
+		// 읽기/쓰기 격벽 (@Bulkhead 가 붙은 메서드만)
+		registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/account/**", "/api/**");
 	}
 
 	@Bean // IoC 대상(싱글톤 처리)
@@ -0,0 +1,163 @@
+package com.tenco.bank.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.SessionAttribute;
+
+import com.tenco.bank.dto.ApiAccountDTO;
+import com.tenco.bank.dto.ApiDepositDTO;
+import com.tenco.bank.dto.ApiHistoryItemDTO;
+import com.tenco.bank.dto.ApiHistoryPageDTO;
+import com.tenco.bank.dto.ApiTransferDTO;
+import com.tenco.bank.dto.ApiWithdrawalDTO;
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.dto.WithdrawalDTO;
+import com.tenco.bank.handler.Bulkhead;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.service.AccountService;
+import com.tenco.bank.service.IdempotencyService;
+import com.tenco.bank.utils.Define;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 계좌 REST API (모바일, 제휴사용) - JSP 화면과 같은 서비스를 쓰고 JSON 으로 응답한다.
+ * 로그인 세션이 필요하다. (AuthInterceptor) 오류는 ApiControllerAdvice 가 ApiErrorDTO 로 내려준다.
+ * 출금, 입금, 이체는 Idempotency-Key 헤더를 주면 같은 키로 다시 보내도 한 번만 처리하고 같은 응답(204)을 준다.
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+public class AccountApiController {
+
+	private static final int MAX_PAGE_SIZE = 100;
+	private static final List<String> HISTORY_TYPES = List.of("all", "deposit", "withdrawal");
+	private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+	private final AccountService accountService;
+	private final IdempotencyService idempotencyService;
+
+	/**
+	 * 내 계좌 목록
+	 * 주소 설계 : GET http://localhost:8080/api/v1/accounts
+	 */
+	@GetMapping
+	@Bulkhead(Bulkhead.READ)
+	public List<ApiAccountDTO> list(@SessionAttribute(Define.PRINCIPAL) User principal) {
+		return accountService.readAccountListByUserId(principal.getId()).stream().map(ApiAccountDTO::of).toList();
+	}
+
+	/**
+	 * 내 계좌 단건
+	 * 주소 설계 : GET http://localhost:8080/api/v1/accounts/1
+	 */
+	@GetMapping("/{accountId}")
+	@Bulkhead(Bulkhead.READ)
+	public ApiAccountDTO detail(@PathVariable(name = "accountId") Integer accountId,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		return ApiAccountDTO.of(accountService.readOwnedAccount(accountId, principal.getId()));
+	}
+
+	/**
+	 * 거래내역 (최신순, 커서 페이징)
+	 * 주소 설계 : GET http://localhost:8080/api/v1/accounts/1/history?type=all&size=20&cursor={nextCursor}
+	 */
+	@GetMapping("/{accountId}/history")
+	@Bulkhead(Bulkhead.READ)
+	public ApiHistoryPageDTO history(@PathVariable(name = "accountId") Integer accountId,
+			@RequestParam(name = "type", defaultValue = "all") String type,
+			@RequestParam(name = "cursor", required = false) Integer cursor,
+			@RequestParam(name = "size", defaultValue = "20") int size,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		if (!HISTORY_TYPES.contains(type)) {
+			throw new DataDeliveryException(Define.INVALID_ACCESS, HttpStatus.BAD_REQUEST);
+		}
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		accountService.readOwnedAccount(accountId, principal.getId());
+
+		// 한 건 더 읽어서 다음 페이지가 있는지 판단 (count 쿼리 없음)
+		List<HistoryAccount> rows = accountService.readHistoryBeforeCursor(type, accountId, cursor, size + 1);
+		boolean hasNext = rows.size() > size;
+		List<ApiHistoryItemDTO> items = (hasNext ? rows.subList(0, size) : rows).stream().map(ApiHistoryItemDTO::of)
+				.toList();
+		return ApiHistoryPageDTO.builder().items(items).nextCursor(hasNext ? items.get(size - 1).getId() : null).build();
+	}
+
+	/**
+	 * 입금
+	 * 주소 설계 : POST http://localhost:8080/api/v1/accounts/deposit {"amount":1000,"accountNumber":"1111"}
+	 */
+	@PostMapping("/deposit")
+	@Bulkhead(Bulkhead.WRITE)
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void deposit(@RequestBody ApiDepositDTO dto,
+			@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		dto.validate();
+		DepositDTO deposit = dto.toDeposit();
+		String key = IdempotencyService.normalizeKey(idempotencyKey);
+		if (idempotencyService.replayed(principal.getId(), key,
+				IdempotencyService.fingerprint(Outbox.DEPOSIT, null, deposit.getDAccountNumber(), deposit.getAmount()))) {
+			return;
+		}
+		accountService.updateAccountDeposit(deposit, principal.getId(), key);
+	}
+
+	/**
+	 * 출금
+	 * 주소 설계 : POST http://localhost:8080/api/v1/accounts/withdrawal {"amount":1000,"accountNumber":"1111","password":"1234"}
+	 */
+	@PostMapping("/withdrawal")
+	@Bulkhead(Bulkhead.WRITE)
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void withdrawal(@RequestBody ApiWithdrawalDTO dto,
+			@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		dto.validate();
+		WithdrawalDTO withdrawal = dto.toWithdrawal();
+		String key = IdempotencyService.normalizeKey(idempotencyKey);
+		if (idempotencyService.replayed(principal.getId(), key, IdempotencyService.fingerprint(Outbox.WITHDRAWAL,
+				withdrawal.getWAccountNumber(), null, withdrawal.getAmount()))) {
+			return;
+		}
+		accountService.updateAccountWithdraw(withdrawal, principal.getId(), key);
+	}
+
+	/**
+	 * 이체
+	 * 주소 설계 : POST http://localhost:8080/api/v1/accounts/transfer
+	 * {"amount":1000,"fromAccountNumber":"1111","toAccountNumber":"2222","password":"1234"}
+	 */
+	@PostMapping("/transfer")
+	@Bulkhead(Bulkhead.WRITE)
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void transfer(@RequestBody ApiTransferDTO dto,
+			@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		TransferDTO transfer = dto.toTransfer();
+		transfer.validate();
+		String key = IdempotencyService.normalizeKey(idempotencyKey);
+		if (idempotencyService.replayed(principal.getId(), key, IdempotencyService.fingerprint(Outbox.TRANSFER,
+				transfer.getWAccountNumber(), transfer.getDAccountNumber(), transfer.getAmount()))) {
+			return;
+		}
+		accountService.updateAccountTransfer(transfer, principal.getId(), key);
+	}
+
+}
@@ -1,9 +1,21 @@
 package com.tenco.bank.controller;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,20 +23,49 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.SessionAttribute;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.tenco.bank.dto.BalanceAsOfDTO;
+import com.tenco.bank.dto.CachedReadDTO;
 import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.HistoryFragmentDTO;
+import com.tenco.bank.dto.RecipientDTO;
 import com.tenco.bank.dto.SaveDTO;
+import com.tenco.bank.dto.ScheduledTransferDTO;
 import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.dto.TransferTicketDTO;
 import com.tenco.bank.dto.WithdrawalDTO;
+import com.tenco.bank.handler.Bulkhead;
 import com.tenco.bank.handler.exception.DataDeliveryException;
 import com.tenco.bank.handler.exception.UnAuthorizedException;
 import com.tenco.bank.repository.model.Account;
 import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.model.ScheduledTransfer;
 import com.tenco.bank.repository.model.User;
+import com.tenco.bank.service.AccountImportService;
 import com.tenco.bank.service.AccountService;
+import com.tenco.bank.service.AccountStreamService;
+import com.tenco.bank.service.AccountVersionService;
+import com.tenco.bank.service.BalanceCheckpointService;
+import com.tenco.bank.service.DashboardService;
+import com.tenco.bank.service.DegradedModeService;
+import com.tenco.bank.service.HistoryFragmentCache;
+import com.tenco.bank.service.IdempotencyService;
+import com.tenco.bank.service.RecipientIndexService;
+import com.tenco.bank.utils.AccountNumber;
+import com.tenco.bank.service.ScheduledTransferService;
+import com.tenco.bank.service.TransferQueueService;
 import com.tenco.bank.utils.Define;
+import com.tenco.bank.utils.FragmentRenderer;
 
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 
@@ -33,9 +74,22 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AccountController {
 
+	private static final int MAX_RECIPIENT_SIZE = 20;
+
 	// 계좌 생성 화면 요청 DI 처리
 	private final HttpSession session;
 	private final AccountService accountService;
+	private final TransferQueueService transferQueueService;
+	private final AccountStreamService accountStreamService;
+	private final BalanceCheckpointService balanceCheckpointService;
+	private final ScheduledTransferService scheduledTransferService;
+	private final AccountImportService accountImportService;
+	private final DegradedModeService degradedModeService;
+	private final AccountVersionService accountVersionService;
+	private final HistoryFragmentCache historyFragmentCache;
+	private final IdempotencyService idempotencyService;
+	private final RecipientIndexService recipientIndexService;
+	private final DashboardService dashboardService;
 
 	/**
 	 * 계좌 생성 페이지 요청 주소 설계 : http://localhost:8080/account/save
@@ -55,19 +109,12 @@ public class AccountController {
 	 * @return 추후 계좌 목록 페이지 이동 처리
 	 */
 	@PostMapping("/save")
+	@Bulkhead(Bulkhead.WRITE)
 	public String saveProc(SaveDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
 		// 1. form 데이터 추출 (파싱전략) SaveDTO
 
 		// 3. 유효성 검사
-		if (dto.getNumber() == null || dto.getNumber().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getPassword() == null || dto.getPassword().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getBalance() == null || dto.getBalance() <= 0) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
-		}
+		dto.validate();
 
 		// 4. 서비스 호출
 		accountService.createAccount(dto, principal.getId());
@@ -76,21 +123,60 @@ public class AccountController {
 		
 	}
 
+	/**
+	 * 계좌 일괄 생성 (CSV 업로드)
+	 * 파일 형식 : number,password,balance (첫 줄 헤더 생략 가능)
+	 * 주소 설계 : http://localhost:8080/account/save/bulk
+	 * @return 줄별 처리 결과 CSV (마지막 줄에 처리 건수, 초당 처리 건수)
+	 */
+	@PostMapping("/save/bulk")
+	public void bulkSaveProc(@RequestParam(name = "file") MultipartFile file,
+			@SessionAttribute(Define.PRINCIPAL) User principal, HttpServletResponse response) throws IOException {
+
+		if (file.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_FILE, HttpStatus.BAD_REQUEST);
+		}
+
+		response.setContentType("text/csv; charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"account-import-result.csv\"");
+		try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+			accountImportService.importCsv(reader, response.getWriter(), principal.getId());
+		}
+		
+	}
+
 	/**
 	 * 계좌 목록 화면 요청 주소 설계 : http://localhost:8080/account/list , ../
 	 * 
 	 * @return
 	 */
 	@GetMapping({ "/list", "/" })
-	public String listPage(Model model, @SessionAttribute(Define.PRINCIPAL) User principal) {
+	@Bulkhead(Bulkhead.READ)
+	public String listPage(Model model, @SessionAttribute(Define.PRINCIPAL) User principal, WebRequest webRequest,
+			HttpServletResponse response) {
+
+		// 1. 지난번 응답 이후 바뀐 게 없으면 조회, 렌더링 없이 304
+		if (notModified(webRequest, response, accountVersionService.listETag(principal.getId()))) {
+			return null;
+		}
 
 		// 2. 유효성 검사
-		// 3. 서비스 호출
-		List<Account> accountList = accountService.readAccountListByUserId(principal.getId());
+		// 3. 서비스 호출 (DB 장애 시 마지막으로 조회한 목록)
+		CachedReadDTO<List<Account>> accountRead = degradedModeService.read("list:" + principal.getId(),
+				() -> accountService.readAccountListByUserId(principal.getId()));
+		if (accountRead.isStale()) {
+			model.addAttribute("staleAt", accountRead.getCachedAt());
+			response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store"); // 캐시 화면은 ETag 로 재사용하지 않게
+		}
+		List<Account> accountList = accountRead.getData();
 		if (accountList.isEmpty()) {
 			model.addAttribute("accountList", null);
 		} else {
 			model.addAttribute("accountList", accountList);
+			if (!accountRead.isStale()) {
+				// 총 잔액, 최근 거래, 이번 달 합계 (계좌별 거래내역 조회 없이 메모리 집계)
+				model.addAttribute("dashboard", dashboardService.read(principal.getId()));
+			}
 		}
 
 		// JSP 데이터를 넣어주는 방법
@@ -104,20 +190,22 @@ public class AccountController {
 	 * @return withdrawal.jsp
 	 */
 	@GetMapping("/withdrawal")
-	public String withdrawalPage() {
+	public String withdrawalPage(Model model) {
 
+		model.addAttribute("idempotencyKey", UUID.randomUUID().toString()); // 폼마다 새 키 (중복 제출, 재시도 방지)
 		return "account/withdrawal";
 		
 	}
 
 	@PostMapping("/withdrawal")
-	public String withdrawalProc(WithdrawalDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
+	@Bulkhead(Bulkhead.WRITE)
+	public String withdrawalProc(WithdrawalDTO dto,
+			@RequestParam(name = "idempotencyKey", required = false) String idempotencyKey,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
 
 		// 유효성 검사 (자바 코드를 개발) -> 스프링 부트 @Valid 라이브러리가 존재
-		if(dto.getAmount() == null) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
-		}
-		if(dto.getAmount().longValue() <= 0) {
+		// 금액 칸을 비우거나 숫자가 아니면 바인딩 단계에서 거절된다. (GlobalControllerAdvice)
+		if(dto.getAmount() <= 0) {
 			throw new DataDeliveryException(Define.W_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
 		}
 		if(dto.getWAccountPassword() == null) {
@@ -127,7 +215,13 @@ public class AccountController {
 			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
 		}
 		
-		accountService.updateAccountWithdraw(dto, principal.getId());
+		// 이미 처리된 요청을 다시 보낸 경우 (새로고침, 재시도) 처리 없이 원래 결과로
+		String key = IdempotencyService.normalizeKey(idempotencyKey);
+		if (idempotencyService.replayed(principal.getId(), key, IdempotencyService.fingerprint(Outbox.WITHDRAWAL,
+				dto.getWAccountNumber(), null, dto.getAmount()))) {
+			return "redirect:/account/list";
+		}
+		accountService.updateAccountWithdraw(dto, principal.getId(), key);
 		
 		return "redirect:/account/list";
 
@@ -138,8 +232,9 @@ public class AccountController {
 	 * @return
 	 */
 	@GetMapping("/deposit")
-	public String depositPage() {
+	public String depositPage(Model model) {
 
+		model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
 		return "account/deposit";
 		
 	}
@@ -147,17 +242,16 @@ public class AccountController {
 	
 	// 입금 처리 기능 만들기
 	@PostMapping("/deposit")
-	public String depositProc(DepositDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
+	@Bulkhead(Bulkhead.WRITE)
+	public String depositProc(DepositDTO dto,
+			@RequestParam(name = "idempotencyKey", required = false) String idempotencyKey,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
 
 		// 2. 유효성 검사
-		if(dto.getAmount() == null) {
+		if(dto.getAmount() <= 0) {
 			throw new DataDeliveryException(Define.D_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
 		}
 		
-		if(dto.getAmount().longValue() <= 0) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
-		}
-		
 		if(dto.getDAccountNumber() == null) {
 			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
 		}
@@ -166,7 +260,17 @@ public class AccountController {
 			throw new DataDeliveryException(Define.NOT_ACCOUNT_OWNER, HttpStatus.BAD_REQUEST);
 		}
 		
-		accountService.updateAccountDeposit(dto, principal.getId());
+		// 발급 계좌번호는 검사 숫자로 오타를 조회 전에 거른다.
+		if(!AccountNumber.isPlausible(dto.getDAccountNumber())) {
+			throw new DataDeliveryException(Define.CHECK_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		
+		String key = IdempotencyService.normalizeKey(idempotencyKey);
+		if (idempotencyService.replayed(principal.getId(), key, IdempotencyService.fingerprint(Outbox.DEPOSIT, null,
+				dto.getDAccountNumber(), dto.getAmount()))) {
+			return "redirect:/account/list";
+		}
+		accountService.updateAccountDeposit(dto, principal.getId(), key);
 		
 		return "redirect:/account/list";
 		
@@ -178,8 +282,9 @@ public class AccountController {
 	 * @return transfer.jsp 
 	 */
 	@GetMapping("/transfer")
-	public String transferPage() {
+	public String transferPage(Model model) {
 
+		model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
 		return "account/transfer";
 		
 	}
@@ -191,72 +296,245 @@ public class AccountController {
 	 * @return redirect:/account/list
 	 */
 	@PostMapping("/transfer")
-	public String transferProc(TransferDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
+	@Bulkhead(Bulkhead.WRITE)
+	public String transferProc(TransferDTO dto,
+			@RequestParam(name = "idempotencyKey", required = false) String idempotencyKey,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
 
 		// 2. 유효성 검사
-		if (dto.getAmount() == null) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getAmount().longValue() <= 0) {
-			throw new DataDeliveryException(Define.D_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getWAccountNumber() == null || dto.getWAccountNumber().isEmpty()) {
-			throw new DataDeliveryException("출금하실 계좌번호를 입력해주세요.", HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getDAccountNumber() == null || dto.getDAccountNumber().isEmpty()) {
-			throw new DataDeliveryException("이체하실 계좌번호를 입력해주세요.", HttpStatus.BAD_REQUEST);
-		}
-		if (dto.getPassword() == null || dto.getPassword().isEmpty()) {
-			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
+		dto.validate();
+
+		String key = IdempotencyService.normalizeKey(idempotencyKey);
+		if (idempotencyService.replayed(principal.getId(), key, IdempotencyService.fingerprint(Outbox.TRANSFER,
+				dto.getWAccountNumber(), dto.getDAccountNumber(), dto.getAmount()))) {
+			return "redirect:/account/list";
 		}
 
 		// 서비스 호출
-		accountService.updateAccountTransfer(dto, principal.getId());
+		accountService.updateAccountTransfer(dto, principal.getId(), key);
 
 		return "redirect:/account/list";
 		
 	}
 	
+	/**
+	 * 계좌 이체 비동기 접수 
+	 * 유효성 검사만 하고 바로 접수 번호(ticketId)를 돌려준다.
+	 * 실제 이체는 출금 계좌별 워커 파티션에서 순서대로 처리된다.
+	 * 주소 설계 : http://localhost:8080/account/transfer/async
+	 * @return 접수 티켓 (JSON)
+	 */
+	@ResponseBody
+	@PostMapping("/transfer/async")
+	public TransferTicketDTO transferAsyncProc(TransferDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
+		
+		dto.validate();
+		
+		return transferQueueService.submit(dto, principal.getId());
+		
+	}
+	
+	/**
+	 * 비동기 이체 처리 상태 조회
+	 * 주소 설계 : http://localhost:8080/account/transfer/ticket/{ticketId}
+	 * @return 접수 티켓 (JSON) - QUEUED, RUNNING, DONE, FAILED
+	 */
+	@ResponseBody
+	@GetMapping("/transfer/ticket/{ticketId}")
+	public TransferTicketDTO transferTicket(@PathVariable(name = "ticketId") String ticketId, 
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		
+		return transferQueueService.readTicket(ticketId, principal.getId());
+		
+	}
+	
+	/**
+	 * 예약 이체 화면 요청 (등록 폼 + 내 예약 목록)
+	 * @return scheduled.jsp
+	 */
+	@GetMapping("/scheduled")
+	public String scheduledPage(Model model, @SessionAttribute(Define.PRINCIPAL) User principal) {
+		
+		List<ScheduledTransfer> scheduledList = scheduledTransferService.readScheduledTransfers(principal.getId());
+		model.addAttribute("scheduledList", scheduledList);
+		return "account/scheduled";
+		
+	}
+	
+	/**
+	 * 예약 이체, 자동 이체 등록
+	 * 비밀번호는 등록할 때만 확인하고 실행 시점에는 확인하지 않는다.
+	 * @return redirect:/account/scheduled
+	 */
+	@PostMapping("/scheduled")
+	public String scheduledProc(ScheduledTransferDTO dto, @SessionAttribute(Define.PRINCIPAL) User principal) {
+		
+		dto.toTransfer().validate();
+		if (dto.getRunAt() == null || !dto.getRunAt().isAfter(LocalDateTime.now())) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_RUN_AT, HttpStatus.BAD_REQUEST);
+		}
+		if (dto.getIntervalDays() != null && dto.getIntervalDays() < 0) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		
+		scheduledTransferService.register(dto, principal.getId());
+		return "redirect:/account/scheduled";
+		
+	}
+	
+	/**
+	 * 예약 이체 취소
+	 * @return redirect:/account/scheduled
+	 */
+	@PostMapping("/scheduled/{id}/cancel")
+	public String scheduledCancel(@PathVariable(name = "id") Integer id, 
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		
+		scheduledTransferService.cancel(id, principal.getId());
+		return "redirect:/account/scheduled";
+		
+	}
+	
+	/**
+	 * 실시간 잔액, 거래내역 알림 (Server-Sent Events)
+	 * list.jsp, detail.jsp 에서 EventSource 로 연결한다.
+	 * 주소 설계 : http://localhost:8080/account/stream
+	 * @return text/event-stream
+	 */
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(@SessionAttribute(Define.PRINCIPAL) User principal) {
+		
+		return accountStreamService.connect(principal.getId());
+		
+	}
+	
 	/**
 	 * 계좌 상세 보기 페이지
 	 * 주소 설계 : http://localhost:8080/account/detail/${1}?type=all, deposit, withdraw
 	 * @return detail.jsp
 	 */
 	@GetMapping("/detail/{accountId}")
+	@Bulkhead(Bulkhead.READ)
 	public String detail(@PathVariable (name = "accountId") Integer accountId, 
 			@RequestParam (required = false, name = "type")String type, 
 			@RequestParam (name = "page", defaultValue = "1") int page,
 			@RequestParam (name = "size", defaultValue = "2") int size,
-			Model model) {
+			@SessionAttribute(Define.PRINCIPAL) User principal, WebRequest webRequest,
+			HttpServletRequest request, HttpServletResponse response, Model model)
+			throws ServletException, IOException {
 
 		// 2. 유효성 검사
 		List<String> vaildTypes = Arrays.asList("all", "deposit", "withdrawal");
 		if(!vaildTypes.contains(type)) {
-			throw new DataDeliveryException("유효하지 않은 접근입니다.", HttpStatus.BAD_REQUEST);
+			throw new DataDeliveryException(Define.INVALID_ACCESS, HttpStatus.BAD_REQUEST);
+		}
+		
+		// 계좌에 거래가 없었으면 count, 거래내역 조회 없이 304
+		if (notModified(webRequest, response, accountVersionService.detailETag(principal.getId(), accountId))) {
+			return null;
 		}
 		
-		// 페이지 갯수를 계산하기 위해서 총 페이지 수를 계산해줘야한다.
-		int totalRecords = accountService.countHistoryByAccountIdAndType(type, accountId);
-		int totalPages = (int)Math.ceil((double)totalRecords / size);
+		// 거래내역 표는 계좌 버전이 같으면 렌더링해 둔 조각을 그대로 쓴다. (count, 거래내역 조회, 렌더링 생략)
+		// 버전은 조회 전에 읽는다. (조회 중 커밋된 거래는 다음 요청에서 버전이 달라 다시 만든다)
+		long version = accountVersionService.accountVersion(accountId);
+		HistoryFragmentDTO fragment = historyFragmentCache.get(accountId, type, page, size, version);
+		List<CachedReadDTO<?>> reads = new ArrayList<>(3);
+		if (fragment == null) {
+			// 페이지 갯수를 계산하기 위해서 총 페이지 수를 계산해줘야한다.
+			// DB 장애 시 마지막으로 조회한 화면 데이터 (stale 표시)
+			long queryStarted = System.nanoTime();
+			String cacheKey = accountId + ":" + type + ":" + page + ":" + size;
+			CachedReadDTO<Integer> countRead = degradedModeService.read("count:" + cacheKey,
+					() -> accountService.countHistoryByAccountIdAndType(type, accountId));
+			CachedReadDTO<List<HistoryAccount>> historyRead = degradedModeService.read("history:" + cacheKey,
+					() -> accountService.readHistoryByAccountId(type, accountId, page, size));
+			long renderStarted = System.nanoTime();
+			request.setAttribute("historyList", historyRead.getData());
+			String html = FragmentRenderer.render(request, response, "/WEB-INF/view/account/historyRows.jsp");
+			fragment = new HistoryFragmentDTO(html, countRead.getData(), renderStarted - queryStarted,
+					System.nanoTime() - renderStarted);
+			reads.add(countRead);
+			reads.add(historyRead);
+			if (!countRead.isStale() && !historyRead.isStale()) {
+				historyFragmentCache.put(accountId, type, page, size, version, fragment);
+			}
+		}
+		int totalPages = (int)Math.ceil((double)fragment.getTotalRecords() / size);
 		
-		Account account = accountService.readAccountById(accountId);
-		List<HistoryAccount> historyList = accountService.readHistoryByAccountId(type, accountId, page, size);
+		CachedReadDTO<Account> accountRead = degradedModeService.read("account:" + accountId,
+				() -> accountService.readAccountById(accountId));
+		reads.add(accountRead);
+		Account account = accountRead.getData();
+		reads.stream().filter(CachedReadDTO::isStale)
+				.map(CachedReadDTO::getCachedAt).min(Comparator.naturalOrder())
+				.ifPresent(staleAt -> {
+					model.addAttribute("staleAt", staleAt);
+					response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+				});
 		
 		model.addAttribute("account", account);
-		model.addAttribute("historyList", historyList);
+		model.addAttribute("historyRows", fragment.getHtml());
 		
 		model.addAttribute("currentPage", page);
 		model.addAttribute("totalPages", totalPages);
 		model.addAttribute("type", type);
 		model.addAttribute("size", size);
 		
-		System.out.println("11111111111111111");
 		return "account/detail";
 		
 	}
 	
+	/**
+	 * 이체 입금 계좌 자동완성 (내 계좌 + 최근에 이체한 계좌, 메모리 색인)
+	 * 주소 설계 : http://localhost:8080/account/recipients?prefix=1000&size=10
+	 * @return 접두어로 시작하는 계좌번호 (JSON)
+	 */
+	@ResponseBody
+	@GetMapping("/recipients")
+	@Bulkhead(Bulkhead.READ)
+	public List<RecipientDTO> recipients(@RequestParam(name = "prefix", defaultValue = "") String prefix,
+			@RequestParam(name = "size", defaultValue = "10") int size,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		
+		if (size < 1 || size > MAX_RECIPIENT_SIZE) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		return recipientIndexService.search(principal.getId(), prefix.trim(), size);
+		
+	}
 	
-	
+	/**
+	 * 특정 시점 잔액 조회
+	 * 주소 설계 : http://localhost:8080/account/detail/1/balance?at=2024-08-01T12:00:00
+	 * @return 조회 시점 잔액 (JSON)
+	 */
+	@ResponseBody
+	@GetMapping("/detail/{accountId}/balance")
+	public BalanceAsOfDTO balanceAt(@PathVariable(name = "accountId") Integer accountId,
+			@RequestParam(name = "at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+			@SessionAttribute(Define.PRINCIPAL) User principal) {
+		
+		return balanceCheckpointService.readBalanceAt(accountId, Timestamp.valueOf(at), principal.getId());
+		
+	}
+
+	/**
+	 * 조건부 GET - If-None-Match 가 현재 ETag 와 같으면 304 를 보내고 true
+	 * 다르면 ETag 를 응답 헤더에 싣고 false (화면을 그린다)
+	 * DB 장애로 캐시 화면을 보여주는 중에는 사용하지 않는다. (버전은 메모리, 화면은 옛 캐시)
+	 */
+	private boolean notModified(WebRequest webRequest, HttpServletResponse response, String etag) {
+		if (etag == null || degradedModeService.rejectsWrites()) {
+			return false;
+		}
+		// 사용자별 화면이므로 공유 캐시에는 두지 않고, 브라우저는 매번 확인하게 한다.
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+		if (webRequest.checkNotModified(etag)) {
+			accountVersionService.recordNotModified();
+			return true;
+		}
+		accountVersionService.recordRendered();
+		return false;
+	}
 
-	
 }
@@ -19,7 +19,6 @@ public class MainController {
 	@GetMapping({"/main-page", "/index"})
 	// @ResponseBody
 	public String mainPage() {
-		System.out.println("mainPage() 호출 확인");
 		
 		// [JSP 파일 찾기 (yml 설정)] - 뷰 리졸버
 		// prefix: /WEB-INF/view
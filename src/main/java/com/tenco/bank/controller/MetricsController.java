@@ -0,0 +1,187 @@
+package com.tenco.bank.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tenco.bank.dto.AccountNumberMetricsDTO;
+import com.tenco.bank.dto.AdmissionMetricsDTO;
+import com.tenco.bank.dto.BulkheadMetricsDTO;
+import com.tenco.bank.dto.CircuitBreakerMetricsDTO;
+import com.tenco.bank.dto.ConditionalGetMetricsDTO;
+import com.tenco.bank.dto.DashboardMetricsDTO;
+import com.tenco.bank.dto.HistoryCacheMetricsDTO;
+import com.tenco.bank.dto.IdempotencyMetricsDTO;
+import com.tenco.bank.dto.InterestMetricsDTO;
+import com.tenco.bank.dto.OutboxMetricsDTO;
+import com.tenco.bank.dto.RecipientIndexMetricsDTO;
+import com.tenco.bank.dto.ScheduledTransferMetricsDTO;
+import com.tenco.bank.dto.StreamMetricsDTO;
+import com.tenco.bank.dto.TransferQueueMetricsDTO;
+import com.tenco.bank.service.AccountNumberAllocator;
+import com.tenco.bank.service.AccountStreamService;
+import com.tenco.bank.service.AccountVersionService;
+import com.tenco.bank.service.AdmissionService;
+import com.tenco.bank.service.BulkheadService;
+import com.tenco.bank.service.DashboardService;
+import com.tenco.bank.service.DegradedModeService;
+import com.tenco.bank.service.HistoryFragmentCache;
+import com.tenco.bank.service.IdempotencyService;
+import com.tenco.bank.service.InterestAccrualService;
+import com.tenco.bank.service.OutboxRelayService;
+import com.tenco.bank.service.RecipientIndexService;
+import com.tenco.bank.service.ScheduledTransferService;
+import com.tenco.bank.service.TransferQueueService;
+
+import lombok.RequiredArgsConstructor;
+
+// 운영 지표 조회용 (로그인 사용자만 - AuthInterceptor 등록)
+@RestController
+@RequestMapping("/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+	private final TransferQueueService transferQueueService;
+	private final OutboxRelayService outboxRelayService;
+	private final AccountStreamService accountStreamService;
+	private final ScheduledTransferService scheduledTransferService;
+	private final InterestAccrualService interestAccrualService;
+	private final AdmissionService admissionService;
+	private final BulkheadService bulkheadService;
+	private final DegradedModeService degradedModeService;
+	private final AccountVersionService accountVersionService;
+	private final HistoryFragmentCache historyFragmentCache;
+	private final IdempotencyService idempotencyService;
+	private final AccountNumberAllocator accountNumberAllocator;
+	private final RecipientIndexService recipientIndexService;
+	private final DashboardService dashboardService;
+
+	/**
+	 * 비동기 이체 대기열 지표
+	 * 주소 설계 : http://localhost:8080/metrics/transfer-queue
+	 */
+	@GetMapping("/transfer-queue")
+	public TransferQueueMetricsDTO transferQueue() {
+		return transferQueueService.readMetrics();
+	}
+
+	/**
+	 * outbox 구독자별 오프셋, 전달 건수
+	 * 주소 설계 : http://localhost:8080/metrics/outbox
+	 */
+	@GetMapping("/outbox")
+	public OutboxMetricsDTO outbox() {
+		return outboxRelayService.readMetrics();
+	}
+
+	/**
+	 * 실시간 알림(SSE) 연결 수, 전송 지연시간
+	 * 주소 설계 : http://localhost:8080/metrics/stream
+	 */
+	@GetMapping("/stream")
+	public StreamMetricsDTO stream() {
+		return accountStreamService.readMetrics();
+	}
+
+	/**
+	 * 예약 이체 타이밍 휠 대기 건수, 실행 결과
+	 * 주소 설계 : http://localhost:8080/metrics/scheduled-transfer
+	 */
+	@GetMapping("/scheduled-transfer")
+	public ScheduledTransferMetricsDTO scheduledTransfer() {
+		return scheduledTransferService.readMetrics();
+	}
+
+	/**
+	 * 이자 지급 배치 진행 상황 (마지막 실행)
+	 * 주소 설계 : http://localhost:8080/metrics/interest
+	 */
+	@GetMapping("/interest")
+	public InterestMetricsDTO interest() {
+		return interestAccrualService.readMetrics();
+	}
+
+	/**
+	 * 입장 제어 - 동시 처리 한도, 거절 건수
+	 * 주소 설계 : http://localhost:8080/metrics/admission
+	 */
+	@GetMapping("/admission")
+	public AdmissionMetricsDTO admission() {
+		return admissionService.readMetrics();
+	}
+
+	/**
+	 * 읽기/쓰기 격벽별 동시 처리 수, 거절 건수, 커넥션 풀 상태
+	 * 주소 설계 : http://localhost:8080/metrics/bulkhead
+	 */
+	@GetMapping("/bulkhead")
+	public List<BulkheadMetricsDTO> bulkhead() {
+		return bulkheadService.readMetrics();
+	}
+
+	/**
+	 * DB 서킷 브레이커 상태, 캐시 응답 건수
+	 * 주소 설계 : http://localhost:8080/metrics/circuit-breaker
+	 */
+	@GetMapping("/circuit-breaker")
+	public CircuitBreakerMetricsDTO circuitBreaker() {
+		return degradedModeService.readMetrics();
+	}
+
+	/**
+	 * 계좌 목록, 상세 화면 조건부 GET - 304 응답 수
+	 * 주소 설계 : http://localhost:8080/metrics/conditional-get
+	 */
+	@GetMapping("/conditional-get")
+	public ConditionalGetMetricsDTO conditionalGet() {
+		return accountVersionService.readMetrics();
+	}
+
+	/**
+	 * 거래내역 표 조각 캐시 적중률, 생략한 조회/렌더링 시간
+	 * 주소 설계 : http://localhost:8080/metrics/history-cache
+	 */
+	@GetMapping("/history-cache")
+	public HistoryCacheMetricsDTO historyCache() {
+		return historyFragmentCache.readMetrics();
+	}
+
+	/**
+	 * 출금, 입금, 이체 멱등 키 - 재시도를 처리 없이 돌려준 수
+	 * 주소 설계 : http://localhost:8080/metrics/idempotency
+	 */
+	@GetMapping("/idempotency")
+	public IdempotencyMetricsDTO idempotency() {
+		return idempotencyService.readMetrics();
+	}
+
+	/**
+	 * 계좌번호 발급 - 발급 수, 순번 예약(DB 왕복) 수
+	 * 주소 설계 : http://localhost:8080/metrics/account-number
+	 */
+	@GetMapping("/account-number")
+	public AccountNumberMetricsDTO accountNumber() {
+		return accountNumberAllocator.readMetrics();
+	}
+
+	/**
+	 * 이체 자동완성 색인 - 조회 수, 평균 조회 시간
+	 * 주소 설계 : http://localhost:8080/metrics/recipients
+	 */
+	@GetMapping("/recipients")
+	public RecipientIndexMetricsDTO recipients() {
+		return recipientIndexService.readMetrics();
+	}
+
+	/**
+	 * 계좌 목록 대시보드 - 메모리 조회 수, DB 에서 만든 수, 거래로 갱신한 수
+	 * 주소 설계 : http://localhost:8080/metrics/dashboard
+	 */
+	@GetMapping("/dashboard")
+	public DashboardMetricsDTO dashboard() {
+		return dashboardService.readMetrics();
+	}
+
+}
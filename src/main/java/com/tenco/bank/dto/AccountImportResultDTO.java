@@ -0,0 +1,22 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class AccountImportResultDTO {
+
+	private int rows; // 처리한 데이터 줄 수 (헤더, 빈 줄 제외)
+	private int created;
+	private int failed;
+	private long elapsedMs;
+	private double rowsPerSecond;
+
+}
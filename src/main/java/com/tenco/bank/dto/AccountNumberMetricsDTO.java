@@ -0,0 +1,21 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class AccountNumberMetricsDTO {
+
+	private int blockSize;
+	private long allocated; // 발급한 계좌번호 수
+	private long blocksReserved; // 순번 테이블에서 예약한 묶음 수 (DB 왕복 수)
+	private long remainingInBlock; // 현재 묶음에 남은 번호 수
+
+}
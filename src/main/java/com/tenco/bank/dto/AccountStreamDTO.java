@@ -0,0 +1,28 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// SSE 로 내려보내는 잔액 변경 + 신규 거래내역 (계좌 단위)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class AccountStreamDTO {
+
+	private Integer accountId;
+	private String number;
+	private Long balance; // 거래 후 잔액
+	private String type; // DEPOSIT, WITHDRAWAL, TRANSFER
+	private Integer historyId;
+	private Long amount;
+	private String sender;
+	private String receiver;
+	private boolean inbound; // 이 계좌 기준 입금이면 true
+	private long createdAt; // epoch ms
+
+}
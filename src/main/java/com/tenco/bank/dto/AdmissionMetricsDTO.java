@@ -0,0 +1,26 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class AdmissionMetricsDTO {
+
+	private boolean enabled;
+	private int limit; // 현재 동시 처리 한도 (응답 시간에 따라 변함)
+	private int inflight; // 처리 중인 요청 수
+	private double shortRttMs; // 최근 구간 평균 응답 시간
+	private double longRttMs; // 장기 평균 응답 시간 (기준값)
+	private long admitted;
+	private long rejectedConcurrency; // 동시 처리 한도 초과로 거절 (503)
+	private long rejectedRate; // 사용자별 쓰기 요청 속도 초과로 거절 (429)
+	private int rateLimitedUsers; // 토큰 버킷을 가진 사용자 수
+
+}
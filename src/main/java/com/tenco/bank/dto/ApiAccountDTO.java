@@ -0,0 +1,35 @@
+package com.tenco.bank.dto;
+
+import java.sql.Timestamp;
+
+import com.tenco.bank.repository.model.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// REST API 계좌 응답 (비밀번호 등 내부 필드 제외)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class ApiAccountDTO {
+
+	private Integer id;
+	private String number;
+	private long balance;
+	private Timestamp createdAt;
+
+	public static ApiAccountDTO of(Account account) {
+		return ApiAccountDTO.builder()
+				.id(account.getId())
+				.number(account.getNumber())
+				.balance(account.getBalance())
+				.createdAt(account.getCreatedAt())
+				.build();
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.tenco.bank.dto;
+
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.utils.AccountNumber;
+import com.tenco.bank.utils.Define;
+
+import lombok.Data;
+
+// REST API 입금 요청
+@Data
+public class ApiDepositDTO {
+
+	private long amount;
+	private String accountNumber; // 입금 계좌 번호
+
+	public void validate() {
+		if (this.amount <= 0) {
+			throw new DataDeliveryException(Define.D_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
+		}
+		if (this.accountNumber == null || this.accountNumber.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		if (!AccountNumber.isPlausible(this.accountNumber)) {
+			throw new DataDeliveryException(Define.CHECK_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	public DepositDTO toDeposit() {
+		DepositDTO dto = new DepositDTO();
+		dto.setAmount(amount);
+		dto.setDAccountNumber(accountNumber);
+		return dto;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// REST API 오류 응답 본문 (utils.ApiErrorBody 와 같은 형식)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class ApiErrorDTO {
+
+	private int status; // HTTP 상태 코드
+	private String error; // 상태 이름 (BAD_REQUEST, UNAUTHORIZED ...)
+	private String message; // 사용자에게 보여줄 메시지
+
+}
@@ -0,0 +1,39 @@
+package com.tenco.bank.dto;
+
+import java.sql.Timestamp;
+
+import com.tenco.bank.repository.model.HistoryAccount;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// REST API 거래내역 한 건 (화면용 모델 HistoryAccount 를 그대로 내보내지 않는다)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class ApiHistoryItemDTO {
+
+	private Integer id;
+	private long amount;
+	private Long balance; // 조회한 계좌의 거래 후 잔액
+	private String sender;
+	private String receiver;
+	private Timestamp createdAt;
+
+	public static ApiHistoryItemDTO of(HistoryAccount history) {
+		return ApiHistoryItemDTO.builder()
+				.id(history.getId())
+				.amount(history.getAmount())
+				.balance(history.getBalance())
+				.sender(history.getSender())
+				.receiver(history.getReceiver())
+				.createdAt(history.getCreatedAt())
+				.build();
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.tenco.bank.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// REST API 거래내역 한 페이지 - 다음 페이지는 ?cursor={nextCursor} (없으면 null)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class ApiHistoryPageDTO {
+
+	private List<ApiHistoryItemDTO> items;
+	private Integer nextCursor;
+
+}
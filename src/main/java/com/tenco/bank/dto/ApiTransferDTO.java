@@ -0,0 +1,27 @@
+package com.tenco.bank.dto;
+
+import lombok.Data;
+
+/**
+ * REST API 이체 요청
+ * JSON 이름이 헷갈리지 않도록 from/to 를 쓴다. (TransferDTO 의 wAccountNumber 는 JSON 에서 waccountNumber 가 됨)
+ * 입력값 검사는 화면 이체와 같이 TransferDTO.validate 로 한다.
+ */
+@Data
+public class ApiTransferDTO {
+
+	private long amount;
+	private String fromAccountNumber; // 출금 계좌 번호
+	private String toAccountNumber; // 입금 계좌 번호
+	private String password; // 출금 계좌 비밀번호
+
+	public TransferDTO toTransfer() {
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(amount);
+		dto.setWAccountNumber(fromAccountNumber);
+		dto.setDAccountNumber(toAccountNumber);
+		dto.setPassword(password);
+		return dto;
+	}
+
+}
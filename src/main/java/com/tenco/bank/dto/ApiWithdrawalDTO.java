@@ -0,0 +1,34 @@
+package com.tenco.bank.dto;
+
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.utils.Define;
+
+import lombok.Data;
+
+// REST API 출금 요청
+@Data
+public class ApiWithdrawalDTO {
+
+	private long amount;
+	private String accountNumber; // 출금 계좌 번호
+	private String password; // 출금 계좌 비밀번호
+
+	public void validate() {
+		if (this.amount <= 0) {
+			throw new DataDeliveryException(Define.W_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
+		}
+		if (this.accountNumber == null || this.accountNumber.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		if (this.password == null || this.password.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	public WithdrawalDTO toWithdrawal() {
+		return new WithdrawalDTO(amount, accountNumber, password);
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.tenco.bank.dto;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class BalanceAsOfDTO {
+
+	private Integer accountId;
+	private String number;
+	private Timestamp at; // 조회 시점
+	private Long balance; // 조회 시점 잔액
+	private Timestamp checkpointAt; // 시작점으로 사용한 체크포인트 (없으면 null)
+	private Integer historyId; // 잔액을 결정한 거래내역 (없으면 null)
+
+}
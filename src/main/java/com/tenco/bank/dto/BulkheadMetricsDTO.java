@@ -0,0 +1,29 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class BulkheadMetricsDTO {
+
+	private String group; // read, write
+	private int maxConcurrent;
+	private int active; // 처리 중인 요청 수
+	private int peak; // 서버 시작 이후 최대 동시 처리 수
+	private long admitted;
+	private long waited; // 자리가 없어 기다린 건수
+	private long rejected; // 기다려도 자리가 없어 거절(503)한 건수
+
+	// 그룹 전용 커넥션 풀 (separate-pools 가 아니면 poolSize = -1)
+	private int poolSize;
+	private int poolActive;
+	private int poolIdle;
+	private int poolWaiting; // 커넥션을 기다리는 스레드 수
+}
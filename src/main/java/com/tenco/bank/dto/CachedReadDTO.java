@@ -0,0 +1,23 @@
+package com.tenco.bank.dto;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// DB 장애 시 캐시에서 읽은 결과인지 함께 전달
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class CachedReadDTO<T> {
+
+	private T data;
+	private boolean stale; // true 면 DB 장애로 마지막으로 읽어 둔 값
+	private Timestamp cachedAt; // 캐시에 담은 시각 (stale 일 때 화면에 표시)
+
+}
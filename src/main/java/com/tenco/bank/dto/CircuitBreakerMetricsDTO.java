@@ -0,0 +1,26 @@
+package com.tenco.bank.dto;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class CircuitBreakerMetricsDTO {
+
+	private String state; // CLOSED, OPEN, HALF_OPEN
+	private Timestamp openedAt; // 마지막으로 열린(또는 시험 요청을 보낸) 시각
+	private long opened; // 열린 횟수
+	private long rejectedConnections; // 열려 있어서 바로 실패시킨 커넥션 요청 수
+	private long rejectedWrites; // 열려 있어서 거절한 쓰기 요청 수 (503)
+	private long staleReads; // 캐시에서 응답한 조회 수
+	private int cacheEntries;
+
+}
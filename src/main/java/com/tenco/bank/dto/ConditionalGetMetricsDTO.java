@@ -0,0 +1,22 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class ConditionalGetMetricsDTO {
+
+	private boolean enabled;
+	private long notModified; // 조회 없이 304 로 응답한 수
+	private long rendered; // 조회하고 화면을 그린 수
+	private int trackedUsers; // 버전을 기억하고 있는 사용자 수
+	private int trackedAccounts; // 버전을 기억하고 있는 계좌 수
+
+}
@@ -0,0 +1,28 @@
+package com.tenco.bank.dto;
+
+import java.util.List;
+
+import com.tenco.bank.repository.model.DashboardActivity;
+import com.tenco.bank.utils.ValueFormatter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 계좌 목록 화면 대시보드 (사용자별)
+ * 거래가 커밋될 때마다 새로 만들어 바꿔 끼우므로 만든 뒤에는 바뀌지 않는다. (여러 요청이 같이 읽음)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class DashboardDTO extends ValueFormatter {
+
+	private final String month; // 이번 달 (yyyy-MM)
+	private final int accountCount;
+	private final long totalBalance; // 모든 계좌 잔액 합
+	private final long monthInflow; // 이번 달 들어온 돈 (내 계좌 사이 이체 제외)
+	private final long monthOutflow; // 이번 달 나간 돈 (내 계좌 사이 이체 제외)
+	private final List<DashboardActivity> recent; // 모든 계좌의 최근 거래 (최신순)
+
+}
@@ -0,0 +1,23 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class DashboardMetricsDTO {
+
+	private boolean enabled;
+	private int users; // 대시보드를 메모리에 둔 사용자 수
+	private long hits; // 조회 없이 메모리에서 보여준 수
+	private long loads; // DB 에서 새로 만든 수 (처음, 무효화 후, 달이 바뀐 후)
+	private long updates; // 커밋된 거래로 갱신한 수
+	private long evictions; // 사용자 수 한도로 내린 수
+
+}
@@ -5,7 +5,7 @@ import lombok.Data;
 @Data
 public class DepositDTO {
 	
-	private Long amount;
+	private long amount;
 	private String dAccountNumber;
 
 }
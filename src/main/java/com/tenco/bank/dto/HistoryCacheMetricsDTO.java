@@ -0,0 +1,26 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class HistoryCacheMetricsDTO {
+
+	private boolean enabled;
+	private long hits;
+	private long misses; // 없거나 계좌 버전이 바뀌어 다시 만든 수
+	private double hitRatio;
+	private int entries;
+	private long chars; // 담고 있는 html 글자 수 합
+	private long evictions; // 한도를 넘어 LRU 로 제거한 수
+	private long savedQueryMs; // 캐시 적중으로 생략한 조회 시간 합 (만들 때 걸린 시간 기준)
+	private long savedRenderMs; // 캐시 적중으로 생략한 렌더링 시간 합
+
+}
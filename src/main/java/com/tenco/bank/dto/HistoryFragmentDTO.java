@@ -0,0 +1,21 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 렌더링해 둔 거래내역 표(tbody 행) 조각
+ * 같은 계좌 버전이면 다시 조회, 렌더링하지 않고 html 을 그대로 쓴다.
+ */
+@Getter
+@ToString(exclude = "html")
+@AllArgsConstructor
+public class HistoryFragmentDTO {
+
+	private final String html; // <tr> 행들
+	private final int totalRecords; // 페이지 수 계산용 전체 건수
+	private final long queryNanos; // 만들 때 걸린 조회 시간
+	private final long renderNanos; // 만들 때 걸린 렌더링 시간
+
+}
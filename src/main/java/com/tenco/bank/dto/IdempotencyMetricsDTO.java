@@ -0,0 +1,24 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class IdempotencyMetricsDTO {
+
+	private boolean enabled;
+	private long claimed; // 멱등 키를 기록하고 처리한 요청 수
+	private long memoryReplays; // 메모리에서 처리 완료를 확인한 재시도 수 (DB 접근 없음)
+	private long storeReplays; // idempotency_tb 에서 처리 완료를 확인한 재시도 수 (계좌 접근 없음)
+	private long conflicts; // 같은 키로 다른 내용을 보낸 요청 수
+	private int memoryEntries; // 메모리에 기억하고 있는 키 수
+	private long purged; // 보관 기간이 지나 삭제한 키 수
+
+}
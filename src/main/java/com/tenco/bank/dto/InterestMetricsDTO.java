@@ -0,0 +1,29 @@
+package com.tenco.bank.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class InterestMetricsDTO {
+
+	private LocalDate runDate; // 마지막(또는 진행 중) 이자 기준일
+	private boolean running;
+	private int chunks; // 전체 구간 수
+	private long chunksDone; // 이번 실행에서 처리한 구간 수
+	private long chunksSkipped; // 이전 실행에서 이미 처리되어 건너뛴 구간 수
+	private long chunksFailed;
+	private long accounts; // 이자를 지급한 계좌 수
+	private long interest; // 지급한 이자 합계
+	private long elapsedMs;
+	private double accountsPerSecond;
+
+}
@@ -0,0 +1,27 @@
+package com.tenco.bank.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class OutboxMetricsDTO {
+
+	private List<Long> latestOffsets; // 샤드별 가장 최근에 기록된 outbox id (샤드를 나누지 않으면 1개)
+	private Map<String, List<Long>> subscriberOffsets; // 구독자별 처리 완료 오프셋 (샤드 순서)
+	private long delivered; // 전달한 이벤트 수 (재전달 포함)
+	private long deliveryFailures; // 구독자 처리 실패 횟수
+	private int pendingGaps; // 아직 커밋되지 않았을 수 있는 빠진 id 수 (gap-timeout-ms 동안 다시 조회)
+	private long lateDelivered; // gap 으로 기다리다 늦게 전달한 이벤트 수
+	private long gapsSkipped; // 끝내 나타나지 않아 건너뛴 id 수 (롤백)
+
+}
@@ -0,0 +1,20 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 이체 입금 계좌 자동완성 항목
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class RecipientDTO {
+
+	private String number;
+	private boolean own; // true : 내 계좌, false : 최근에 이체한 계좌
+
+}
@@ -0,0 +1,22 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class RecipientIndexMetricsDTO {
+
+	private int users; // 색인을 메모리에 올린 사용자 수
+	private long loads; // DB 에서 색인을 만든 수 (사용자별 첫 조회)
+	private long lookups; // 자동완성 조회 수
+	private double avgLookupMicros; // 조회 평균 시간 (DB 로 색인을 만든 조회 제외)
+	private long updates; // 커밋된 이체로 색인을 갱신한 수
+
+}
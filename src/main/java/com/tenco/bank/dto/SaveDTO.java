@@ -1,6 +1,11 @@
 package com.tenco.bank.dto;
 
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
 import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.utils.AccountNumber;
+import com.tenco.bank.utils.Define;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,10 +20,31 @@ import lombok.ToString;
 @ToString
 public class SaveDTO {
 
-	private String number;
+	private String number; // CSV 일괄 생성만 사용 (화면 계좌 생성은 서버가 발급 - AccountNumberAllocator)
 	private String password;
 	private Long balance;
 	
+	// 계좌 생성 입력값 검사 (화면 계좌 생성, CSV 일괄 생성 공통)
+	public void validate() {
+		if (this.password == null || this.password.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
+		}
+		if (this.balance == null || this.balance <= 0) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_BALANCE, HttpStatus.BAD_REQUEST);
+		}
+	}
+	
+	// CSV 일괄 생성 - 기존 계좌번호를 옮겨 온다. (발급 형식 번호는 발급 순번과 겹칠 수 있으므로 거절)
+	public void validateImport() {
+		if (this.number == null || this.number.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		if (AccountNumber.isAllocatedFormat(this.number)) {
+			throw new DataDeliveryException(Define.RESERVED_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		validate();
+	}
+	
 	public Account toAccount(Integer userId) {
 		
 		return Account.builder()
@@ -0,0 +1,29 @@
+package com.tenco.bank.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+@Data
+public class ScheduledTransferDTO {
+
+	private long amount; // 거래 금액
+	private String wAccountNumber; // 출금 계좌 번호
+	private String dAccountNumber; // 입금 계좌 번호
+	private String password; // 출금 계좌 비밀번호 (등록 시에만 확인)
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime runAt; // 첫 실행 시각
+	private Integer intervalDays; // 반복 주기 (일), 0 또는 비어 있으면 1회
+
+	public TransferDTO toTransfer() {
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(amount);
+		dto.setWAccountNumber(wAccountNumber);
+		dto.setDAccountNumber(dAccountNumber);
+		dto.setPassword(password);
+		return dto;
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.tenco.bank.dto;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class ScheduledTransferMetricsDTO {
+
+	private int wheelSize; // 타이밍 휠에 올라가 있는 예약 수
+	private Timestamp loadedUntil; // 이 시각 이전 예약까지 휠에 올라가 있음
+	private int queueDepth; // 실행 풀 대기 묶음 수
+	private long loaded; // DB 에서 읽어 휠에 올린 건수
+	private long overdue; // 그중 실행 시각이 지났는데 남아 있어 다시 올린 건수
+	private long executed; // 이체 성공
+	private long failed; // 잔액 부족, 한도 초과 등으로 실패
+	private long skipped; // 취소되었거나 이미 실행되어 건너뜀
+	private long deferred; // 실행 풀이 가득 차서 다음 tick 으로 미룬 건수
+
+}
@@ -0,0 +1,25 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class StreamMetricsDTO {
+
+	private int connections; // 현재 열린 SSE 연결 수
+	private int users; // 연결 중인 사용자 수
+	private long rejected; // 최대 연결 수 초과로 거절된 건수
+	private long pushed; // 전송 성공 이벤트 수
+	private long pushFailures;
+	private long outOfOrder; // 더 최근 잔액을 이미 보내서 버린 이벤트 수 (늦게 도착한 커밋 후 이벤트)
+	private double avgPushLatencyMs; // 커밋 직전 이벤트 발행 ~ 전송 완료
+	private double maxPushLatencyMs;
+
+}
@@ -1,13 +1,38 @@
 package com.tenco.bank.dto;
 
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.utils.AccountNumber;
+import com.tenco.bank.utils.Define;
+
 import lombok.Data;
 
 @Data
 public class TransferDTO {
 	
-	private Long amount;	// 거래 금액
+	private long amount;	// 거래 금액 (원)
 	private String wAccountNumber;	// 출금 계좌 비밀번호
 	private String dAccountNumber; 	// 입금 계좌 비밀번호
 	private String password; // 출금 계좌 비밀번호
 
+	// 이체 입력값 검사 (화면 동기, 비동기, 예약 이체와 REST API 공통)
+	public void validate() {
+		if (this.amount <= 0) {
+			throw new DataDeliveryException(Define.D_BALANCE_VALUE, HttpStatus.BAD_REQUEST);
+		}
+		if (this.wAccountNumber == null || this.wAccountNumber.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_W_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		if (this.dAccountNumber == null || this.dAccountNumber.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_D_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		if (!AccountNumber.isPlausible(this.dAccountNumber)) {
+			throw new DataDeliveryException(Define.CHECK_ACCOUNT_NUMBER, HttpStatus.BAD_REQUEST);
+		}
+		if (this.password == null || this.password.isEmpty()) {
+			throw new DataDeliveryException(Define.ENTER_YOUR_PASSWORD, HttpStatus.BAD_REQUEST);
+		}
+	}
+
 }
@@ -0,0 +1,27 @@
+package com.tenco.bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class TransferQueueMetricsDTO {
+
+	private int partitions;
+	private int[] queueDepths; // 파티션별 대기 건수
+	private int totalQueueDepth;
+	private long submitted;
+	private long completed;
+	private long failed;
+	private long rejected; // 대기열이 가득 차서 거절된 건수
+	private double avgQueueWaitMs; // 접수 ~ 워커 시작
+	private double avgLatencyMs; // 접수 ~ 처리 완료 (end-to-end)
+	private double maxLatencyMs;
+
+}
@@ -0,0 +1,50 @@
+package com.tenco.bank.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 비동기 이체 접수 티켓
+ * - 접수 즉시 ticketId 를 돌려주고, 워커가 처리하면서 상태를 갱신한다.
+ * - 상태값은 워커 스레드가 쓰고 요청 스레드가 읽기 때문에 volatile 로 선언
+ */
+@Getter
+public class TransferTicketDTO {
+
+	public enum Status {
+		QUEUED, RUNNING, DONE, FAILED
+	}
+
+	private final String ticketId;
+	@JsonIgnore
+	private final Integer userId;
+	private final long amount;
+	private final String wAccountNumber;
+	private final String dAccountNumber;
+	private final int partition;
+	private final long submittedAt; // 접수 시각 (epoch ms)
+
+	@Setter
+	private volatile Status status = Status.QUEUED;
+	@Setter
+	private volatile String message;
+	@Setter
+	private volatile long completedAt; // 처리 완료 시각 (epoch ms), 미완료 0
+
+	public TransferTicketDTO(String ticketId, Integer userId, TransferDTO dto, int partition) {
+		this.ticketId = ticketId;
+		this.userId = userId;
+		this.amount = dto.getAmount();
+		this.wAccountNumber = dto.getWAccountNumber();
+		this.dAccountNumber = dto.getDAccountNumber();
+		this.partition = partition;
+		this.submittedAt = System.currentTimeMillis();
+	}
+
+	public boolean isFinished() {
+		return status == Status.DONE || status == Status.FAILED;
+	}
+
+}
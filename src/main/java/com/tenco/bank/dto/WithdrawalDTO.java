@@ -13,7 +13,7 @@ import lombok.ToString;
 @ToString
 public class WithdrawalDTO {
 	
-	private Long amount;
+	private long amount;
 	private String wAccountNumber;
 	private String WAccountPassword;
 
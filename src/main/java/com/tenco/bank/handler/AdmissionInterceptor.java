@@ -0,0 +1,119 @@
+package com.tenco.bank.handler;
+
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.service.AdmissionService;
+import com.tenco.bank.utils.AlertScript;
+import com.tenco.bank.utils.ApiErrorBody;
+import com.tenco.bank.utils.Define;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 계좌 요청 입장 제어 (AuthInterceptor 다음, 컨트롤러 들어가기 전)
+ *
+ * 1. 쓰기 요청(출금, 입금, 이체)은 사용자별 토큰 버킷 확인 -> 없으면 429 + Retry-After
+ * 2. 전체 동시 처리 한도 확인 -> 넘으면 503 + Retry-After
+ * 3. 처리가 끝나면(afterCompletion) 걸린 시간을 리미터에 알려 한도를 조절한다.
+ * 거절 응답은 예외를 던지지 않고 미리 만들어 둔 본문을 바로 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String STARTED_AT = AdmissionInterceptor.class.getName() + ".startedAt";
+	private static final Set<String> WRITE_PATHS = Set.of("/account/withdrawal", "/account/deposit",
+			"/account/transfer", "/account/transfer/async", "/account/scheduled",
+			"/api/v1/accounts/withdrawal", "/api/v1/accounts/deposit", "/api/v1/accounts/transfer");
+
+	private static final byte[] TOO_MANY_REQUESTS_BODY = AlertScript.backBytes(Define.TOO_MANY_REQUESTS);
+	private static final byte[] SERVER_BUSY_BODY = AlertScript.backBytes(Define.SERVER_BUSY);
+	private static final byte[] TOO_MANY_REQUESTS_JSON = ApiErrorBody.bytes(HttpStatus.TOO_MANY_REQUESTS,
+			Define.TOO_MANY_REQUESTS);
+	private static final byte[] SERVER_BUSY_JSON = ApiErrorBody.bytes(HttpStatus.SERVICE_UNAVAILABLE,
+			Define.SERVER_BUSY);
+
+	private final AdmissionService admissionService;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		if (!admissionService.isEnabled()) {
+			return true;
+		}
+
+		// 1. 사용자별 쓰기 속도 (자리를 차지하기 전에 먼저 확인)
+		if (isWrite(request)) {
+			HttpSession session = request.getSession(false);
+			User principal = session == null ? null : (User) session.getAttribute(Define.PRINCIPAL);
+			if (principal != null) {
+				long retryAfterMillis = admissionService.tryConsumeWrite(principal.getId());
+				if (retryAfterMillis >= 0) {
+					reject(request, response, HttpStatus.TOO_MANY_REQUESTS, (retryAfterMillis + 999) / 1000,
+							TOO_MANY_REQUESTS_BODY, TOO_MANY_REQUESTS_JSON);
+					return false;
+				}
+			}
+		}
+
+		// 2. 전체 동시 처리 한도
+		if (!admissionService.tryAcquire()) {
+			reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1, SERVER_BUSY_BODY, SERVER_BUSY_JSON);
+			return false;
+		}
+		request.setAttribute(STARTED_AT, System.nanoTime());
+		return true;
+	}
+
+	// 3. 처리 완료 -> 자리 반납 + 응답 시간 반영
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) throws Exception {
+		Object startedAt = request.getAttribute(STARTED_AT);
+		if (startedAt != null) {
+			request.removeAttribute(STARTED_AT);
+			admissionService.release(System.nanoTime() - (Long) startedAt);
+		}
+	}
+
+	// 비동기 처리로 넘어간 요청은 서블릿 스레드를 놓았으므로 자리만 반납 (응답 시간은 반영하지 않음)
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) throws Exception {
+		if (request.getAttribute(STARTED_AT) != null) {
+			request.removeAttribute(STARTED_AT);
+			admissionService.releaseWithoutSample();
+		}
+	}
+
+	private boolean isWrite(HttpServletRequest request) {
+		if (!"POST".equals(request.getMethod())) {
+			return false;
+		}
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		return WRITE_PATHS.contains(path);
+	}
+
+	// 화면 요청은 alert 스크립트, REST API(/api/**) 요청은 JSON
+	private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+			long retryAfterSeconds, byte[] htmlBody, byte[] jsonBody) throws Exception {
+		boolean json = ApiErrorBody.isApi(request);
+		byte[] body = json ? jsonBody : htmlBody;
+		response.setStatus(status.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+		response.setContentType(json ? ApiErrorBody.CONTENT_TYPE : "text/html;charset=utf-8");
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+}
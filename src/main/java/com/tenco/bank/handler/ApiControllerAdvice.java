@@ -0,0 +1,81 @@
+package com.tenco.bank.handler;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.validation.BindException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import com.tenco.bank.controller.AccountApiController;
+import com.tenco.bank.dto.ApiErrorDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.handler.exception.UnAuthorizedException;
+import com.tenco.bank.repository.breaker.DatabaseCircuitBreaker;
+import com.tenco.bank.utils.Define;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST API 예외 -> ApiErrorDTO (JSON)
+ * GlobalControllerAdvice(alert 스크립트)보다 먼저 적용되도록 우선순위를 높인다. (API 컨트롤러에만 적용)
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RestControllerAdvice(assignableTypes = AccountApiController.class)
+public class ApiControllerAdvice {
+
+	@ExceptionHandler(DataDeliveryException.class)
+	public ResponseEntity<ApiErrorDTO> dataDeliveryException(DataDeliveryException e) {
+		if (e.getStatus().is5xxServerError()) {
+			log.error("처리 실패 : {}", e.getMessage(), e);
+		}
+		return error(e.getStatus(), e.getMessage());
+	}
+
+	@ExceptionHandler(UnAuthorizedException.class)
+	public ResponseEntity<ApiErrorDTO> unAuthorizedException(UnAuthorizedException e) {
+		return error(e.getStatus(), e.getMessage());
+	}
+
+	// JSON 형식 오류, 숫자가 아닌 금액, 잘못된 쿼리 파라미터
+	@ExceptionHandler({ HttpMessageNotReadableException.class, MethodArgumentTypeMismatchException.class,
+			MissingServletRequestParameterException.class, BindException.class })
+	public ResponseEntity<ApiErrorDTO> badRequest(Exception e) {
+		return error(HttpStatus.BAD_REQUEST, Define.INVALID_INPUT);
+	}
+
+	// 세션 속성(로그인 정보) 없음
+	@ExceptionHandler(ServletRequestBindingException.class)
+	public ResponseEntity<ApiErrorDTO> missingSession(ServletRequestBindingException e) {
+		return error(HttpStatus.UNAUTHORIZED, Define.ENTER_YOUR_LOGIN);
+	}
+
+	@ExceptionHandler({ DataAccessException.class, TransactionException.class })
+	public ResponseEntity<ApiErrorDTO> databaseException(RuntimeException e) {
+		if (DatabaseCircuitBreaker.isConnectivityFailure(e)) {
+			return error(HttpStatus.SERVICE_UNAVAILABLE, Define.DATABASE_UNAVAILABLE);
+		}
+		log.error("API 처리 중 DB 오류", e);
+		return error(HttpStatus.INTERNAL_SERVER_ERROR, Define.FAILED_PROCESSING);
+	}
+
+	@ExceptionHandler(Exception.class)
+	public ResponseEntity<ApiErrorDTO> exception(Exception e) {
+		log.error("처리되지 않은 API 예외", e);
+		return error(HttpStatus.INTERNAL_SERVER_ERROR, Define.UNKNOWN);
+	}
+
+	private ResponseEntity<ApiErrorDTO> error(HttpStatus status, String message) {
+		return ResponseEntity.status(status)
+				.body(ApiErrorDTO.builder().status(status.value()).error(status.name()).message(message).build());
+	}
+
+}
@@ -16,6 +16,9 @@ import jakarta.servlet.http.HttpSession;
 @Component 	// IoC 대상 (싱글톤 패턴)
 public class AuthInterceptor implements HandlerInterceptor{
 
+	// 로그인하지 않은 요청마다 예외를 새로 만들지 않는다. (스택 없는 예외라 공유해도 안전)
+	private static final UnAuthorizedException LOGIN_REQUIRED = new UnAuthorizedException(Define.ENTER_YOUR_LOGIN, HttpStatus.UNAUTHORIZED);
+
 	// preHandle 동작 흐름 (단, 스프링부트 설정 파일, 설정 클래스에 등록이 되어야 한다 : 특정 URL)
 	// 컨트롤러 들어 오기 전에 동작하는 녀석
 	// true -> 컨트롤러 안으로 들여 보낸다.
@@ -28,7 +31,7 @@ public class AuthInterceptor implements HandlerInterceptor{
 		User principal = (User)session.getAttribute(Define.PRINCIPAL);
 		
 		if(principal == null) {
-			throw new UnAuthorizedException("로그인 먼저 해주세요.", HttpStatus.UNAUTHORIZED);
+			throw LOGIN_REQUIRED;
 		}
 		
 		return true;
@@ -0,0 +1,21 @@
+package com.tenco.bank.handler;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드가 속한 격벽 그룹 (BulkheadInterceptor 에서 사용)
+ * 그룹별 동시 처리 수, 커넥션 풀은 bank.bulkhead.groups.{그룹} 에서 설정한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+	String READ = "read"; // 화면 조회 (목록, 상세)
+	String WRITE = "write"; // 돈이 움직이는 요청 (출금, 입금, 이체, 계좌 생성)
+
+	String value();
+
+}
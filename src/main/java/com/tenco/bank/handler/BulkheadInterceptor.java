@@ -0,0 +1,84 @@
+package com.tenco.bank.handler;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.tenco.bank.config.BulkheadContext;
+import com.tenco.bank.service.BulkheadService;
+import com.tenco.bank.utils.AlertScript;
+import com.tenco.bank.utils.ApiErrorBody;
+import com.tenco.bank.utils.Define;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @Bulkhead 가 붙은 컨트롤러 메서드는 그룹 자리를 얻어야 들어갈 수 있다.
+ * 자리를 얻으면 BulkheadContext 에 그룹을 기록해 그룹 전용 커넥션 풀을 쓰게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String GROUP = BulkheadInterceptor.class.getName() + ".group";
+	private static final byte[] BULKHEAD_FULL_BODY = AlertScript.backBytes(Define.SERVER_BUSY);
+	private static final byte[] BULKHEAD_FULL_JSON = ApiErrorBody.bytes(HttpStatus.SERVICE_UNAVAILABLE,
+			Define.SERVER_BUSY);
+
+	private final BulkheadService bulkheadService;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		if (!(handler instanceof HandlerMethod handlerMethod)) {
+			return true;
+		}
+		Bulkhead bulkhead = handlerMethod.getMethodAnnotation(Bulkhead.class);
+		if (bulkhead == null) {
+			return true;
+		}
+
+		String group = bulkhead.value();
+		if (!bulkheadService.tryEnter(group)) {
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			boolean json = ApiErrorBody.isApi(request);
+			byte[] body = json ? BULKHEAD_FULL_JSON : BULKHEAD_FULL_BODY;
+			response.setContentType(json ? ApiErrorBody.CONTENT_TYPE : "text/html;charset=utf-8");
+			response.setContentLength(body.length);
+			response.getOutputStream().write(body);
+			return false;
+		}
+		request.setAttribute(GROUP, group);
+		BulkheadContext.set(group);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) throws Exception {
+		leave(request);
+	}
+
+	// 비동기 처리로 넘어가면 서블릿 스레드를 놓으므로 자리도 반납
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) throws Exception {
+		leave(request);
+	}
+
+	private void leave(HttpServletRequest request) {
+		Object group = request.getAttribute(GROUP);
+		if (group != null) {
+			request.removeAttribute(GROUP);
+			BulkheadContext.clear();
+			bulkheadService.exit((String) group);
+		}
+	}
+
+}
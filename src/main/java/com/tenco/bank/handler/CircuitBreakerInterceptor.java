@@ -0,0 +1,48 @@
+package com.tenco.bank.handler;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.tenco.bank.service.DegradedModeService;
+import com.tenco.bank.utils.AlertScript;
+import com.tenco.bank.utils.ApiErrorBody;
+import com.tenco.bank.utils.Define;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * DB 서킷 브레이커가 열려 있으면 쓰기(POST) 요청은 컨트롤러에 들어가기 전에 바로 503
+ * (조회는 통과 -> DegradedModeService 가 캐시로 응답)
+ */
+@Component
+@RequiredArgsConstructor
+public class CircuitBreakerInterceptor implements HandlerInterceptor {
+
+	private static final byte[] DATABASE_UNAVAILABLE_BODY = AlertScript.backBytes(Define.DATABASE_UNAVAILABLE);
+	private static final byte[] DATABASE_UNAVAILABLE_JSON = ApiErrorBody.bytes(HttpStatus.SERVICE_UNAVAILABLE,
+			Define.DATABASE_UNAVAILABLE);
+
+	private final DegradedModeService degradedModeService;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+			throws Exception {
+		if (!"POST".equals(request.getMethod()) || !degradedModeService.rejectsWrites()) {
+			return true;
+		}
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, "10");
+		boolean json = ApiErrorBody.isApi(request);
+		byte[] body = json ? DATABASE_UNAVAILABLE_JSON : DATABASE_UNAVAILABLE_BODY;
+		response.setContentType(json ? ApiErrorBody.CONTENT_TYPE : "text/html;charset=utf-8");
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+		return false;
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.tenco.bank.handler;
 
+import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -8,7 +9,12 @@ import org.springframework.web.servlet.ModelAndView;
 import com.tenco.bank.handler.exception.DataDeliveryException;
 import com.tenco.bank.handler.exception.RedirectException;
 import com.tenco.bank.handler.exception.UnAuthorizedException;
+import com.tenco.bank.utils.AlertScript;
+import com.tenco.bank.utils.Define;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @ControllerAdvice // IoC 대상 (싱글톤 패턴) -> HTML 렌더링 예외에 많이 사용
 public class GlobalControllerAdvice {
 	
@@ -20,10 +26,7 @@ public class GlobalControllerAdvice {
 	
 	@ExceptionHandler(Exception.class)
 	public void exception(Exception e) {
-		System.out.println("---------------------");
-		System.out.println(e.getClass().getName());
-		System.out.println(e.getMessage());
-		System.out.println("---------------------");
+		log.error("처리되지 않은 예외", e);
 	}
 	
 	
@@ -38,24 +41,30 @@ public class GlobalControllerAdvice {
 	@ResponseBody
 	@ExceptionHandler(DataDeliveryException.class)
 	public String dataDelieryException(DataDeliveryException e) {
-		StringBuffer sb = new StringBuffer();
-		sb.append(" <script>");
-		sb.append(" alert('"+ e.getMessage() + "');");
-		sb.append(" window.history.back();");
-		sb.append(" </script>");
-		return sb.toString();
+		if (e.getStatus().is5xxServerError()) {
+			log.error("처리 실패 : {}", e.getMessage(), e);
+		}
+		// Define 메시지는 미리 만들어 둔 본문을 그대로 사용 (요청마다 조립하지 않음)
+		return AlertScript.back(e.getMessage());
+	}
+
+	/**
+	 * 폼 값을 DTO 에 담지 못한 경우 (금액 칸이 비었거나 숫자가 아님 등)
+	 * 금액 필드는 long 이라 빈 값을 null 로 받을 수 없으므로 여기서 안내한다.
+	 */
+	@ResponseBody
+	@ExceptionHandler(BindException.class)
+	public String bindException(BindException e) {
+		if (e.getFieldError("amount") != null) {
+			return AlertScript.back(Define.ENTER_YOUR_BALANCE);
+		}
+		return AlertScript.back(Define.INVALID_INPUT);
 	}
 
 	@ResponseBody
 	@ExceptionHandler(UnAuthorizedException.class)
 	public String unAuthorizedException(UnAuthorizedException e) {
-		StringBuffer sb = new StringBuffer();
-		sb.append(" <script>");
-		sb.append(" alert('"+ e.getMessage() + "');");
-		sb.append(" location.href='/user/sign-in';");
-		sb.append(" </script>");
-		
-		return sb.toString();		
+		return AlertScript.toSignIn(e.getMessage());
 	}
 	
 	/**
@@ -4,14 +4,21 @@ import org.springframework.http.HttpStatus;
 
 import lombok.Getter;
 
+/**
+ * 업무 오류 (비밀번호 불일치, 잔액 부족, 입력값 오류 등) -> alert 후 이전 화면
+ *
+ * 4xx 는 예상된 실패라 스택 트레이스를 만들지 않는다. (생성 비용 대부분이 스택 수집)
+ * 스택이 없고 상태를 바꾸지 않으므로 자주 쓰는 4xx 오류는 static final 로 미리 만들어 두고 다시 던져도 된다.
+ * 5xx(처리 실패)는 원인을 찾아야 하므로 스택 트레이스를 남긴다. (미리 만들어 두지 않는다)
+ */
 @Getter
 public class DataDeliveryException extends RuntimeException{
 
-	private HttpStatus status;
-	
+	private final HttpStatus status;
+
 	public DataDeliveryException(String message, HttpStatus status) {
-		super(message);
+		super(message, null, false, status == null || status.is5xxServerError());
 		this.status = status;
 	}
-	
+
 }
@@ -2,13 +2,17 @@ package com.tenco.bank.handler.exception;
 
 import org.springframework.http.HttpStatus;
 
+import lombok.Getter;
+
+// 인증 실패 -> 로그인 화면으로 (4xx 는 예상된 실패라 스택 트레이스를 만들지 않는다, 5xx 는 남긴다)
+@Getter
 public class UnAuthorizedException extends RuntimeException {
-	
-	private HttpStatus status;
-	
+
+	private final HttpStatus status;
+
 	// throw new UnAuthorizedException( , )
 	public UnAuthorizedException(String message, HttpStatus status) {
-		super(message);
+		super(message, null, false, status == null || status.is5xxServerError());
 		this.status = status;
 	}
 
@@ -0,0 +1,51 @@
+package com.tenco.bank.repository.breaker;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 커넥션을 얻기 전에 서킷 브레이커 확인
+ * 열려 있으면 커넥션 풀의 연결 시간 초과(기본 30초)를 기다리지 않고 바로 SQLException
+ * -> 트랜잭션 시작 단계에서 CannotCreateTransactionException 으로 끝난다.
+ */
+public class CircuitBreakerDataSource extends DelegatingDataSource {
+
+	private final DatabaseCircuitBreaker circuitBreaker;
+
+	public CircuitBreakerDataSource(DataSource target, DatabaseCircuitBreaker circuitBreaker) {
+		super(target);
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (!circuitBreaker.allowRequest()) {
+			throw new SQLTransientConnectionException("database circuit breaker is open", "08001");
+		}
+		try {
+			return super.getConnection();
+		} catch (SQLException | RuntimeException e) {
+			circuitBreaker.onFailure();
+			throw e;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		if (!circuitBreaker.allowRequest()) {
+			throw new SQLTransientConnectionException("database circuit breaker is open", "08001");
+		}
+		try {
+			return super.getConnection(username, password);
+		} catch (SQLException | RuntimeException e) {
+			circuitBreaker.onFailure();
+			throw e;
+		}
+	}
+
+}
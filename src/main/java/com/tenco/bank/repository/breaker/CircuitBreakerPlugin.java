@@ -0,0 +1,55 @@
+package com.tenco.bank.repository.breaker;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MyBatis 쿼리 결과를 서킷 브레이커에 기록 (mybatis-spring-boot 가 Interceptor 빈을 자동 등록)
+ * 성공하면 닫고, 연결 관련 오류면 실패로 센다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bank.circuit-breaker", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Intercepts({
+		@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+		@Signature(type = Executor.class, method = "query",
+				args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+		@Signature(type = Executor.class, method = "query",
+				args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+						CacheKey.class, BoundSql.class }),
+		@Signature(type = Executor.class, method = "queryCursor",
+				args = { MappedStatement.class, Object.class, RowBounds.class }) })
+public class CircuitBreakerPlugin implements Interceptor {
+
+	private final DatabaseCircuitBreaker circuitBreaker;
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		try {
+			Object result = invocation.proceed();
+			circuitBreaker.onSuccess();
+			return result;
+		} catch (Throwable e) {
+			Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+			if (DatabaseCircuitBreaker.isConnectivityFailure(cause)) {
+				circuitBreaker.onFailure();
+			}
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.tenco.bank.repository.breaker;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tenco.bank.utils.CircuitBreaker;
+
+/**
+ * DB 서킷 브레이커
+ *
+ * - CircuitBreakerDataSource : 커넥션을 얻기 전에 확인 -> 열려 있으면 연결 시간 초과를 기다리지 않고 바로 실패
+ * - CircuitBreakerPlugin : MyBatis 쿼리 성공/실패 기록
+ * 연결 관련 오류(연결 실패, 커넥션 획득 시간 초과, 연결 끊김)만 실패로 센다.
+ * 제약 조건 위반, 락 대기 시간 초과 같은 SQL 오류는 DB 가 살아 있다는 뜻이다.
+ */
+@Component
+public class DatabaseCircuitBreaker extends CircuitBreaker {
+
+	public DatabaseCircuitBreaker(@Value("${bank.circuit-breaker.failure-threshold:5}") int failureThreshold,
+			@Value("${bank.circuit-breaker.open-ms:10000}") long openMillis) {
+		super(failureThreshold, openMillis);
+	}
+
+	// 원인 중에 연결 관련 오류가 있으면 true
+	public static boolean isConnectivityFailure(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLTransientConnectionException
+					|| cause instanceof SQLNonTransientConnectionException
+					|| cause instanceof SQLRecoverableException) {
+				return true;
+			}
+			if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+					&& sqlException.getSQLState().startsWith("08")) {
+				return true; // 08xxx : connection exception
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.tenco.bank.repository.interfaces;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+// AccountNumberRepository, account_number.xml 파일을 매칭 시킨다.
+@Mapper
+public interface AccountNumberRepository {
+
+	// 순번 행 잠금 조회 (다른 서버의 예약과 겹치지 않게)
+	public Long findNextValueForUpdate(@Param("name") String name);
+	
+	public int updateNextValue(@Param("name") String name, @Param("nextValue") long nextValue);
+	
+}
@@ -25,4 +25,11 @@ public interface AccountRepository {
 	// 코드 추가 예정
 	public Account findByAccountId(Integer accountId);
 	
+	// 잔액 변경용 조회 (select ... for update, 트랜잭션 안에서만 사용)
+	public Account findByNumberForUpdate(@Param("number") String number);
+	public Account findByAccountIdForUpdate(Integer accountId);
+	
+	// 일괄 생성 - numbers 중 이미 등록된 계좌번호
+	public List<String> findNumbersIn(@Param("numbers") List<String> numbers);
+	
 }
@@ -0,0 +1,23 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.sql.Timestamp;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.repository.model.BalanceCheckpoint;
+
+// BalanceCheckpointRepository, balance_checkpoint.xml 파일을 매칭 시킨다.
+@Mapper
+public interface BalanceCheckpointRepository {
+
+	// since <= 등록 시각 < checkpointAt 구간에 거래가 있는 계좌의 체크포인트를 한 번에 생성 (insert ... select, since 가 null 이면 처음부터)
+	public int insertFromHistory(@Param("since") Timestamp since, @Param("checkpointAt") Timestamp checkpointAt);
+	
+	// 체크포인트 작업 실행 기록 (checkpointAt 만 사용)
+	public int insertRun(@Param("checkpointAt") Timestamp checkpointAt);
+	public BalanceCheckpoint findLatestRun();
+	
+	public BalanceCheckpoint findLatestBefore(@Param("accountId") Integer accountId, @Param("at") Timestamp at);
+	
+}
@@ -1,12 +1,18 @@
 package com.tenco.bank.repository.interfaces;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import com.tenco.bank.repository.model.DashboardActivity;
 import com.tenco.bank.repository.model.History;
 import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.repository.model.LastHistory;
+import com.tenco.bank.repository.model.MonthFlow;
+import com.tenco.bank.repository.model.RecentCounterparty;
 
 // HistoryRepository, history.xml 파일을 매칭 시킨다.
 @Mapper
@@ -29,4 +35,33 @@ public interface HistoryRepository {
 	
 	public int countByAccountIdAndType(@Param("type")String type, @Param("accountId") Integer accountId);
 	
+	// REST API 거래내역 - cursor(거래내역 id) 보다 작은 id 를 최신순으로 limit 건 (cursor 가 null 이면 처음부터)
+	public List<HistoryAccount> findByAccountIdBeforeCursor(@Param("type") String type,
+			@Param("accountId") Integer accountId,
+			@Param("cursor") Integer cursor,
+			@Param("limit") int limit);
+	
+	// 출금 한도 카운터 복원용 - since 이후 출금, 이체(출금 계좌가 있는 거래) 내역을 한 건씩 전달 (전체를 List 로 올리지 않음)
+	public void findOutflowSince(@Param("since") Timestamp since, ResultHandler<History> handler);
+	
+	// 시점 잔액 조회 - side : w(출금 쪽), d(입금 쪽), since 이후 at 까지 마지막 거래 (since 가 null 이면 처음부터)
+	public History findLastRowAt(@Param("side") String side, @Param("accountId") Integer accountId,
+			@Param("since") Timestamp since, @Param("at") Timestamp at);
+	public History findFirstRowAfter(@Param("side") String side, @Param("accountId") Integer accountId,
+			@Param("at") Timestamp at);
+	
+	// 이체 자동완성 - 사용자가 최근에 이체한 다른 사람 계좌번호와 마지막 이체 시각 (최근 순 limit 건)
+	public List<RecentCounterparty> findRecentCounterparties(@Param("userId") Integer userId, @Param("limit") int limit);
+	
+	// 대시보드 - accountIds 계좌 전체의 최근 거래 limit 건 (계좌별 조회 없이 한 번에)
+	public List<DashboardActivity> findRecentByAccountIds(@Param("accountIds") List<Integer> accountIds,
+			@Param("limit") int limit);
+	
+	// 대시보드 - since 이후 accountIds 계좌로 들어온 돈, 나간 돈 (ownAccountIds 사이 이체 제외)
+	public MonthFlow findFlowByAccountIdsSince(@Param("accountIds") List<Integer> accountIds,
+			@Param("ownAccountIds") List<Integer> ownAccountIds, @Param("since") Timestamp since);
+	
+	// 대시보드 - accountIds 계좌별 마지막 거래내역 ID (거래내역이 없는 계좌는 빠짐)
+	public List<LastHistory> findLastIdsByAccountIds(@Param("accountIds") List<Integer> accountIds);
+	
 }
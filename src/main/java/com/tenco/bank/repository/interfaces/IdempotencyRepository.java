@@ -0,0 +1,21 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.sql.Timestamp;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+// IdempotencyRepository, idempotency.xml 파일을 매칭 시킨다.
+@Mapper
+public interface IdempotencyRepository {
+
+	// PK(user_id, idempotency_key) 중복이면 DuplicateKeyException - 이미 처리된 요청
+	public int insert(@Param("userId") Integer userId, @Param("key") String key,
+			@Param("fingerprint") String fingerprint);
+	
+	public String findFingerprint(@Param("userId") Integer userId, @Param("key") String key);
+	
+	// 보관 기간이 지난 키 정리
+	public int deleteCreatedBefore(@Param("before") Timestamp before);
+	
+}
@@ -0,0 +1,28 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import com.tenco.bank.repository.model.Account;
+
+// InterestRepository, interest.xml 파일을 매칭 시킨다.
+@Mapper
+public interface InterestRepository {
+
+	public Integer findMinAccountId();
+	public Integer findMaxAccountId();
+	
+	// from <= id < to 구간 계좌 (id, balance 만 조회, 트랜잭션 안에서 사용)
+	public Cursor<Account> findByIdRange(@Param("from") int from, @Param("to") int to);
+	public int addBalance(@Param("id") Integer id, @Param("amount") long amount);
+	
+	// 진행 기록
+	public List<Integer> findDoneChunks(@Param("runDate") Date runDate);
+	public int insertChunk(@Param("runDate") Date runDate, @Param("chunkStart") int chunkStart,
+			@Param("chunkEnd") int chunkEnd, @Param("accounts") int accounts, @Param("interest") long interest);
+	
+}
@@ -0,0 +1,28 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.repository.model.Outbox;
+
+// OutboxRepository, outbox.xml 파일을 매칭 시킨다.
+@Mapper
+public interface OutboxRepository {
+
+	public int insert(Outbox outbox);
+	
+	// offset 보다 큰 이벤트를 순서대로 limit 건 조회
+	public List<Outbox> findAfterOffset(@Param("offset") long offset, @Param("limit") int limit);
+	public long findLatestOffset();
+	
+	// 늦게 커밋된 이벤트 다시 조회 (relay gap)
+	public List<Outbox> findByIds(@Param("ids") List<Long> ids);
+	
+	// 구독자 오프셋
+	public Long findOffsetBySubscriber(@Param("subscriber") String subscriber);
+	public int insertOffset(@Param("subscriber") String subscriber, @Param("offset") long offset);
+	public int updateOffset(@Param("subscriber") String subscriber, @Param("offset") long offset);
+	
+}
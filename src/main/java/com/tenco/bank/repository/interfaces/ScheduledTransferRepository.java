@@ -0,0 +1,33 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.repository.model.ScheduledTransfer;
+
+// ScheduledTransferRepository, scheduled_transfer.xml 파일을 매칭 시킨다.
+@Mapper
+public interface ScheduledTransferRepository {
+
+	public int insert(ScheduledTransfer scheduledTransfer);
+	
+	// to 이전 실행 대상 - (afterRunAt, afterId) 다음부터 limit 건
+	public List<ScheduledTransfer> findDueBefore(@Param("to") Timestamp to, 
+			@Param("afterRunAt") Timestamp afterRunAt, 
+			@Param("afterId") int afterId, 
+			@Param("limit") int limit);
+	
+	public ScheduledTransfer findById(Integer id);
+	public List<ScheduledTransfer> findByUserId(Integer userId);
+	
+	public int claim(@Param("id") Integer id, @Param("expectedRunAt") Timestamp expectedRunAt,
+			@Param("nextRunAt") Timestamp nextRunAt, @Param("status") String status);
+	public int fail(@Param("id") Integer id, @Param("expectedRunAt") Timestamp expectedRunAt,
+			@Param("nextRunAt") Timestamp nextRunAt, @Param("status") String status, 
+			@Param("message") String message);
+	public int cancel(@Param("id") Integer id, @Param("userId") Integer userId);
+	
+}
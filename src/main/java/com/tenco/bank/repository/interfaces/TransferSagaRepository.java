@@ -0,0 +1,32 @@
+package com.tenco.bank.repository.interfaces;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.tenco.bank.repository.model.TransferSaga;
+
+// TransferSagaRepository, transfer_saga.xml 파일을 매칭 시킨다.
+@Mapper
+public interface TransferSagaRepository {
+
+	public int insert(TransferSaga saga);
+	
+	public int updateStatus(@Param("id") String id, @Param("expectedStatus") String expectedStatus,
+			@Param("status") String status);
+	
+	// 복구 대상 조회 (before 이전에 시작된 saga)
+	public List<TransferSaga> findByStatusBefore(@Param("status") String status, 
+			@Param("before") Timestamp before,
+			@Param("limit") int limit);
+	
+	// 출금 한도 카운터 복원 (since 이후에 시작된 saga)
+	public List<TransferSaga> findByStatusSince(@Param("status") String status,
+			@Param("since") Timestamp since);
+	
+	// 입금 샤드의 중복 처리 방지용 (PK 중복이면 이미 입금된 saga)
+	public int insertInbox(@Param("sagaId") String sagaId);
+	
+}
@@ -1,12 +1,13 @@
 package com.tenco.bank.repository.model;
 
-import java.security.Timestamp;
+import java.sql.Timestamp;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
 
 import com.tenco.bank.handler.exception.DataDeliveryException;
 import com.tenco.bank.utils.Define;
+import com.tenco.bank.utils.Money;
 import com.tenco.bank.utils.ValueFormatter;
 
 import lombok.AllArgsConstructor;
@@ -22,22 +23,27 @@ import lombok.ToString;
 @ToString
 public class Account extends ValueFormatter{
 
+	// 자주 발생하는 업무 오류는 미리 만들어 두고 다시 던진다. (스택 없는 예외라 공유해도 안전)
+	private static final DataDeliveryException FAIL_PASSWORD = new DataDeliveryException(Define.FAIL_ACCOUNT_PASSWROD, HttpStatus.BAD_REQUEST);
+	private static final DataDeliveryException LACK_OF_BALANCE = new DataDeliveryException(Define.LACK_Of_BALANCE, HttpStatus.BAD_REQUEST);
+	private static final DataDeliveryException NOT_OWNER = new DataDeliveryException(Define.NOT_ACCOUNT_OWNER, HttpStatus.BAD_REQUEST);
+
 	private Integer id;
 	private String number;
 	private String password;
-	private Long balance; // 계좌잔액
+	private long balance; // 계좌잔액 (원, balance 컬럼은 not null)
 	private Integer userId;
 	private Timestamp createdAt;
 	
 	// 출금 기능
-	public void withdraw(Long amount) {
+	public void withdraw(long amount) {
 		// 방어적 코드
-		this.balance -= amount;
+		this.balance = Money.subtract(this.balance, amount);
 	}
 	
 	// 입금 기능
-	public void deposit(Long amount) {
-		this.balance += amount;
+	public void deposit(long amount) {
+		this.balance = Money.add(this.balance, amount);
 	}
 	
 	// 패스워드 체크
@@ -45,27 +51,28 @@ public class Account extends ValueFormatter{
 		
 		//                  f             ==   f  -> true
 		if(this.password.equals(password) == false) {
-			throw new DataDeliveryException(Define.FAIL_ACCOUNT_PASSWROD, HttpStatus.BAD_REQUEST);
+			throw FAIL_PASSWORD;
 		}
 		
 	}
 	
 	// 잔액 여부 확인
-	public void checkBalance(Long amount) {
+	public void checkBalance(long amount) {
 		// 출금
 		// 만약 내가 가진 금액이 출금하려는 금액보다 많으면 안되게
 		if(this.balance < amount) {
-			throw new DataDeliveryException(Define.LACK_Of_BALANCE, HttpStatus.BAD_REQUEST);
+			throw LACK_OF_BALANCE;
 		}
 		
 	}
 	
 	// 계좌 소유자 확인 기능
-	public void checkOwner(Integer principalId) {
+	public void checkOwner(int principalId) {
 		
 		// 만약 내 계좌가 아니면 안되게
-		if(this.userId != principalId) {
-			throw new DataDeliveryException(Define.NOT_ACCOUNT_OWNER, HttpStatus.BAD_REQUEST);
+		// Integer 끼리 != 로 비교하면 참조 비교가 되어 128 이상 아이디는 본인 계좌도 거절된다.
+		if(this.userId == null || this.userId.intValue() != principalId) {
+			throw NOT_OWNER;
 		}
 		
 	}
@@ -0,0 +1,23 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class BalanceCheckpoint {
+
+	private Integer accountId;
+	private Timestamp checkpointAt; // 이 시각 직전까지의 잔액
+	private Long balance;
+	private Integer lastHistoryId; // 체크포인트에 반영된 계좌의 마지막 거래내역 ID
+
+}
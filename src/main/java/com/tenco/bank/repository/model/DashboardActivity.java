@@ -0,0 +1,32 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+
+import com.tenco.bank.utils.ValueFormatter;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// 대시보드 최근 거래 한 줄 (내 계좌 쪽에서 본 거래내역)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class DashboardActivity extends ValueFormatter {
+
+	private Integer id; // 거래내역 ID
+	private Integer accountId; // 내 계좌
+	private String accountNumber;
+	private String counterpartyNumber; // 상대 계좌 (입금, 출금이면 null)
+	private boolean inbound; // true : 들어온 돈, false : 나간 돈
+	private long amount;
+	private Long balance; // 거래 후 내 계좌 잔액
+	private Timestamp createdAt;
+
+}
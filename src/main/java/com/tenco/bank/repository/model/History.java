@@ -16,11 +16,15 @@ import lombok.ToString;
 public class History {
 
 	private Integer id;
-	private Long amount;
+	private long amount;
+	// 거래 후 잔액은 한쪽 계좌만 있는 거래(입금, 출금, 샤드 간 이체의 각 쪽)에서 null 로 저장되므로 Long 유지
 	private Long wBalance;
 	private Long dBalance;
 	private Integer wAccountId;
 	private Integer dAccountId;
+	// 샤드 간 이체에서 다른 샤드에 있는 쪽 계좌번호 (같은 샤드 거래는 null - account_tb 조인으로 읽음)
+	private String wAccountNumber;
+	private String dAccountNumber;
 	private Timestamp createdAt;
 	
 }
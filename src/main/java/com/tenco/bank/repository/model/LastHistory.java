@@ -0,0 +1,20 @@
+package com.tenco.bank.repository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 대시보드 - 계좌별 마지막 거래내역 ID (DB 에서 만들 때 이미 반영한 거래내역 기준)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class LastHistory {
+
+	private Integer accountId;
+	private Integer historyId;
+
+}
@@ -0,0 +1,20 @@
+package com.tenco.bank.repository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 대시보드 - 기간 내 들어온 돈, 나간 돈 합계 (내 계좌 사이 이체 제외)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class MonthFlow {
+
+	private long inflow;
+	private long outflow;
+
+}
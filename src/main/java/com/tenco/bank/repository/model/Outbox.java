@@ -0,0 +1,47 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class Outbox {
+
+	// 이벤트 타입
+	public static final String DEPOSIT = "DEPOSIT";
+	public static final String WITHDRAWAL = "WITHDRAWAL";
+	public static final String TRANSFER = "TRANSFER";
+
+	private Long id; // 오프셋 (증가하는 PK)
+	private String eventType;
+	private Integer historyId;
+	private Long amount;
+	private Long wBalance;
+	private Long dBalance;
+	private Integer wAccountId;
+	private Integer dAccountId;
+	private Timestamp createdAt;
+	private int shard; // 읽어 온 샤드 (relay 가 채움, outbox id 는 샤드마다 따로 증가)
+
+	// 거래내역 -> outbox 이벤트 (history.id 는 insert 후에 채워진 상태여야 한다.)
+	public static Outbox of(String eventType, History history) {
+		return Outbox.builder()
+				.eventType(eventType)
+				.historyId(history.getId())
+				.amount(history.getAmount())
+				.wBalance(history.getWBalance())
+				.dBalance(history.getDBalance())
+				.wAccountId(history.getWAccountId())
+				.dAccountId(history.getDAccountId())
+				.build();
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 이체 자동완성 - 최근에 이체한 상대 계좌번호와 마지막 이체 시각 (샤드별 결과를 시각으로 합친다)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class RecentCounterparty {
+
+	private String number;
+	private Timestamp lastTransferredAt;
+
+}
@@ -0,0 +1,40 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 예약 이체, 자동 이체 (출금 계좌 샤드에 저장)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class ScheduledTransfer {
+
+	public static final String ACTIVE = "ACTIVE";
+	public static final String DONE = "DONE";
+	public static final String FAILED = "FAILED";
+	public static final String CANCELED = "CANCELED";
+
+	private Integer id;
+	private Integer userId;
+	private String wAccountNumber;
+	private String dAccountNumber;
+	private Long amount;
+	private Integer intervalDays; // 0 이면 1회 예약 이체
+	private Timestamp nextRunAt;
+	private String status;
+	private Integer runCount;
+	private String lastMessage;
+	private Timestamp createdAt;
+
+	public boolean isRecurring() {
+		return intervalDays != null && intervalDays > 0;
+	}
+
+}
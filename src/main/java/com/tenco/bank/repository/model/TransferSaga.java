@@ -0,0 +1,32 @@
+package com.tenco.bank.repository.model;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 샤드 간 이체 진행 기록 (출금 계좌 샤드에 저장)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class TransferSaga {
+
+	public static final String PENDING = "PENDING";
+	public static final String DONE = "DONE";
+	public static final String COMPENSATED = "COMPENSATED";
+
+	private String id;
+	private Integer wAccountId;
+	private String wAccountNumber;
+	private String dAccountNumber;
+	private long amount;
+	private String status;
+	private Timestamp createdAt;
+	private Timestamp updatedAt;
+
+}
@@ -0,0 +1,49 @@
+package com.tenco.bank.repository.shard;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호
+ * ShardRoutingDataSource 가 커넥션을 얻을 때 이 값을 보고 데이터소스를 고른다.
+ * 값이 없으면 0번 샤드 (user_tb 같은 전역 테이블이 있는 샤드)
+ */
+public final class ShardContext {
+
+	private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+	private ShardContext() {
+	}
+
+	public static int current() {
+		Integer shard = CURRENT.get();
+		return shard == null ? 0 : shard;
+	}
+
+	/**
+	 * 샤드 지정 - try-with-resources 로 사용해서 끝나면 이전 값으로 복구한다.
+	 * try (ShardContext.Scope scope = ShardContext.bind(1)) { ... }
+	 */
+	public static Scope bind(int shard) {
+		Integer previous = CURRENT.get();
+		CURRENT.set(shard);
+		return new Scope(previous);
+	}
+
+	public static final class Scope implements AutoCloseable {
+
+		private final Integer previous;
+
+		private Scope(Integer previous) {
+			this.previous = previous;
+		}
+
+		@Override
+		public void close() {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+
+	}
+
+}
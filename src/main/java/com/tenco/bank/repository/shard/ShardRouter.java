@@ -0,0 +1,86 @@
+package com.tenco.bank.repository.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.config.ShardingProperties;
+
+/**
+ * 샤드 선택 규칙
+ *
+ * - 계좌는 계좌번호 해시로 샤드를 정한다.
+ * - 계좌 PK 는 샤드마다 시작값과 증가폭을 다르게 (offset = 샤드번호 + 1, increment = 샤드 수)
+ *   잡아서 전체 샤드에서 겹치지 않게 한다. -> PK 만으로도 샤드를 알 수 있다.
+ * - 샤딩을 사용하지 않으면 (bank.sharding.enabled=false) 항상 0번, 샤드 지정은 아무 일도 하지 않는다.
+ *
+ * 한 트랜잭션은 하나의 샤드에서만 동작한다. (첫 쿼리에서 커넥션이 정해짐)
+ * 여러 샤드를 읽을 때는 callInNewTransaction 으로 샤드마다 트랜잭션을 분리한다.
+ */
+@Component
+public class ShardRouter {
+
+	private final int shardCount;
+	private final TransactionTemplate readOnlyTemplate;
+	private final TransactionTemplate writeTemplate;
+
+	public ShardRouter(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+		this.shardCount = properties.isEnabled() ? Math.max(1, properties.getShards().size()) : 1;
+
+		this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readOnlyTemplate.setReadOnly(true);
+
+		this.writeTemplate = new TransactionTemplate(transactionManager);
+		this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public boolean isSharded() {
+		return shardCount > 1;
+	}
+
+	public int getShardCount() {
+		return shardCount;
+	}
+
+	public int shardOfNumber(String accountNumber) {
+		if (shardCount == 1 || accountNumber == null) {
+			return 0;
+		}
+		return Math.floorMod(accountNumber.hashCode(), shardCount);
+	}
+
+	public int shardOfAccountId(Integer accountId) {
+		if (shardCount == 1 || accountId == null) {
+			return 0;
+		}
+		return Math.floorMod(accountId - 1, shardCount);
+	}
+
+	public ShardContext.Scope bind(int shard) {
+		return ShardContext.bind(shard);
+	}
+
+	// 지정 샤드에서 새 트랜잭션으로 실행 (바깥 트랜잭션과 분리)
+	public <T> T callInNewTransaction(int shard, boolean readOnly, Supplier<T> action) {
+		try (ShardContext.Scope scope = ShardContext.bind(shard)) {
+			TransactionTemplate template = readOnly ? readOnlyTemplate : writeTemplate;
+			return template.execute(status -> action.get());
+		}
+	}
+
+	// 모든 샤드에서 실행한 결과를 합친다. (샤드마다 별도 읽기 트랜잭션)
+	public <T> List<T> collectFromAllShards(Supplier<List<T>> action) {
+		List<T> result = new ArrayList<>();
+		for (int shard = 0; shard < shardCount; shard++) {
+			result.addAll(callInNewTransaction(shard, true, action));
+		}
+		return result;
+	}
+
+}
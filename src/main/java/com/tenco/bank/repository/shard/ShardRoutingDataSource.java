@@ -0,0 +1,16 @@
+package com.tenco.bank.repository.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * ShardContext 의 샤드 번호로 데이터소스 선택
+ * 트랜잭션 시작 후 ShardContext 를 지정해도 적용되도록 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return ShardContext.current();
+	}
+
+}
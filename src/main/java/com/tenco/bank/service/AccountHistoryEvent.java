@@ -0,0 +1,35 @@
+package com.tenco.bank.service;
+
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 거래내역 등록 이벤트 (애플리케이션 내부)
+ * - AccountService 가 입금, 출금, 이체 트랜잭션 안에서 발행한다.
+ * - 커밋 이후에 처리해야 하는 리스너는 @TransactionalEventListener(AFTER_COMMIT) 로 받는다.
+ *   (롤백된 거래는 리스너에게 전달되지 않는다.)
+ * - 샤드 간 이체의 상대 계좌(다른 샤드)는 ID, 번호만 있고 userId 가 null 이다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AccountHistoryEvent {
+
+	private final String eventType; // Outbox.DEPOSIT, WITHDRAWAL, TRANSFER
+	private final History history;
+	private final Account withdrawAccount; // 입금이면 null
+	private final Account depositAccount; // 출금이면 null
+	private final long createdAt; // 발행 시각 (epoch ms)
+	private final long createdNanos; // 발행 시각 (System.nanoTime, 지연시간 측정용)
+
+	public static AccountHistoryEvent of(String eventType, History history, Account withdrawAccount,
+			Account depositAccount) {
+		return new AccountHistoryEvent(eventType, history, withdrawAccount, depositAccount,
+				System.currentTimeMillis(), System.nanoTime());
+	}
+
+}
@@ -0,0 +1,314 @@
+package com.tenco.bank.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.AccountImportResultDTO;
+import com.tenco.bank.dto.SaveDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계좌 일괄 생성 (CSV)
+ *
+ * - 파일을 한 줄씩 읽어서 chunk-size 줄씩 처리한다. (파일 전체를 메모리에 올리지 않음)
+ * - 값은 큰따옴표로 감쌀 수 있다. ("a,b" -> a,b / "a""b" -> a"b)
+ *   한 줄 단위로 읽으므로 따옴표 안의 줄바꿈은 지원하지 않고, 따옴표가 닫히지 않은 줄은 실패로 기록한다.
+ * - 입력값 검사는 화면 계좌 생성과 같은 SaveDTO.validate 에 계좌번호 검사를 더한 validateImport 를 사용한다.
+ *   (계좌번호는 파일에 있는 기존 번호를 쓰고, 자동 발급 형식 번호는 받지 않는다)
+ * - 계좌번호 중복은 파일 안에서는 Set 으로, DB 와는 묶음마다 in (...) 조회 한 번으로 확인한다.
+ * - insert 는 묶음마다 한 트랜잭션에서 ExecutorType.BATCH 로 모아서 전송한다.
+ *   그 사이 다른 요청이 같은 번호를 만들어 묶음이 실패하면 그 묶음만 한 건씩 다시 넣는다.
+ */
+@Slf4j
+@Service
+public class AccountImportService {
+
+	private static final String CREATED = "CREATED";
+	private static final String FAILED = "FAILED";
+
+	private final SqlSessionTemplate batchSqlSession;
+	private final AccountRepository accountRepository;
+	private final ShardRouter shardRouter;
+	private final AccountVersionService accountVersionService;
+	private final RecipientIndexService recipientIndexService;
+	private final DashboardService dashboardService;
+	private final int chunkSize;
+
+	public AccountImportService(SqlSessionFactory sqlSessionFactory, AccountRepository accountRepository,
+			ShardRouter shardRouter, AccountVersionService accountVersionService,
+			RecipientIndexService recipientIndexService, DashboardService dashboardService,
+			@Value("${bank.account-import.chunk-size:1000}") int chunkSize) {
+		// 빈으로 등록하면 기본 SqlSessionTemplate 자동 설정이 빠지므로 여기서만 사용
+		this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+		this.accountRepository = accountRepository;
+		this.shardRouter = shardRouter;
+		this.accountVersionService = accountVersionService;
+		this.recipientIndexService = recipientIndexService;
+		this.dashboardService = dashboardService;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * CSV 읽기 -> 계좌 생성 -> 줄별 결과 CSV 쓰기
+	 * @param reader number,password,balance (첫 줄 헤더 생략 가능)
+	 * @param writer line,number,result,message + 마지막에 처리 요약
+	 */
+	public AccountImportResultDTO importCsv(Reader reader, Writer writer, Integer principalId) throws IOException {
+		long startedNanos = System.nanoTime();
+		BufferedReader in = new BufferedReader(reader);
+		writer.write("line,number,result,message\n");
+
+		Set<String> seen = new HashSet<>();
+		List<Row> chunk = new ArrayList<>(chunkSize);
+		int rows = 0;
+		int created = 0;
+		int lineNumber = 0;
+		String line;
+		while ((line = in.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank() || (lineNumber == 1 && line.trim().toLowerCase().startsWith("number"))) {
+				continue;
+			}
+			chunk.add(parse(lineNumber, line, seen));
+			if (chunk.size() == chunkSize) {
+				created += flush(chunk, principalId, writer);
+				rows += chunk.size();
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			created += flush(chunk, principalId, writer);
+			rows += chunk.size();
+		}
+
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+		AccountImportResultDTO result = AccountImportResultDTO.builder()
+				.rows(rows)
+				.created(created)
+				.failed(rows - created)
+				.elapsedMs(elapsedMs)
+				.rowsPerSecond(elapsedMs == 0 ? rows : rows * 1000.0 / elapsedMs)
+				.build();
+		writer.write(String.format("# rows=%d, created=%d, failed=%d, elapsedMs=%d, rowsPerSecond=%.1f%n",
+				result.getRows(), result.getCreated(), result.getFailed(), result.getElapsedMs(),
+				result.getRowsPerSecond()));
+		writer.flush();
+		log.info("계좌 일괄 생성 - {}", result);
+		return result;
+	}
+
+	private Row parse(int lineNumber, String line, Set<String> seen) {
+		List<String> columns = split(line);
+		if (columns == null) {
+			return Row.failed(lineNumber, null, Define.INVALID_CSV_QUOTE);
+		}
+		if (columns.size() != 3) {
+			return Row.failed(lineNumber, null, Define.INVALID_CSV_ROW);
+		}
+
+		SaveDTO dto = new SaveDTO();
+		dto.setNumber(columns.get(0));
+		dto.setPassword(columns.get(1));
+		try {
+			dto.setBalance(columns.get(2).isEmpty() ? null : Long.valueOf(columns.get(2)));
+			dto.validateImport();
+		} catch (NumberFormatException e) {
+			return Row.failed(lineNumber, dto.getNumber(), Define.ENTER_YOUR_BALANCE);
+		} catch (DataDeliveryException e) {
+			return Row.failed(lineNumber, dto.getNumber(), e.getMessage());
+		}
+
+		if (!seen.add(dto.getNumber())) {
+			return Row.failed(lineNumber, dto.getNumber(), Define.DUPLICATE_ACCOUNT_NUMBER);
+		}
+		return new Row(lineNumber, dto);
+	}
+
+	/**
+	 * CSV 한 줄을 값으로 나눈다. 따옴표 밖의 값은 앞뒤 공백을 지우고, 따옴표 안의 값은 그대로 둔다.
+	 * @return 따옴표가 닫히지 않았거나 닫는 따옴표 뒤에 다른 글자가 있으면 null
+	 */
+	static List<String> split(String line) {
+		List<String> columns = new ArrayList<>(3);
+		StringBuilder value = new StringBuilder();
+		int i = 0;
+		while (true) {
+			while (i < line.length() && line.charAt(i) == ' ') {
+				i++;
+			}
+			if (i < line.length() && line.charAt(i) == '"') {
+				i++;
+				while (true) {
+					if (i >= line.length()) {
+						return null; // 닫는 따옴표 없음
+					}
+					char c = line.charAt(i++);
+					if (c != '"') {
+						value.append(c);
+					} else if (i < line.length() && line.charAt(i) == '"') {
+						value.append('"'); // "" -> "
+						i++;
+					} else {
+						break;
+					}
+				}
+				while (i < line.length() && line.charAt(i) == ' ') {
+					i++;
+				}
+				if (i < line.length() && line.charAt(i) != ',') {
+					return null; // "a"b
+				}
+				columns.add(value.toString());
+			} else {
+				int comma = line.indexOf(',', i);
+				int end = comma < 0 ? line.length() : comma;
+				String raw = line.substring(i, end);
+				if (raw.indexOf('"') >= 0) {
+					return null; // a"b
+				}
+				columns.add(raw.trim());
+				i = end;
+			}
+			value.setLength(0);
+			if (i >= line.length()) {
+				return columns;
+			}
+			i++; // ,
+		}
+	}
+
+	// 묶음 처리 후 결과 기록, 생성 건수 반환
+	private int flush(List<Row> chunk, Integer principalId, Writer writer) throws IOException {
+		// 샤드별로 나눈다. (샤딩 미사용 시 하나)
+		Map<Integer, List<Row>> byShard = new LinkedHashMap<>();
+		for (Row row : chunk) {
+			if (row.message == null) {
+				byShard.computeIfAbsent(shardRouter.shardOfNumber(row.dto.getNumber()), key -> new ArrayList<>())
+						.add(row);
+			}
+		}
+
+		int created = 0;
+		for (Map.Entry<Integer, List<Row>> entry : byShard.entrySet()) {
+			created += insert(entry.getKey(), entry.getValue(), principalId);
+		}
+		if (created > 0) {
+			accountVersionService.touchUser(principalId); // 계좌 목록 화면 ETag 변경
+			recipientIndexService.invalidate(principalId); // 이체 자동완성 내 계좌
+			dashboardService.invalidate(principalId); // 계좌 목록 화면 대시보드
+		}
+
+		for (Row row : chunk) {
+			writer.write(row.lineNumber + "," + csv(row.number()) + ","
+					+ (row.message == null ? CREATED : FAILED) + "," + csv(row.message) + "\n");
+		}
+		return created;
+	}
+
+	private int insert(int shard, List<Row> rows, Integer principalId) {
+		// 1. 이미 있는 계좌번호 (set 조회 한 번)
+		List<String> numbers = rows.stream().map(row -> row.dto.getNumber()).toList();
+		Set<String> existing = new HashSet<>(shardRouter.callInNewTransaction(shard, true,
+				() -> accountRepository.findNumbersIn(numbers)));
+
+		List<Row> targets = new ArrayList<>(rows.size());
+		for (Row row : rows) {
+			if (existing.contains(row.dto.getNumber())) {
+				row.message = Define.DUPLICATE_ACCOUNT_NUMBER;
+			} else {
+				targets.add(row);
+			}
+		}
+		if (targets.isEmpty()) {
+			return 0;
+		}
+
+		// 2. 묶음 insert (BATCH)
+		try {
+			shardRouter.callInNewTransaction(shard, false, () -> {
+				AccountRepository batchAccount = batchSqlSession.getMapper(AccountRepository.class);
+				for (Row row : targets) {
+					batchAccount.insert(row.dto.toAccount(principalId));
+				}
+				return batchSqlSession.flushStatements();
+			});
+			return targets.size();
+		} catch (DataAccessException e) {
+			log.warn("계좌 일괄 생성 묶음 실패 - 한 건씩 다시 처리 ({}건)", targets.size());
+		}
+
+		// 3. 묶음 실패 -> 한 건씩 (줄별 결과 확인)
+		int created = 0;
+		for (Row row : targets) {
+			try {
+				shardRouter.callInNewTransaction(shard, false,
+						() -> accountRepository.insert(row.dto.toAccount(principalId)));
+				created++;
+			} catch (DuplicateKeyException e) {
+				row.message = Define.DUPLICATE_ACCOUNT_NUMBER;
+			} catch (DataAccessException e) {
+				row.message = Define.INVALID_INPUT;
+			}
+		}
+		return created;
+	}
+
+	private String csv(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+		return value;
+	}
+
+	// CSV 한 줄 (message 가 null 이면 정상)
+	private static class Row {
+
+		private final int lineNumber;
+		private final SaveDTO dto;
+		private String message;
+
+		private Row(int lineNumber, SaveDTO dto) {
+			this.lineNumber = lineNumber;
+			this.dto = dto;
+		}
+
+		private static Row failed(int lineNumber, String number, String message) {
+			SaveDTO dto = new SaveDTO();
+			dto.setNumber(number);
+			Row row = new Row(lineNumber, dto);
+			row.message = message;
+			return row;
+		}
+
+		private String number() {
+			return dto.getNumber();
+		}
+
+	}
+
+}
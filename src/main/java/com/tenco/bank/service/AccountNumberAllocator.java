@@ -0,0 +1,104 @@
+package com.tenco.bank.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.AccountNumberMetricsDTO;
+import com.tenco.bank.repository.interfaces.AccountNumberRepository;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.AccountNumber;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계좌번호 발급
+ *
+ * - account_number_seq_tb 에서 block-size 개의 순번을 한 번에 예약한다. (행 잠금 + update, 별도 트랜잭션)
+ *   여러 서버가 떠 있어도 예약 구간이 겹치지 않으므로 발급한 번호는 중복될 수 없다. (unique 위반 후 재시도 없음)
+ * - 예약한 구간은 메모리에서 AtomicLong 으로 잠금 없이 나눠준다. 구간을 다 쓴 경우에만 한 스레드가 다음 구간을 예약한다.
+ * - 서버가 내려가면 남은 번호는 쓰지 않고 버린다. (번호가 연속일 필요는 없음)
+ */
+@Slf4j
+@Service
+public class AccountNumberAllocator {
+
+	private static final String SEQUENCE_NAME = "account";
+	private static final int SEQUENCE_SHARD = 0; // 샤딩 사용 시 순번은 0번 샤드에만 둔다
+
+	private final AccountNumberRepository accountNumberRepository;
+	private final ShardRouter shardRouter;
+	private final int blockSize;
+
+	// 현재 구간 - next 가 end 에 닿으면 다 쓴 구간
+	private final AtomicReference<Block> block = new AtomicReference<>(new Block(new AtomicLong(), 0));
+	private final Object reserveLock = new Object();
+
+	// 지표
+	private final LongAdder allocated = new LongAdder();
+	private final LongAdder blocksReserved = new LongAdder();
+
+	public AccountNumberAllocator(AccountNumberRepository accountNumberRepository, ShardRouter shardRouter,
+			@Value("${bank.account-number.block-size:100}") int blockSize) {
+		this.accountNumberRepository = accountNumberRepository;
+		this.shardRouter = shardRouter;
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * 새 계좌번호 (12자리, 마지막 자리 검사 숫자)
+	 */
+	public String allocate() {
+		while (true) {
+			Block current = block.get();
+			long sequence = current.next.getAndIncrement();
+			if (sequence < current.end) {
+				allocated.increment();
+				return AccountNumber.of(sequence);
+			}
+			refill(current);
+		}
+	}
+
+	public AccountNumberMetricsDTO readMetrics() {
+		Block current = block.get();
+		return AccountNumberMetricsDTO.builder()
+				.blockSize(blockSize)
+				.allocated(allocated.sum())
+				.blocksReserved(blocksReserved.sum())
+				.remainingInBlock(Math.max(0, current.end - current.next.get()))
+				.build();
+	}
+
+	// 다 쓴 구간을 보고 들어온 스레드 중 하나만 예약한다. (나머지는 바뀐 구간에서 다시 시도)
+	private void refill(Block exhausted) {
+		synchronized (reserveLock) {
+			if (block.get() != exhausted) {
+				return;
+			}
+			long start = shardRouter.callInNewTransaction(SEQUENCE_SHARD, false, this::reserve);
+			block.set(new Block(new AtomicLong(start), start + blockSize));
+			blocksReserved.increment();
+			log.debug("계좌번호 순번 예약 {} ~ {}", start, start + blockSize - 1);
+		}
+	}
+
+	private long reserve() {
+		Long next = accountNumberRepository.findNextValueForUpdate(SEQUENCE_NAME);
+		if (next == null) {
+			throw new IllegalStateException("account_number_seq_tb 에 순번 행이 없습니다.");
+		}
+		if (next + blockSize - 1 > AccountNumber.LAST_SEQUENCE) {
+			throw new IllegalStateException("계좌번호 순번을 모두 사용했습니다.");
+		}
+		accountNumberRepository.updateNextValue(SEQUENCE_NAME, next + blockSize);
+		return next;
+	}
+
+	private record Block(AtomicLong next, long end) {
+	}
+
+}
@@ -20,6 +20,9 @@ import com.tenco.bank.repository.interfaces.HistoryRepository;
 import com.tenco.bank.repository.model.Account;
 import com.tenco.bank.repository.model.History;
 import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.shard.ShardContext;
+import com.tenco.bank.repository.shard.ShardRouter;
 import com.tenco.bank.utils.Define;
 
 @Service
@@ -27,11 +30,33 @@ public class AccountService {
 
 	private final AccountRepository accountRepository;
 	private final HistoryRepository historyRepository;
+	private final HistoryWriter historyWriter;
+	private final ShardRouter shardRouter;
+	private final CrossShardTransferService crossShardTransferService;
+	private final VelocityLimiter velocityLimiter;
+	private final AccountVersionService accountVersionService;
+	private final IdempotencyService idempotencyService;
+	private final AccountNumberAllocator accountNumberAllocator;
+	private final RecipientIndexService recipientIndexService;
+	private final DashboardService dashboardService;
 
 	@Autowired // 생략가능 - DI 처리
-	public AccountService(AccountRepository accountRepository, HistoryRepository historyRepository) {
+	public AccountService(AccountRepository accountRepository, HistoryRepository historyRepository,
+			HistoryWriter historyWriter, ShardRouter shardRouter, CrossShardTransferService crossShardTransferService,
+			VelocityLimiter velocityLimiter, AccountVersionService accountVersionService,
+			IdempotencyService idempotencyService, AccountNumberAllocator accountNumberAllocator,
+			RecipientIndexService recipientIndexService, DashboardService dashboardService) {
 		this.accountRepository = accountRepository;
 		this.historyRepository = historyRepository;
+		this.historyWriter = historyWriter;
+		this.shardRouter = shardRouter;
+		this.crossShardTransferService = crossShardTransferService;
+		this.velocityLimiter = velocityLimiter;
+		this.accountVersionService = accountVersionService;
+		this.idempotencyService = idempotencyService;
+		this.accountNumberAllocator = accountNumberAllocator;
+		this.recipientIndexService = recipientIndexService;
+		this.dashboardService = dashboardService;
 	}
 
 	/**
@@ -43,28 +68,42 @@ public class AccountService {
 	// 트랜 잭션 처리
 	@Transactional
 	public void createAccount(SaveDTO dto, Integer principalId) {
-
-		int result = 0;
-
-		try {
-			result = accountRepository.insert(dto.toAccount(principalId));
-		} catch (DataAccessException e) {
-			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.INTERNAL_SERVER_ERROR);
-		} catch (Exception e) {
-			throw new RedirectException(Define.UNKNOWN, HttpStatus.SERVICE_UNAVAILABLE);
-		}
-
-		if (result == 0) {
-			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		// 계좌번호는 서버가 예약해 둔 순번 구간에서 발급한다. (다른 계좌와 겹치지 않으므로 중복 재시도 없음)
+		Account account = dto.toAccount(principalId);
+		account.setNumber(accountNumberAllocator.allocate());
+
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfNumber(account.getNumber()))) {
+			int result = 0;
+
+			try {
+				result = accountRepository.insert(account);
+			} catch (DataAccessException e) {
+				throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.INTERNAL_SERVER_ERROR);
+			} catch (Exception e) {
+				throw new RedirectException(Define.UNKNOWN, HttpStatus.SERVICE_UNAVAILABLE);
+			}
+
+			if (result == 0) {
+				throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+			accountVersionService.touchUser(principalId); // 커밋 후 계좌 목록 화면 ETag 변경
+			recipientIndexService.addOwn(principalId, account.getNumber()); // 커밋 후 이체 자동완성에 추가
+			dashboardService.invalidate(principalId); // 커밋 후 대시보드 다시 만들기
 		}
-
 	}
 
+	// 읽기 전용 트랜잭션 -> 읽기/쓰기 분리 사용 시 replica 로 라우팅
+	@Transactional(readOnly = true)
 	public List<Account> readAccountListByUserId(Integer userId) {
 		List<Account> accountListEntity = null;
 		
 		try {
-			accountListEntity = accountRepository.findByUserId(userId);
+			if (shardRouter.isSharded()) {
+				// 계좌가 여러 샤드에 흩어져 있으므로 모든 샤드에서 조회해서 합친다.
+				accountListEntity = shardRouter.collectFromAllShards(() -> accountRepository.findByUserId(userId));
+			} else {
+				accountListEntity = accountRepository.findByUserId(userId);
+			}
 		} catch (DataAccessException e) {
 			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.INTERNAL_SERVER_ERROR);
 		} catch (Exception e) {
@@ -85,41 +124,54 @@ public class AccountService {
 
 	@Transactional // 7.
 	public void updateAccountWithdraw(WithdrawalDTO dto, Integer principalId) {
+		updateAccountWithdraw(dto, principalId, null);
+	}
 
-		// 1.
-		Account accountEntity = accountRepository.findByNumber(dto.getWAccountNumber());
-
-		if (accountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
-		}
-
-		// 2.
-		accountEntity.checkOwner(principalId);
-
-		// 3.
-		accountEntity.checkPassword(dto.getWAccountPassword());
-
-		// 4.
-		accountEntity.checkBalance(dto.getAmount());
-
-		// 5.
-		// accountEntity 객체의 잔액을 변경하고 업데이트 처리해야 한다.
-		accountEntity.withdraw(dto.getAmount());
-		accountRepository.updateById(accountEntity);
-
-		// 6.
-		History history = new History();
-		history.setAmount(dto.getAmount());
-		history.setWBalance(accountEntity.getBalance());
-		history.setDBalance(null);
-		history.setWAccountId(accountEntity.getId());
-		history.setDAccountId(null);
-
-		int rowResultCount = historyRepository.insert(history);
-		if (rowResultCount != 1) {
-			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+	/**
+	 * 출금 기능
+	 * @param idempotencyKey 같은 키로 커밋된 출금이 있으면 계좌를 건드리지 않고 끝낸다. (null 이면 사용 안 함)
+	 */
+	@Transactional
+	public void updateAccountWithdraw(WithdrawalDTO dto, Integer principalId, String idempotencyKey) {
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfNumber(dto.getWAccountNumber()))) {
+			// 재시도 요청이면 여기서 끝 (계좌 잠금 전)
+			if (!idempotencyService.claim(principalId, idempotencyKey, IdempotencyService
+					.fingerprint(Outbox.WITHDRAWAL, dto.getWAccountNumber(), null, dto.getAmount()))) {
+				return;
+			}
+
+			// 1. 잔액을 바꿀 계좌는 잠그고 조회 (동시 요청이 같은 잔액을 읽고 덮어쓰지 않도록)
+			Account accountEntity = accountRepository.findByNumberForUpdate(dto.getWAccountNumber());
+
+			if (accountEntity == null) {
+				throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			}
+
+			// 2.
+			accountEntity.checkOwner(principalId);
+
+			// 3.
+			accountEntity.checkPassword(dto.getWAccountPassword());
+
+			// 4.
+			accountEntity.checkBalance(dto.getAmount());
+			velocityLimiter.reserve(accountEntity.getId(), dto.getAmount());
+
+			// 5.
+			// accountEntity 객체의 잔액을 변경하고 업데이트 처리해야 한다.
+			accountEntity.withdraw(dto.getAmount());
+			accountRepository.updateById(accountEntity);
+
+			// 6.
+			History history = new History();
+			history.setAmount(dto.getAmount());
+			history.setWBalance(accountEntity.getBalance());
+			history.setDBalance(null);
+			history.setWAccountId(accountEntity.getId());
+			history.setDAccountId(null);
+
+			historyWriter.record(Outbox.WITHDRAWAL, history, accountEntity, null);
 		}
-
 	}
 
 	// 입금 기능 만들기
@@ -129,26 +181,36 @@ public class AccountService {
 	// 4. 트랜잭션 처리
 	@Transactional
 	public void updateAccountDeposit(DepositDTO dto, Integer principalId) {
+		updateAccountDeposit(dto, principalId, null);
+	}
 
-		// 1.
-		Account accountEntity = accountRepository.findByNumber(dto.getDAccountNumber());
-		if (accountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
-		}
-		// 2.
-		accountEntity.deposit(dto.getAmount());
-		accountRepository.updateById(accountEntity);
-
-		// 3.
-		History history = History.builder().amount(dto.getAmount()).dAccountId(accountEntity.getId())
-				.dBalance(accountEntity.getBalance()).wAccountId(null).wBalance(null).build();
-
-		int rowResultCount = historyRepository.insert(history);
-		
-		if (rowResultCount != 1) {
-			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+	/**
+	 * 입금 기능
+	 * @param idempotencyKey 같은 키로 커밋된 입금이 있으면 계좌를 건드리지 않고 끝낸다. (null 이면 사용 안 함)
+	 */
+	@Transactional
+	public void updateAccountDeposit(DepositDTO dto, Integer principalId, String idempotencyKey) {
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfNumber(dto.getDAccountNumber()))) {
+			if (!idempotencyService.claim(principalId, idempotencyKey, IdempotencyService
+					.fingerprint(Outbox.DEPOSIT, null, dto.getDAccountNumber(), dto.getAmount()))) {
+				return;
+			}
+
+			// 1.
+			Account accountEntity = accountRepository.findByNumberForUpdate(dto.getDAccountNumber());
+			if (accountEntity == null) {
+				throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			}
+			// 2.
+			accountEntity.deposit(dto.getAmount());
+			accountRepository.updateById(accountEntity);
+
+			// 3.
+			History history = History.builder().amount(dto.getAmount()).dAccountId(accountEntity.getId())
+					.dBalance(accountEntity.getBalance()).wAccountId(null).wBalance(null).build();
+
+			historyWriter.record(Outbox.DEPOSIT, history, null, accountEntity);
 		}
-
 	}
 
 	// 이체 기능 만들기
@@ -165,76 +227,152 @@ public class AccountService {
 	// 11. 트랜잭션 처리
 	@Transactional
 	public void updateAccountTransfer(TransferDTO dto, Integer principalId) {
+		updateAccountTransfer(dto, principalId, true, null);
+	}
 
-		// 1., 2.
-		Account depositAccountEntity = accountRepository.findByNumber(dto.getDAccountNumber()); // 입금계좌
-		Account withdrawAccountEntity = accountRepository.findByNumber(dto.getWAccountNumber()); // 출금계좌
-		if (withdrawAccountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.INTERNAL_SERVER_ERROR);
-		}
+	@Transactional
+	public void updateAccountTransfer(TransferDTO dto, Integer principalId, String idempotencyKey) {
+		updateAccountTransfer(dto, principalId, true, idempotencyKey);
+	}
 
-		if (depositAccountEntity == null) {
-			throw new DataDeliveryException("상대방의 계좌 번호가 없습니다.", HttpStatus.INTERNAL_SERVER_ERROR);
+	/**
+	 * 예약 이체 실행 (같은 패키지의 ScheduledTransferService 전용)
+	 * 비밀번호는 등록할 때 확인했으므로 생략한다. 등록 뒤에 계좌 주인이 바뀌었을 수 있으므로
+	 * 예약한 사용자가 지금도 출금 계좌 주인인지 먼저 다시 확인한다.
+	 */
+	@Transactional
+	void executeScheduledTransfer(TransferDTO dto, Integer userId) {
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfNumber(dto.getWAccountNumber()))) {
+			Account withdrawAccountEntity = accountRepository.findByNumber(dto.getWAccountNumber());
+			if (withdrawAccountEntity == null) {
+				throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			}
+			withdrawAccountEntity.checkOwner(userId);
 		}
+		updateAccountTransfer(dto, userId, false, null);
+	}
 
-		// 3.
-		withdrawAccountEntity.checkOwner(principalId);
-
-		// 4.
-		withdrawAccountEntity.checkPassword(dto.getPassword());
-
-		// 5.
-		withdrawAccountEntity.checkBalance(dto.getAmount());
-
-		// 6.
-		depositAccountEntity.deposit(dto.getAmount());
-
-		// 7. 업데이트 잊지말자
-		accountRepository.updateById(depositAccountEntity);
-
-		// 8.
-		withdrawAccountEntity.withdraw(dto.getAmount());
-
-		// 9. 업데이트 잊지말자
-		accountRepository.updateById(withdrawAccountEntity);
-
-		// 10.
-		int resultRowCountWithdraw = accountRepository.updateById(withdrawAccountEntity);
-		int resultRowCountDeposit = accountRepository.updateById(depositAccountEntity);
+	/**
+	 * 이체 기능 - 트랜잭션은 호출한 public 메서드에서 시작한다.
+	 * @param checkPassword false 면 비밀번호 확인 생략 (executeScheduledTransfer 에서만)
+	 * @param idempotencyKey 같은 키로 커밋된 이체가 있으면 계좌를 건드리지 않고 끝낸다. (null 이면 사용 안 함)
+	 */
+	private void updateAccountTransfer(TransferDTO dto, Integer principalId, boolean checkPassword,
+			String idempotencyKey) {
 
-		if (resultRowCountWithdraw != 1 && resultRowCountDeposit != 1) {
-			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		// 같은 계좌로 이체하면 입금, 출금 결과가 서로 덮어써진다.
+		if (dto.getWAccountNumber().equals(dto.getDAccountNumber())) {
+			throw new DataDeliveryException(Define.SAME_ACCOUNT_TRANSFER, HttpStatus.BAD_REQUEST);
 		}
 
-		History history = History.builder().amount(dto.getAmount()) // 이체 금액
-				.wAccountId(withdrawAccountEntity.getId()) // 출금 계좌
-				.dAccountId(depositAccountEntity.getId()) // 입금 계좌
-				.wBalance(withdrawAccountEntity.getBalance()) // 출금 계좌 남은 잔액
-				.dBalance(depositAccountEntity.getBalance()) // 입금 계좌 남은 잔액
-				.build();
-
-		// 업데이트 잊지말자
-		int resultRowCountHistory = historyRepository.insert(history);
-
-		if (resultRowCountHistory != 1) {
-			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		// 샤딩 사용 시 두 계좌가 다른 샤드에 있으면 saga 로 처리 (한 트랜잭션으로 묶을 수 없음)
+		int withdrawShard = shardRouter.shardOfNumber(dto.getWAccountNumber());
+		if (withdrawShard != shardRouter.shardOfNumber(dto.getDAccountNumber())) {
+			crossShardTransferService.transfer(dto, principalId, checkPassword, idempotencyKey);
+			return;
 		}
 
+		try (ShardContext.Scope scope = shardRouter.bind(withdrawShard)) {
+			if (!idempotencyService.claim(principalId, idempotencyKey, IdempotencyService
+					.fingerprint(Outbox.TRANSFER, dto.getWAccountNumber(), dto.getDAccountNumber(), dto.getAmount()))) {
+				return;
+			}
+
+			// 1., 2. 두 계좌를 계좌번호 순서로 잠근다. (A->B, B->A 이체가 동시에 와도 교착 상태가 생기지 않음)
+			Account depositAccountEntity;
+			Account withdrawAccountEntity;
+			if (dto.getWAccountNumber().compareTo(dto.getDAccountNumber()) < 0) {
+				withdrawAccountEntity = accountRepository.findByNumberForUpdate(dto.getWAccountNumber()); // 출금계좌
+				depositAccountEntity = accountRepository.findByNumberForUpdate(dto.getDAccountNumber()); // 입금계좌
+			} else {
+				depositAccountEntity = accountRepository.findByNumberForUpdate(dto.getDAccountNumber()); // 입금계좌
+				withdrawAccountEntity = accountRepository.findByNumberForUpdate(dto.getWAccountNumber()); // 출금계좌
+			}
+			if (withdrawAccountEntity == null) {
+				throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+
+			if (depositAccountEntity == null) {
+				throw new DataDeliveryException("상대방의 계좌 번호가 없습니다.", HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+
+			// 3.
+			withdrawAccountEntity.checkOwner(principalId);
+
+			// 4.
+			if (checkPassword) {
+				withdrawAccountEntity.checkPassword(dto.getPassword());
+			}
+
+			// 5.
+			withdrawAccountEntity.checkBalance(dto.getAmount());
+			velocityLimiter.reserve(withdrawAccountEntity.getId(), dto.getAmount());
+
+			// 6.
+			depositAccountEntity.deposit(dto.getAmount());
+
+			// 7. 업데이트 잊지말자
+			int resultRowCountDeposit = accountRepository.updateById(depositAccountEntity);
+
+			// 8.
+			withdrawAccountEntity.withdraw(dto.getAmount());
+
+			// 9. 업데이트 잊지말자
+			int resultRowCountWithdraw = accountRepository.updateById(withdrawAccountEntity);
+
+			// 10. 둘 중 하나라도 반영되지 않았으면 롤백
+			if (resultRowCountWithdraw != 1 || resultRowCountDeposit != 1) {
+				throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+
+			History history = History.builder().amount(dto.getAmount()) // 이체 금액
+					.wAccountId(withdrawAccountEntity.getId()) // 출금 계좌
+					.dAccountId(depositAccountEntity.getId()) // 입금 계좌
+					.wBalance(withdrawAccountEntity.getBalance()) // 출금 계좌 남은 잔액
+					.dBalance(depositAccountEntity.getBalance()) // 입금 계좌 남은 잔액
+					.build();
+
+			// 업데이트 잊지말자
+			historyWriter.record(Outbox.TRANSFER, history, withdrawAccountEntity, depositAccountEntity);
+		}
 	}
 	
+	/**
+	 * 이체 가능 여부만 확인 (예약 이체 등록 시)
+	 * 출금 계좌 존재, 본인 소유, 비밀번호와 입금 계좌 존재를 확인한다. (잔액은 실행 시점에 확인)
+	 */
+	public void checkTransferable(TransferDTO dto, Integer principalId) {
+		Account withdrawAccountEntity = shardRouter.callInNewTransaction(
+				shardRouter.shardOfNumber(dto.getWAccountNumber()), true,
+				() -> accountRepository.findByNumber(dto.getWAccountNumber()));
+		if (withdrawAccountEntity == null) {
+			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+		}
+		withdrawAccountEntity.checkOwner(principalId);
+		withdrawAccountEntity.checkPassword(dto.getPassword());
+
+		Account depositAccountEntity = shardRouter.callInNewTransaction(
+				shardRouter.shardOfNumber(dto.getDAccountNumber()), true,
+				() -> accountRepository.findByNumber(dto.getDAccountNumber()));
+		if (depositAccountEntity == null) {
+			throw new DataDeliveryException("상대방의 계좌 번호가 없습니다.", HttpStatus.BAD_REQUEST);
+		}
+	}
 	
 	/**
 	 * 단일 계좌 조회 기능
 	 * @param account (PK)
 	 * @return
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	public Account readAccountById(Integer account) {
-		Account accountEntity = accountRepository.findByAccountId(account);
-		if(accountEntity == null) {
-			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.INTERNAL_SERVER_ERROR);
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfAccountId(account))) {
+			Account accountEntity = accountRepository.findByAccountId(account);
+			if(accountEntity == null) {
+				throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.INTERNAL_SERVER_ERROR);
+			}
+			return accountEntity;
 		}
-		return accountEntity;
 	}
 	
 
@@ -246,17 +384,50 @@ public class AccountService {
 	 * @param page 
 	 * @return 전체, 입금, 출금 거래내역 (3가지 타입) 반환
 	 */
-	// @Transactional
+	@Transactional(readOnly = true)
 	public List<HistoryAccount> readHistoryByAccountId(String type, Integer accountId, int page, int size){
-		List<HistoryAccount> list = new ArrayList<>();
-		int limit = size;
-		int offset = (page - 1) * size;
-		list = historyRepository.findByAccountIdAndOfHistory(type, accountId, limit, offset);
-		return list;
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfAccountId(accountId))) {
+			List<HistoryAccount> list = new ArrayList<>();
+			int limit = size;
+			int offset = (page - 1) * size;
+			list = historyRepository.findByAccountIdAndOfHistory(type, accountId, limit, offset);
+			return list;
+		}
 	}
 
+	@Transactional(readOnly = true)
 	public int countHistoryByAccountIdAndType(String type, Integer accountId) {
-		return historyRepository.countByAccountIdAndType(type, accountId);
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfAccountId(accountId))) {
+			return historyRepository.countByAccountIdAndType(type, accountId);
+		}
+	}
+
+	/**
+	 * 본인 계좌 단건 조회 (REST API)
+	 * 없는 계좌는 404 (화면용 readAccountById 는 500)
+	 */
+	@Transactional(readOnly = true)
+	public Account readOwnedAccount(Integer accountId, Integer principalId) {
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfAccountId(accountId))) {
+			Account accountEntity = accountRepository.findByAccountId(accountId);
+			if (accountEntity == null) {
+				throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.NOT_FOUND);
+			}
+			accountEntity.checkOwner(principalId);
+			return accountEntity;
+		}
+	}
+
+	/**
+	 * 거래내역 커서 조회 (REST API) - 최신순
+	 * @param cursor 이전 페이지 마지막 거래내역 id (첫 페이지는 null)
+	 * @param limit 조회 건수 (다음 페이지 여부를 알려면 한 건 더 요청)
+	 */
+	@Transactional(readOnly = true)
+	public List<HistoryAccount> readHistoryBeforeCursor(String type, Integer accountId, Integer cursor, int limit) {
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfAccountId(accountId))) {
+			return historyRepository.findByAccountIdBeforeCursor(type, accountId, cursor, limit);
+		}
 	}
 	
 
@@ -0,0 +1,257 @@
+package com.tenco.bank.service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tenco.bank.dto.AccountStreamDTO;
+import com.tenco.bank.dto.StreamMetricsDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.utils.Define;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 사용자별 실시간 잔액/거래내역 알림 (Server-Sent Events)
+ *
+ * - SseEmitter 는 비동기 서블릿으로 동작한다. 연결이 열려 있는 동안 서블릿 스레드를 잡고 있지 않기 때문에
+ *   대기 중인 연결이 많아도 스레드가 늘지 않는다.
+ * - 커밋된 거래만 보낸다. (AccountHistoryEvent 를 AFTER_COMMIT 에서 수신)
+ * - 전송은 가상 스레드에서 한다. 이체 요청 스레드가 느린 클라이언트 때문에 기다리지 않는다.
+ * - 연결마다 전송 대기열을 두고 한 번에 하나씩 보낸다. (같은 연결로 가는 이벤트 순서 유지)
+ *   커밋 후 리스너는 요청 스레드마다 따로 실행되어 늦게 커밋된 거래가 먼저 올 수 있으므로,
+ *   계좌별로 이미 보낸 거래내역 ID 보다 작은 이벤트는 보내지 않는다. (잔액이 뒤로 가지 않게)
+ */
+@Service
+public class AccountStreamService {
+
+	private static final String ATM = "ATM";
+
+	private final Map<Integer, Set<Connection>> emitters = new ConcurrentHashMap<>();
+	private final ExecutorService pushExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	private final long timeoutMillis;
+	private final int maxConnections;
+
+	// 지표
+	private final AtomicInteger connections = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder pushed = new LongAdder();
+	private final LongAdder pushFailures = new LongAdder();
+	private final LongAdder outOfOrder = new LongAdder();
+	private final LongAdder pushLatencyNanos = new LongAdder();
+	private final AtomicLong maxPushLatencyNanos = new AtomicLong();
+
+	public AccountStreamService(@Value("${bank.stream.timeout-ms:1800000}") long timeoutMillis,
+			@Value("${bank.stream.max-connections:50000}") int maxConnections) {
+		this.timeoutMillis = timeoutMillis;
+		this.maxConnections = maxConnections;
+	}
+
+	/**
+	 * 사용자 연결 등록
+	 * 시간 초과, 완료, 오류가 나면 자동으로 목록에서 제거된다.
+	 */
+	public SseEmitter connect(Integer userId) {
+		if (connections.incrementAndGet() > maxConnections) {
+			connections.decrementAndGet();
+			rejected.increment();
+			throw new DataDeliveryException(Define.TOO_MANY_STREAMS, HttpStatus.SERVICE_UNAVAILABLE);
+		}
+
+		SseEmitter emitter = createEmitter();
+		Connection connection = new Connection(userId, emitter);
+		emitters.compute(userId, (key, set) -> {
+			Set<Connection> target = (set == null) ? ConcurrentHashMap.newKeySet() : set;
+			target.add(connection);
+			return target;
+		});
+
+		Runnable remove = () -> remove(connection);
+		emitter.onCompletion(remove);
+		emitter.onTimeout(remove);
+		emitter.onError(e -> remove.run());
+
+		// 연결 직후 한 번 보내야 브라우저가 연결 성공으로 인식한다.
+		connection.enqueue(new Pending(SseEmitter.event().comment("connected"), null, null, 0));
+		return emitter;
+	}
+
+	// 테스트에서 보낸 이벤트를 기록하는 emitter 로 바꿀 수 있도록 분리
+	SseEmitter createEmitter() {
+		return new SseEmitter(timeoutMillis);
+	}
+
+	// 커밋된 거래 -> 관련 사용자에게 전송
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onHistoryCommitted(AccountHistoryEvent event) {
+		if (emitters.isEmpty()) {
+			return;
+		}
+
+		// 소유자가 없는 계좌는 샤드 간 이체의 상대(다른 샤드) 계좌 - 그 샤드의 거래 이벤트로 따로 보낸다.
+		Account withdraw = event.getWithdrawAccount();
+		Account deposit = event.getDepositAccount();
+		if (withdraw != null && withdraw.getUserId() != null) {
+			push(withdraw.getUserId(), toStream(event, withdraw, false), event.getCreatedNanos());
+		}
+		if (deposit != null && deposit.getUserId() != null) {
+			push(deposit.getUserId(), toStream(event, deposit, true), event.getCreatedNanos());
+		}
+	}
+
+	// 프록시, 로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 주석 이벤트 전송 (끊어진 연결 정리도 겸함)
+	@Scheduled(fixedDelayString = "${bank.stream.heartbeat-ms:25000}")
+	public void heartbeat() {
+		emitters.values().forEach(set -> {
+			for (Connection connection : set) {
+				connection.enqueue(new Pending(SseEmitter.event().comment("ping"), null, null, 0));
+			}
+		});
+	}
+
+	public StreamMetricsDTO readMetrics() {
+		long count = pushed.sum();
+		return StreamMetricsDTO.builder()
+				.connections(connections.get())
+				.users(emitters.size())
+				.rejected(rejected.sum())
+				.pushed(count)
+				.pushFailures(pushFailures.sum())
+				.outOfOrder(outOfOrder.sum())
+				.avgPushLatencyMs(count == 0 ? 0 : pushLatencyNanos.sum() / (double) count / 1_000_000)
+				.maxPushLatencyMs(maxPushLatencyNanos.get() / 1_000_000.0)
+				.build();
+	}
+
+	private void push(Integer userId, AccountStreamDTO data, long createdNanos) {
+		Set<Connection> set = emitters.get(userId);
+		if (set == null || set.isEmpty()) {
+			return;
+		}
+
+		for (Connection connection : set) {
+			connection.enqueue(new Pending(SseEmitter.event().name("balance").data(data), data.getAccountId(),
+					data.getHistoryId(), createdNanos));
+		}
+	}
+
+	// 같은 사용자의 connect 와 겹쳐도 빈 Set 만 정리되도록 compute 안에서 처리
+	private void remove(Connection connection) {
+		emitters.computeIfPresent(connection.userId, (key, set) -> {
+			if (set.remove(connection)) {
+				connections.decrementAndGet();
+			}
+			return set.isEmpty() ? null : set;
+		});
+	}
+
+	private AccountStreamDTO toStream(AccountHistoryEvent event, Account account, boolean inbound) {
+		History history = event.getHistory();
+		Account withdraw = event.getWithdrawAccount();
+		Account deposit = event.getDepositAccount();
+		return AccountStreamDTO.builder()
+				.accountId(account.getId())
+				.number(account.getNumber())
+				.balance(account.getBalance())
+				.type(event.getEventType())
+				.historyId(history.getId())
+				.amount(history.getAmount())
+				.sender(withdraw == null ? ATM : withdraw.getNumber())
+				.receiver(deposit == null ? ATM : deposit.getNumber())
+				.inbound(inbound)
+				.createdAt(event.getCreatedAt())
+				.build();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		emitters.values().forEach(set -> set.forEach(connection -> connection.emitter.complete()));
+		pushExecutor.shutdown();
+	}
+
+	// 보낼 이벤트 (accountId 가 null 이면 주석 이벤트 - 순서 검사 없음)
+	private record Pending(SseEmitter.SseEventBuilder event, Integer accountId, Integer historyId,
+			long createdNanos) {
+	}
+
+	// 연결 하나 - 대기열에 넣고, 보내는 작업은 연결마다 한 번에 하나만 실행한다.
+	private final class Connection {
+
+		private final Integer userId;
+		private final SseEmitter emitter;
+		private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private final Map<Integer, Integer> lastHistoryIds = new HashMap<>(); // 계좌 ID -> 보낸 거래내역 ID (drain 에서만 사용)
+
+		private Connection(Integer userId, SseEmitter emitter) {
+			this.userId = userId;
+			this.emitter = emitter;
+		}
+
+		private void enqueue(Pending pending) {
+			queue.add(pending);
+			if (draining.compareAndSet(false, true)) {
+				pushExecutor.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			do {
+				Pending pending;
+				while ((pending = queue.poll()) != null) {
+					send(pending);
+				}
+				draining.set(false);
+				// 플래그를 내린 사이에 들어온 이벤트가 있으면 이어서 보낸다.
+			} while (!queue.isEmpty() && draining.compareAndSet(false, true));
+		}
+
+		private void send(Pending pending) {
+			if (pending.accountId() != null && pending.historyId() != null) {
+				Integer last = lastHistoryIds.get(pending.accountId());
+				if (last != null && last >= pending.historyId()) {
+					outOfOrder.increment(); // 더 최근 잔액을 이미 보냄
+					return;
+				}
+				lastHistoryIds.put(pending.accountId(), pending.historyId());
+			}
+			try {
+				emitter.send(pending.event());
+			} catch (IOException | IllegalStateException e) {
+				// 클라이언트가 이미 떠난 연결
+				pushFailures.increment();
+				queue.clear();
+				remove(this);
+				return;
+			}
+			if (pending.accountId() != null) {
+				long latency = System.nanoTime() - pending.createdNanos();
+				pushed.increment();
+				pushLatencyNanos.add(latency);
+				maxPushLatencyNanos.accumulateAndGet(latency, Math::max);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,161 @@
+package com.tenco.bank.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tenco.bank.dto.ConditionalGetMetricsDTO;
+import com.tenco.bank.repository.model.Account;
+
+/**
+ * 계좌 목록, 상세 화면의 버전 (조건부 GET - ETag)
+ *
+ * - 사용자별(계좌 목록), 계좌별(상세) 마지막 변경 번호를 메모리에 둔다.
+ *   번호는 전역 순번이라 변경이 있을 때마다 커진다. 한 번도 바뀌지 않은 키는 floor(전체 무효화 번호)를 쓴다.
+ * - 거래가 커밋된 뒤(AccountHistoryEvent AFTER_COMMIT)에 올린다. 커밋 전에 올리면 옛 데이터가 새 ETag 로 캐시된다.
+ * - 화면은 버전을 먼저 읽고 조회한다. 그 사이 커밋된 거래는 다음 요청에서 버전이 달라 다시 그린다.
+ * - 서버 메모리 기준이다. 여러 대로 띄우거나 SQL 로 직접 잔액을 바꾸면 알 수 없으므로 그때는 enabled 를 끈다.
+ *   (재시작하면 epoch 가 바뀌어 이전 ETag 는 모두 불일치)
+ */
+@Service
+public class AccountVersionService {
+
+	private final boolean enabled;
+	private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+	private final AtomicLong sequence = new AtomicLong();
+	private volatile long floor; // touchAll 시점 번호 - 이보다 작은 항목은 의미 없음
+	private final Map<Integer, Long> userVersions = new ConcurrentHashMap<>();
+	private final Map<Integer, Long> accountVersions = new ConcurrentHashMap<>();
+
+	// 지표
+	private final LongAdder notModified = new LongAdder();
+	private final LongAdder rendered = new LongAdder();
+
+	public AccountVersionService(@Value("${bank.conditional-get.enabled:true}") boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onHistoryCommitted(AccountHistoryEvent event) {
+		touch(event.getWithdrawAccount());
+		touch(event.getDepositAccount());
+	}
+
+	/**
+	 * 사용자의 계좌 목록이 바뀜 (계좌 생성)
+	 * 트랜잭션 안이면 커밋된 뒤에 올린다.
+	 */
+	public void touchUser(Integer userId) {
+		if (userId == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					bump(userVersions, userId);
+				}
+			});
+			return;
+		}
+		bump(userVersions, userId);
+	}
+
+	// 모든 화면 무효화 (이자 지급 배치처럼 계좌를 한꺼번에 바꾼 뒤)
+	public void touchAll() {
+		floor = sequence.incrementAndGet();
+	}
+
+	/**
+	 * 계좌 목록 화면 ETag
+	 * @return 사용하지 않으면 null
+	 */
+	public String listETag(int userId) {
+		if (!enabled) {
+			return null;
+		}
+		return etag(userId, version(userVersions, userId));
+	}
+
+	/**
+	 * 계좌 상세 화면 ETag (조회 조건은 URL 에 있으므로 버전만)
+	 * @return 사용하지 않으면 null
+	 */
+	public String detailETag(int userId, int accountId) {
+		if (!enabled) {
+			return null;
+		}
+		return etag(userId, accountVersion(accountId));
+	}
+
+	/**
+	 * 계좌 현재 버전 (거래가 커밋될 때마다 커진다)
+	 * ETag 사용 여부와 관계없이 화면 조각 캐시 등에서 사용한다.
+	 */
+	public long accountVersion(int accountId) {
+		return version(accountVersions, accountId);
+	}
+
+	public void recordNotModified() {
+		notModified.increment();
+	}
+
+	public void recordRendered() {
+		rendered.increment();
+	}
+
+	// 전체 무효화 이전 번호는 floor 로 대신할 수 있으므로 정리
+	@Scheduled(fixedDelayString = "${bank.conditional-get.sweep-interval-ms:60000}")
+	public void sweep() {
+		long current = floor;
+		userVersions.values().removeIf(version -> version <= current);
+		accountVersions.values().removeIf(version -> version <= current);
+	}
+
+	public ConditionalGetMetricsDTO readMetrics() {
+		return ConditionalGetMetricsDTO.builder()
+				.enabled(enabled)
+				.notModified(notModified.sum())
+				.rendered(rendered.sum())
+				.trackedUsers(userVersions.size())
+				.trackedAccounts(accountVersions.size())
+				.build();
+	}
+
+	private void touch(Account account) {
+		if (account == null) {
+			return;
+		}
+		bump(accountVersions, account.getId());
+		if (account.getUserId() != null) {
+			bump(userVersions, account.getUserId()); // 목록에 잔액이 보이므로 소유자 목록도 변경
+		}
+	}
+
+	private void bump(Map<Integer, Long> versions, Integer key) {
+		// 동시에 올려도 작은 번호가 큰 번호를 덮어쓰지 않도록 max
+		versions.merge(key, sequence.incrementAndGet(), Math::max);
+	}
+
+	private long version(Map<Integer, Long> versions, int key) {
+		Long version = versions.get(key);
+		long current = floor;
+		return version == null || version < current ? current : version;
+	}
+
+	// 약한 ETag - JSP 출력이 바이트 단위로 같다는 보장은 없고 의미상 같은 화면임을 나타낸다.
+	private String etag(int userId, long version) {
+		return "W/\"" + epoch + "-" + userId + "-" + version + "\"";
+	}
+
+}
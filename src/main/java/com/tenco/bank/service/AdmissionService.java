@@ -0,0 +1,113 @@
+package com.tenco.bank.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.AdmissionMetricsDTO;
+import com.tenco.bank.utils.AdaptiveConcurrencyLimiter;
+import com.tenco.bank.utils.TokenBucket;
+
+/**
+ * 계좌 요청 입장 제어 (AdmissionInterceptor 에서 사용)
+ *
+ * - 전체 : 응답 시간에 맞춰 조절되는 동시 처리 한도 (넘으면 503)
+ * - 사용자별 : 쓰기 요청(출금, 입금, 이체) 토큰 버킷 (넘으면 429)
+ * 둘 다 DB 에 닿기 전에 거절하므로 거절 비용이 거의 없다.
+ */
+@Service
+public class AdmissionService {
+
+	private final boolean enabled;
+	private final AdaptiveConcurrencyLimiter limiter;
+	private final double userRatePerSecond;
+	private final double userBurst;
+	private final Map<Integer, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+	// 지표
+	private final LongAdder admitted = new LongAdder();
+	private final LongAdder rejectedConcurrency = new LongAdder();
+	private final LongAdder rejectedRate = new LongAdder();
+
+	public AdmissionService(@Value("${bank.admission.enabled:true}") boolean enabled,
+			@Value("${bank.admission.initial-limit:20}") int initialLimit,
+			@Value("${bank.admission.min-limit:4}") int minLimit,
+			@Value("${bank.admission.max-limit:200}") int maxLimit,
+			@Value("${bank.admission.tolerance:1.5}") double tolerance,
+			@Value("${bank.admission.smoothing:0.2}") double smoothing,
+			@Value("${bank.admission.window-size:50}") int windowSize,
+			@Value("${bank.admission.user-rate-per-second:2}") double userRatePerSecond,
+			@Value("${bank.admission.user-burst:10}") double userBurst) {
+		this.enabled = enabled;
+		this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+				windowSize);
+		this.userRatePerSecond = userRatePerSecond;
+		this.userBurst = userBurst;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 사용자별 쓰기 요청 토큰 사용
+	 * @return 거절이면 다시 시도할 때까지 기다릴 시간(ms), 통과면 -1
+	 */
+	public long tryConsumeWrite(Integer userId) {
+		if (userRatePerSecond <= 0) {
+			return -1;
+		}
+		long now = System.nanoTime();
+		TokenBucket bucket = buckets.computeIfAbsent(userId,
+				key -> new TokenBucket(userBurst, userRatePerSecond, now));
+		if (bucket.tryConsume(now)) {
+			return -1;
+		}
+		rejectedRate.increment();
+		return Math.max(1, bucket.millisUntilNext(now));
+	}
+
+	// 전체 동시 처리 한도 안이면 true (반드시 release 또는 releaseWithoutSample 호출)
+	public boolean tryAcquire() {
+		if (limiter.tryAcquire()) {
+			admitted.increment();
+			return true;
+		}
+		rejectedConcurrency.increment();
+		return false;
+	}
+
+	public void release(long elapsedNanos) {
+		limiter.release(elapsedNanos);
+	}
+
+	public void releaseWithoutSample() {
+		limiter.releaseWithoutSample();
+	}
+
+	// 가득 찬 버킷(최근 쓰기 요청이 없는 사용자)은 제거 (메모리 상한 = 최근 쓰기 사용자 수)
+	@Scheduled(fixedDelayString = "${bank.admission.sweep-interval-ms:60000}")
+	public void sweep() {
+		long now = System.nanoTime();
+		buckets.values().removeIf(bucket -> bucket.isFull(now));
+	}
+
+	public AdmissionMetricsDTO readMetrics() {
+		return AdmissionMetricsDTO.builder()
+				.enabled(enabled)
+				.limit(limiter.getLimit())
+				.inflight(limiter.getInflight())
+				.shortRttMs(limiter.getShortRttMillis())
+				.longRttMs(limiter.getLongRttMillis())
+				.admitted(admitted.sum())
+				.rejectedConcurrency(rejectedConcurrency.sum())
+				.rejectedRate(rejectedRate.sum())
+				.rateLimitedUsers(buckets.size())
+				.build();
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tenco.bank.dto.BalanceAsOfDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.BalanceCheckpointRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.BalanceCheckpoint;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.shard.ShardContext;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 특정 시점 잔액 조회
+ *
+ * - 거래내역에는 거래 후 잔액(w_balance, d_balance)이 같이 저장되어 있다.
+ *   -> 시점 T 의 잔액 = T 이전 마지막 거래내역의 거래 후 잔액
+ * - 매일 자정 기준 체크포인트를 만들어 두고, 조회 시에는 가장 가까운 체크포인트 이후 구간만 읽는다.
+ *   (계좌별 인덱스 (w_account_id, created_at), (d_account_id, created_at) 로 조회 시점 앞 거래 한 건만 읽음)
+ * - 체크포인트 작업은 전날 체크포인트 이후 새로 등록된(created_at) 거래내역만 읽어서 insert ... select 한 번으로 처리한다.
+ *   거래가 없었던 계좌는 이전 체크포인트가 그대로 유효하므로 새로 만들지 않는다.
+ *   거래내역 ID 는 등록 시각 순서와 다를 수 있으므로 구간은 ID 가 아니라 등록 시각으로 나눈다.
+ *   (자정 직전에 시작된 거래가 커밋될 시간을 두도록 작업은 자정 10분 뒤에 실행)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceCheckpointService {
+
+	private static final String WITHDRAW_SIDE = "w";
+	private static final String DEPOSIT_SIDE = "d";
+
+	private final AccountRepository accountRepository;
+	private final HistoryRepository historyRepository;
+	private final BalanceCheckpointRepository balanceCheckpointRepository;
+	private final ShardRouter shardRouter;
+
+	// 오늘 0시 기준 체크포인트 생성 (샤드마다 별도 트랜잭션)
+	@Scheduled(cron = "${bank.checkpoint.cron:0 10 0 * * *}")
+	public void createCheckpoints() {
+		Timestamp checkpointAt = Timestamp.valueOf(LocalDate.now().atStartOfDay());
+		for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+			int created = shardRouter.callInNewTransaction(shard, false, () -> createCheckpoint(checkpointAt));
+			log.info("잔액 체크포인트 생성 - shard {}, 기준 {}, 계좌 {}개", shard, checkpointAt, created);
+		}
+	}
+
+	private int createCheckpoint(Timestamp checkpointAt) {
+		BalanceCheckpoint lastRun = balanceCheckpointRepository.findLatestRun();
+		if (lastRun != null && !lastRun.getCheckpointAt().before(checkpointAt)) {
+			return 0; // 이미 생성됨
+		}
+
+		Timestamp since = (lastRun == null) ? null : lastRun.getCheckpointAt();
+		int created = balanceCheckpointRepository.insertFromHistory(since, checkpointAt);
+		balanceCheckpointRepository.insertRun(checkpointAt);
+		return created;
+	}
+
+	/**
+	 * 시점 잔액 조회 - 본인 계좌만 조회 가능
+	 * @param at 조회 시점 (이 시각까지 등록된 거래 반영)
+	 */
+	@Transactional(readOnly = true)
+	public BalanceAsOfDTO readBalanceAt(Integer accountId, Timestamp at, Integer principalId) {
+		try (ShardContext.Scope scope = shardRouter.bind(shardRouter.shardOfAccountId(accountId))) {
+			Account accountEntity = accountRepository.findByAccountId(accountId);
+			if (accountEntity == null) {
+				throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.BAD_REQUEST);
+			}
+			accountEntity.checkOwner(principalId);
+			if (accountEntity.getCreatedAt() != null && accountEntity.getCreatedAt().after(at)) {
+				throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT_AT, HttpStatus.BAD_REQUEST);
+			}
+
+			BalanceAsOfDTO.BalanceAsOfDTOBuilder result = BalanceAsOfDTO.builder()
+					.accountId(accountId)
+					.number(accountEntity.getNumber())
+					.at(at);
+
+			// 1. 가장 가까운 체크포인트
+			BalanceCheckpoint checkpoint = balanceCheckpointRepository.findLatestBefore(accountId, at);
+			Timestamp since = null;
+			if (checkpoint != null) {
+				since = checkpoint.getCheckpointAt();
+				result.checkpointAt(checkpoint.getCheckpointAt()).balance(checkpoint.getBalance());
+			}
+
+			// 2. 체크포인트 이후 ~ at 까지 마지막 거래 (출금 쪽, 입금 쪽 중 나중 것)
+			History withdraw = historyRepository.findLastRowAt(WITHDRAW_SIDE, accountId, since, at);
+			History deposit = historyRepository.findLastRowAt(DEPOSIT_SIDE, accountId, since, at);
+			History last = later(withdraw, deposit);
+			if (last != null) {
+				return result.balance(last == withdraw ? last.getWBalance() : last.getDBalance())
+						.historyId(last.getId())
+						.build();
+			}
+			if (checkpoint != null) {
+				return result.build();
+			}
+
+			// 3. at 이전 거래가 전혀 없음 -> 계좌 개설 금액. at 이후 첫 거래의 거래 전 잔액으로 계산
+			History firstWithdraw = historyRepository.findFirstRowAfter(WITHDRAW_SIDE, accountId, at);
+			History firstDeposit = historyRepository.findFirstRowAfter(DEPOSIT_SIDE, accountId, at);
+			History first = earlier(firstWithdraw, firstDeposit);
+			if (first == null) {
+				return result.balance(accountEntity.getBalance()).build(); // 거래가 한 번도 없었음
+			}
+			long before = (first == firstWithdraw) ? first.getWBalance() + first.getAmount()
+					: first.getDBalance() - first.getAmount();
+			return result.balance(before).build();
+		}
+	}
+
+	private History later(History a, History b) {
+		if (a == null || b == null) {
+			return a == null ? b : a;
+		}
+		return compare(a, b) > 0 ? a : b;
+	}
+
+	private History earlier(History a, History b) {
+		if (a == null || b == null) {
+			return a == null ? b : a;
+		}
+		return compare(a, b) < 0 ? a : b;
+	}
+
+	// 등록 시각, 같으면 ID 순
+	private int compare(History a, History b) {
+		int byTime = a.getCreatedAt().compareTo(b.getCreatedAt());
+		return byTime != 0 ? byTime : Integer.compare(a.getId(), b.getId());
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.tenco.bank.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.config.BulkheadProperties;
+import com.tenco.bank.config.BulkheadRoutingDataSource;
+import com.tenco.bank.dto.BulkheadMetricsDTO;
+import com.tenco.bank.handler.Bulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * 읽기/쓰기 격벽 (BulkheadInterceptor 에서 사용)
+ *
+ * - 그룹마다 세마포어로 동시에 처리하는 요청 수(= 점유하는 서블릿 스레드 수)를 제한한다.
+ *   느린 상세 화면 요청이 몰려도 read 그룹 상한까지만 스레드를 쓰고, 나머지는 바로 503
+ * - separate-pools 이면 커넥션 풀도 그룹별로 나뉜다. (BulkheadDataSourceConfig)
+ */
+@Service
+public class BulkheadService {
+
+	private final boolean enabled;
+	private final Map<String, Compartment> compartments = new LinkedHashMap<>();
+	private final BulkheadRoutingDataSource routingDataSource; // separate-pools 가 아니면 null
+
+	public BulkheadService(BulkheadProperties properties, DataSource dataSource) throws SQLException {
+		this.enabled = properties.isEnabled();
+		// 서킷 브레이커 등으로 감싸져 있을 수 있으므로 unwrap 으로 찾는다.
+		this.routingDataSource = dataSource.isWrapperFor(BulkheadRoutingDataSource.class)
+				? dataSource.unwrap(BulkheadRoutingDataSource.class) : null;
+		// 설정이 없는 그룹도 기본값으로 만든다.
+		for (String group : List.of(Bulkhead.READ, Bulkhead.WRITE)) {
+			compartments.put(group, new Compartment(group, new BulkheadProperties.Group()));
+		}
+		properties.getGroups().forEach((group, config) -> compartments.put(group, new Compartment(group, config)));
+	}
+
+	/**
+	 * 그룹 자리 차지 (최대 maxWaitMs 대기)
+	 * @return 자리를 얻었으면 true -> 반드시 exit 호출
+	 */
+	public boolean tryEnter(String group) throws InterruptedException {
+		if (!enabled) {
+			return true;
+		}
+		Compartment compartment = compartments.get(group);
+		if (compartment == null) {
+			return true;
+		}
+
+		boolean acquired = compartment.semaphore.tryAcquire();
+		if (!acquired && compartment.maxWaitMs > 0) {
+			compartment.waited.increment();
+			acquired = compartment.semaphore.tryAcquire(compartment.maxWaitMs, TimeUnit.MILLISECONDS);
+		}
+		if (!acquired) {
+			compartment.rejected.increment();
+			return false;
+		}
+		compartment.admitted.increment();
+		compartment.peak.accumulateAndGet(compartment.maxConcurrent - compartment.semaphore.availablePermits(),
+				Math::max);
+		return true;
+	}
+
+	public void exit(String group) {
+		if (!enabled) {
+			return;
+		}
+		Compartment compartment = compartments.get(group);
+		if (compartment != null) {
+			compartment.semaphore.release();
+		}
+	}
+
+	public List<BulkheadMetricsDTO> readMetrics() {
+		List<BulkheadMetricsDTO> metrics = new ArrayList<>();
+		compartments.values().forEach(compartment -> {
+			BulkheadMetricsDTO.BulkheadMetricsDTOBuilder builder = BulkheadMetricsDTO.builder()
+					.group(compartment.group)
+					.maxConcurrent(compartment.maxConcurrent)
+					.active(compartment.maxConcurrent - compartment.semaphore.availablePermits())
+					.peak(compartment.peak.get())
+					.admitted(compartment.admitted.sum())
+					.waited(compartment.waited.sum())
+					.rejected(compartment.rejected.sum())
+					.poolSize(-1);
+
+			// 그룹 전용 커넥션 풀 사용 중이면 풀 상태도 같이
+			HikariDataSource pool = routingDataSource == null ? null : routingDataSource.getPool(compartment.group);
+			HikariPoolMXBean poolBean = pool == null ? null : pool.getHikariPoolMXBean();
+			if (poolBean != null) {
+				builder.poolSize(pool.getMaximumPoolSize())
+						.poolActive(poolBean.getActiveConnections())
+						.poolIdle(poolBean.getIdleConnections())
+						.poolWaiting(poolBean.getThreadsAwaitingConnection());
+			}
+			metrics.add(builder.build());
+		});
+		return metrics;
+	}
+
+	private static class Compartment {
+
+		private final String group;
+		private final int maxConcurrent;
+		private final long maxWaitMs;
+		private final Semaphore semaphore;
+		private final AtomicInteger peak = new AtomicInteger();
+		private final LongAdder admitted = new LongAdder();
+		private final LongAdder waited = new LongAdder();
+		private final LongAdder rejected = new LongAdder();
+
+		private Compartment(String group, BulkheadProperties.Group config) {
+			this.group = group;
+			this.maxConcurrent = config.getMaxConcurrent();
+			this.maxWaitMs = config.getMaxWaitMs();
+			this.semaphore = new Semaphore(config.getMaxConcurrent());
+		}
+
+	}
+
+}
@@ -0,0 +1,234 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.config.ShardingProperties;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.TransferSagaRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.model.TransferSaga;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 샤드 간 이체 (saga)
+ *
+ * 1. 출금 샤드 트랜잭션 : 출금 + 거래내역 + saga(PENDING) 기록
+ * 2. 입금 샤드 트랜잭션 : inbox(saga id) 기록 + 입금 + 거래내역 (inbox PK 로 중복 입금 방지)
+ * 3. 출금 샤드 트랜잭션 : saga DONE
+ *
+ * 2, 3 단계 중간에 실패하거나 서버가 내려가도 saga 는 PENDING 으로 남아 있으므로
+ * 복구 작업(recover)이 다시 2, 3 단계를 실행한다. 입금 계좌가 사라졌다면 출금을 환불한다. (COMPENSATED)
+ * 환불할 때 1 단계에서 예약한 출금 한도도 되돌린다.
+ *
+ * 상대 계좌는 다른 샤드에 있어 조인할 수 없으므로 각 쪽 거래내역에 상대 계좌번호를 같이 기록하고,
+ * 이벤트에는 번호만 있는 계좌(remoteAccount)로 싣는다. (화면, 알림에 'ATM' 으로 보이지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CrossShardTransferService {
+
+	private final AccountRepository accountRepository;
+	private final TransferSagaRepository transferSagaRepository;
+	private final HistoryWriter historyWriter;
+	private final ShardRouter shardRouter;
+	private final ShardingProperties shardingProperties;
+	private final VelocityLimiter velocityLimiter;
+	private final IdempotencyService idempotencyService;
+	private final RecipientIndexService recipientIndexService;
+
+	/**
+	 * AccountService 에서만 호출 (비밀번호 확인 생략 여부를 받으므로 패키지 밖에 공개하지 않는다.)
+	 * @param idempotencyKey 출금 샤드 트랜잭션에 기록 (null 이면 사용 안 함)
+	 */
+	void transfer(TransferDTO dto, Integer principalId, boolean checkPassword, String idempotencyKey) {
+		int withdrawShard = shardRouter.shardOfNumber(dto.getWAccountNumber());
+		int depositShard = shardRouter.shardOfNumber(dto.getDAccountNumber());
+
+		Account depositAccountEntity = shardRouter.callInNewTransaction(depositShard, true,
+				() -> accountRepository.findByNumber(dto.getDAccountNumber()));
+		if (depositAccountEntity == null) {
+			throw new DataDeliveryException("상대방의 계좌 번호가 없습니다.", HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		// 1.
+		TransferSaga saga = shardRouter.callInNewTransaction(withdrawShard, false,
+				() -> withdraw(dto, principalId, checkPassword, idempotencyKey, depositAccountEntity));
+		if (saga == null) {
+			return; // 같은 키로 이미 처리된 이체 (입금은 그 saga 가 처리)
+		}
+		// 출금 샤드 이벤트에는 입금 계좌가 없으므로 이체 자동완성에 직접 알린다. (출금은 커밋됨)
+		if (!principalId.equals(depositAccountEntity.getUserId())) {
+			recipientIndexService.addRecent(principalId, dto.getDAccountNumber());
+		}
+
+		// 2., 3. - 실패해도 출금은 이미 커밋되었으므로 복구 작업에 맡긴다.
+		try {
+			complete(saga, withdrawShard);
+		} catch (Exception e) {
+			log.warn("샤드 간 이체 입금 지연 saga={} - 복구 작업에서 재시도", saga.getId(), e);
+		}
+	}
+
+	// in-doubt (PENDING 상태로 오래 남은) saga 복구
+	@Scheduled(fixedDelayString = "${bank.sharding.recovery-interval-ms:10000}")
+	public void recover() {
+		if (!shardRouter.isSharded()) {
+			return;
+		}
+
+		Timestamp before = new Timestamp(System.currentTimeMillis() - shardingProperties.getInDoubtAfterMillis());
+		for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+			List<TransferSaga> pending = shardRouter.callInNewTransaction(shard, true,
+					() -> transferSagaRepository.findByStatusBefore(TransferSaga.PENDING, before,
+							shardingProperties.getRecoveryBatchSize()));
+			for (TransferSaga saga : pending) {
+				try {
+					complete(saga, shard);
+				} catch (Exception e) {
+					log.warn("saga 복구 실패 saga={}", saga.getId(), e);
+				}
+			}
+		}
+	}
+
+	// 1. 출금 샤드에서 실행 (재시도 요청이면 null)
+	private TransferSaga withdraw(TransferDTO dto, Integer principalId, boolean checkPassword, String idempotencyKey,
+			Account depositAccountEntity) {
+		if (!idempotencyService.claim(principalId, idempotencyKey, IdempotencyService
+				.fingerprint(Outbox.TRANSFER, dto.getWAccountNumber(), dto.getDAccountNumber(), dto.getAmount()))) {
+			return null;
+		}
+
+		Account withdrawAccountEntity = accountRepository.findByNumberForUpdate(dto.getWAccountNumber());
+		if (withdrawAccountEntity == null) {
+			throw new DataDeliveryException(Define.NOT_EXIST_ACCOUNT, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		withdrawAccountEntity.checkOwner(principalId);
+		if (checkPassword) {
+			withdrawAccountEntity.checkPassword(dto.getPassword());
+		}
+		withdrawAccountEntity.checkBalance(dto.getAmount());
+		velocityLimiter.reserve(withdrawAccountEntity.getId(), dto.getAmount());
+
+		withdrawAccountEntity.withdraw(dto.getAmount());
+		if (accountRepository.updateById(withdrawAccountEntity) != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		// 입금 계좌 잔액은 입금 샤드 거래내역에 기록된다.
+		History history = History.builder().amount(dto.getAmount())
+				.wAccountId(withdrawAccountEntity.getId())
+				.dAccountId(depositAccountEntity.getId())
+				.wBalance(withdrawAccountEntity.getBalance())
+				.dBalance(null)
+				.dAccountNumber(dto.getDAccountNumber())
+				.build();
+		historyWriter.record(Outbox.TRANSFER, history, withdrawAccountEntity,
+				remoteAccount(depositAccountEntity.getId(), dto.getDAccountNumber()));
+
+		TransferSaga saga = TransferSaga.builder()
+				.id(UUID.randomUUID().toString())
+				.wAccountId(withdrawAccountEntity.getId())
+				.wAccountNumber(withdrawAccountEntity.getNumber())
+				.dAccountNumber(dto.getDAccountNumber())
+				.amount(dto.getAmount())
+				.status(TransferSaga.PENDING)
+				.createdAt(new Timestamp(System.currentTimeMillis())) // 출금 한도 예약 시각 (DB 에는 now() 로 기록)
+				.build();
+		transferSagaRepository.insert(saga);
+		return saga;
+	}
+
+	// 2., 3.
+	private void complete(TransferSaga saga, int withdrawShard) {
+		int depositShard = shardRouter.shardOfNumber(saga.getDAccountNumber());
+
+		boolean deposited;
+		try {
+			deposited = shardRouter.callInNewTransaction(depositShard, false, () -> deposit(saga));
+		} catch (DuplicateKeyException e) {
+			// inbox 에 이미 있음 -> 이전 시도에서 입금까지 커밋된 상태
+			deposited = true;
+		}
+
+		if (deposited) {
+			shardRouter.callInNewTransaction(withdrawShard, false,
+					() -> transferSagaRepository.updateStatus(saga.getId(), TransferSaga.PENDING, TransferSaga.DONE));
+		} else {
+			shardRouter.callInNewTransaction(withdrawShard, false, () -> compensate(saga));
+		}
+	}
+
+	// 2. 입금 샤드에서 실행 - 입금 계좌가 없으면 false
+	private boolean deposit(TransferSaga saga) {
+		Account depositAccountEntity = accountRepository.findByNumberForUpdate(saga.getDAccountNumber());
+		if (depositAccountEntity == null) {
+			return false;
+		}
+
+		transferSagaRepository.insertInbox(saga.getId());
+
+		depositAccountEntity.deposit(saga.getAmount());
+		if (accountRepository.updateById(depositAccountEntity) != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		History history = History.builder().amount(saga.getAmount())
+				.wAccountId(saga.getWAccountId())
+				.dAccountId(depositAccountEntity.getId())
+				.wBalance(null)
+				.dBalance(depositAccountEntity.getBalance())
+				.wAccountNumber(saga.getWAccountNumber())
+				.build();
+		historyWriter.record(Outbox.TRANSFER, history, remoteAccount(saga.getWAccountId(), saga.getWAccountNumber()),
+				depositAccountEntity);
+		return true;
+	}
+
+	// 다른 샤드 계좌 - 이벤트에는 ID, 번호만 싣는다. (소유자, 잔액은 이 샤드에서 모르므로 알림, 대시보드는 이 계좌를 갱신하지 않음)
+	private static Account remoteAccount(Integer accountId, String number) {
+		if (number == null) {
+			return null; // 번호를 기록하기 전에 만든 saga
+		}
+		return Account.builder().id(accountId).number(number).build();
+	}
+
+	// 입금 불가 -> 출금 샤드에서 환불 (상태 전이에 성공한 한 번만 실행)
+	private int compensate(TransferSaga saga) {
+		int updated = transferSagaRepository.updateStatus(saga.getId(), TransferSaga.PENDING, TransferSaga.COMPENSATED);
+		if (updated != 1) {
+			return 0;
+		}
+
+		Account withdrawAccountEntity = accountRepository.findByAccountIdForUpdate(saga.getWAccountId());
+		withdrawAccountEntity.deposit(saga.getAmount());
+		accountRepository.updateById(withdrawAccountEntity);
+
+		History history = History.builder().amount(saga.getAmount())
+				.dAccountId(withdrawAccountEntity.getId())
+				.dBalance(withdrawAccountEntity.getBalance())
+				.build();
+		historyWriter.record(Outbox.DEPOSIT, history, null, withdrawAccountEntity);
+		velocityLimiter.release(saga.getWAccountId(), saga.getAmount(), saga.getCreatedAt().getTime());
+		log.warn("샤드 간 이체 환불 처리 saga={}", saga.getId());
+		return 1;
+	}
+
+}
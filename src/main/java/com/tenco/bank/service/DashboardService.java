@@ -0,0 +1,316 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tenco.bank.dto.DashboardDTO;
+import com.tenco.bank.dto.DashboardMetricsDTO;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.DashboardActivity;
+import com.tenco.bank.repository.model.LastHistory;
+import com.tenco.bank.repository.model.MonthFlow;
+import com.tenco.bank.repository.shard.ShardRouter;
+
+/**
+ * 계좌 목록 화면 대시보드 (총 잔액, 모든 계좌의 최근 거래, 이번 달 들어온 돈/나간 돈)
+ *
+ * - 처음 볼 때 계좌 목록 1번 + 샤드마다 최근 거래 1번, 이번 달 합계 1번으로 만든다. (계좌별 거래내역 조회 없음)
+ * - 이후에는 커밋된 거래(AccountHistoryEvent AFTER_COMMIT)로 메모리에서 갱신한다. 잔액은 이벤트의 거래 후 잔액으로 덮어쓴다.
+ * - 계좌별로 마지막 거래내역 ID 를 둔다. (한 계좌의 거래는 계좌 행 잠금 순서로 커밋되므로 ID 도 커밋 순서)
+ *   DB 에서 만들 때 샤드마다 한 읽기 트랜잭션에서 잔액, 합계, 최근 거래와 함께 읽고, 그 이하의 이벤트는 이미 반영된 것이라 버린다.
+ *   (만드는 중에 커밋된 거래가 조회에도 보이고 이벤트로도 오는 경우)
+ *   반영한 이벤트보다 오래된 이벤트가 늦게 오면 (리스너 스레드 순서) 다시 만든다.
+ * - 이벤트 없이 잔액이 바뀌는 경우(이자 지급 배치, 계좌 생성)와 달이 바뀌면 다시 만든다.
+ * - 사용자 수 한도를 넘으면 가장 오래 안 본 사용자부터 내린다.
+ * - 서버 메모리 기준이다. 여러 대로 띄우면 enabled 를 끈다. (매번 DB 에서 만든다)
+ */
+@Service
+public class DashboardService {
+
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	private final AccountRepository accountRepository;
+	private final HistoryRepository historyRepository;
+	private final ShardRouter shardRouter;
+	private final boolean enabled;
+	private final int maxUsers;
+	private final int recentSize;
+
+	// 접근 순서 LinkedHashMap -> 가장 오래 안 본 사용자부터 제거 (cache 로 동기화)
+	private final LinkedHashMap<Integer, UserDashboard> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+	// 지표
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder updates = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public DashboardService(AccountRepository accountRepository, HistoryRepository historyRepository,
+			ShardRouter shardRouter,
+			@Value("${bank.dashboard.enabled:true}") boolean enabled,
+			@Value("${bank.dashboard.max-users:10000}") int maxUsers,
+			@Value("${bank.dashboard.recent-size:10}") int recentSize) {
+		this.accountRepository = accountRepository;
+		this.historyRepository = historyRepository;
+		this.shardRouter = shardRouter;
+		this.enabled = enabled;
+		this.maxUsers = maxUsers;
+		this.recentSize = recentSize;
+	}
+
+	public DashboardDTO read(Integer userId) {
+		YearMonth month = YearMonth.now(ZONE);
+		if (!enabled) {
+			loads.increment();
+			return load(userId, month).toView();
+		}
+
+		UserDashboard dashboard;
+		synchronized (cache) {
+			dashboard = cache.computeIfAbsent(userId, key -> new UserDashboard());
+			Iterator<UserDashboard> eldest = cache.values().iterator();
+			while (cache.size() > maxUsers && eldest.hasNext()) {
+				eldest.next();
+				eldest.remove();
+				evictions.increment();
+			}
+		}
+
+		synchronized (dashboard) {
+			if (dashboard.view == null || !month.equals(dashboard.month)) {
+				dashboard.replaceWith(load(userId, month));
+				loads.increment();
+			} else {
+				hits.increment();
+			}
+			return dashboard.view;
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onHistoryCommitted(AccountHistoryEvent event) {
+		if (!enabled) {
+			return;
+		}
+		Account withdrawAccount = event.getWithdrawAccount();
+		Account depositAccount = event.getDepositAccount();
+		// 한 사용자의 계좌 사이 이체는 이번 달 합계에서 뺀다. (샤드 간 이체는 한쪽 계좌만 오므로 알 수 없음)
+		boolean internal = withdrawAccount != null && depositAccount != null
+				&& withdrawAccount.getUserId() != null && withdrawAccount.getUserId().equals(depositAccount.getUserId());
+		Timestamp createdAt = new Timestamp(event.getCreatedAt());
+
+		if (withdrawAccount != null) {
+			apply(withdrawAccount.getUserId(), DashboardActivity.builder()
+					.id(event.getHistory().getId())
+					.accountId(withdrawAccount.getId())
+					.accountNumber(withdrawAccount.getNumber())
+					.counterpartyNumber(depositAccount == null ? null : depositAccount.getNumber())
+					.inbound(false)
+					.amount(event.getHistory().getAmount())
+					.balance(withdrawAccount.getBalance())
+					.createdAt(createdAt)
+					.build(), internal);
+		}
+		if (depositAccount != null) {
+			apply(depositAccount.getUserId(), DashboardActivity.builder()
+					.id(event.getHistory().getId())
+					.accountId(depositAccount.getId())
+					.accountNumber(depositAccount.getNumber())
+					.counterpartyNumber(withdrawAccount == null ? null : withdrawAccount.getNumber())
+					.inbound(true)
+					.amount(event.getHistory().getAmount())
+					.balance(depositAccount.getBalance())
+					.createdAt(createdAt)
+					.build(), internal);
+		}
+	}
+
+	/**
+	 * 사용자 대시보드 다시 만들기 (계좌 생성 등) - 트랜잭션 안이면 커밋된 뒤에
+	 */
+	public void invalidate(Integer userId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					invalidate(userId);
+				}
+			});
+			return;
+		}
+		synchronized (cache) {
+			cache.remove(userId);
+		}
+	}
+
+	// 모든 대시보드 다시 만들기 (이자 지급 배치처럼 이벤트 없이 잔액을 바꾼 뒤)
+	public void invalidateAll() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	public DashboardMetricsDTO readMetrics() {
+		int users;
+		synchronized (cache) {
+			users = cache.size();
+		}
+		return DashboardMetricsDTO.builder()
+				.enabled(enabled)
+				.users(users)
+				.hits(hits.sum())
+				.loads(loads.sum())
+				.updates(updates.sum())
+				.evictions(evictions.sum())
+				.build();
+	}
+
+	private void apply(Integer userId, DashboardActivity activity, boolean internal) {
+		if (userId == null) {
+			return;
+		}
+		UserDashboard dashboard;
+		synchronized (cache) {
+			dashboard = cache.get(userId);
+		}
+		if (dashboard == null) {
+			return; // 다음에 볼 때 DB 에서 만든다.
+		}
+		synchronized (dashboard) {
+			if (dashboard.view == null) {
+				return;
+			}
+			if (!dashboard.balances.containsKey(activity.getAccountId())
+					|| !YearMonth.from(activity.getCreatedAt().toLocalDateTime()).equals(dashboard.month)) {
+				dashboard.view = null; // 모르는 계좌, 다른 달 -> 다음에 볼 때 다시 만든다.
+				return;
+			}
+			int historyId = activity.getId();
+			if (historyId <= dashboard.loadedHistoryIds.getOrDefault(activity.getAccountId(), 0)) {
+				return; // DB 에서 만들 때 이미 반영됨
+			}
+			if (historyId <= dashboard.lastHistoryIds.getOrDefault(activity.getAccountId(), 0)) {
+				dashboard.view = null; // 순서가 바뀐 이벤트 -> 다음에 볼 때 다시 만든다.
+				return;
+			}
+			dashboard.lastHistoryIds.put(activity.getAccountId(), historyId);
+			dashboard.balances.put(activity.getAccountId(), activity.getBalance());
+			if (!internal) {
+				if (activity.isInbound()) {
+					dashboard.inflow += activity.getAmount();
+				} else {
+					dashboard.outflow += activity.getAmount();
+				}
+			}
+			dashboard.recent.addFirst(activity);
+			while (dashboard.recent.size() > recentSize) {
+				dashboard.recent.removeLast();
+			}
+			dashboard.view = dashboard.toView();
+		}
+		updates.increment();
+	}
+
+	// DB 에서 만들기 - 계좌를 샤드별로 묶어 샤드마다 잔액, 마지막 거래내역 ID, 최근 거래, 이번 달 합계를 한 트랜잭션에서 조회
+	private UserDashboard load(Integer userId, YearMonth month) {
+		List<Account> accounts = shardRouter.collectFromAllShards(() -> accountRepository.findByUserId(userId));
+		UserDashboard dashboard = new UserDashboard();
+		dashboard.month = month;
+		if (accounts.isEmpty()) {
+			return dashboard;
+		}
+
+		List<Integer> ownAccountIds = new ArrayList<>(accounts.size());
+		Map<Integer, List<Integer>> accountIdsByShard = new TreeMap<>();
+		for (Account account : accounts) {
+			ownAccountIds.add(account.getId());
+			accountIdsByShard.computeIfAbsent(shardRouter.shardOfAccountId(account.getId()), key -> new ArrayList<>())
+					.add(account.getId());
+		}
+
+		Timestamp since = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+		List<DashboardActivity> recent = new ArrayList<>();
+		for (Map.Entry<Integer, List<Integer>> shard : accountIdsByShard.entrySet()) {
+			shardRouter.callInNewTransaction(shard.getKey(), true, () -> {
+				// 잔액은 거래내역과 같은 트랜잭션에서 다시 읽는다. (마지막 거래내역 ID 와 같은 시점)
+				for (Account account : accountRepository.findByUserId(userId)) {
+					if (shard.getValue().contains(account.getId())) {
+						dashboard.balances.put(account.getId(), account.getBalance());
+					}
+				}
+				for (LastHistory last : historyRepository.findLastIdsByAccountIds(shard.getValue())) {
+					dashboard.loadedHistoryIds.put(last.getAccountId(), last.getHistoryId());
+				}
+				recent.addAll(historyRepository.findRecentByAccountIds(shard.getValue(), recentSize));
+				MonthFlow flow = historyRepository.findFlowByAccountIdsSince(shard.getValue(), ownAccountIds, since);
+				dashboard.inflow += flow.getInflow();
+				dashboard.outflow += flow.getOutflow();
+				return null;
+			});
+		}
+		// 샤드마다 거래내역 ID 가 따로 매겨지므로 시간, ID 순으로 합친다.
+		recent.sort(Comparator.comparing(DashboardActivity::getCreatedAt)
+				.thenComparing(DashboardActivity::getId).reversed());
+		recent.stream().limit(recentSize).forEach(dashboard.recent::addLast);
+		dashboard.view = dashboard.toView();
+		return dashboard;
+	}
+
+	// 사용자 대시보드 상태 (UserDashboard 로 동기화)
+	private static final class UserDashboard {
+
+		private YearMonth month;
+		private final Map<Integer, Long> balances = new HashMap<>(); // 계좌 ID -> 잔액
+		private final Map<Integer, Integer> loadedHistoryIds = new HashMap<>(); // 계좌 ID -> DB 에서 만들 때 마지막 거래내역 ID
+		private final Map<Integer, Integer> lastHistoryIds = new HashMap<>(); // 계좌 ID -> 마지막으로 반영한 이벤트의 거래내역 ID
+		private long inflow;
+		private long outflow;
+		private final ArrayDeque<DashboardActivity> recent = new ArrayDeque<>(); // 앞 = 최신
+		private DashboardDTO view; // null 이면 다시 만들어야 함
+
+		private void replaceWith(UserDashboard loaded) {
+			month = loaded.month;
+			balances.clear();
+			balances.putAll(loaded.balances);
+			loadedHistoryIds.clear();
+			loadedHistoryIds.putAll(loaded.loadedHistoryIds);
+			lastHistoryIds.clear();
+			inflow = loaded.inflow;
+			outflow = loaded.outflow;
+			recent.clear();
+			recent.addAll(loaded.recent);
+			view = loaded.view;
+		}
+
+		private DashboardDTO toView() {
+			long total = 0;
+			for (long balance : balances.values()) {
+				total += balance;
+			}
+			return new DashboardDTO(month.toString(), balances.size(), total, inflow, outflow,
+					List.copyOf(recent));
+		}
+
+	}
+
+}
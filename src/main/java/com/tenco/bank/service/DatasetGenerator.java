@@ -0,0 +1,245 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.tenco.bank.config.DatasetProperties;
+import com.tenco.bank.utils.AccountNumber;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대용량 테스트 데이터 생성 (bank.datagen.enabled=true 일 때만 등록)
+ *
+ * - 사용자, 계좌, 거래내역을 JDBC batch insert 로 넣는다. (MyBatis 를 거치지 않음)
+ * - 계좌 활동은 Zipf 분포로 쏠리게 하고, 이체 일부는 소수의 가맹점 계좌로 몰아준다.
+ * - 거래내역은 시간 순서대로 만들면서 계좌별 잔액을 메모리에서 따라간다.
+ *   -> 거래 후 잔액(w_balance, d_balance)이 계좌별로 정확히 이어지고, 계좌 잔액은 마지막 거래 후 잔액과 같다.
+ * - 계좌는 거래내역을 다 만든 뒤 최종 잔액으로 넣는다. (잔액 update 를 다시 하지 않음)
+ * - 계좌번호는 account_number_seq_tb 에서 계좌 수만큼 순번을 한 번에 예약해 발급 형식(Luhn 검사 숫자)으로 만든다.
+ *   -> 생성 후 서버가 발급하는 번호와 겹치지 않는다. (생성 중에는 다른 서버가 계좌를 만들지 않는다고 본다)
+ * - 샤딩 사용 시에도 기본(0번) 데이터소스에만 넣는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bank.datagen", name = "enabled", havingValue = "true")
+public class DatasetGenerator implements ApplicationRunner {
+
+	private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+	private final DatasetProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final PasswordEncoder passwordEncoder;
+	private final ConfigurableApplicationContext context;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		long startedNanos = System.nanoTime();
+		SplittableRandom random = new SplittableRandom(properties.getSeed());
+
+		int userCount = properties.getUsers() * properties.getScale();
+		long historyCount = properties.getHistories() * properties.getScale();
+		int firstUserId = nextId("user_tb");
+		int firstAccountId = nextId("account_tb");
+		long start = System.currentTimeMillis() - properties.getYears() * 365L * DAY_MILLIS;
+
+		// 1. 사용자 - 가맹점 사용자(계좌 1개)가 앞쪽
+		int merchantCount = Math.min(properties.getMerchants() * properties.getScale(), userCount);
+		int[] accountOwners = insertUsers(random, userCount, merchantCount, firstUserId, new Timestamp(start));
+		int accountCount = accountOwners.length;
+
+		// 2. 거래내역 (계좌 잔액 추적)
+		long[] balances = new long[accountCount];
+		for (int i = merchantCount; i < accountCount; i++) {
+			balances[i] = (10 + random.nextInt(5000)) * 1000L; // 1만 ~ 500만
+		}
+		long[] openingBalances = balances.clone();
+		insertHistories(random, historyCount, balances, merchantCount, firstAccountId, start);
+
+		// 3. 계좌 (최종 잔액)
+		long firstSequence = reserveAccountNumbers(accountCount);
+		insertAccounts(accountOwners, balances, firstAccountId, firstSequence, new Timestamp(start));
+
+		log.info("테스트 데이터 생성 완료 - seed {}, scale {}, 사용자 {}, 계좌 {}, 거래내역 {}, 총 잔액 {} -> {}, {}초",
+				properties.getSeed(), properties.getScale(), userCount, accountCount, historyCount,
+				Arrays.stream(openingBalances).sum(), Arrays.stream(balances).sum(),
+				TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedNanos));
+
+		if (properties.isExitAfter()) {
+			System.exit(SpringApplication.exit(context, () -> 0));
+		}
+	}
+
+	// 사용자 insert 후 계좌별 소유자(user id) 배열 반환
+	private int[] insertUsers(SplittableRandom random, int userCount, int merchantCount, int firstUserId,
+			Timestamp createdAt) {
+		String hashedPassword = passwordEncoder.encode(properties.getPassword()); // bcrypt 는 한 번만
+		List<Integer> owners = new ArrayList<>(userCount * 2);
+		List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+
+		for (int i = 0; i < userCount; i++) {
+			int userId = firstUserId + i;
+			boolean merchant = i < merchantCount;
+			batch.add(new Object[] { userId, (merchant ? "merchant" : "user") + userId, hashedPassword,
+					(merchant ? "가맹점" : "고객") + userId, createdAt });
+			int accounts = merchant ? 1 : 1 + random.nextInt(properties.getMaxAccountsPerUser());
+			for (int a = 0; a < accounts; a++) {
+				owners.add(userId);
+			}
+			if (batch.size() == properties.getBatchSize()) {
+				flush("insert into user_tb(id, username, password, fullname, created_at) values(?, ?, ?, ?, ?)", batch);
+			}
+		}
+		flush("insert into user_tb(id, username, password, fullname, created_at) values(?, ?, ?, ?, ?)", batch);
+
+		// 가맹점 계좌가 앞쪽 merchantCount 개가 되도록 가맹점 사용자의 계좌를 먼저 넣었다.
+		return owners.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private void insertHistories(SplittableRandom random, long historyCount, long[] balances, int merchantCount,
+			int firstAccountId, long start) {
+		String sql = "insert into history_tb(amount, w_balance, d_balance, w_account_id, d_account_id, created_at) "
+				+ "values(?, ?, ?, ?, ?, ?)";
+		ZipfSampler accounts = new ZipfSampler(balances.length, properties.getZipfExponent(), random);
+		ZipfSampler merchants = merchantCount == 0 ? null
+				: new ZipfSampler(merchantCount, properties.getZipfExponent(), random);
+		long step = Math.max(1, (System.currentTimeMillis() - start) / Math.max(1, historyCount));
+		List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+		long logEvery = Math.max(1, historyCount / 20);
+		long startedNanos = System.nanoTime();
+
+		for (long i = 0; i < historyCount; i++) {
+			// 시간 순서 유지 (구간 안에서만 흔들기)
+			Timestamp createdAt = new Timestamp(start + i * step + random.nextLong(step));
+			long amount = (1 + random.nextInt(1000)) * 100L; // 100원 ~ 10만원
+			int from = accounts.next(random);
+			double type = random.nextDouble();
+
+			if (type < 0.2 || balances[from] < amount) {
+				// ATM 입금 (잔액이 모자라면 출금 대신 입금)
+				balances[from] += amount;
+				batch.add(new Object[] { amount, null, balances[from], null, firstAccountId + from, createdAt });
+			} else if (type < 0.4) {
+				// ATM 출금
+				balances[from] -= amount;
+				batch.add(new Object[] { amount, balances[from], null, firstAccountId + from, null, createdAt });
+			} else {
+				// 이체 - 일부는 가맹점으로
+				int to = (merchants != null && random.nextDouble() < properties.getMerchantShare())
+						? merchants.next(random) : accounts.next(random);
+				if (to == from) {
+					to = (from + 1) % balances.length;
+				}
+				balances[from] -= amount;
+				balances[to] += amount;
+				batch.add(new Object[] { amount, balances[from], balances[to], firstAccountId + from,
+						firstAccountId + to, createdAt });
+			}
+
+			if (batch.size() == properties.getBatchSize()) {
+				flush(sql, batch);
+			}
+			if ((i + 1) % logEvery == 0) {
+				long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+				log.info("거래내역 {}/{} ({} rows/s)", i + 1, historyCount, (i + 1) * 1000 / elapsedMs);
+			}
+		}
+		flush(sql, batch);
+	}
+
+	// 계좌 수만큼 순번을 예약하고 첫 순번 반환 (AccountNumberAllocator 와 같은 순번 행)
+	private long reserveAccountNumbers(int count) {
+		Long next = jdbcTemplate.queryForObject("select next_value from account_number_seq_tb where name = 'account'",
+				Long.class);
+		if (next == null || next + count - 1 > AccountNumber.LAST_SEQUENCE) {
+			throw new IllegalStateException("계좌번호 순번을 예약할 수 없습니다. " + next);
+		}
+		jdbcTemplate.update("update account_number_seq_tb set next_value = ? where name = 'account'", next + count);
+		return next;
+	}
+
+	private void insertAccounts(int[] accountOwners, long[] balances, int firstAccountId, long firstSequence,
+			Timestamp createdAt) {
+		String sql = "insert into account_tb(id, number, password, balance, user_id, created_at) values(?, ?, ?, ?, ?, ?)";
+		List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+		for (int i = 0; i < accountOwners.length; i++) {
+			int accountId = firstAccountId + i;
+			batch.add(new Object[] { accountId, AccountNumber.of(firstSequence + i), properties.getPassword(),
+					balances[i], accountOwners[i], createdAt });
+			if (batch.size() == properties.getBatchSize()) {
+				flush(sql, batch);
+			}
+		}
+		flush(sql, batch);
+	}
+
+	private void flush(String sql, List<Object[]> batch) {
+		if (!batch.isEmpty()) {
+			jdbcTemplate.batchUpdate(sql, batch);
+			batch.clear();
+		}
+	}
+
+	private int nextId(String table) {
+		Integer max = jdbcTemplate.queryForObject("select max(id) from " + table, Integer.class);
+		return max == null ? 1 : max + 1;
+	}
+
+	/**
+	 * Zipf 분포 표본 (순위 k 의 확률 ~ 1 / k^s)
+	 * 누적 확률 배열을 한 번 만들고 이진 탐색으로 뽑는다. 순위와 계좌 위치는 무작위로 섞는다.
+	 */
+	private static class ZipfSampler {
+
+		private final double[] cumulative;
+		private final int[] rankToIndex;
+
+		private ZipfSampler(int n, double exponent, SplittableRandom random) {
+			this.cumulative = new double[n];
+			double sum = 0;
+			for (int k = 0; k < n; k++) {
+				sum += 1.0 / Math.pow(k + 1, exponent);
+				cumulative[k] = sum;
+			}
+			for (int k = 0; k < n; k++) {
+				cumulative[k] /= sum;
+			}
+
+			this.rankToIndex = new int[n];
+			for (int i = 0; i < n; i++) {
+				rankToIndex[i] = i;
+			}
+			for (int i = n - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int tmp = rankToIndex[i];
+				rankToIndex[i] = rankToIndex[j];
+				rankToIndex[j] = tmp;
+			}
+		}
+
+		private int next(SplittableRandom random) {
+			int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+			if (rank < 0) {
+				rank = -rank - 1;
+			}
+			return rankToIndex[Math.min(rank, rankToIndex.length - 1)];
+		}
+
+	}
+
+}
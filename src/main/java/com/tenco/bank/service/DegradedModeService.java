@@ -0,0 +1,106 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import com.tenco.bank.dto.CachedReadDTO;
+import com.tenco.bank.dto.CircuitBreakerMetricsDTO;
+import com.tenco.bank.repository.breaker.DatabaseCircuitBreaker;
+
+/**
+ * DB 장애 시 읽기 전용 모드
+ *
+ * - 조회(계좌 목록, 최근 거래내역 화면)는 성공할 때마다 결과를 LRU 캐시에 담아 둔다.
+ * - DB 연결 오류로 조회가 실패하면 캐시에 있는 마지막 값을 stale 표시와 함께 돌려준다. (없으면 원래 예외)
+ * - 서킷 브레이커가 열려 있는 동안 쓰기 요청은 CircuitBreakerInterceptor 에서 바로 거절한다.
+ */
+@Service
+public class DegradedModeService {
+
+	private final DatabaseCircuitBreaker circuitBreaker;
+	private final Map<String, Entry> cache;
+
+	// 지표
+	private final LongAdder staleReads = new LongAdder();
+	private final LongAdder rejectedWrites = new LongAdder();
+
+	public DegradedModeService(DatabaseCircuitBreaker circuitBreaker,
+			@Value("${bank.circuit-breaker.cache-size:10000}") int cacheSize) {
+		this.circuitBreaker = circuitBreaker;
+		// 접근 순서 LinkedHashMap -> 가장 오래 안 쓴 항목부터 제거
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * 조회 + 캐시
+	 * @param key 화면, 파라미터별로 구분되는 키 (예: list:{userId})
+	 */
+	public <T> CachedReadDTO<T> read(String key, Supplier<T> loader) {
+		T data;
+		try {
+			data = loader.get();
+		} catch (DataAccessException | TransactionException e) {
+			if (!circuitBreaker.isRejecting() && !DatabaseCircuitBreaker.isConnectivityFailure(e)) {
+				throw e; // DB 장애가 아닌 오류
+			}
+			Entry entry;
+			synchronized (cache) {
+				entry = cache.get(key);
+			}
+			if (entry == null) {
+				throw e;
+			}
+			staleReads.increment();
+			@SuppressWarnings("unchecked")
+			T cached = (T) entry.data;
+			return CachedReadDTO.<T>builder().data(cached).stale(true).cachedAt(new Timestamp(entry.cachedAt)).build();
+		}
+
+		synchronized (cache) {
+			cache.put(key, new Entry(data, System.currentTimeMillis()));
+		}
+		return CachedReadDTO.<T>builder().data(data).stale(false).build();
+	}
+
+	// 서킷 브레이커가 열려 있으면 쓰기 요청 거절 (true)
+	public boolean rejectsWrites() {
+		if (circuitBreaker.isRejecting()) {
+			rejectedWrites.increment();
+			return true;
+		}
+		return false;
+	}
+
+	public CircuitBreakerMetricsDTO readMetrics() {
+		int entries;
+		synchronized (cache) {
+			entries = cache.size();
+		}
+		return CircuitBreakerMetricsDTO.builder()
+				.state(circuitBreaker.getState().name())
+				.openedAt(circuitBreaker.getOpenedAt() == 0 ? null : new Timestamp(circuitBreaker.getOpenedAt()))
+				.opened(circuitBreaker.getOpened())
+				.rejectedConnections(circuitBreaker.getRejected())
+				.rejectedWrites(rejectedWrites.sum())
+				.staleReads(staleReads.sum())
+				.cacheEntries(entries)
+				.build();
+	}
+
+	private record Entry(Object data, long cachedAt) {
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.tenco.bank.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.HistoryCacheMetricsDTO;
+import com.tenco.bank.dto.HistoryFragmentDTO;
+
+/**
+ * 계좌 상세 화면 거래내역 표 조각 캐시
+ *
+ * - 키 : (계좌, 구분, 페이지, 크기), 값에 만들 때의 계좌 버전(AccountVersionService)을 같이 둔다.
+ *   거래가 커밋되면 계좌 버전이 올라가므로 옛 조각은 꺼낼 때 버전이 달라 버려지고 새로 만든다.
+ *   (키에 버전을 넣지 않아 같은 화면의 옛 조각이 쌓이지 않는다.)
+ * - 항목 수와 html 글자 수 합 둘 다 한도를 두고 넘으면 가장 오래 안 쓴 항목부터 제거한다.
+ * - 버전이 서버 메모리 기준이므로 여러 대로 띄우면 enabled 를 끈다.
+ */
+@Service
+public class HistoryFragmentCache {
+
+	private final boolean enabled;
+	private final int maxEntries;
+	private final long maxChars;
+
+	// 접근 순서 LinkedHashMap -> 가장 오래 안 쓴 항목부터 제거 (cache 로 동기화)
+	private final LinkedHashMap<Key, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+	private long chars;
+
+	// 지표
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder savedQueryNanos = new LongAdder();
+	private final LongAdder savedRenderNanos = new LongAdder();
+
+	public HistoryFragmentCache(@Value("${bank.history-cache.enabled:true}") boolean enabled,
+			@Value("${bank.history-cache.max-entries:5000}") int maxEntries,
+			@Value("${bank.history-cache.max-chars:8000000}") long maxChars) {
+		this.enabled = enabled;
+		this.maxEntries = maxEntries;
+		this.maxChars = maxChars;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 같은 계좌 버전으로 만든 조각
+	 * @return 없거나 버전이 다르면 null
+	 */
+	public HistoryFragmentDTO get(int accountId, String type, int page, int size, long version) {
+		if (!enabled) {
+			return null;
+		}
+		Entry entry;
+		synchronized (cache) {
+			entry = cache.get(new Key(accountId, type, page, size));
+		}
+		if (entry == null || entry.version != version) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		savedQueryNanos.add(entry.fragment.getQueryNanos());
+		savedRenderNanos.add(entry.fragment.getRenderNanos());
+		return entry.fragment;
+	}
+
+	/**
+	 * @param version 조회하기 전에 읽은 계좌 버전 (조회 중 커밋된 거래는 다음 요청에서 버전이 달라 다시 만든다)
+	 */
+	public void put(int accountId, String type, int page, int size, long version, HistoryFragmentDTO fragment) {
+		int length = fragment.getHtml().length();
+		if (!enabled || length > maxChars) {
+			return;
+		}
+		Key key = new Key(accountId, type, page, size);
+		synchronized (cache) {
+			Entry previous = cache.get(key);
+			if (previous != null && previous.version > version) {
+				return; // 더 새로운 버전으로 이미 만들어 둠
+			}
+			previous = cache.put(key, new Entry(version, fragment));
+			if (previous != null) {
+				chars -= previous.fragment.getHtml().length();
+			}
+			chars += length;
+
+			Iterator<Entry> eldest = cache.values().iterator();
+			while ((cache.size() > maxEntries || chars > maxChars) && eldest.hasNext()) {
+				chars -= eldest.next().fragment.getHtml().length();
+				eldest.remove();
+				evictions.increment();
+			}
+		}
+	}
+
+	public HistoryCacheMetricsDTO readMetrics() {
+		int entries;
+		long totalChars;
+		synchronized (cache) {
+			entries = cache.size();
+			totalChars = chars;
+		}
+		long hitCount = hits.sum();
+		long missCount = misses.sum();
+		long total = hitCount + missCount;
+		return HistoryCacheMetricsDTO.builder()
+				.enabled(enabled)
+				.hits(hitCount)
+				.misses(missCount)
+				.hitRatio(total == 0 ? 0 : (double) hitCount / total)
+				.entries(entries)
+				.chars(totalChars)
+				.evictions(evictions.sum())
+				.savedQueryMs(TimeUnit.NANOSECONDS.toMillis(savedQueryNanos.sum()))
+				.savedRenderMs(TimeUnit.NANOSECONDS.toMillis(savedRenderNanos.sum()))
+				.build();
+	}
+
+	private record Key(int accountId, String type, int page, int size) {
+	}
+
+	private record Entry(long version, HistoryFragmentDTO fragment) {
+	}
+
+}
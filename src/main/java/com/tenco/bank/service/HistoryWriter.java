@@ -0,0 +1,45 @@
+package com.tenco.bank.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.interfaces.OutboxRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.utils.Define;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 거래 내역 등록 + outbox 이벤트 기록
+ * 반드시 입금, 출금, 이체 트랜잭션 안에서 호출해야 한다. (같이 커밋, 같이 롤백)
+ * 다운스트림은 history_tb 대신 outbox_tb 를 오프셋 기준으로 읽어간다.
+ * 커밋 후 처리가 필요한 내부 기능(실시간 알림 등)을 위해 AccountHistoryEvent 를 발행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HistoryWriter {
+
+	private final HistoryRepository historyRepository;
+	private final OutboxRepository outboxRepository;
+	private final ApplicationEventPublisher eventPublisher;
+
+	public void record(String eventType, History history, Account withdrawAccount, Account depositAccount) {
+		int resultRowCountHistory = historyRepository.insert(history);
+		if (resultRowCountHistory != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		int resultRowCountOutbox = outboxRepository.insert(Outbox.of(eventType, history));
+		if (resultRowCountOutbox != 1) {
+			throw new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+
+		eventPublisher.publishEvent(AccountHistoryEvent.of(eventType, history, withdrawAccount, depositAccount));
+	}
+
+}
@@ -0,0 +1,207 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tenco.bank.dto.IdempotencyMetricsDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.IdempotencyRepository;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 출금, 입금, 이체 멱등 키 (느린 응답에 클라이언트, 프록시가 재시도해도 한 번만 처리)
+ *
+ * - 영구 저장 : 거래 트랜잭션 첫 쿼리로 idempotency_tb 에 (사용자, 키) 를 넣는다. (claim)
+ *   이미 있으면 이전 요청이 커밋된 것이므로 계좌를 잠그거나 바꾸지 않고 처리 완료로 끝낸다.
+ *   이전 요청이 아직 처리 중이면 PK 잠금에서 기다렸다가 커밋되면 중복, 롤백되면 이번 요청이 처리한다.
+ * - 메모리 : 커밋된 키를 TTL 동안 기억한다. 컨트롤러에서 먼저 확인하므로 재시도는 커넥션도 쓰지 않는다. (replayed)
+ * - 같은 키로 내용(종류, 계좌번호, 금액)이 다른 요청이 오면 거절한다.
+ * - 샤딩 사용 시 키는 (출금 또는 입금) 계좌가 있는 샤드에 기록된다. 다른 계좌로 키를 재사용하면 메모리 TTL 안에서만 거절된다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+	private static final int MAX_KEY_LENGTH = 64;
+
+	private final IdempotencyRepository idempotencyRepository;
+	private final ShardRouter shardRouter;
+	private final boolean enabled;
+	private final long memoryTtlMillis;
+	private final int memoryMaxEntries;
+	private final long retentionMillis;
+
+	// 삽입 순서 = 만료 순서 (TTL 이 모두 같음) - 앞에서부터 만료, 한도 초과 제거 (memory 로 동기화)
+	private final LinkedHashMap<String, Completed> memory = new LinkedHashMap<>();
+
+	// 지표
+	private final LongAdder claimed = new LongAdder();
+	private final LongAdder memoryReplays = new LongAdder();
+	private final LongAdder storeReplays = new LongAdder();
+	private final LongAdder conflicts = new LongAdder();
+	private final LongAdder purged = new LongAdder();
+
+	public IdempotencyService(IdempotencyRepository idempotencyRepository, ShardRouter shardRouter,
+			@Value("${bank.idempotency.enabled:true}") boolean enabled,
+			@Value("${bank.idempotency.memory-ttl-ms:600000}") long memoryTtlMillis,
+			@Value("${bank.idempotency.memory-max-entries:100000}") int memoryMaxEntries,
+			@Value("${bank.idempotency.retention-hours:24}") long retentionHours) {
+		this.idempotencyRepository = idempotencyRepository;
+		this.shardRouter = shardRouter;
+		this.enabled = enabled;
+		this.memoryTtlMillis = memoryTtlMillis;
+		this.memoryMaxEntries = memoryMaxEntries;
+		this.retentionMillis = TimeUnit.HOURS.toMillis(retentionHours);
+	}
+
+	/**
+	 * 요청 내용 (같은 키로 다른 요청을 보냈는지 비교)
+	 * @param type Outbox.WITHDRAWAL, DEPOSIT, TRANSFER
+	 */
+	public static String fingerprint(String type, String wAccountNumber, String dAccountNumber, long amount) {
+		return type + ":" + (wAccountNumber == null ? "" : wAccountNumber) + ">"
+				+ (dAccountNumber == null ? "" : dAccountNumber) + ":" + amount;
+	}
+
+	/**
+	 * 요청으로 받은 키 확인
+	 * @return 키가 없거나 비어 있으면 null (멱등 처리 없이 기존대로 처리)
+	 */
+	public static String normalizeKey(String key) {
+		if (key == null || key.isBlank()) {
+			return null;
+		}
+		if (key.length() > MAX_KEY_LENGTH) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		return key;
+	}
+
+	/**
+	 * 커밋된 요청의 재시도인지 메모리에서만 확인 (트랜잭션 시작 전, 컨트롤러에서 호출)
+	 * @return true 면 이미 처리된 요청 - 원래 응답을 그대로 돌려준다.
+	 */
+	public boolean replayed(Integer userId, String key, String fingerprint) {
+		if (!enabled || key == null) {
+			return false;
+		}
+		Completed completed;
+		synchronized (memory) {
+			completed = memory.get(memoryKey(userId, key));
+		}
+		if (completed == null || completed.expiresAt < System.currentTimeMillis()) {
+			return false;
+		}
+		checkSameRequest(completed.fingerprint, fingerprint);
+		memoryReplays.increment();
+		return true;
+	}
+
+	/**
+	 * 키 기록 - 반드시 입금, 출금, 이체 트랜잭션 안에서 계좌 조회보다 먼저 호출한다. (같이 커밋, 같이 롤백)
+	 * @return false 면 이미 커밋된 요청 - 계좌를 건드리지 않고 처리 완료로 끝낸다.
+	 */
+	public boolean claim(Integer userId, String key, String fingerprint) {
+		if (!enabled || key == null) {
+			return true;
+		}
+		try {
+			idempotencyRepository.insert(userId, key, fingerprint);
+		} catch (DuplicateKeyException e) {
+			String stored = idempotencyRepository.findFingerprint(userId, key);
+			checkSameRequest(stored, fingerprint);
+			remember(userId, key, fingerprint);
+			storeReplays.increment();
+			return false;
+		}
+		claimed.increment();
+
+		// 커밋된 뒤에 메모리에 기억 (롤백되면 같은 키로 다시 처리할 수 있어야 한다)
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				remember(userId, key, fingerprint);
+			}
+		});
+		return true;
+	}
+
+	// 보관 기간이 지난 키 삭제 (샤드마다 별도 트랜잭션)
+	@Scheduled(fixedDelayString = "${bank.idempotency.purge-interval-ms:3600000}")
+	public void purge() {
+		if (!enabled) {
+			return;
+		}
+		Timestamp before = new Timestamp(System.currentTimeMillis() - retentionMillis);
+		for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+			int deleted = shardRouter.callInNewTransaction(shard, false,
+					() -> idempotencyRepository.deleteCreatedBefore(before));
+			purged.add(deleted);
+			if (deleted > 0) {
+				log.info("멱등 키 정리 - shard {}, 기준 {}, {}건", shard, before, deleted);
+			}
+		}
+	}
+
+	public IdempotencyMetricsDTO readMetrics() {
+		int entries;
+		synchronized (memory) {
+			entries = memory.size();
+		}
+		return IdempotencyMetricsDTO.builder()
+				.enabled(enabled)
+				.claimed(claimed.sum())
+				.memoryReplays(memoryReplays.sum())
+				.storeReplays(storeReplays.sum())
+				.conflicts(conflicts.sum())
+				.memoryEntries(entries)
+				.purged(purged.sum())
+				.build();
+	}
+
+	private void checkSameRequest(String stored, String fingerprint) {
+		if (!fingerprint.equals(stored)) {
+			conflicts.increment();
+			throw new DataDeliveryException(Define.IDEMPOTENCY_KEY_REUSED, HttpStatus.CONFLICT);
+		}
+	}
+
+	private void remember(Integer userId, String key, String fingerprint) {
+		long now = System.currentTimeMillis();
+		synchronized (memory) {
+			String memoryKey = memoryKey(userId, key);
+			memory.remove(memoryKey); // 다시 넣어 만료 순서(맨 뒤)를 유지
+			memory.put(memoryKey, new Completed(fingerprint, now + memoryTtlMillis));
+			Iterator<Completed> eldest = memory.values().iterator();
+			while (eldest.hasNext()) {
+				Completed completed = eldest.next();
+				if (memory.size() <= memoryMaxEntries && completed.expiresAt >= now) {
+					break;
+				}
+				eldest.remove();
+			}
+		}
+	}
+
+	private static String memoryKey(Integer userId, String key) {
+		return userId + ":" + key;
+	}
+
+	private record Completed(String fingerprint, long expiresAt) {
+	}
+
+}
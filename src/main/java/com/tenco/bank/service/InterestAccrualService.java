@@ -0,0 +1,289 @@
+package com.tenco.bank.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.dto.InterestMetricsDTO;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.interfaces.InterestRepository;
+import com.tenco.bank.repository.interfaces.OutboxRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.shard.ShardContext;
+import com.tenco.bank.repository.shard.ShardRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 일별 이자 지급 배치
+ *
+ * - 계좌 ID 를 chunk-size 단위 구간으로 나누고 구간마다 한 트랜잭션으로 처리한다.
+ *   (Cursor 로 한 건씩 읽고, 잔액 update 와 거래내역 insert 는 ExecutorType.BATCH 로 모아서 전송)
+ * - 구간 처리 결과(interest_chunk_tb)를 같은 트랜잭션에 기록한다.
+ *   -> 중간에 서버가 내려가도 같은 기준일로 다시 실행하면 끝난 구간은 건너뛰고 이어서 처리한다.
+ * - 온라인 거래가 밀리지 않도록 동시 처리 구간 수(workers)와 초당 처리 계좌 수를 제한한다.
+ * - 이자 입금도 다른 잔액 변경처럼 outbox 이벤트(DEPOSIT)를 같은 트랜잭션에 기록한다. (다운스트림은 history_tb 를 읽지 않음)
+ *   건수가 많아 실시간 알림 이벤트(AccountHistoryEvent)는 만들지 않고 화면 캐시를 한 번에 무효화한다.
+ */
+@Slf4j
+@Service
+public class InterestAccrualService {
+
+	private static final long RATE_DIVISOR = 10_000L * 365; // 연이율(bp) -> 일 이자
+
+	private final SqlSessionTemplate batchSqlSession;
+	private final InterestRepository interestRepository;
+	private final ShardRouter shardRouter;
+	private final AccountVersionService accountVersionService;
+	private final DashboardService dashboardService;
+	private final TransactionTemplate transactionTemplate;
+	private final long annualRateBp;
+	private final int chunkSize;
+	private final int workers;
+	private final long maxAccountsPerSecond;
+
+	private final AtomicBoolean running = new AtomicBoolean();
+	private long nextSlotNanos; // 처리 속도 제한 (throttle 에서 동기화)
+
+	// 지표 (마지막 실행)
+	private volatile LocalDate runDate;
+	private volatile int chunks;
+	private volatile long startedNanos;
+	private volatile long finishedNanos;
+	private final LongAdder chunksDone = new LongAdder();
+	private final LongAdder chunksSkipped = new LongAdder();
+	private final LongAdder chunksFailed = new LongAdder();
+	private final LongAdder accounts = new LongAdder();
+	private final LongAdder interest = new LongAdder();
+
+	public InterestAccrualService(SqlSessionFactory sqlSessionFactory, InterestRepository interestRepository,
+			ShardRouter shardRouter, AccountVersionService accountVersionService, DashboardService dashboardService,
+			PlatformTransactionManager transactionManager,
+			@Value("${bank.interest.annual-rate-bp:200}") long annualRateBp,
+			@Value("${bank.interest.chunk-size:10000}") int chunkSize,
+			@Value("${bank.interest.workers:4}") int workers,
+			@Value("${bank.interest.max-accounts-per-second:30000}") long maxAccountsPerSecond) {
+		// 빈으로 등록하면 기본 SqlSessionTemplate 자동 설정이 빠지므로 여기서만 사용
+		this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+		this.interestRepository = interestRepository;
+		this.shardRouter = shardRouter;
+		this.accountVersionService = accountVersionService;
+		this.dashboardService = dashboardService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.annualRateBp = annualRateBp;
+		this.chunkSize = chunkSize;
+		this.workers = workers;
+		this.maxAccountsPerSecond = maxAccountsPerSecond;
+	}
+
+	// 매일 전날 기준 이자 지급 (기본값 "-" 은 사용 안 함)
+	@Scheduled(cron = "${bank.interest.cron:-}")
+	public void accrueNightly() {
+		accrue(LocalDate.now().minusDays(1));
+	}
+
+	/**
+	 * 기준일 이자 지급
+	 * 같은 기준일로 다시 실행하면 처리된 구간은 건너뛴다.
+	 */
+	public void accrue(LocalDate date) {
+		if (!running.compareAndSet(false, true)) {
+			log.warn("이자 지급 배치가 이미 실행 중입니다. 기준일 {}", date);
+			return;
+		}
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(workers,
+				r -> new Thread(r, "interest-" + threadNumber.getAndIncrement()));
+		try {
+			reset(date);
+			Date runDate = Date.valueOf(date);
+			List<Future<?>> futures = new ArrayList<>();
+			int total = 0;
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				Integer min = shardRouter.callInNewTransaction(shard, true, interestRepository::findMinAccountId);
+				Integer max = shardRouter.callInNewTransaction(shard, true, interestRepository::findMaxAccountId);
+				if (min == null) {
+					continue; // 계좌 없음
+				}
+				Set<Integer> done = new HashSet<>(shardRouter.callInNewTransaction(shard, true,
+						() -> interestRepository.findDoneChunks(runDate)));
+
+				// 구간 시작을 chunkSize 배수로 고정 -> 다시 실행해도 같은 구간으로 나뉜다.
+				for (int start = Math.floorDiv(min, chunkSize) * chunkSize; start <= max; start += chunkSize) {
+					total++;
+					if (done.contains(start)) {
+						chunksSkipped.increment();
+						continue;
+					}
+					int chunkShard = shard;
+					int chunkStart = start;
+					futures.add(executor.submit(() -> {
+						processChunk(chunkShard, runDate, chunkStart);
+						return null;
+					}));
+				}
+			}
+			chunks = total;
+
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					// 실패한 구간은 기록이 없으므로 다시 실행하면 처리된다.
+					chunksFailed.increment();
+					log.error("이자 지급 구간 처리 실패 - 기준일 {}", date, e.getCause());
+				}
+			}
+			finishedNanos = System.nanoTime();
+			log.info("이자 지급 완료 - 기준일 {}, 계좌 {}개, 이자 {}원, 구간 {}/{} (건너뜀 {}, 실패 {}), {}ms", date,
+					accounts.sum(), interest.sum(), chunksDone.sum(), total, chunksSkipped.sum(), chunksFailed.sum(),
+					TimeUnit.NANOSECONDS.toMillis(finishedNanos - startedNanos));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+			running.set(false);
+		}
+	}
+
+	public InterestMetricsDTO readMetrics() {
+		long end = running.get() ? System.nanoTime() : finishedNanos;
+		long elapsedMs = startedNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+		long count = accounts.sum();
+		return InterestMetricsDTO.builder()
+				.runDate(runDate)
+				.running(running.get())
+				.chunks(chunks)
+				.chunksDone(chunksDone.sum())
+				.chunksSkipped(chunksSkipped.sum())
+				.chunksFailed(chunksFailed.sum())
+				.accounts(count)
+				.interest(interest.sum())
+				.elapsedMs(elapsedMs)
+				.accountsPerSecond(elapsedMs == 0 ? 0 : count * 1000.0 / elapsedMs)
+				.build();
+	}
+
+	// 작업 스레드에서 구간 하나 처리
+	private void processChunk(int shard, Date runDate, int chunkStart) throws InterruptedException {
+		ChunkResult result;
+		try (ShardContext.Scope scope = shardRouter.bind(shard)) {
+			result = transactionTemplate.execute(status -> accrueChunk(runDate, chunkStart, chunkStart + chunkSize));
+		}
+		if (result.accounts() > 0) {
+			accountVersionService.touchAll(); // 이벤트 없이 잔액을 바꿨으므로 모든 화면 ETag 변경
+			dashboardService.invalidateAll(); // 대시보드 잔액도 다시 만들기
+		}
+		accounts.add(result.accounts());
+		interest.add(result.interest());
+		chunksDone.increment();
+		throttle(result.accounts());
+	}
+
+	// 구간 트랜잭션 - 모든 쓰기는 BATCH 실행기에 쌓였다가 flush 시 한 번에 전송된다.
+	private ChunkResult accrueChunk(Date runDate, int from, int to) {
+		InterestRepository batchInterest = batchSqlSession.getMapper(InterestRepository.class);
+		HistoryRepository batchHistory = batchSqlSession.getMapper(HistoryRepository.class);
+		OutboxRepository batchOutbox = batchSqlSession.getMapper(OutboxRepository.class);
+
+		List<History> histories = new ArrayList<>();
+		long total = 0;
+		try (Cursor<Account> cursor = batchInterest.findByIdRange(from, to)) {
+			for (Account account : cursor) {
+				long amount = dailyInterest(account.getBalance());
+				if (amount <= 0) {
+					continue;
+				}
+				batchInterest.addBalance(account.getId(), amount);
+				History history = History.builder().amount(amount)
+						.dAccountId(account.getId())
+						.dBalance(account.getBalance() + amount)
+						.build();
+				batchHistory.insert(history);
+				histories.add(history);
+				total += amount;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		// 거래내역 ID 는 전송 후에 채워지므로 먼저 보내고 outbox 이벤트를 쌓는다. (HistoryWriter 와 같은 이벤트)
+		batchSqlSession.flushStatements();
+		for (History history : histories) {
+			batchOutbox.insert(Outbox.of(Outbox.DEPOSIT, history));
+		}
+
+		int count = histories.size();
+		batchInterest.insertChunk(runDate, from, to, count, total);
+		batchSqlSession.flushStatements();
+		return new ChunkResult(count, total);
+	}
+
+	// 일 이자 = 잔액 * 연이율(bp) / 10000 / 365 (원 미만 버림, 곱셈 overflow 없이 계산)
+	private long dailyInterest(long balance) {
+		return balance / RATE_DIVISOR * annualRateBp + balance % RATE_DIVISOR * annualRateBp / RATE_DIVISOR;
+	}
+
+	// 초당 처리 계좌 수 제한 - 처리한 만큼 다음 구간 시작을 늦춘다.
+	private void throttle(int processed) throws InterruptedException {
+		if (maxAccountsPerSecond <= 0 || processed == 0) {
+			return;
+		}
+		long cost = processed * 1_000_000_000L / maxAccountsPerSecond;
+		long waitNanos;
+		synchronized (this) {
+			long now = System.nanoTime();
+			long start = Math.max(nextSlotNanos, now);
+			nextSlotNanos = start + cost;
+			waitNanos = start - now;
+		}
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+	private void reset(LocalDate date) {
+		runDate = date;
+		chunks = 0;
+		chunksDone.reset();
+		chunksSkipped.reset();
+		chunksFailed.reset();
+		accounts.reset();
+		interest.reset();
+		startedNanos = System.nanoTime();
+		finishedNanos = 0;
+		synchronized (this) {
+			nextSlotNanos = startedNanos;
+		}
+	}
+
+	private record ChunkResult(int accounts, long interest) {
+	}
+
+}
@@ -0,0 +1,268 @@
+package com.tenco.bank.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.OutboxMetricsDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.OutboxRepository;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.shard.ShardContext;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * outbox_tb -> in-process 구독자 전달 (relay)
+ *
+ * 1. 구독자의 마지막 오프셋을 읽는다.
+ * 2. 마지막으로 읽은 id 이후 이벤트를 batch-size 만큼 읽어서 구독자에게 전달한다.
+ * 3. 구독자가 정상 처리하면 오프셋을 저장한다. (실패하면 저장하지 않고 다음 주기에 재전달)
+ *
+ * auto_increment id 는 커밋 순서가 아니다. 작은 id 를 받은 트랜잭션이 큰 id 보다 늦게 커밋될 수 있다.
+ * - 읽은 이벤트 사이에 빠진 id 는 gap 으로 기억하고 gap-timeout-ms 동안 다시 조회해서, 커밋되면 늦게라도 전달한다.
+ *   한 주기에 gap-check-size 개씩 돌아가며 조회한다. (gap 이 많아도 IN 목록 한 번의 크기는 일정)
+ * - 저장하는 오프셋은 가장 작은 gap 바로 앞까지만 올린다. (서버 재시작 시 gap 이후는 다시 전달 - at-least-once)
+ * - gap-timeout-ms 가 지나도 없는 id 는 롤백된 것으로 보고 건너뛴다. (트랜잭션 최대 시간보다 길게 설정)
+ *
+ * 샤딩을 사용하면 outbox_tb, outbox_offset_tb 가 샤드마다 있고 id 도 샤드마다 따로 증가한다.
+ * 읽기 위치, gap, 오프셋을 (구독자, 샤드) 별로 두고 샤드를 차례로 돈다. 한 묶음에는 한 샤드의 이벤트만 담는다.
+ */
+@Slf4j
+@Service
+public class OutboxRelayService {
+
+	private final OutboxRepository outboxRepository;
+	private final ShardRouter shardRouter;
+	private final List<OutboxSubscriber> subscribers = new CopyOnWriteArrayList<>();
+	private final int batchSize;
+	private final int maxBatchesPerRun;
+	private final long gapTimeoutMillis;
+	private final int maxGaps;
+	private final int gapCheckSize;
+
+	// (구독자, 샤드) 별 읽기 위치, gap (relay 로 동기화)
+	private final Map<CursorKey, Cursor> cursors = new HashMap<>();
+
+	private final LongAdder delivered = new LongAdder();
+	private final LongAdder deliveryFailures = new LongAdder();
+	private final LongAdder lateDelivered = new LongAdder();
+	private final LongAdder gapsSkipped = new LongAdder();
+
+	public OutboxRelayService(OutboxRepository outboxRepository, ShardRouter shardRouter,
+			ObjectProvider<OutboxSubscriber> subscriberBeans,
+			@Value("${bank.outbox.batch-size:500}") int batchSize,
+			@Value("${bank.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+			@Value("${bank.outbox.gap-timeout-ms:60000}") long gapTimeoutMillis,
+			@Value("${bank.outbox.max-gaps:10000}") int maxGaps,
+			@Value("${bank.outbox.gap-check-size:500}") int gapCheckSize) {
+		this.outboxRepository = outboxRepository;
+		this.shardRouter = shardRouter;
+		this.batchSize = batchSize;
+		this.maxBatchesPerRun = maxBatchesPerRun;
+		this.gapTimeoutMillis = gapTimeoutMillis;
+		this.maxGaps = maxGaps;
+		this.gapCheckSize = gapCheckSize;
+		subscriberBeans.orderedStream().forEach(subscribers::add);
+	}
+
+	// 런타임 구독 등록
+	public void subscribe(OutboxSubscriber subscriber) {
+		subscribers.add(subscriber);
+	}
+
+	public void unsubscribe(OutboxSubscriber subscriber) {
+		subscribers.remove(subscriber);
+	}
+
+	@Scheduled(fixedDelayString = "${bank.outbox.relay-interval-ms:1000}")
+	public synchronized void relay() {
+		for (OutboxSubscriber subscriber : subscribers) {
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				try (ShardContext.Scope scope = shardRouter.bind(shard)) {
+					for (int i = 0; i < maxBatchesPerRun; i++) {
+						int count = relayBatch(subscriber, shard, i == 0); // gap 은 주기마다 한 번만 다시 조회
+						if (count < batchSize) {
+							break;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * 재처리 - 구독자의 한 샤드 오프셋을 되돌린다.
+	 * 다음 relay 부터 그 샤드에서 fromOffset 보다 큰 이벤트가 다시 전달된다.
+	 */
+	public synchronized void replay(String subscriberName, int shard, long fromOffset) {
+		if (fromOffset < 0 || shard < 0 || shard >= shardRouter.getShardCount()) {
+			throw new DataDeliveryException(Define.INVALID_INPUT, HttpStatus.BAD_REQUEST);
+		}
+		try (ShardContext.Scope scope = shardRouter.bind(shard)) {
+			readOffset(subscriberName);
+			outboxRepository.updateOffset(subscriberName, fromOffset);
+		}
+		cursors.remove(new CursorKey(subscriberName, shard)); // 다음 relay 때 저장된 오프셋부터 다시 읽는다.
+	}
+
+	// 현재 샤드의 구독자 오프셋 조회 (처음 보는 구독자는 0 으로 등록 - 처음부터 전달)
+	private long readOffset(String subscriberName) {
+		Long offset = outboxRepository.findOffsetBySubscriber(subscriberName);
+		if (offset == null) {
+			outboxRepository.insertOffset(subscriberName, 0L);
+			return 0L;
+		}
+		return offset;
+	}
+
+	// 조회 전용 (오프셋이 없는 구독자를 등록하지 않는다)
+	public OutboxMetricsDTO readMetrics() {
+		List<Long> latestOffsets = new ArrayList<>();
+		Map<String, List<Long>> offsets = new TreeMap<>();
+		for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+			try (ShardContext.Scope scope = shardRouter.bind(shard)) {
+				latestOffsets.add(outboxRepository.findLatestOffset());
+				for (OutboxSubscriber subscriber : subscribers) {
+					Long offset = outboxRepository.findOffsetBySubscriber(subscriber.getName());
+					offsets.computeIfAbsent(subscriber.getName(), name -> new ArrayList<>())
+							.add(offset == null ? 0L : offset);
+				}
+			}
+		}
+		int gaps = 0;
+		synchronized (this) {
+			for (Cursor cursor : cursors.values()) {
+				gaps += cursor.gaps.size();
+			}
+		}
+		return OutboxMetricsDTO.builder()
+				.latestOffsets(latestOffsets)
+				.subscriberOffsets(offsets)
+				.delivered(delivered.sum())
+				.deliveryFailures(deliveryFailures.sum())
+				.pendingGaps(gaps)
+				.lateDelivered(lateDelivered.sum())
+				.gapsSkipped(gapsSkipped.sum())
+				.build();
+	}
+
+	// 현재 샤드에서 한 구독자에게 한 묶음 전달 (늦게 커밋된 gap 이벤트 + 마지막으로 읽은 id 이후 이벤트), 새로 읽은 건수 반환
+	private int relayBatch(OutboxSubscriber subscriber, int shard, boolean checkGaps) {
+		Cursor cursor = cursors.computeIfAbsent(new CursorKey(subscriber.getName(), shard),
+				key -> new Cursor(readOffset(key.subscriber())));
+
+		List<Long> gapSlice = checkGaps ? nextGapSlice(cursor) : List.of();
+		List<Outbox> late = gapSlice.isEmpty() ? List.of() : outboxRepository.findByIds(gapSlice);
+		List<Outbox> events = outboxRepository.findAfterOffset(cursor.readId, batchSize);
+		if (!late.isEmpty() || !events.isEmpty()) {
+			List<Outbox> batch = new ArrayList<>(late.size() + events.size());
+			batch.addAll(late);
+			batch.addAll(events);
+			batch.forEach(event -> event.setShard(shard));
+			try {
+				subscriber.onEvents(batch);
+			} catch (Exception e) {
+				// 오프셋, 읽기 위치를 바꾸지 않는다 -> 다음 주기에 같은 묶음을 다시 전달
+				deliveryFailures.increment();
+				log.warn("outbox 구독자 처리 실패 subscriber={} shard={} offset={}", subscriber.getName(), shard,
+						cursor.offset, e);
+				return 0;
+			}
+			delivered.add(batch.size());
+			lateDelivered.add(late.size());
+		}
+
+		long now = System.currentTimeMillis();
+		late.forEach(event -> cursor.gaps.remove(event.getId()));
+		for (Outbox event : events) {
+			// 한도보다 큰 빈 구간 (오래된 삭제, 롤백) 은 앞부분을 바로 건너뛴다.
+			long firstMissing = Math.max(cursor.readId + 1, event.getId() - maxGaps);
+			gapsSkipped.add(firstMissing - cursor.readId - 1);
+			for (long missing = firstMissing; missing < event.getId(); missing++) {
+				cursor.gaps.put(missing, now);
+			}
+			cursor.readId = event.getId();
+		}
+		expireGaps(subscriber.getName(), shard, cursor, now);
+
+		long offset = cursor.gaps.isEmpty() ? cursor.readId : cursor.gaps.firstKey() - 1;
+		if (offset != cursor.offset) {
+			outboxRepository.updateOffset(subscriber.getName(), offset);
+			cursor.offset = offset;
+		}
+		return events.size();
+	}
+
+	// 지난번에 조회한 gap 다음부터 gap-check-size 개 (끝에 닿으면 처음부터 이어서)
+	private List<Long> nextGapSlice(Cursor cursor) {
+		if (cursor.gaps.isEmpty()) {
+			return List.of();
+		}
+		List<Long> slice = new ArrayList<>(Math.min(gapCheckSize, cursor.gaps.size()));
+		for (Long id : cursor.gaps.tailMap(cursor.gapCheckFrom, false).keySet()) {
+			if (slice.size() == gapCheckSize) {
+				break;
+			}
+			slice.add(id);
+		}
+		for (Long id : cursor.gaps.keySet()) {
+			if (slice.size() == gapCheckSize || id > cursor.gapCheckFrom) {
+				break;
+			}
+			slice.add(id);
+		}
+		cursor.gapCheckFrom = slice.get(slice.size() - 1);
+		return slice;
+	}
+
+	// 오래 기다린 gap (롤백된 id) 과 한도를 넘은 gap 은 건너뛴다.
+	private void expireGaps(String subscriberName, int shard, Cursor cursor, long now) {
+		int skipped = 0;
+		Iterator<Map.Entry<Long, Long>> iterator = cursor.gaps.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Long, Long> gap = iterator.next();
+			if (cursor.gaps.size() <= maxGaps && now - gap.getValue() < gapTimeoutMillis) {
+				continue;
+			}
+			iterator.remove();
+			skipped++;
+		}
+		if (skipped > 0) {
+			gapsSkipped.add(skipped);
+			log.info("outbox gap 건너뜀 subscriber={} shard={} {}건", subscriberName, shard, skipped);
+		}
+	}
+
+	private record CursorKey(String subscriber, int shard) {
+	}
+
+	// 구독자 읽기 상태 (샤드 하나) - offset 이하는 모두 전달 완료, readId 까지 읽음, gaps = offset ~ readId 사이에 아직 없는 id
+	private static class Cursor {
+
+		private long offset;
+		private long readId;
+		private final TreeMap<Long, Long> gaps = new TreeMap<>(); // id -> 처음 빈 것을 본 시각
+		private long gapCheckFrom; // 다음 gap 조회는 이 id 다음부터
+
+		private Cursor(long offset) {
+			this.offset = offset;
+			this.readId = offset;
+		}
+
+	}
+
+}
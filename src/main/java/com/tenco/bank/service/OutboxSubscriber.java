@@ -0,0 +1,23 @@
+package com.tenco.bank.service;
+
+import java.util.List;
+
+import com.tenco.bank.repository.model.Outbox;
+
+/**
+ * 거래내역 이벤트 구독자 (in-process)
+ * - 빈으로 등록하거나 OutboxRelayService.subscribe() 로 등록한다.
+ * - 최소 1회 전달(at-least-once) : onEvents 가 예외 없이 끝나야 오프셋이 저장된다.
+ *   예외가 나거나 서버가 중간에 내려가면 같은 이벤트가 다시 전달될 수 있으므로
+ *   구독자는 (shard, outbox id) 로 중복 처리를 걸러야 한다. (샤드를 나누면 id 가 샤드마다 따로 증가)
+ */
+public interface OutboxSubscriber {
+
+	// 오프셋 저장 키 (구독자마다 고유해야 한다.)
+	String getName();
+
+	// 한 샤드의 이벤트를 id 오름차순으로 정렬한 묶음
+	// 늦게 커밋된 이벤트는 이전 묶음보다 작은 id 로 올 수 있다. (id 순서 != 커밋 순서)
+	void onEvents(List<Outbox> events);
+
+}
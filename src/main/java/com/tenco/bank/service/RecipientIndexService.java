@@ -0,0 +1,250 @@
+package com.tenco.bank.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tenco.bank.dto.RecipientDTO;
+import com.tenco.bank.dto.RecipientIndexMetricsDTO;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.model.RecentCounterparty;
+import com.tenco.bank.repository.shard.ShardRouter;
+
+/**
+ * 이체 입금 계좌 자동완성 색인 (사용자별 - 내 계좌 + 최근에 이체한 계좌)
+ *
+ * - 사용자가 처음 조회할 때 DB 에서 한 번 만든다. (내 계좌 목록 + 최근 이체 상대 계좌번호, LIKE 조회 없음)
+ * - 이후에는 커밋된 이체(AccountHistoryEvent AFTER_COMMIT), 계좌 생성으로 메모리에서 갱신한다.
+ * - 조회는 정렬된 계좌번호 배열에서 이진 탐색으로 접두어 시작 위치를 찾고 limit 건만 읽는다. (잠금 없음)
+ *   변경 시에는 새 배열을 만들어 바꿔 끼운다. (사용자별 수십 건이라 복사 비용이 작다)
+ * - 일정 시간 조회가 없는 사용자 색인은 내린다. (다음 조회 때 다시 만든다)
+ * - 서버 메모리 기준이다. 다른 서버에서 처리된 이체는 색인을 다시 만들 때 반영된다.
+ */
+@Service
+public class RecipientIndexService {
+
+	private final AccountRepository accountRepository;
+	private final HistoryRepository historyRepository;
+	private final ShardRouter shardRouter;
+	private final int maxRecent;
+	private final long idleMillis;
+
+	private final Map<Integer, UserIndex> indexes = new ConcurrentHashMap<>();
+
+	// 지표
+	private final LongAdder loads = new LongAdder();
+	private final LongAdder lookups = new LongAdder();
+	private final LongAdder lookupNanos = new LongAdder();
+	private final LongAdder updates = new LongAdder();
+
+	public RecipientIndexService(AccountRepository accountRepository, HistoryRepository historyRepository,
+			ShardRouter shardRouter,
+			@Value("${bank.recipients.max-recent:50}") int maxRecent,
+			@Value("${bank.recipients.idle-ms:1800000}") long idleMillis) {
+		this.accountRepository = accountRepository;
+		this.historyRepository = historyRepository;
+		this.shardRouter = shardRouter;
+		this.maxRecent = maxRecent;
+		this.idleMillis = idleMillis;
+	}
+
+	/**
+	 * 접두어로 시작하는 계좌번호 (계좌번호 순)
+	 * @param prefix 빈 문자열이면 처음부터
+	 */
+	public List<RecipientDTO> search(Integer userId, String prefix, int limit) {
+		UserIndex index = indexes.computeIfAbsent(userId, key -> new UserIndex());
+		index.lastAccess = System.currentTimeMillis();
+		if (!index.loaded) {
+			load(userId, index);
+		}
+
+		long started = System.nanoTime();
+		Snapshot snapshot = index.snapshot;
+		int position = Arrays.binarySearch(snapshot.numbers, prefix);
+		if (position < 0) {
+			position = -position - 1; // 접두어가 들어갈 자리 = 접두어로 시작하는 첫 번호
+		}
+		List<RecipientDTO> result = new ArrayList<>(Math.min(limit, snapshot.numbers.length - position));
+		for (int i = position; i < snapshot.numbers.length && result.size() < limit; i++) {
+			if (!snapshot.numbers[i].startsWith(prefix)) {
+				break;
+			}
+			result.add(new RecipientDTO(snapshot.numbers[i], snapshot.own[i]));
+		}
+		lookupNanos.add(System.nanoTime() - started);
+		lookups.increment();
+		return result;
+	}
+
+	// 커밋된 이체의 입금 계좌를 출금 계좌 주인의 최근 이체 계좌에 추가
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onHistoryCommitted(AccountHistoryEvent event) {
+		if (!Outbox.TRANSFER.equals(event.getEventType()) || event.getWithdrawAccount() == null
+				|| event.getDepositAccount() == null || event.getDepositAccount().getUserId() == null) {
+			return; // 샤드 간 이체는 입금 계좌 소유자를 모르므로 CrossShardTransferService 가 직접 알린다.
+		}
+		Account depositAccount = event.getDepositAccount();
+		Integer ownerId = event.getWithdrawAccount().getUserId();
+		if (ownerId != null && !ownerId.equals(depositAccount.getUserId())) {
+			addRecent(ownerId, depositAccount.getNumber());
+		}
+	}
+
+	/**
+	 * 최근 이체 계좌 추가 (색인이 메모리에 있을 때만 - 없으면 다음 조회 때 DB 에서 만든다)
+	 */
+	public void addRecent(Integer userId, String number) {
+		UserIndex index = indexes.get(userId);
+		if (index == null) {
+			return;
+		}
+		synchronized (index) {
+			if (!index.loaded) {
+				return;
+			}
+			index.recent.remove(number);
+			index.recent.add(number); // 맨 뒤 = 가장 최근
+			Iterator<String> eldest = index.recent.iterator();
+			while (index.recent.size() > maxRecent && eldest.hasNext()) {
+				eldest.next();
+				eldest.remove();
+			}
+			index.rebuild();
+		}
+		updates.increment();
+	}
+
+	/**
+	 * 내 계좌 추가 (계좌 생성) - 트랜잭션 안이면 커밋된 뒤에 반영한다.
+	 */
+	public void addOwn(Integer userId, String number) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					addOwn(userId, number);
+				}
+			});
+			return;
+		}
+		UserIndex index = indexes.get(userId);
+		if (index == null) {
+			return;
+		}
+		synchronized (index) {
+			if (!index.loaded) {
+				return;
+			}
+			index.own.add(number);
+			index.rebuild();
+		}
+		updates.increment();
+	}
+
+	// 계좌를 한꺼번에 만든 경우 (CSV 일괄 생성) 다음 조회 때 다시 만든다.
+	public void invalidate(Integer userId) {
+		indexes.remove(userId);
+	}
+
+	@Scheduled(fixedDelayString = "${bank.recipients.sweep-interval-ms:60000}")
+	public void sweep() {
+		long idleBefore = System.currentTimeMillis() - idleMillis;
+		indexes.values().removeIf(index -> index.lastAccess < idleBefore);
+	}
+
+	public RecipientIndexMetricsDTO readMetrics() {
+		long lookupCount = lookups.sum();
+		return RecipientIndexMetricsDTO.builder()
+				.users(indexes.size())
+				.loads(loads.sum())
+				.lookups(lookupCount)
+				.avgLookupMicros(lookupCount == 0 ? 0
+						: (double) lookupNanos.sum() / lookupCount / TimeUnit.MICROSECONDS.toNanos(1))
+				.updates(updates.sum())
+				.build();
+	}
+
+	// 사용자 색인 DB 에서 만들기 (같은 사용자 동시 요청은 한 번만)
+	private void load(Integer userId, UserIndex index) {
+		synchronized (index) {
+			if (index.loaded) {
+				return;
+			}
+			List<Account> accounts = shardRouter.collectFromAllShards(() -> accountRepository.findByUserId(userId));
+			List<RecentCounterparty> recent = new ArrayList<>(shardRouter.collectFromAllShards(
+					() -> historyRepository.findRecentCounterparties(userId, maxRecent)));
+
+			accounts.forEach(account -> index.own.add(account.getNumber()));
+			// 샤드별 결과를 이어 붙인 것이므로 마지막 이체 시각으로 다시 정렬한다. (같은 번호는 가장 최근 것만)
+			recent.sort(Comparator.comparing(RecentCounterparty::getLastTransferredAt).reversed());
+			LinkedHashSet<String> newest = new LinkedHashSet<>();
+			for (int i = 0; i < recent.size() && newest.size() < maxRecent; i++) {
+				newest.add(recent.get(i).getNumber());
+			}
+			// 맨 뒤가 가장 최근이 되게 뒤에서부터 넣는다.
+			List<String> ordered = new ArrayList<>(newest);
+			for (int i = ordered.size() - 1; i >= 0; i--) {
+				index.recent.add(ordered.get(i));
+			}
+			index.rebuild();
+			index.loaded = true;
+		}
+		loads.increment();
+	}
+
+	private static final class UserIndex {
+
+		// 아래 세 필드는 UserIndex 로 동기화해서 변경
+		private final Set<String> own = new LinkedHashSet<>();
+		private final LinkedHashSet<String> recent = new LinkedHashSet<>(); // 앞 = 오래된 이체
+		private volatile boolean loaded;
+
+		private volatile Snapshot snapshot = Snapshot.EMPTY; // 조회용 (잠금 없이 읽음)
+		private volatile long lastAccess;
+
+		private void rebuild() {
+			TreeMap<String, Boolean> sorted = new TreeMap<>();
+			recent.forEach(number -> sorted.put(number, Boolean.FALSE));
+			own.forEach(number -> sorted.put(number, Boolean.TRUE));
+
+			String[] numbers = new String[sorted.size()];
+			boolean[] ownFlags = new boolean[sorted.size()];
+			int i = 0;
+			for (Map.Entry<String, Boolean> entry : sorted.entrySet()) {
+				numbers[i] = entry.getKey();
+				ownFlags[i++] = entry.getValue();
+			}
+			snapshot = new Snapshot(numbers, ownFlags);
+		}
+
+	}
+
+	// 계좌번호 오름차순 배열 + 내 계좌 여부
+	private record Snapshot(String[] numbers, boolean[] own) {
+
+		private static final Snapshot EMPTY = new Snapshot(new String[0], new boolean[0]);
+
+	}
+
+}
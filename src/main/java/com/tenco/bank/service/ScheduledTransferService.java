@@ -0,0 +1,368 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.dto.ScheduledTransferDTO;
+import com.tenco.bank.dto.ScheduledTransferMetricsDTO;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.ScheduledTransferRepository;
+import com.tenco.bank.repository.model.ScheduledTransfer;
+import com.tenco.bank.repository.shard.ShardContext;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+import com.tenco.bank.utils.TimingWheel;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 예약 이체, 자동 이체 실행
+ *
+ * - 앞으로 horizon 시간 안에 실행할 예약만 계층형 타이밍 휠에 올려 둔다.
+ *   (등록된 예약이 수백만 건이어도 예약마다 타이머나 조회 쿼리를 두지 않는다.)
+ * - 로딩은 load-interval 마다 "이미 올린 시각 ~ 지금 + horizon" 구간만 keyset 페이징으로 읽는다.
+ *   서버 시작 후 첫 로딩은 처음부터 읽으므로 내려가 있는 동안 밀린 예약도 올라간다.
+ * - 실행 시각이 overdue-after 이상 지났는데 아직 ACTIVE 인 예약도 로딩마다 다시 올린다.
+ *   (다른 서버가 등록만 하고 내려간 예약, 실패 기록까지 실패한 예약 - 이 서버의 로딩 구간은 이미 지나감)
+ * - tick 마다 만료된 예약을 batch-size 개씩 묶어 크기가 고정된 실행 풀에 넘긴다.
+ * - 실행 선점(claim)과 이체를 한 트랜잭션에서 처리한다.
+ *   next_run_at 이 기대한 값일 때만 선점되므로 재시작, 중복 로딩, 여러 서버에서도 한 번만 실행된다.
+ *   (샤드 간 이체는 saga 단계가 별도 트랜잭션이라 선점 커밋 전에 서버가 내려가면 다시 실행될 수 있다.)
+ * - 서버가 오래 내려가 있어 밀린 회차는 한 번만 실행하고 다음 회차는 현재 이후로 맞춘다.
+ */
+@Slf4j
+@Service
+public class ScheduledTransferService {
+
+	private final AccountService accountService;
+	private final ScheduledTransferRepository scheduledTransferRepository;
+	private final ShardRouter shardRouter;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final long horizonMillis;
+	private final long retryDelayMillis;
+	private final long overdueAfterMillis;
+	private final int loadBatchSize;
+	private final int batchSize;
+	private final ThreadPoolExecutor executor;
+
+	// 휠 접근은 wheel 객체로 동기화
+	private final TimingWheel<Due> wheel;
+	// 이 시각 이전에 실행할 예약은 모두 휠에 올라가 있다.
+	private volatile long loadedUntil;
+
+	// 지표
+	private final LongAdder loaded = new LongAdder();
+	private final LongAdder overdue = new LongAdder();
+	private final LongAdder executed = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+	private final LongAdder deferred = new LongAdder();
+
+	public ScheduledTransferService(AccountService accountService,
+			ScheduledTransferRepository scheduledTransferRepository, ShardRouter shardRouter,
+			PlatformTransactionManager transactionManager,
+			@Value("${bank.scheduled.enabled:true}") boolean enabled,
+			@Value("${bank.scheduled.horizon-minutes:180}") long horizonMinutes,
+			@Value("${bank.scheduled.tick-ms:1000}") long tickMillis,
+			@Value("${bank.scheduled.retry-delay-ms:60000}") long retryDelayMillis,
+			@Value("${bank.scheduled.overdue-after-ms:300000}") long overdueAfterMillis,
+			@Value("${bank.scheduled.load-batch-size:1000}") int loadBatchSize,
+			@Value("${bank.scheduled.batch-size:100}") int batchSize,
+			@Value("${bank.scheduled.workers:4}") int workers,
+			@Value("${bank.scheduled.queue-capacity:100}") int queueCapacity) {
+		this.accountService = accountService;
+		this.scheduledTransferRepository = scheduledTransferRepository;
+		this.shardRouter = shardRouter;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.horizonMillis = TimeUnit.MINUTES.toMillis(horizonMinutes);
+		this.retryDelayMillis = retryDelayMillis;
+		this.overdueAfterMillis = overdueAfterMillis;
+		this.loadBatchSize = loadBatchSize;
+		this.batchSize = batchSize;
+
+		// tick 1초 기준 64초 / 약 68분 / 약 72시간
+		this.wheel = new TimingWheel<>(tickMillis, 64, 3, System.currentTimeMillis());
+		if (horizonMillis + retryDelayMillis >= wheel.getHorizonMillis()) {
+			throw new IllegalArgumentException("bank.scheduled.horizon-minutes 가 타이밍 휠 범위를 넘습니다.");
+		}
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				r -> new Thread(r, "scheduled-transfer-" + threadNumber.getAndIncrement()),
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * 예약 이체 등록
+	 * 출금 계좌 비밀번호는 여기서 한 번만 확인한다. (실행 시에는 확인하지 않음)
+	 */
+	public void register(ScheduledTransferDTO dto, Integer principalId) {
+		accountService.checkTransferable(dto.toTransfer(), principalId);
+
+		// MySQL timestamp 는 초 단위로 저장되므로 선점 비교 값과 맞추기 위해 초 단위로 자른다.
+		Timestamp runAt = Timestamp.valueOf(dto.getRunAt().truncatedTo(ChronoUnit.SECONDS));
+		ScheduledTransfer scheduledTransfer = ScheduledTransfer.builder()
+				.userId(principalId)
+				.wAccountNumber(dto.getWAccountNumber())
+				.dAccountNumber(dto.getDAccountNumber())
+				.amount(dto.getAmount())
+				.intervalDays(dto.getIntervalDays() == null ? 0 : dto.getIntervalDays())
+				.nextRunAt(runAt)
+				.status(ScheduledTransfer.ACTIVE)
+				.build();
+
+		int shard = shardRouter.shardOfNumber(dto.getWAccountNumber());
+		shardRouter.callInNewTransaction(shard, false, () -> scheduledTransferRepository.insert(scheduledTransfer));
+
+		// 커밋 후 확인 - 로더가 이미 이 구간을 읽었다면 직접 휠에 올린다. (load 참고)
+		schedule(new Due(scheduledTransfer.getId(), shard, runAt));
+	}
+
+	public List<ScheduledTransfer> readScheduledTransfers(Integer principalId) {
+		return shardRouter.collectFromAllShards(() -> scheduledTransferRepository.findByUserId(principalId));
+	}
+
+	// 본인 예약만 취소 (휠에 남은 항목은 실행 시 선점에 실패해서 버려진다.)
+	public void cancel(Integer id, Integer principalId) {
+		int result = 0;
+		for (int shard = 0; shard < shardRouter.getShardCount() && result == 0; shard++) {
+			result = shardRouter.callInNewTransaction(shard, false,
+					() -> scheduledTransferRepository.cancel(id, principalId));
+		}
+		if (result == 0) {
+			throw new DataDeliveryException(Define.NOT_EXIST_SCHEDULED_TRANSFER, HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * 앞으로 horizon 안에 실행할 예약을 휠에 올린다.
+	 * loadedUntil 을 먼저 올리고 조회한다. 조회 후에 커밋된 등록은 register 에서 직접 휠에 올린다.
+	 * 처음 로딩(loadedUntil = 0)은 실행 시각이 이미 지난 예약부터 읽는다.
+	 */
+	@Scheduled(fixedDelayString = "${bank.scheduled.load-interval-ms:60000}")
+	public void load() {
+		if (!enabled) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		long from = loadedUntil;
+		long to = now + horizonMillis;
+		loadedUntil = to;
+		try {
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				loadShard(shard, new Timestamp(from), new Timestamp(to));
+			}
+		} catch (RuntimeException e) {
+			// 다음 로딩에서 같은 구간을 다시 읽는다. (이미 올린 항목은 선점에서 걸러짐)
+			loadedUntil = from;
+			throw e;
+		}
+
+		// 이미 지나간 구간에 남아 있는 예약 (처음 로딩이면 위에서 읽었음)
+		long overdueBefore = Math.min(from, now - overdueAfterMillis);
+		if (from > 0 && overdueBefore > 0) {
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				overdue.add(loadShard(shard, new Timestamp(0), new Timestamp(overdueBefore)));
+			}
+		}
+	}
+
+	// from 이후 to 이전에 실행할 ACTIVE 예약을 휠에 올린다. (지난 시각이면 다음 tick 에 바로 실행)
+	private int loadShard(int shard, Timestamp from, Timestamp to) {
+		int count = 0;
+		Timestamp afterRunAt = from;
+		int afterId = 0;
+		while (true) {
+			Timestamp pageRunAt = afterRunAt;
+			int pageId = afterId;
+			List<ScheduledTransfer> page = shardRouter.callInNewTransaction(shard, true,
+					() -> scheduledTransferRepository.findDueBefore(to, pageRunAt, pageId, loadBatchSize));
+
+			synchronized (wheel) {
+				for (ScheduledTransfer scheduledTransfer : page) {
+					Timestamp runAt = scheduledTransfer.getNextRunAt();
+					wheel.add(runAt.getTime(), new Due(scheduledTransfer.getId(), shard, runAt));
+				}
+			}
+			loaded.add(page.size());
+			count += page.size();
+
+			if (page.size() < loadBatchSize) {
+				return count;
+			}
+			ScheduledTransfer last = page.get(page.size() - 1);
+			afterRunAt = last.getNextRunAt();
+			afterId = last.getId();
+		}
+	}
+
+	// 만료된 예약을 묶어서 실행 풀에 넘긴다.
+	@Scheduled(fixedRateString = "${bank.scheduled.tick-ms:1000}")
+	public void tick() {
+		if (!enabled) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		List<Due> due = new ArrayList<>();
+		synchronized (wheel) {
+			wheel.advance(now, due::add);
+		}
+
+		for (int i = 0; i < due.size(); i += batchSize) {
+			List<Due> batch = new ArrayList<>(due.subList(i, Math.min(i + batchSize, due.size())));
+			try {
+				executor.execute(() -> batch.forEach(this::execute));
+			} catch (RejectedExecutionException e) {
+				// 실행 대기열이 가득 참 -> 남은 예약은 다음 tick 에 다시 시도
+				List<Due> rest = due.subList(i, due.size());
+				synchronized (wheel) {
+					rest.forEach(item -> wheel.add(now, item));
+				}
+				deferred.add(rest.size());
+				return;
+			}
+		}
+	}
+
+	public ScheduledTransferMetricsDTO readMetrics() {
+		int pending;
+		synchronized (wheel) {
+			pending = wheel.size();
+		}
+		return ScheduledTransferMetricsDTO.builder()
+				.wheelSize(pending)
+				.loadedUntil(loadedUntil == 0 ? null : new Timestamp(loadedUntil))
+				.queueDepth(executor.getQueue().size())
+				.loaded(loaded.sum())
+				.overdue(overdue.sum())
+				.executed(executed.sum())
+				.failed(failed.sum())
+				.skipped(skipped.sum())
+				.deferred(deferred.sum())
+				.build();
+	}
+
+	// 실행 풀 스레드에서 예약 한 건 실행
+	private void execute(Due due) {
+		try (ShardContext.Scope scope = shardRouter.bind(due.shard())) {
+			ScheduledTransfer done = transactionTemplate.execute(status -> claimAndTransfer(due));
+			if (done == null) {
+				skipped.increment(); // 취소되었거나 이미 실행됨
+				return;
+			}
+			executed.increment();
+			if (done.isRecurring()) {
+				schedule(new Due(due.id(), due.shard(), done.getNextRunAt()));
+			}
+		} catch (DataDeliveryException e) {
+			// 잔액 부족, 한도 초과 등 -> 이체는 롤백됨, 실패만 기록
+			failed.increment();
+			recordFailure(due, e.getMessage());
+		} catch (Exception e) {
+			// DB 장애 등 -> 잠시 후 다시 시도
+			log.warn("예약 이체 실행 실패 id={} - {}ms 후 재시도", due.id(), retryDelayMillis, e);
+			synchronized (wheel) {
+				wheel.add(System.currentTimeMillis() + retryDelayMillis, due);
+			}
+		}
+	}
+
+	private ScheduledTransfer claimAndTransfer(Due due) {
+		ScheduledTransfer scheduledTransfer = scheduledTransferRepository.findById(due.id());
+		if (scheduledTransfer == null || !ScheduledTransfer.ACTIVE.equals(scheduledTransfer.getStatus())
+				|| !scheduledTransfer.getNextRunAt().equals(due.runAt())) {
+			return null;
+		}
+
+		Timestamp next = scheduledTransfer.isRecurring() ? nextRunAt(scheduledTransfer) : due.runAt();
+		String status = scheduledTransfer.isRecurring() ? ScheduledTransfer.ACTIVE : ScheduledTransfer.DONE;
+		if (scheduledTransferRepository.claim(due.id(), due.runAt(), next, status) != 1) {
+			return null;
+		}
+
+		accountService.executeScheduledTransfer(toTransfer(scheduledTransfer), scheduledTransfer.getUserId());
+		scheduledTransfer.setNextRunAt(next);
+		return scheduledTransfer;
+	}
+
+	private void recordFailure(Due due, String message) {
+		try (ShardContext.Scope scope = shardRouter.bind(due.shard())) {
+			ScheduledTransfer failedTransfer = transactionTemplate.execute(status -> {
+				ScheduledTransfer scheduledTransfer = scheduledTransferRepository.findById(due.id());
+				if (scheduledTransfer == null) {
+					return null;
+				}
+				boolean recurring = scheduledTransfer.isRecurring();
+				Timestamp next = recurring ? nextRunAt(scheduledTransfer) : due.runAt();
+				int result = scheduledTransferRepository.fail(due.id(), due.runAt(), next,
+						recurring ? ScheduledTransfer.ACTIVE : ScheduledTransfer.FAILED, message);
+				scheduledTransfer.setNextRunAt(next);
+				return result == 1 ? scheduledTransfer : null;
+			});
+			if (failedTransfer != null && failedTransfer.isRecurring()) {
+				schedule(new Due(due.id(), due.shard(), failedTransfer.getNextRunAt()));
+			}
+		}
+	}
+
+	// 다음 회차 - 밀린 회차는 건너뛰고 현재 이후 첫 회차
+	private Timestamp nextRunAt(ScheduledTransfer scheduledTransfer) {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime next = scheduledTransfer.getNextRunAt().toLocalDateTime();
+		do {
+			next = next.plusDays(scheduledTransfer.getIntervalDays());
+		} while (!next.isAfter(now));
+		return Timestamp.valueOf(next);
+	}
+
+	// 이미 로딩한 구간이면 휠에 바로 올린다. (아니면 다음 로딩에서 올라감)
+	private void schedule(Due due) {
+		if (due.runAt().getTime() < loadedUntil) {
+			synchronized (wheel) {
+				wheel.add(due.runAt().getTime(), due);
+			}
+		}
+	}
+
+	private TransferDTO toTransfer(ScheduledTransfer scheduledTransfer) {
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(scheduledTransfer.getAmount());
+		dto.setWAccountNumber(scheduledTransfer.getWAccountNumber());
+		dto.setDAccountNumber(scheduledTransfer.getDAccountNumber());
+		return dto;
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	// 휠 항목 - 선점 시 next_run_at 비교 값으로 runAt 을 사용
+	private record Due(Integer id, int shard, Timestamp runAt) {
+	}
+
+}
@@ -0,0 +1,237 @@
+package com.tenco.bank.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.dto.TransferQueueMetricsDTO;
+import com.tenco.bank.dto.TransferTicketDTO;
+import com.tenco.bank.dto.TransferTicketDTO.Status;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.utils.Define;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 비동기 이체 접수 서비스
+ *
+ * - 계좌 번호의 해시값으로 파티션을 고르고, 파티션마다 워커 스레드는 1개만 둔다.
+ *   이체는 출금, 입금 계좌 파티션 두 곳에 모두 들어간다. (번호가 작은 파티션에서 실행, 큰 파티션은 실행이 끝날 때까지 대기)
+ *   -> 같은 계좌의 변경(출금이든 입금이든)은 접수 순서대로 한 번에 하나씩 처리되고, 다른 계좌끼리는 병렬로 처리된다.
+ * - 두 대기열에 넣는 순서는 접수 잠금으로 모든 파티션에서 같게 유지한다. (서로 기다리는 교착 없음)
+ * - 파티션 대기열은 크기가 고정되어 있어서 가득 차면 바로 거절한다. (백프레셔)
+ * - 실제 이체는 기존 AccountService.updateAccountTransfer 를 그대로 호출한다.
+ */
+@Service
+public class TransferQueueService {
+
+	private final AccountService accountService;
+	private final int retention;
+	private final ThreadPoolExecutor[] workers;
+	private final Object submitLock = new Object(); // 파티션 두 곳에 넣는 순서 고정
+
+	// 티켓 조회용 (완료된 티켓은 retention 개수까지만 보관)
+	private final Map<String, TransferTicketDTO> tickets = new ConcurrentHashMap<>();
+	private final Queue<String> finishedTickets = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger finishedCount = new AtomicInteger();
+
+	// 지표
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder queueWaitNanos = new LongAdder();
+	private final LongAdder latencyNanos = new LongAdder();
+	private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+	public TransferQueueService(AccountService accountService,
+			@Value("${bank.transfer.async.partitions:4}") int partitions,
+			@Value("${bank.transfer.async.queue-capacity:1000}") int queueCapacity,
+			@Value("${bank.transfer.async.ticket-retention:10000}") int retention) {
+		this.accountService = accountService;
+		this.retention = retention;
+		this.workers = new ThreadPoolExecutor[partitions];
+		for (int i = 0; i < partitions; i++) {
+			String threadName = "transfer-worker-" + i;
+			workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(queueCapacity), r -> new Thread(r, threadName),
+					new ThreadPoolExecutor.AbortPolicy());
+		}
+	}
+
+	/**
+	 * 이체 요청 접수
+	 * 유효성 검사는 Controller 에서 끝난 상태로 들어온다.
+	 * @return 접수 티켓 (ticketId 로 상태 조회)
+	 */
+	public TransferTicketDTO submit(TransferDTO dto, Integer principalId) {
+		int wPartition = partitionOf(dto.getWAccountNumber());
+		int dPartition = partitionOf(dto.getDAccountNumber());
+		int partition = Math.min(wPartition, dPartition); // 실행 파티션
+		int holdPartition = Math.max(wPartition, dPartition); // 같으면 한 곳만 사용
+		TransferTicketDTO ticket = new TransferTicketDTO(UUID.randomUUID().toString(), principalId, dto, partition);
+		long submittedNanos = System.nanoTime();
+
+		tickets.put(ticket.getTicketId(), ticket);
+		try {
+			synchronized (submitLock) {
+				if (partition == holdPartition) {
+					workers[partition].execute(() -> run(ticket, dto, submittedNanos));
+				} else {
+					// 워커는 꺼내기만 하므로 여기서 남은 자리를 확인하면 두 번째 execute 도 거절되지 않는다.
+					if (workers[partition].getQueue().remainingCapacity() == 0
+							|| workers[holdPartition].getQueue().remainingCapacity() == 0) {
+						throw new RejectedExecutionException();
+					}
+					Handoff handoff = new Handoff();
+					workers[holdPartition].execute(handoff::hold);
+					workers[partition].execute(() -> {
+						try {
+							handoff.awaitHeld();
+							run(ticket, dto, submittedNanos);
+						} finally {
+							handoff.release();
+						}
+					});
+				}
+			}
+		} catch (RejectedExecutionException e) {
+			tickets.remove(ticket.getTicketId());
+			rejected.increment();
+			throw new DataDeliveryException(Define.TRANSFER_QUEUE_FULL, HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		submitted.increment();
+		return ticket;
+	}
+
+	/**
+	 * 티켓 상태 조회 - 본인 티켓만 조회 가능
+	 */
+	public TransferTicketDTO readTicket(String ticketId, Integer principalId) {
+		TransferTicketDTO ticket = tickets.get(ticketId);
+		if (ticket == null || !ticket.getUserId().equals(principalId)) {
+			throw new DataDeliveryException(Define.NOT_EXIST_TICKET, HttpStatus.BAD_REQUEST);
+		}
+		return ticket;
+	}
+
+	public TransferQueueMetricsDTO readMetrics() {
+		int[] depths = new int[workers.length];
+		int total = 0;
+		for (int i = 0; i < workers.length; i++) {
+			depths[i] = workers[i].getQueue().size();
+			total += depths[i];
+		}
+		long done = completed.sum() + failed.sum();
+		return TransferQueueMetricsDTO.builder()
+				.partitions(workers.length)
+				.queueDepths(depths)
+				.totalQueueDepth(total)
+				.submitted(submitted.sum())
+				.completed(completed.sum())
+				.failed(failed.sum())
+				.rejected(rejected.sum())
+				.avgQueueWaitMs(done == 0 ? 0 : queueWaitNanos.sum() / (double) done / 1_000_000)
+				.avgLatencyMs(done == 0 ? 0 : latencyNanos.sum() / (double) done / 1_000_000)
+				.maxLatencyMs(maxLatencyNanos.get() / 1_000_000.0)
+				.build();
+	}
+
+	// 워커 스레드에서 실행되는 실제 이체 처리
+	private void run(TransferTicketDTO ticket, TransferDTO dto, long submittedNanos) {
+		queueWaitNanos.add(System.nanoTime() - submittedNanos);
+		ticket.setStatus(Status.RUNNING);
+		try {
+			accountService.updateAccountTransfer(dto, ticket.getUserId());
+			ticket.setStatus(Status.DONE);
+			completed.increment();
+		} catch (DataDeliveryException e) {
+			ticket.setMessage(e.getMessage());
+			ticket.setStatus(Status.FAILED);
+			failed.increment();
+		} catch (Exception e) {
+			ticket.setMessage(Define.UNKNOWN);
+			ticket.setStatus(Status.FAILED);
+			failed.increment();
+		} finally {
+			long latency = System.nanoTime() - submittedNanos;
+			latencyNanos.add(latency);
+			maxLatencyNanos.accumulateAndGet(latency, Math::max);
+			ticket.setCompletedAt(System.currentTimeMillis());
+			retire(ticket.getTicketId());
+		}
+	}
+
+	// 완료 티켓이 보관 개수를 넘으면 오래된 것부터 제거
+	private void retire(String ticketId) {
+		finishedTickets.add(ticketId);
+		if (finishedCount.incrementAndGet() > retention) {
+			String oldest = finishedTickets.poll();
+			if (oldest != null) {
+				tickets.remove(oldest);
+				finishedCount.decrementAndGet();
+			}
+		}
+	}
+
+	private int partitionOf(String accountNumber) {
+		return Math.floorMod(accountNumber.hashCode(), workers.length);
+	}
+
+	// 두 파티션에 걸친 이체 - 큰 파티션 워커는 작은 파티션 워커가 이체를 끝낼 때까지 다음 작업을 꺼내지 않는다.
+	private static class Handoff {
+
+		private final CountDownLatch held = new CountDownLatch(1);
+		private final CountDownLatch released = new CountDownLatch(1);
+
+		// 큰 파티션 워커에서 실행
+		private void hold() {
+			held.countDown();
+			try {
+				released.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		// 작은 파티션 워커에서 실행
+		private void awaitHeld() {
+			try {
+				held.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void release() {
+			released.countDown();
+		}
+
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		for (ThreadPoolExecutor worker : workers) {
+			worker.shutdown();
+		}
+		for (ThreadPoolExecutor worker : workers) {
+			worker.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+}
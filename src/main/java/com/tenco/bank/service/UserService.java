@@ -47,7 +47,6 @@ public class UserService {
 			// 코드 추가 부분
 			// 회원 가입 요청시 사용자가 던진 비밀번호 값을 암호화 처리해야 함
 			String hashPwd = passwordEncoder.encode(dto.getPassword());
-			System.out.println("hashPwd : " + hashPwd);
 			dto.setPassword(hashPwd);
 			
 			result = userRepository.insert(dto.toUser());			
@@ -0,0 +1,199 @@
+package com.tenco.bank.service;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.interfaces.TransferSagaRepository;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.TransferSaga;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+import com.tenco.bank.utils.SlidingWindowCounter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계좌별 출금(출금 + 이체) 한도 - 1시간, 1일 슬라이딩 윈도우
+ *
+ * - 매 요청마다 history_tb 를 합산하지 않고 메모리 카운터로 O(1) 검사한다.
+ * - 출금 트랜잭션 안에서 한도 검사와 동시에 금액을 예약하고, 롤백되면 되돌린다.
+ *   (검사와 기록 사이에 동시 요청이 끼어들어 한도를 넘는 것을 막는다.)
+ * - 샤드 간 이체가 환불(saga COMPENSATED)되면 출금 때 예약한 금액을 되돌린다.
+ * - 서버 시작 시 최근 1일 거래내역(환불된 saga 제외)으로 카운터를 다시 만든다.
+ *   DB 에 연결할 수 없으면 빈 카운터로 시작한다.
+ * - 계좌 카운터는 windows 의 compute 안에서만 읽고 바꾼다. (정리 작업이 지운 카운터에 예약하는 일이 없도록)
+ */
+@Slf4j
+@Component
+public class VelocityLimiter {
+
+	private static final long HOUR_MILLIS = 60L * 60 * 1000;
+	private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+	private static final int HOURLY_BUCKETS = 60; // 1분 단위
+	private static final int DAILY_BUCKETS = 96; // 15분 단위
+
+	private final HistoryRepository historyRepository;
+	private final TransferSagaRepository transferSagaRepository;
+	private final ShardRouter shardRouter;
+	private final long hourlyLimit;
+	private final long dailyLimit;
+	private final Map<Integer, Window> windows = new ConcurrentHashMap<>();
+
+	public VelocityLimiter(HistoryRepository historyRepository, TransferSagaRepository transferSagaRepository,
+			ShardRouter shardRouter,
+			@Value("${bank.limit.hourly-outflow:0}") long hourlyLimit,
+			@Value("${bank.limit.daily-outflow:0}") long dailyLimit) {
+		this.historyRepository = historyRepository;
+		this.transferSagaRepository = transferSagaRepository;
+		this.shardRouter = shardRouter;
+		this.hourlyLimit = hourlyLimit;
+		this.dailyLimit = dailyLimit;
+	}
+
+	/**
+	 * 한도 검사 + 예약 (출금, 이체 트랜잭션 안에서 호출)
+	 * 한도를 넘으면 DataDeliveryException, 트랜잭션이 롤백되면 예약한 금액을 되돌린다.
+	 */
+	public void reserve(Integer accountId, long amount) {
+		if (!isEnabled()) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		long[] buckets = new long[2];
+		// 한도를 넘으면 compute 안에서 던진 예외가 그대로 나간다. (카운터는 바뀌지 않음)
+		windows.compute(accountId, (key, window) -> {
+			Window target = (window == null) ? new Window() : window;
+			if (hourlyLimit > 0 && target.hourly.sum(now) + amount > hourlyLimit) {
+				throw new DataDeliveryException(Define.EXCEED_HOURLY_LIMIT, HttpStatus.BAD_REQUEST);
+			}
+			if (dailyLimit > 0 && target.daily.sum(now) + amount > dailyLimit) {
+				throw new DataDeliveryException(Define.EXCEED_DAILY_LIMIT, HttpStatus.BAD_REQUEST);
+			}
+			buckets[0] = target.hourly.add(now, amount);
+			buckets[1] = target.daily.add(now, amount);
+			return target;
+		});
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status != STATUS_COMMITTED) {
+						// 예약이 남아 있는 동안은 정리되지 않으므로 카운터가 있다.
+						windows.computeIfPresent(accountId, (key, window) -> {
+							window.hourly.subtract(buckets[0], amount);
+							window.daily.subtract(buckets[1], amount);
+							return window;
+						});
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * 예약 취소 - 출금은 커밋되었지만 나중에 환불된 경우 (샤드 간 이체 보상)
+	 * 트랜잭션 안이면 커밋된 뒤에 되돌린다.
+	 * @param reservedAtMillis 예약(출금) 시각 - 그 시각의 버킷에서 뺀다.
+	 */
+	public void release(Integer accountId, long amount, long reservedAtMillis) {
+		if (!isEnabled()) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remove(accountId, amount, reservedAtMillis);
+				}
+			});
+			return;
+		}
+		remove(accountId, amount, reservedAtMillis);
+	}
+
+	// 서버 시작 시 최근 1일 출금, 이체 내역으로 카운터 복원 (환불된 샤드 간 이체는 다시 뺀다)
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		if (!isEnabled()) {
+			return;
+		}
+
+		Timestamp since = new Timestamp(System.currentTimeMillis() - DAY_MILLIS);
+		try {
+			for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+				shardRouter.callInNewTransaction(shard, true, () -> {
+					historyRepository.findOutflowSince(since, context -> record(context.getResultObject()));
+					for (TransferSaga saga : transferSagaRepository.findByStatusSince(TransferSaga.COMPENSATED, since)) {
+						remove(saga.getWAccountId(), saga.getAmount(), saga.getCreatedAt().getTime());
+					}
+					return null;
+				});
+			}
+		} catch (DataAccessException | TransactionException e) {
+			// 한도 검사 때문에 서버가 뜨지 못하면 안 된다. (복원하지 못한 만큼 한도가 느슨해짐)
+			log.warn("출금 한도 카운터 복원 실패 - 계좌 {}개까지만 복원", windows.size(), e);
+			return;
+		}
+		log.info("출금 한도 카운터 복원 완료 - 계좌 {}개", windows.size());
+	}
+
+	// 1일 동안 출금이 없는 계좌 카운터는 제거 (메모리 상한 = 최근 1일 출금 계좌 수)
+	// 계좌마다 computeIfPresent 로 확인하고 지운다. (동시에 들어온 reserve 와 같은 잠금 안에서 판단)
+	@Scheduled(fixedDelayString = "${bank.limit.sweep-interval-ms:600000}")
+	public void sweep() {
+		long now = System.currentTimeMillis();
+		for (Integer accountId : windows.keySet()) {
+			windows.computeIfPresent(accountId, (key, window) -> window.isIdle(now) ? null : window);
+		}
+	}
+
+	private void record(History history) {
+		long time = history.getCreatedAt().getTime();
+		windows.compute(history.getWAccountId(), (key, window) -> {
+			Window target = (window == null) ? new Window() : window;
+			target.hourly.add(time, history.getAmount());
+			target.daily.add(time, history.getAmount());
+			return target;
+		});
+	}
+
+	// 1일 동안 출금이 없어 이미 제거된 계좌면 아무것도 하지 않는다.
+	private void remove(Integer accountId, long amount, long timeMillis) {
+		windows.computeIfPresent(accountId, (key, window) -> {
+			window.hourly.remove(timeMillis, amount);
+			window.daily.remove(timeMillis, amount);
+			return window;
+		});
+	}
+
+	private boolean isEnabled() {
+		return hourlyLimit > 0 || dailyLimit > 0;
+	}
+
+	// 계좌 하나당 long[60] + long[96] (windows 의 compute 안에서만 사용)
+	private static class Window {
+		private final SlidingWindowCounter hourly = new SlidingWindowCounter(HOUR_MILLIS, HOURLY_BUCKETS);
+		private final SlidingWindowCounter daily = new SlidingWindowCounter(DAY_MILLIS, DAILY_BUCKETS);
+
+		private boolean isIdle(long now) {
+			return daily.isEmpty(now);
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.tenco.bank.utils;
+
+/**
+ * 서버 발급 계좌번호 (순번 11자리 + Luhn 검사 숫자 1자리 = 12자리 숫자)
+ *
+ * 순번은 10000000000 부터 시작하므로 항상 12자리다. 사용자가 입력하던 이전 계좌번호(1111, 1002-1234 등)와 겹치지 않도록
+ * 12자리 숫자 형식은 발급 전용으로 두고 CSV 일괄 생성에서도 받지 않는다.
+ * 검사 숫자로 이체, 입금 계좌번호 오타(숫자 하나 틀림, 이웃한 두 숫자 바뀜 대부분)를 DB 조회 없이 거른다.
+ */
+public final class AccountNumber {
+
+	public static final int LENGTH = 12;
+	public static final long FIRST_SEQUENCE = 10_000_000_000L;
+	public static final long LAST_SEQUENCE = 99_999_999_999L;
+
+	private AccountNumber() {
+	}
+
+	/**
+	 * 순번 -> 계좌번호
+	 */
+	public static String of(long sequence) {
+		if (sequence < FIRST_SEQUENCE || sequence > LAST_SEQUENCE) {
+			throw new IllegalStateException("계좌번호 순번 범위를 벗어났습니다. " + sequence);
+		}
+		char[] digits = new char[LENGTH];
+		long rest = sequence;
+		for (int i = LENGTH - 2; i >= 0; i--) {
+			digits[i] = (char) ('0' + rest % 10);
+			rest /= 10;
+		}
+		// 검사 숫자 자리를 0 으로 두고 합을 구하면 (10 - 합 % 10) % 10 이 검사 숫자
+		digits[LENGTH - 1] = '0';
+		digits[LENGTH - 1] = (char) ('0' + (10 - luhnSum(digits) % 10) % 10);
+		return new String(digits);
+	}
+
+	/**
+	 * 발급 형식(12자리 숫자)인지 - 검사 숫자는 보지 않는다.
+	 */
+	public static boolean isAllocatedFormat(String number) {
+		if (number == null || number.length() != LENGTH) {
+			return false;
+		}
+		for (int i = 0; i < LENGTH; i++) {
+			char c = number.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 오타 가능성 확인 - 발급 형식인데 검사 숫자가 맞지 않으면 false
+	 * 발급 형식이 아닌 이전 계좌번호는 확인할 수 없으므로 true
+	 */
+	public static boolean isPlausible(String number) {
+		if (!isAllocatedFormat(number)) {
+			return true;
+		}
+		return luhnSum(number.toCharArray()) % 10 == 0;
+	}
+
+	// 오른쪽(검사 숫자)부터 두 번째 자리마다 두 배 (두 자리가 되면 9 를 뺀다)
+	private static int luhnSum(char[] digits) {
+		int sum = 0;
+		boolean twice = false;
+		for (int i = digits.length - 1; i >= 0; i--) {
+			int digit = digits[i] - '0';
+			if (twice) {
+				digit *= 2;
+				if (digit > 9) {
+					digit -= 9;
+				}
+			}
+			sum += digit;
+			twice = !twice;
+		}
+		return sum;
+	}
+
+}
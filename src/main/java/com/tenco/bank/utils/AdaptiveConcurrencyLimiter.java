@@ -0,0 +1,116 @@
+package com.tenco.bank.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답 시간을 보고 동시 처리 한도를 스스로 조절하는 리미터 (gradient 방식)
+ *
+ * - 동시 처리 중인 요청이 한도 이상이면 바로 거절한다. (커넥션 풀이 바닥나 모두 같이 느려지기 전에)
+ * - windowSize 개 요청마다 최근 평균 응답 시간(short)을 기준 응답 시간(long, 한가할 때의 값)과 비교한다.
+ *   short 가 long * tolerance 보다 느려지면 그만큼 한도를 줄이고, 빠르면 sqrt(limit) 만큼 늘린다.
+ *     newLimit = limit * min(1, tolerance * long / short) + sqrt(limit)
+ * - 한도의 절반도 쓰지 않는 한가한 구간에는 늘리지 않는다. (측정값이 부하를 반영하지 못함)
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final double smoothing;
+	private final int windowSize;
+	private final AtomicInteger inflight = new AtomicInteger();
+
+	private volatile int limit;
+	private double estimatedLimit;
+	private double longRttNanos;
+	private double lastShortRttNanos;
+	private long windowSumNanos;
+	private int windowCount;
+	private int windowMaxInflight;
+
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+			double smoothing, int windowSize) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+		this.windowSize = windowSize;
+		this.limit = initialLimit;
+		this.estimatedLimit = initialLimit;
+	}
+
+	// 한도 안이면 자리 하나 차지 (true), 아니면 false - 반드시 release 로 반납
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inflight.get();
+			if (current >= limit) {
+				return false;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	// 응답 시간과 함께 반납
+	public void release(long rttNanos) {
+		int current = inflight.getAndDecrement();
+		sample(rttNanos, current);
+	}
+
+	// 응답 시간을 반영하지 않고 반납 (비동기 처리로 넘어간 요청 등)
+	public void releaseWithoutSample() {
+		inflight.decrementAndGet();
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public int getInflight() {
+		return inflight.get();
+	}
+
+	public synchronized double getLongRttMillis() {
+		return longRttNanos / 1_000_000;
+	}
+
+	public synchronized double getShortRttMillis() {
+		return lastShortRttNanos / 1_000_000;
+	}
+
+	private synchronized void sample(long rttNanos, int inflightAtRelease) {
+		windowSumNanos += rttNanos;
+		windowCount++;
+		windowMaxInflight = Math.max(windowMaxInflight, inflightAtRelease);
+		if (windowCount < windowSize) {
+			return;
+		}
+
+		double shortRtt = (double) windowSumNanos / windowCount;
+		int maxInflight = windowMaxInflight;
+		windowSumNanos = 0;
+		windowCount = 0;
+		windowMaxInflight = 0;
+		lastShortRttNanos = shortRtt;
+
+		// 기준값은 더 빠른 값이 나오면 바로 내려가고, 느린 값은 아주 천천히 따라간다.
+		// (과부하 상태의 응답 시간이 기준값이 되어 버리지 않도록, 그러면서도 DB 가 실제로 느려지면 적응하도록)
+		if (longRttNanos == 0 || shortRtt < longRttNanos) {
+			longRttNanos = shortRtt;
+		} else {
+			longRttNanos = longRttNanos * 0.999 + shortRtt * 0.001;
+		}
+
+		if (maxInflight < estimatedLimit / 2) {
+			return;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+		double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+		estimatedLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+		estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+		limit = (int) estimatedLimit;
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.tenco.bank.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 오류 알림 응답 본문 (alert 후 뒤로 가기 / 로그인 화면 이동)
+ *
+ * - Define 의 메시지 상수는 서버 시작 시 본문을 미리 만들어 둔다. 거절 요청마다 문자열을 조립하지 않는다.
+ * - 그 밖의 메시지는 호출할 때 만든다. (캐시하지 않음 - 메시지 종류가 늘어도 메모리가 늘지 않음)
+ * - 메시지는 자바스크립트 문자열 안에 들어가므로 따옴표, 역슬래시, 태그 문자를 이스케이프한다.
+ */
+public final class AlertScript {
+
+	private static final String SIGN_IN = "/user/sign-in";
+
+	// 초기화 후 읽기만 하므로 HashMap 으로 충분하다.
+	private static final Map<String, String> BACK = new HashMap<>();
+	private static final Map<String, String> TO_SIGN_IN = new HashMap<>();
+
+	static {
+		for (Field field : Define.class.getFields()) {
+			if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+				try {
+					String message = (String) field.get(null);
+					BACK.put(message, buildBack(message));
+					TO_SIGN_IN.put(message, buildLocation(message, SIGN_IN));
+				} catch (IllegalAccessException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+	}
+
+	private AlertScript() {
+	}
+
+	// alert 후 이전 화면으로
+	public static String back(String message) {
+		String body = BACK.get(message);
+		return body != null ? body : buildBack(message);
+	}
+
+	// alert 후 로그인 화면으로
+	public static String toSignIn(String message) {
+		String body = TO_SIGN_IN.get(message);
+		return body != null ? body : buildLocation(message, SIGN_IN);
+	}
+
+	// 인터셉터에서 응답에 바로 쓸 때 (호출하는 쪽에서 상수로 보관)
+	public static byte[] backBytes(String message) {
+		return back(message).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String buildBack(String message) {
+		return " <script> alert('" + escape(message) + "'); window.history.back(); </script>";
+	}
+
+	private static String buildLocation(String message, String location) {
+		return " <script> alert('" + escape(message) + "'); location.href='" + location + "'; </script>";
+	}
+
+	private static String escape(String message) {
+		if (message == null) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder(message.length() + 8);
+		for (int i = 0; i < message.length(); i++) {
+			char c = message.charAt(i);
+			switch (c) {
+			case '\'', '"', '\\' -> sb.append('\\').append(c);
+			case '<' -> sb.append("\\x3C");
+			case '\n' -> sb.append("\\n");
+			case '\r' -> sb.append("\\r");
+			default -> sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+}
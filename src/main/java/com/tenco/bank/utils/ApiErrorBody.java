@@ -0,0 +1,52 @@
+package com.tenco.bank.utils;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpStatus;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * REST API(/api/**) 오류 응답 본문 - ApiErrorDTO 와 같은 JSON
+ * 인터셉터가 컨트롤러 앞에서 거절할 때 미리 만들어 둔 바이트를 바로 쓴다. (AlertScript 의 JSON 판)
+ */
+public final class ApiErrorBody {
+
+	public static final String API_PREFIX = "/api/";
+	public static final String CONTENT_TYPE = "application/json;charset=utf-8";
+
+	private ApiErrorBody() {
+	}
+
+	public static boolean isApi(HttpServletRequest request) {
+		return request.getRequestURI().startsWith(API_PREFIX, request.getContextPath().length());
+	}
+
+	public static byte[] bytes(HttpStatus status, String message) {
+		return ("{\"status\":" + status.value() + ",\"error\":\"" + status.name() + "\",\"message\":\""
+				+ escape(message) + "\"}").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String escape(String message) {
+		StringBuilder sb = new StringBuilder(message.length() + 8);
+		for (int i = 0; i < message.length(); i++) {
+			char c = message.charAt(i);
+			switch (c) {
+			case '"' -> sb.append("\\\"");
+			case '\\' -> sb.append("\\\\");
+			case '\n' -> sb.append("\\n");
+			case '\r' -> sb.append("\\r");
+			case '\t' -> sb.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+			}
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.tenco.bank.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 서킷 브레이커 (CLOSED -> OPEN -> HALF_OPEN -> CLOSED)
+ *
+ * - CLOSED : 모두 통과. 연속 실패가 failureThreshold 번이면 OPEN
+ * - OPEN : openMillis 동안 모두 바로 거절 (연결 시간 초과를 기다리지 않음)
+ * - HALF_OPEN : 시간이 지나면 요청 하나만 시험으로 통과시킨다. 성공하면 CLOSED, 실패하면 다시 OPEN
+ *   (결과 보고는 onSuccess, onFailure - 커넥션 획득과 쿼리 실행 위치가 달라도 된다)
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long openMillis;
+	private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+	private final AtomicLong openedAt = new AtomicLong();
+
+	// 지표
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder opened = new LongAdder();
+
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		this.failureThreshold = failureThreshold;
+		this.openMillis = openMillis;
+	}
+
+	/**
+	 * 요청을 보내도 되는지
+	 * OPEN 후 openMillis 가 지나면 요청 하나만 시험 요청으로 통과 (HALF_OPEN)
+	 * 시험 요청이 결과를 알리지 못한 채 openMillis 가 또 지나면 다음 요청을 다시 시험 요청으로 보낸다.
+	 */
+	public boolean allowRequest() {
+		if (state.get() == State.CLOSED) {
+			return true;
+		}
+		long since = openedAt.get();
+		long now = System.currentTimeMillis();
+		if (now - since >= openMillis && openedAt.compareAndSet(since, now)) {
+			state.set(State.HALF_OPEN);
+			return true;
+		}
+		rejected.increment();
+		return false;
+	}
+
+	public void onSuccess() {
+		if (consecutiveFailures.get() != 0) {
+			consecutiveFailures.set(0);
+		}
+		if (state.get() != State.CLOSED) {
+			state.set(State.CLOSED);
+		}
+	}
+
+	public void onFailure() {
+		if (state.get() == State.HALF_OPEN) {
+			open(); // 시험 요청 실패
+			return;
+		}
+		if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.get() == State.CLOSED) {
+			// 시각을 먼저 기록해야 OPEN 을 본 다른 스레드가 이전 시각으로 판단하지 않는다.
+			openedAt.set(System.currentTimeMillis());
+			if (state.compareAndSet(State.CLOSED, State.OPEN)) {
+				opened.increment();
+			}
+		}
+	}
+
+	// 열려 있고 아직 다음 시험 요청을 보낼 시간이 아니면 true
+	public boolean isRejecting() {
+		return state.get() != State.CLOSED && System.currentTimeMillis() - openedAt.get() < openMillis;
+	}
+
+	public State getState() {
+		return state.get();
+	}
+
+	public long getOpenedAt() {
+		return openedAt.get();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	public long getOpened() {
+		return opened.sum();
+	}
+
+	private void open() {
+		openedAt.set(System.currentTimeMillis());
+		state.set(State.OPEN);
+		opened.increment();
+	}
+
+}
@@ -19,21 +19,44 @@ public class Define {
 	public static final String FAIL_ACCOUNT_PASSWROD = "계좌 비밀번호가 틀렸습니다.";
 	public static final String LACK_Of_BALANCE = "출금 잔액이 부족 합니다.";
 	public static final String NOT_ACCOUNT_OWNER = "계좌 소유자가 아닙니다.";
+	public static final String SAME_ACCOUNT_TRANSFER = "같은 계좌로는 이체할 수 없습니다.";
+	public static final String TRANSFER_QUEUE_FULL = "이체 요청이 많아 잠시 후 다시 시도해 주세요.";
+	public static final String NOT_EXIST_TICKET = "존재하지 않는 이체 접수 번호입니다.";
+	public static final String TOO_MANY_STREAMS = "실시간 알림 연결이 많아 잠시 후 다시 시도해 주세요.";
+	public static final String EXCEED_HOURLY_LIMIT = "1시간 출금 한도를 초과했습니다.";
+	public static final String EXCEED_DAILY_LIMIT = "1일 출금 한도를 초과했습니다.";
+	public static final String NOT_EXIST_ACCOUNT_AT = "해당 시점에는 계좌가 없습니다.";
+	public static final String ENTER_YOUR_RUN_AT = "예약 실행 시각은 현재 이후로 입력해 주세요.";
+	public static final String NOT_EXIST_SCHEDULED_TRANSFER = "존재하지 않는 예약 이체입니다.";
+	public static final String DUPLICATE_ACCOUNT_NUMBER = "이미 사용 중인 계좌번호입니다.";
+	public static final String RESERVED_ACCOUNT_NUMBER = "12자리 숫자 계좌번호는 자동 발급 전용이라 사용할 수 없습니다.";
+	public static final String CHECK_ACCOUNT_NUMBER = "계좌번호를 다시 확인해 주세요.";
+	public static final String INVALID_CSV_ROW = "number,password,balance 형식이 아닙니다.";
+	public static final String INVALID_CSV_QUOTE = "따옴표로 감싼 값의 형식이 잘못되었습니다.";
+	public static final String TOO_MANY_REQUESTS = "요청이 너무 잦습니다. 잠시 후 다시 시도해 주세요.";
+	public static final String SERVER_BUSY = "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.";
+	public static final String DATABASE_UNAVAILABLE = "시스템 점검 중이라 거래를 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.";
+	public static final String IDEMPOTENCY_KEY_REUSED = "이미 다른 내용으로 처리된 요청입니다. 화면을 새로 고친 뒤 다시 시도해 주세요.";
 
 	//  User
 	public static final String ENTER_YOUR_LOGIN = "로그인 먼저 해주세요.";
 	public static final String ENTER_YOUR_USERNAME = "username을 입력해 주세요.";
 	public static final String ENTER_YOUR_FULLNAME = "fullname을 입력해 주세요.";
 	public static final String ENTER_YOUR_ACCOUNT_NUMBER = "계좌번호를 입력해 주세요.";
+	public static final String ENTER_YOUR_W_ACCOUNT_NUMBER = "출금하실 계좌번호를 입력해주세요.";
+	public static final String ENTER_YOUR_D_ACCOUNT_NUMBER = "이체하실 계좌번호를 입력해주세요.";
 	public static final String ENTER_YOUR_PASSWORD = "패스워드를 입력해 주세요.";
 	public static final String ENTER_YOUR_BALANCE = "금액을 입력해 주세요.";
 	public static final String D_BALANCE_VALUE ="입금 금액이 0원 이하 일 수 없습니다.";
 	public static final String W_BALANCE_VALUE ="출금 금액이 0원 이하 일 수 없습니다.";
+	public static final String AMOUNT_OUT_OF_RANGE = "처리할 수 있는 금액 범위를 넘었습니다.";
+	public static final String ENTER_YOUR_FILE = "업로드할 파일을 선택해 주세요.";
 	
 	// etc 
 	public static final String FAIL_TO_CREATE_USER = "회원가입 실패.";
 	public static final String NOT_AN_AUTHENTICATED_USER = "인증된 사용자가 아닙니다.";
 	public static final String INVALID_INPUT = "잘못된 입력입니다.";
+	public static final String INVALID_ACCESS = "유효하지 않은 접근입니다.";
 	public static final String UNKNOWN = "알 수 없는 동작입니다";
 	public static final String FAILED_PROCESSING = "정상 처리 되지 않았습니다.";
 	
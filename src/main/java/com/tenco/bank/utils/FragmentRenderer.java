@@ -0,0 +1,44 @@
+package com.tenco.bank.utils;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * JSP 조각을 응답에 바로 쓰지 않고 문자열로 렌더링 (캐시에 담기 위해)
+ * 조각 JSP 는 request 속성만 읽어야 한다. (include 이므로 상태 코드, 헤더 변경은 무시됨)
+ */
+public abstract class FragmentRenderer {
+
+	public static String render(HttpServletRequest request, HttpServletResponse response, String jspPath)
+			throws ServletException, IOException {
+		CharArrayWriter buffer = new CharArrayWriter(4096);
+		PrintWriter writer = new PrintWriter(buffer);
+		HttpServletResponseWrapper capture = new HttpServletResponseWrapper(response) {
+			@Override
+			public PrintWriter getWriter() {
+				return writer;
+			}
+
+			@Override
+			public ServletOutputStream getOutputStream() {
+				throw new IllegalStateException("조각 렌더링은 문자 출력만 지원합니다.");
+			}
+
+			@Override
+			public void flushBuffer() {
+				writer.flush();
+			}
+		};
+		request.getRequestDispatcher(jspPath).include(request, capture);
+		writer.flush();
+		return buffer.toString();
+	}
+
+}
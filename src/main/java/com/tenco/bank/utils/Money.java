@@ -0,0 +1,38 @@
+package com.tenco.bank.utils;
+
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+
+/**
+ * 금액 계산 (원 단위 long)
+ *
+ * 금액은 객체로 감싸지 않고 long 그대로 다룬다. (거래 1건마다 Long 을 만들지 않음)
+ * 더하기, 빼기는 넘침을 검사해서 잔액이 음수로 뒤집히는 대신 업무 오류로 거절한다.
+ */
+public final class Money {
+
+	private static final DataDeliveryException OUT_OF_RANGE = new DataDeliveryException(Define.AMOUNT_OUT_OF_RANGE,
+			HttpStatus.BAD_REQUEST);
+
+	private Money() {
+	}
+
+	public static long add(long balance, long amount) {
+		long result = balance + amount;
+		// 부호가 같은 두 수를 더했는데 결과 부호가 다르면 넘침 (Math.addExact 와 같은 판정)
+		if (((balance ^ result) & (amount ^ result)) < 0) {
+			throw OUT_OF_RANGE;
+		}
+		return result;
+	}
+
+	public static long subtract(long balance, long amount) {
+		long result = balance - amount;
+		if (((balance ^ amount) & (balance ^ result)) < 0) {
+			throw OUT_OF_RANGE;
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.tenco.bank.utils;
+
+import java.util.Arrays;
+
+/**
+ * 시간 구간(버킷) 링 배열로 만든 슬라이딩 윈도우 합계
+ *
+ * - 윈도우를 buckets 개의 구간으로 나누고 구간별 합계를 long 배열에 저장한다.
+ * - 합계(total)를 따로 들고 있다가 시간이 지나 밀려나는 구간만 빼 주기 때문에 조회는 O(1)
+ *   (시간이 많이 흐른 뒤 첫 호출만 최대 buckets 번 정리)
+ * - 메모리는 계좌 수와 상관없이 카운터 하나당 long[buckets] 고정
+ *
+ * 스레드 안전하지 않다. 호출하는 쪽에서 동기화해야 한다.
+ */
+public class SlidingWindowCounter {
+
+	private final long bucketMillis;
+	private final long[] sums;
+	private long head = Long.MIN_VALUE; // 가장 최근 버킷 번호 (epoch / bucketMillis)
+	private long total;
+
+	public SlidingWindowCounter(long windowMillis, int buckets) {
+		this.bucketMillis = windowMillis / buckets;
+		this.sums = new long[buckets];
+	}
+
+	// now 기준 윈도우 합계
+	public long sum(long nowMillis) {
+		advance(nowMillis / bucketMillis);
+		return total;
+	}
+
+	/**
+	 * timeMillis 시점에 amount 추가 (윈도우보다 오래된 시점이면 무시)
+	 * @return 더해진 버킷 번호 (되돌릴 때 사용), 무시되면 -1
+	 */
+	public long add(long timeMillis, long amount) {
+		long bucket = timeMillis / bucketMillis;
+		advance(bucket);
+		if (!inWindow(bucket)) {
+			return -1;
+		}
+		sums[index(bucket)] += amount;
+		total += amount;
+		return bucket;
+	}
+
+	// add 로 더한 값을 되돌린다. 이미 윈도우 밖으로 밀려났으면 아무 일도 하지 않는다.
+	public void subtract(long bucket, long amount) {
+		if (bucket < 0 || !inWindow(bucket)) {
+			return;
+		}
+		sums[index(bucket)] -= amount;
+		total -= amount;
+	}
+
+	/**
+	 * timeMillis 시점에 더했던 amount 를 뺀다. (버킷 번호를 모를 때 - 서버 재시작 뒤의 환불 등)
+	 * 윈도우 밖이면 무시하고, 그 버킷에 남은 값보다 많이 빼지 않는다.
+	 */
+	public void remove(long timeMillis, long amount) {
+		long bucket = timeMillis / bucketMillis;
+		if (!inWindow(bucket)) {
+			return;
+		}
+		long removed = Math.min(amount, sums[index(bucket)]);
+		sums[index(bucket)] -= removed;
+		total -= removed;
+	}
+
+	public boolean isEmpty(long nowMillis) {
+		return sum(nowMillis) == 0;
+	}
+
+	private boolean inWindow(long bucket) {
+		return bucket <= head && head - bucket < sums.length;
+	}
+
+	private void advance(long bucket) {
+		if (head == Long.MIN_VALUE) {
+			head = bucket;
+			return;
+		}
+		if (bucket <= head) {
+			return;
+		}
+		if (bucket - head >= sums.length) {
+			Arrays.fill(sums, 0L);
+			total = 0;
+		} else {
+			for (long b = head + 1; b <= bucket; b++) {
+				int i = index(b);
+				total -= sums[i];
+				sums[i] = 0;
+			}
+		}
+		head = bucket;
+	}
+
+	private int index(long bucket) {
+		return (int) Math.floorMod(bucket, (long) sums.length);
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.tenco.bank.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠 (hierarchical timing wheel)
+ *
+ * - 0단 휠은 슬롯 하나가 tick, 1단 휠은 슬롯 하나가 tick * wheelSize ... 로 커진다.
+ *   (tick 1초, 64칸, 3단이면 64초 / 약 68분 / 약 72시간)
+ * - 항목은 남은 시간에 맞는 단의 슬롯에 들어가고, 윗단 슬롯 차례가 오면 아랫단으로 다시 나눠 담긴다.
+ * - 등록, 만료 모두 항목 수와 상관없이 O(1) - 항목마다 타이머를 두지 않는다.
+ *
+ * 스레드 안전하지 않다. 호출하는 쪽에서 동기화해야 한다.
+ */
+public class TimingWheel<T> {
+
+	private final long tickMillis;
+	private final int wheelSize;
+	private final long[] spans; // 단별 슬롯 하나의 크기 (tick 단위)
+	private final List<List<Entry<T>>> slots; // [단 * wheelSize + 슬롯]
+	private final List<Entry<T>> overdue = new ArrayList<>();
+	private long currentTick;
+	private int size;
+
+	public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+		this.tickMillis = tickMillis;
+		this.wheelSize = wheelSize;
+		this.spans = new long[levels + 1];
+		this.spans[0] = 1;
+		for (int level = 1; level <= levels; level++) {
+			this.spans[level] = this.spans[level - 1] * wheelSize;
+		}
+		this.slots = new ArrayList<>(levels * wheelSize);
+		for (int i = 0; i < levels * wheelSize; i++) {
+			slots.add(new ArrayList<>());
+		}
+		this.currentTick = startMillis / tickMillis;
+	}
+
+	// 담을 수 있는 가장 먼 시간 (현재 기준)
+	public long getHorizonMillis() {
+		return (spans[spans.length - 1] - 1) * tickMillis;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * dueMillis 에 만료될 항목 등록 (이미 지난 시간이면 다음 advance 에서 바로 만료)
+	 * @return 휠 범위를 벗어나 담지 못했으면 false
+	 */
+	public boolean add(long dueMillis, T value) {
+		// 올림 - 만료 시각보다 일찍 꺼내지 않는다.
+		return place(new Entry<>((dueMillis + tickMillis - 1) / tickMillis, value));
+	}
+
+	// nowMillis 까지 시간을 진행하면서 만료된 항목을 expired 로 넘긴다.
+	public void advance(long nowMillis, Consumer<T> expired) {
+		long targetTick = nowMillis / tickMillis;
+		drainOverdue(expired);
+		while (currentTick < targetTick) {
+			currentTick++;
+
+			// 윗단부터 차례가 된 슬롯을 아랫단으로 다시 나눠 담는다.
+			for (int level = spans.length - 2; level >= 1; level--) {
+				if (currentTick % spans[level] == 0) {
+					List<Entry<T>> slot = slotOf(level, currentTick);
+					List<Entry<T>> cascade = new ArrayList<>(slot);
+					size -= slot.size();
+					slot.clear();
+					cascade.forEach(this::place);
+				}
+			}
+
+			List<Entry<T>> slot = slotOf(0, currentTick);
+			size -= slot.size();
+			slot.forEach(entry -> expired.accept(entry.value));
+			slot.clear();
+			drainOverdue(expired);
+		}
+	}
+
+	private boolean place(Entry<T> entry) {
+		long delta = entry.dueTick - currentTick;
+		if (delta <= 0) {
+			overdue.add(entry);
+			size++;
+			return true;
+		}
+		for (int level = 0; level < spans.length - 1; level++) {
+			if (delta < spans[level + 1]) {
+				slotOf(level, entry.dueTick).add(entry);
+				size++;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<Entry<T>> slotOf(int level, long tick) {
+		return slots.get(level * wheelSize + (int) ((tick / spans[level]) % wheelSize));
+	}
+
+	private void drainOverdue(Consumer<T> expired) {
+		if (overdue.isEmpty()) {
+			return;
+		}
+		size -= overdue.size();
+		overdue.forEach(entry -> expired.accept(entry.value));
+		overdue.clear();
+	}
+
+	private record Entry<T>(long dueTick, T value) {
+	}
+
+}
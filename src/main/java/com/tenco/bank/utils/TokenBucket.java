@@ -0,0 +1,56 @@
+package com.tenco.bank.utils;
+
+/**
+ * 토큰 버킷 (초당 refillPerSecond 개씩 채워지고 최대 capacity 개까지 쌓인다)
+ *
+ * - 요청마다 토큰 1개를 꺼낸다. 비어 있으면 거절 -> 평균 속도는 refillPerSecond, 순간 몰림은 capacity 까지 허용
+ * - 타이머 없이 꺼낼 때 지난 시간만큼 한 번에 채운다.
+ */
+public class TokenBucket {
+
+	private final double capacity;
+	private final double refillPerNano;
+	private double tokens;
+	private long lastRefillNanos;
+
+	public TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+		this.capacity = capacity;
+		this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+		this.tokens = capacity;
+		this.lastRefillNanos = nowNanos;
+	}
+
+	// 토큰 1개 사용 (없으면 false)
+	public synchronized boolean tryConsume(long nowNanos) {
+		refill(nowNanos);
+		if (tokens < 1) {
+			return false;
+		}
+		tokens -= 1;
+		return true;
+	}
+
+	// 다음 토큰이 생길 때까지 남은 시간 (ms, 올림)
+	public synchronized long millisUntilNext(long nowNanos) {
+		refill(nowNanos);
+		if (tokens >= 1) {
+			return 0;
+		}
+		return (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000);
+	}
+
+	// 가득 찬 버킷 = 최근에 사용하지 않은 사용자 (정리 대상)
+	public synchronized boolean isFull(long nowNanos) {
+		refill(nowNanos);
+		return tokens >= capacity;
+	}
+
+	private void refill(long nowNanos) {
+		long elapsed = nowNanos - lastRefillNanos;
+		if (elapsed > 0) {
+			tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+			lastRefillNanos = nowNanos;
+		}
+	}
+
+}
@@ -1,22 +1,61 @@
 package com.tenco.bank.utils;
 
 import java.sql.Timestamp;
-import java.text.DecimalFormat;
-import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
 
+/**
+ * 화면(JSP) 표시용 시간, 금액 포맷
+ *
+ * - DateTimeFormatter 는 불변이라 여러 스레드가 하나를 같이 써도 된다. (SimpleDateFormat 을 매번 만들지 않음)
+ * - 금액은 DecimalFormat 없이 자릿수를 직접 끊는다. 스레드별 char 버퍼에 뒤에서부터 채우고 String 하나만 만든다.
+ */
 public abstract class ValueFormatter {
 
+	// MM = 월, mm = 분
+	private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+	private static final String WON = " 원";
+
+	// 가장 긴 값 : -9,223,372,036,854,775,808 원 (28자)
+	private static final ThreadLocal<char[]> WON_BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
 	// 시간 포맷
 	public String timestampToString(Timestamp timestamp) {
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-mm-dd HH:mm:ss");
-		return sdf.format(timestamp);
+		return formatDateTime(timestamp);
 	}
 
 	public String formatKoreanWon(Long amount) {
-		// 123456 -> 123,456 으로 표기하기 위함
-		DecimalFormat df = new DecimalFormat("#, ###");
-		String formatNumber = df.format(amount);
-		return formatNumber + " 원"; 
+		// 123456 -> 123,456 원
+		return amount == null ? "" : formatWon(amount);
 	}
-	
+
+	public static String formatDateTime(Timestamp timestamp) {
+		return timestamp == null ? "" : DATE_TIME.format(timestamp.toLocalDateTime());
+	}
+
+	// 세 자리마다 쉼표 + " 원"
+	public static String formatWon(long amount) {
+		char[] buffer = WON_BUFFER.get();
+		int pos = buffer.length;
+		for (int i = WON.length() - 1; i >= 0; i--) {
+			buffer[--pos] = WON.charAt(i);
+		}
+
+		// 음수 그대로 나눠야 Long.MIN_VALUE 도 넘치지 않는다. (나머지가 0 ~ -9)
+		long value = amount < 0 ? amount : -amount;
+		int digits = 0;
+		do {
+			if (digits > 0 && digits % 3 == 0) {
+				buffer[--pos] = ',';
+			}
+			buffer[--pos] = (char) ('0' - (value % 10));
+			value /= 10;
+			digits++;
+		} while (value != 0);
+
+		if (amount < 0) {
+			buffer[--pos] = '-';
+		}
+		return new String(buffer, pos, buffer.length - pos);
+	}
+
 }
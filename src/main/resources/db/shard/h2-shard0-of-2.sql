@@ -0,0 +1,3 @@
+-- 샤드 2개 중 0번 : 계좌 PK 1, 3, 5, ... (샤드 번호 = (id - 1) % 2)
+alter table account_tb alter column id set increment by 2;
+alter table account_tb alter column id restart with 1;
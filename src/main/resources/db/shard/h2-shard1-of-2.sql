@@ -0,0 +1,3 @@
+-- 샤드 2개 중 1번 : 계좌 PK 2, 4, 6, ... (샤드 번호 = (id - 1) % 2)
+alter table account_tb alter column id set increment by 2;
+alter table account_tb alter column id restart with 2;
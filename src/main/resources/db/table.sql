@@ -22,5 +22,124 @@ create table history_tb(
     d_account_id int comment '입금 계좌 ID',
     w_balance bigint comment '출금 요청 후 계좌 잔액',
     d_balance bigint comment '입금 요청 후 계좌 잔액', 
+    w_account_number varchar(30) comment '출금 계좌 번호 (샤드 간 이체의 입금 쪽 기록에만 - 출금 계좌가 다른 샤드라 조인할 수 없음)',
+    d_account_number varchar(30) comment '입금 계좌 번호 (샤드 간 이체의 출금 쪽 기록에만)',
     created_at timestamp not null default now() 
-);
\ No newline at end of file
+);
+
+-- 거래내역 outbox (거래내역 등록과 같은 트랜잭션에서 기록)
+-- 다운스트림(알림, 분석, 이상거래 탐지)은 history_tb 를 조회하지 않고 이 테이블을 id 순서로 소비한다.
+create table outbox_tb(
+	id bigint auto_increment primary key comment '이벤트 오프셋',
+	event_type varchar(20) not null comment 'DEPOSIT, WITHDRAWAL, TRANSFER',
+	history_id int not null comment '거래내역 ID',
+	amount bigint not null comment '거래금액',
+	w_account_id int comment '출금 계좌 ID',
+	d_account_id int comment '입금 계좌 ID',
+	w_balance bigint comment '출금 요청 후 계좌 잔액',
+	d_balance bigint comment '입금 요청 후 계좌 잔액',
+	created_at timestamp not null default now()
+);
+
+-- 구독자별 소비 오프셋 (마지막으로 처리 완료한 outbox_tb.id)
+create table outbox_offset_tb(
+	subscriber varchar(50) primary key comment '구독자 이름',
+	last_offset bigint not null default 0,
+	updated_at timestamp not null default now()
+);
+
+
+-- 샤드 간 이체 (saga) 기록 - 출금 계좌가 있는 샤드에 출금과 같은 트랜잭션으로 기록
+-- PENDING : 출금 완료, 입금 전 / DONE : 입금 완료 / COMPENSATED : 입금 불가로 출금 취소(환불)
+create table transfer_saga_tb(
+	id varchar(36) primary key comment 'saga ID (UUID)',
+	w_account_id int not null comment '출금 계좌 ID',
+	w_account_number varchar(30) comment '출금 계좌 번호 (입금 쪽 거래내역, 알림에 보내는 분으로 표시)',
+	d_account_number varchar(30) not null comment '입금 계좌 번호',
+	amount bigint not null comment '이체 금액',
+	status varchar(20) not null,
+	created_at timestamp not null default now(),
+	updated_at timestamp not null default now()
+);
+create index idx_transfer_saga_status on transfer_saga_tb(status, created_at);
+
+-- 샤드 간 이체 입금 처리 기록 - 입금 계좌가 있는 샤드에 입금과 같은 트랜잭션으로 기록 (중복 입금 방지)
+create table transfer_inbox_tb(
+	saga_id varchar(36) primary key comment 'saga ID',
+	created_at timestamp not null default now()
+);
+
+
+-- 출금 한도 카운터 복원 (최근 1일 거래내역 조회)
+create index idx_history_created_at on history_tb(created_at);
+
+
+-- 일별 잔액 체크포인트 (특정 시점 잔액 조회용)
+-- checkpoint_at 직전까지의 잔액과 그때 반영된 마지막 거래내역 ID
+create table balance_checkpoint_tb(
+	account_id int not null,
+	checkpoint_at timestamp not null,
+	balance bigint not null,
+	last_history_id int not null,
+	primary key(account_id, checkpoint_at)
+);
+
+-- 체크포인트 작업 실행 기록 (다음 실행은 checkpoint_at 이후에 등록된 거래내역만 읽는다)
+create table balance_checkpoint_run_tb(
+	checkpoint_at timestamp primary key,
+	created_at timestamp not null default now()
+);
+
+-- 계좌별 거래내역 조회 (체크포인트 이후 구간만 읽기)
+create index idx_history_w_account on history_tb(w_account_id, id);
+create index idx_history_d_account on history_tb(d_account_id, id);
+-- 시점 잔액 조회 (조회 시점 앞, 뒤 거래 한 건을 등록 시각으로 바로 찾기)
+create index idx_history_w_account_time on history_tb(w_account_id, created_at);
+create index idx_history_d_account_time on history_tb(d_account_id, created_at);
+
+-- 예약 이체, 자동 이체 (출금 계좌 샤드에 저장)
+-- interval_days = 0 이면 1회 예약 이체
+create table scheduled_transfer_tb(
+	id int auto_increment primary key,
+	user_id int not null,
+	w_account_number varchar(30) not null,
+	d_account_number varchar(30) not null,
+	amount bigint not null,
+	interval_days int not null default 0,
+	next_run_at timestamp not null,
+	status varchar(10) not null, -- ACTIVE, DONE, FAILED, CANCELED
+	run_count int not null default 0,
+	last_message varchar(255),
+	created_at timestamp not null default now()
+);
+create index idx_scheduled_transfer_due on scheduled_transfer_tb(status, next_run_at, id);
+create index idx_scheduled_transfer_user on scheduled_transfer_tb(user_id);
+
+-- 이자 지급 배치 진행 기록 (계좌 ID 구간 단위, 구간 처리와 같은 트랜잭션에서 기록)
+create table interest_chunk_tb(
+	run_date date not null comment '이자 기준일',
+	chunk_start int not null comment '계좌 ID 구간 시작 (포함)',
+	chunk_end int not null comment '계좌 ID 구간 끝 (미포함)',
+	accounts int not null comment '이자를 지급한 계좌 수',
+	interest bigint not null comment '구간 이자 합계',
+	created_at timestamp not null default now(),
+	primary key(run_date, chunk_start)
+);
+
+-- 출금, 입금, 이체 멱등 키 (거래와 같은 트랜잭션에서 기록 - 롤백되면 같이 사라지므로 재시도 가능)
+-- 같은 키로 다시 온 요청은 계좌를 조회, 변경하지 않고 처리 완료로 응답한다.
+create table idempotency_tb(
+	user_id int not null comment '요청한 사용자',
+	idempotency_key varchar(64) not null comment '클라이언트가 만든 요청 키',
+	fingerprint varchar(200) not null comment '요청 종류, 계좌번호, 금액 (같은 키로 다른 요청이 오면 거절)',
+	created_at timestamp not null default now(),
+	primary key(user_id, idempotency_key)
+);
+create index idx_idempotency_created_at on idempotency_tb(created_at);
+
+-- 계좌번호 발급 순번 (서버가 block-size 개씩 예약해서 메모리에서 나눠준다, 샤딩 사용 시 0번 샤드에만 사용)
+create table account_number_seq_tb(
+	name varchar(30) primary key,
+	next_value bigint not null comment '다음에 예약할 첫 순번'
+);
+insert into account_number_seq_tb(name, next_value) values('account', 10000000000);
@@ -0,0 +1,53 @@
+/**
+ * 실시간 잔액, 거래내역 알림 (SSE)
+ * - /account/stream 에 연결해서 커밋된 거래가 발생하면 화면만 갱신한다. (새로고침 x)
+ * - 잔액 : id="balance-{accountId}" 요소의 텍스트를 교체
+ * - 거래내역 : id="history-body" 테이블이 있고 마지막 페이지를 보고 있으면 행을 추가
+ */
+(function() {
+	if (!window.EventSource) {
+		return;
+	}
+
+	function formatKoreanWon(amount) {
+		return Number(amount).toLocaleString('ko-KR') + ' 원';
+	}
+
+	function formatTime(epochMillis) {
+		var d = new Date(epochMillis);
+		function pad(n) { return n < 10 ? '0' + n : '' + n; }
+		return d.getFullYear() + '-' + pad(d.getMonth() + 1) + '-' + pad(d.getDate()) + ' '
+			+ pad(d.getHours()) + ':' + pad(d.getMinutes()) + ':' + pad(d.getSeconds());
+	}
+
+	function appendHistory(body, data) {
+		if (body.dataset.accountId != String(data.accountId) || body.dataset.lastPage !== 'true') {
+			return;
+		}
+		var type = body.dataset.type;
+		if ((type === 'deposit' && !data.inbound) || (type === 'withdrawal' && data.inbound)) {
+			return;
+		}
+		var row = document.createElement('tr');
+		[formatTime(data.createdAt), data.sender, data.receiver,
+			formatKoreanWon(data.amount), formatKoreanWon(data.balance)].forEach(function(text) {
+			var cell = document.createElement('th');
+			cell.textContent = text;
+			row.appendChild(cell);
+		});
+		body.appendChild(row);
+	}
+
+	var source = new EventSource('/account/stream');
+	source.addEventListener('balance', function(e) {
+		var data = JSON.parse(e.data);
+		var balance = document.getElementById('balance-' + data.accountId);
+		if (balance) {
+			balance.textContent = formatKoreanWon(data.balance);
+		}
+		var body = document.getElementById('history-body');
+		if (body) {
+			appendHistory(body, data);
+		}
+	});
+})();
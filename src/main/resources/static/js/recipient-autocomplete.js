@@ -0,0 +1,47 @@
+/**
+ * 이체 입금 계좌 자동완성
+ * - id="dAccountNumber" 입력값을 접두어로 /account/recipients 를 조회해서 datalist(id="recipient-list")를 채운다.
+ * - 입력이 잠시 멈췄을 때만 조회한다. (글자마다 요청하지 않음)
+ */
+(function() {
+	var input = document.getElementById('dAccountNumber');
+	var list = document.getElementById('recipient-list');
+	if (!input || !list || !window.fetch) {
+		return;
+	}
+
+	var timer = null;
+	var lastPrefix = null;
+
+	function render(items) {
+		list.innerHTML = '';
+		items.forEach(function(item) {
+			var option = document.createElement('option');
+			option.value = item.number;
+			option.label = item.own ? '내 계좌' : '최근 이체';
+			list.appendChild(option);
+		});
+	}
+
+	function lookup() {
+		var prefix = input.value.trim();
+		if (prefix === lastPrefix) {
+			return;
+		}
+		lastPrefix = prefix;
+		fetch('/account/recipients?prefix=' + encodeURIComponent(prefix), { credentials: 'same-origin' })
+			.then(function(response) { return response.ok ? response.json() : []; })
+			.then(function(items) {
+				if (prefix === lastPrefix) { // 늦게 도착한 이전 응답은 무시
+					render(items);
+				}
+			})
+			.catch(function() { /* 자동완성은 없어도 이체는 가능 */ });
+	}
+
+	input.addEventListener('input', function() {
+		clearTimeout(timer);
+		timer = setTimeout(lookup, 150);
+	});
+	input.addEventListener('focus', lookup);
+})();
@@ -7,6 +7,7 @@
 	<h5>Bank App에 오신걸 환영합니다</h5>
 
 	<form action="/account/deposit" method="post">
+		<input type="hidden" name="idempotencyKey" value="${idempotencyKey}">
 		<div class="form-group">
 			<label for="amount">입금 금액 :</label>
 			<input type="number" class="form-control" placeholder="Enter amount" id="amount" name="amount" value="1000">
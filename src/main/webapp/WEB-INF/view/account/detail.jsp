@@ -5,10 +5,14 @@
 <div class="col-sm-8">
 	<h2>계좌 상세보기 (인증)</h2>
 	<h5>Bank App에 오신걸 환영합니다</h5>
+	<%-- DB 장애 시 캐시에서 읽은 화면 --%>
+	<c:if test="${staleAt != null}">
+		<div class="alert alert-warning">시스템 점검 중입니다. ${staleAt} 기준 정보이며 입출금, 이체는 잠시 후 이용해 주세요.</div>
+	</c:if>
 
 	<div class="bg-light p-md-5">
 		<div class="user--box">
-			${principal.username}님 계좌 <br> 계좌번호 : ${account.number} <br> 잔액: ${account.formatKoreanWon(account.balance)}
+			${principal.username}님 계좌 <br> 계좌번호 : ${account.number} <br> 잔액: <span id="balance-${account.id}">${account.formatKoreanWon(account.balance)}</span>
 		</div>
 		<br>
 		<div>
@@ -27,19 +31,14 @@
 					<th>계좌잔액</th>
 				</tr>
 			</thead>
-			<tbody>
-				<c:forEach var="historyAccount" items="${historyList}">				
-					<tr>
-						<th>${historyAccount.timestampToString(historyAccount.createdAt)}</th>
-						<th>${historyAccount.sender}</th>
-						<th>${historyAccount.receiver}</th>
-						<th>${historyAccount.formatKoreanWon(historyAccount.amount)}</th>
-						<th>${historyAccount.formatKoreanWon(historyAccount.balance)}</th>
-					</tr>
-				</c:forEach>
+			<tbody id="history-body" data-account-id="${account.id}" data-type="${type}" data-last-page="${currentPage >= totalPages}">
+				<%-- historyRows.jsp 렌더링 결과 (캐시) --%>
+				${historyRows}
 			</tbody>
 		</table>
 	</div>
+	<%-- 실시간 잔액, 거래내역 갱신 (SSE) --%>
+	<script src="/js/account-stream.js"></script>
 
 	<!-- Pagination -->
 	<div class="d-flex justify-content-center">
@@ -0,0 +1,12 @@
+<%@ page pageEncoding="UTF-8" trimDirectiveWhitespaces="true"%>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c"%>
+<%-- 거래내역 표 행 (detail.jsp) - 계좌 버전별로 렌더링 결과를 캐시한다. (HistoryFragmentCache) --%>
+<c:forEach var="historyAccount" items="${historyList}">
+	<tr>
+		<th>${historyAccount.timestampToString(historyAccount.createdAt)}</th>
+		<th>${historyAccount.sender}</th>
+		<th>${historyAccount.receiver}</th>
+		<th>${historyAccount.formatKoreanWon(historyAccount.amount)}</th>
+		<th>${historyAccount.formatKoreanWon(historyAccount.balance)}</th>
+	</tr>
+</c:forEach>
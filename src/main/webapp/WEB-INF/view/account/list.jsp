@@ -5,6 +5,10 @@
 <div class="col-sm-8">
 	<h2>계좌목록 (인증)</h2>
 	<h5>Bank App에 오신걸 환영합니다</h5>
+	<%-- DB 장애 시 캐시에서 읽은 화면 --%>
+	<c:if test="${staleAt != null}">
+		<div class="alert alert-warning">시스템 점검 중입니다. ${staleAt} 기준 정보이며 입출금, 이체는 잠시 후 이용해 주세요.</div>
+	</c:if>
 
 	<!-- 계좌가 없는 경우와 있는 경우를 분리 -->
 	<!-- 계좌가 있는 사용자 일 경우 반복문 활용 -->
@@ -22,11 +26,45 @@
 					<c:forEach var="account" items="${accountList}">
 						<tr>
 							<td><a href="/account/detail/${account.id}?type=all">${account.number}</a></td>
-							<td>${account.formatKoreanWon(account.balance)}</td>
+							<td id="balance-${account.id}">${account.formatKoreanWon(account.balance)}</td>
 						</tr>
 					</c:forEach>
 				</tbody>
 			</table>
+			<%-- 대시보드 : 총 잔액, 이번 달 합계, 모든 계좌의 최근 거래 (DB 장애 시에는 보여주지 않음) --%>
+			<c:if test="${dashboard != null}">
+				<h5>총 잔액 : ${dashboard.formatKoreanWon(dashboard.totalBalance)} (계좌 ${dashboard.accountCount}개)</h5>
+				<p>${dashboard.month} 들어온 돈 ${dashboard.formatKoreanWon(dashboard.monthInflow)}
+					/ 나간 돈 ${dashboard.formatKoreanWon(dashboard.monthOutflow)} (내 계좌 사이 이체 제외)</p>
+				<c:if test="${not empty dashboard.recent}">
+					<table class="table">
+						<thead>
+							<tr>
+								<th>날짜</th>
+								<th>내 계좌</th>
+								<th>상대 계좌</th>
+								<th>입금/출금</th>
+								<th>금액</th>
+								<th>거래 후 잔액</th>
+							</tr>
+						</thead>
+						<tbody>
+							<c:forEach var="activity" items="${dashboard.recent}">
+								<tr>
+									<td>${activity.timestampToString(activity.createdAt)}</td>
+									<td>${activity.accountNumber}</td>
+									<td>${activity.counterpartyNumber == null ? 'ATM' : activity.counterpartyNumber}</td>
+									<td>${activity.inbound ? '입금' : '출금'}</td>
+									<td>${activity.formatKoreanWon(activity.amount)}</td>
+									<td>${activity.formatKoreanWon(activity.balance)}</td>
+								</tr>
+							</c:forEach>
+						</tbody>
+					</table>
+				</c:if>
+			</c:if>
+			<%-- 실시간 잔액 갱신 (SSE) --%>
+			<script src="/js/account-stream.js"></script>
 		</c:when>
 		<c:otherwise>
 			<div class="jumbotron display-4">
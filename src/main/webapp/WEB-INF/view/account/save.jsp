@@ -8,11 +8,9 @@
 
 	<!-- 예외적으로 로그인은 보안 때문에 post 로 던지자 -->
 	<!-- insert into account_tb(number, password, balance, user_id, created_at) -->
+	<!-- 계좌번호는 서버에서 발급 (12자리, 마지막 자리 검사 숫자) -->
 	<form action="/account/save" method="post">
-		<div class="form-group">
-			<label for="number">number:</label>
-			<input type="text" class="form-control" placeholder="Enter number" id="number" name="number" value="1002-1234">
-		</div>
+		<p class="text-muted">계좌번호는 자동으로 발급됩니다.</p>
 		<div class="form-group">
 			<label for="pwd">Password:</label>
 			<input type="password" class="form-control" placeholder="Enter password" id="pwd" name="password" value="1234">
@@ -25,6 +23,17 @@
 			<button type="submit" class="btn btn-primary">계좌생성</button>		
 		</div>
 	</form>
+
+	<h5 class="mt-5">계좌 일괄 생성 (CSV)</h5>
+	<p class="text-muted">number,password,balance 형식, 처리 결과는 CSV 파일로 내려받습니다.</p>
+	<form action="/account/save/bulk" method="post" enctype="multipart/form-data">
+		<div class="form-group">
+			<input type="file" class="form-control-file" id="file" name="file" accept=".csv,text/csv">
+		</div>
+		<div class="text-right">
+			<button type="submit" class="btn btn-primary">일괄생성</button>
+		</div>
+	</form>
 </div>
 </div>
 </div>
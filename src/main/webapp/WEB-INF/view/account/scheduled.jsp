@@ -0,0 +1,78 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<!-- header.jsp -->
+<%@ include file="/WEB-INF/view/layout/header.jsp"%>
+<!-- start of content.jsp (xxx.jsp) -->
+<div class="col-sm-8">
+	<h2>예약 이체 (인증)</h2>
+	<h5>Bank App에 오신걸 환영합니다</h5>
+
+	<form action="/account/scheduled" method="post">
+		<div class="form-group">
+			<label for="amount">이체 금액 :</label>
+			<input type="number" class="form-control" placeholder="Enter amount" id="amount" name="amount" value="1000">
+		</div>
+		<div class="form-group">
+			<label for="wAccountNumber">출금 계좌 번호 :</label>
+			<input type="text" class="form-control" placeholder="Enter account number" id="wAccountNumber" name="wAccountNumber">
+		</div>
+		<div class="form-group">
+			<label for="pwd">출금 계좌 비밀번호 :</label>
+			<input type="password" class="form-control" placeholder="Enter pwd" id="pwd" name="password">
+		</div>
+		<div class="form-group">
+			<label for="dAccountNumber">입금 계좌 번호 :</label>
+			<input type="text" class="form-control" placeholder="Enter account number" id="dAccountNumber" name="dAccountNumber">
+		</div>
+		<div class="form-group">
+			<label for="runAt">실행 시각 :</label>
+			<input type="datetime-local" class="form-control" id="runAt" name="runAt">
+		</div>
+		<div class="form-group">
+			<label for="intervalDays">반복 주기 (일, 0 이면 1회) :</label>
+			<input type="number" class="form-control" id="intervalDays" name="intervalDays" value="0" min="0">
+		</div>
+		<div class="text-right">
+			<button type="submit" class="btn btn-primary">예약 등록</button>
+		</div>
+	</form>
+
+	<c:if test="${not empty scheduledList}">
+		<table class="table mt-4">
+			<thead>
+				<tr>
+					<th>출금 계좌</th>
+					<th>입금 계좌</th>
+					<th>금액</th>
+					<th>다음 실행</th>
+					<th>주기(일)</th>
+					<th>상태</th>
+					<th></th>
+				</tr>
+			</thead>
+			<tbody>
+				<c:forEach var="scheduled" items="${scheduledList}">
+					<tr>
+						<td>${scheduled.WAccountNumber}</td>
+						<td>${scheduled.DAccountNumber}</td>
+						<td>${scheduled.amount}</td>
+						<td>${scheduled.nextRunAt}</td>
+						<td>${scheduled.intervalDays}</td>
+						<td>${scheduled.status} <small class="text-muted">${scheduled.lastMessage}</small></td>
+						<td>
+							<c:if test="${scheduled.status == 'ACTIVE'}">
+								<form action="/account/scheduled/${scheduled.id}/cancel" method="post">
+									<button type="submit" class="btn btn-sm btn-outline-danger">취소</button>
+								</form>
+							</c:if>
+						</td>
+					</tr>
+				</c:forEach>
+			</tbody>
+		</table>
+	</c:if>
+</div>
+</div>
+</div>
+
+<!-- footer.jsp -->
+<%@ include file="/WEB-INF/view/layout/footer.jsp"%>
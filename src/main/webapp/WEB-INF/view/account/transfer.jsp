@@ -7,6 +7,7 @@
 	<h5>Bank App에 오신걸 환영합니다</h5>
 
 	<form action="/account/transfer" method="post">
+		<input type="hidden" name="idempotencyKey" value="${idempotencyKey}">
 		<div class="form-group">
 			<label for="amount">입금 금액 :</label>
 			<input type="number" class="form-control" placeholder="Enter amount" id="amount" name="amount" value="1000">
@@ -21,12 +22,14 @@
 		</div>
 		<div class="form-group">
 			<label for="dAccountNumber">입금 계좌 번호 :</label>
-			<input type="text" class="form-control" placeholder="Enter account number" id="dAccountNumber" name="dAccountNumber" value="1111">
+			<input type="text" class="form-control" placeholder="Enter account number" id="dAccountNumber" name="dAccountNumber" value="2222" list="recipient-list" autocomplete="off">
+			<datalist id="recipient-list"></datalist>
 		</div>
 				<div class="text-right">
 			<button type="submit" class="btn btn-primary">이체</button>		
 		</div>
 	</form>
+	<script src="/js/recipient-autocomplete.js"></script>
 </div>
 </div>
 </div>
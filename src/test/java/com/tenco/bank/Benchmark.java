@@ -0,0 +1,56 @@
+package com.tenco.bank;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 측정용 테스트(@Tag(Benchmark.TAG)) 공통 - 기본 gradle test 에서는 제외되고 gradle benchmark 로 실행한다.
+ * JMH 가 없으므로 같은 작업을 한 번 워밍업으로 돌린 뒤 한 번 더 돌려 잰다.
+ */
+public final class Benchmark {
+
+	public static final String TAG = "benchmark";
+
+	private Benchmark() {
+	}
+
+	@FunctionalInterface
+	public interface Operation {
+		void run() throws Exception;
+	}
+
+	// 반복 횟수 (-Dbench.<name>=...)
+	public static int iterations(String name, int defaultValue) {
+		return Integer.getInteger("bench." + name, defaultValue);
+	}
+
+	/**
+	 * operation 을 iterations 번 실행하는 데 걸린 시간 (1회 평균 ns)
+	 */
+	public static double nanosPerOp(int iterations, Operation operation) throws Exception {
+		for (int i = 0; i < iterations; i++) {
+			operation.run();
+		}
+		long started = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			operation.run();
+		}
+		return (double) (System.nanoTime() - started) / iterations;
+	}
+
+	/**
+	 * operations 회분의 작업을 한 번에 실행하는 batch 의 1회 평균 할당 바이트 (스레드 할당량, JMH -prof gc 대신)
+	 * @return 측정할 수 없는 JVM 이면 -1
+	 */
+	public static double bytesPerOp(int operations, Operation batch) throws Exception {
+		if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+				|| !threads.isThreadAllocatedMemorySupported()) {
+			return -1;
+		}
+		batch.run();
+		long threadId = Thread.currentThread().threadId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		batch.run();
+		return (double) (threads.getThreadAllocatedBytes(threadId) - before) / operations;
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.tenco.bank.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+/**
+ * 격벽 풀 설정 - 읽기/쓰기 분리, 샤딩과 같이 켜면 설정 오류로 시작하지 않는다.
+ */
+class BulkheadDataSourceConfigTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withUserConfiguration(BulkheadDataSourceConfig.class);
+
+	@Test
+	void offByDefault() {
+		contextRunner.run(context -> assertFalse(context.containsBean("dataSource")));
+	}
+
+	@Test
+	void rejectsRoutingTogether() {
+		assertConflict("bank.datasource.routing.enabled");
+	}
+
+	@Test
+	void rejectsShardingTogether() {
+		assertConflict("bank.sharding.enabled");
+	}
+
+	private void assertConflict(String property) {
+		contextRunner.withPropertyValues("bank.bulkhead.separate-pools=true", property + "=true")
+				.run(context -> {
+					Throwable failure = context.getStartupFailure();
+					assertNotNull(failure);
+					while (failure.getCause() != null && !(failure instanceof IllegalStateException
+							&& failure.getMessage().startsWith("bank.bulkhead"))) {
+						failure = failure.getCause();
+					}
+					assertInstanceOf(IllegalStateException.class, failure);
+					assertEquals("bank.bulkhead.separate-pools 는 " + property + " 와 같이 켤 수 없습니다.",
+							failure.getMessage());
+				});
+	}
+
+}
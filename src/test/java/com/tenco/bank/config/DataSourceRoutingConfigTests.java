@@ -0,0 +1,121 @@
+package com.tenco.bank.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.model.User;
+import com.tenco.bank.service.AccountHistoryEvent;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 읽기/쓰기 분리 - readOnly 트랜잭션은 replica 로, 본인 거래 직후 읽기는 primary 로 가는지
+ * (H2 인메모리 DB 2개, 어느 DB 가 응답했는지 DATABASE() 로 확인)
+ */
+class DataSourceRoutingConfigTests {
+
+	private static final String PRIMARY_DB = "ROUTING_PRIMARY";
+	private static final String REPLICA_DB = "ROUTING_REPLICA";
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withUserConfiguration(DataSourceRoutingConfig.class, TransactionConfig.class)
+			.withPropertyValues(
+					"spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+					"spring.datasource.driver-class-name=org.h2.Driver",
+					"spring.datasource.username=sa",
+					"spring.datasource.password=",
+					"bank.datasource.routing.enabled=true",
+					"bank.datasource.routing.sticky-millis=60000",
+					"bank.datasource.routing.replicas[0].url=jdbc:h2:mem:routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+					"bank.datasource.routing.replicas[0].driver-class-name=org.h2.Driver",
+					"bank.datasource.routing.replicas[0].username=sa",
+					"bank.datasource.routing.replicas[0].password=");
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void readOnlyTransactionGoesToReplica() {
+		contextRunner.run(context -> {
+			assertEquals(REPLICA_DB, database(context, true));
+			assertEquals(PRIMARY_DB, database(context, false));
+		});
+	}
+
+	@Test
+	void readAfterWriteOnSameSessionStaysOnPrimary() {
+		contextRunner.run(context -> {
+			login(8);
+			assertEquals(REPLICA_DB, database(context, true));
+
+			login(7);
+			// 사용자 7 계좌로 입금 커밋 -> 커밋 후 리스너가 사용자 7 을 primary 에 고정
+			transaction(context, false).executeWithoutResult(status -> {
+				Account account = Account.builder().id(1).number("100000000008").balance(1_000L).userId(7).build();
+				History history = History.builder().id(1).amount(1_000L).dAccountId(1).build();
+				context.publishEvent(AccountHistoryEvent.of(Outbox.DEPOSIT, history, null, account));
+			});
+			assertEquals(PRIMARY_DB, database(context, true));
+
+			login(8); // 다른 사용자의 읽기는 계속 replica
+			assertEquals(REPLICA_DB, database(context, true));
+		});
+	}
+
+	private String database(ApplicationContext context, boolean readOnly) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+		return transaction(context, readOnly)
+				.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+	}
+
+	private TransactionTemplate transaction(ApplicationContext context, boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		template.setReadOnly(readOnly);
+		return template;
+	}
+
+	// 요청 스레드에 로그인 세션을 건다. (ReplicaStickiness 는 세션의 principal 로 사용자를 찾는다)
+	private void login(int userId) {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(Define.PRINCIPAL, User.builder().id(userId).build());
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setSession(session);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	@EnableConfigurationProperties({ DataSourceProperties.class, DataSourceRoutingProperties.class })
+	static class TransactionConfig {
+
+		@Bean
+		PlatformTransactionManager transactionManager(DataSource dataSource) {
+			return new DataSourceTransactionManager(dataSource);
+		}
+
+	}
+
+}
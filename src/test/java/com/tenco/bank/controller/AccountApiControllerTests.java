@@ -0,0 +1,180 @@
+package com.tenco.bank.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 계좌 REST API 응답 형태 (내장 톰캣 + H2)
+ * 거래내역 항목은 필요한 필드만, 오류는 ApiErrorDTO JSON 으로 내려가는지 확인한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:accountapi;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false",
+		"bank.admission.enabled=false" })
+class AccountApiControllerTests {
+
+	private static final int HISTORY_ROWS = 30;
+	private static final int PAGE_SIZE = 20;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+	private int accountId;
+
+	@BeforeEach
+	void signIn() throws Exception {
+		post("/user/sign-up", "username=apiuser&password=1234&fullname=" + URLEncoder.encode("에이피아이", StandardCharsets.UTF_8));
+		post("/user/sign-in", "username=apiuser&password=1234");
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'apiuser'", Integer.class);
+
+		List<Integer> existing = jdbcTemplate.queryForList("select id from account_tb where number = 'API-001'",
+				Integer.class);
+		if (!existing.isEmpty()) {
+			accountId = existing.get(0);
+			return;
+		}
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values ('API-001', '1234', ?, ?)",
+				HISTORY_ROWS * 1_000L, userId);
+		accountId = jdbcTemplate.queryForObject("select id from account_tb where number = 'API-001'", Integer.class);
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 1; i <= HISTORY_ROWS; i++) {
+			rows.add(new Object[] { 1_000L, i * 1_000L, accountId });
+		}
+		jdbcTemplate.batchUpdate("insert into history_tb(amount, d_balance, d_account_id) values (?, ?, ?)", rows);
+	}
+
+	@Test
+	void anonymousGetsJson401() throws Exception {
+		HttpResponse<String> response = HttpClient.newHttpClient().send(
+				HttpRequest.newBuilder(uri("/api/v1/accounts")).GET().build(),
+				HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+		assertEquals(401, response.statusCode());
+		assertEquals(401, json(response).get("status").asInt());
+	}
+
+	@Test
+	void historyPageHasCompactItemsAndCursor() throws Exception {
+		HttpResponse<String> first = get("/api/v1/accounts/" + accountId + "/history?type=all&size=" + PAGE_SIZE);
+		assertEquals(200, first.statusCode());
+		JsonNode page = json(first);
+		JsonNode items = page.get("items");
+		assertEquals(PAGE_SIZE, items.size());
+		assertEquals(Set.of("id", "amount", "balance", "sender", "receiver", "createdAt"), fieldNames(items.get(0)));
+		assertEquals(HISTORY_ROWS * 1_000L, items.get(0).get("balance").asLong()); // 최신순
+		assertEquals(items.get(PAGE_SIZE - 1).get("id").asInt(), page.get("nextCursor").asInt());
+
+		JsonNode last = json(get("/api/v1/accounts/" + accountId + "/history?type=all&size=" + PAGE_SIZE
+				+ "&cursor=" + page.get("nextCursor").asInt()));
+		assertEquals(HISTORY_ROWS - PAGE_SIZE, last.get("items").size());
+		assertTrue(last.get("nextCursor").isNull());
+	}
+
+	@Test
+	void apiPageIsSmallerThanHtmlPage() throws Exception {
+		HttpResponse<String> html = get("/account/detail/" + accountId + "?type=all&page=1&size=" + PAGE_SIZE);
+		HttpResponse<String> json = get("/api/v1/accounts/" + accountId + "/history?type=all&size=" + PAGE_SIZE);
+
+		assertEquals(200, html.statusCode());
+		assertTrue(html.body().contains("계좌 상세보기"));
+		assertTrue(json.body().getBytes(StandardCharsets.UTF_8).length < html.body().getBytes(StandardCharsets.UTF_8).length);
+	}
+
+	@Test
+	void missingAccountIs404() throws Exception {
+		HttpResponse<String> detail = get("/api/v1/accounts/999999");
+		HttpResponse<String> history = get("/api/v1/accounts/999999/history");
+
+		assertEquals(404, detail.statusCode());
+		assertEquals(Define.NOT_EXIST_ACCOUNT, json(detail).get("message").asText());
+		assertEquals(404, history.statusCode());
+	}
+
+	@Test
+	void invalidRequestsAreJson400() throws Exception {
+		HttpResponse<String> type = get("/api/v1/accounts/" + accountId + "/history?type=unknown");
+		assertEquals(400, type.statusCode());
+		assertEquals(Define.INVALID_ACCESS, json(type).get("message").asText());
+
+		HttpResponse<String> transfer = postJson("/api/v1/accounts/transfer",
+				"{\"amount\":1000,\"toAccountNumber\":\"API-001\",\"password\":\"1234\"}");
+		assertEquals(400, transfer.statusCode());
+		assertEquals(Define.ENTER_YOUR_W_ACCOUNT_NUMBER, json(transfer).get("message").asText());
+	}
+
+	private Set<String> fieldNames(JsonNode node) {
+		Set<String> names = new TreeSet<>();
+		for (Iterator<String> it = node.fieldNames(); it.hasNext();) {
+			names.add(it.next());
+		}
+		return names;
+	}
+
+	private JsonNode json(HttpResponse<String> response) throws Exception {
+		return objectMapper.readTree(response.body());
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private HttpResponse<String> get(String path) throws Exception {
+		return client.send(HttpRequest.newBuilder(uri(path)).GET().build(),
+				HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+	}
+
+	private HttpResponse<String> postJson(String path, String body) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+	}
+
+	private void post(String path, String form) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form))
+				.build();
+		client.send(request, HttpResponse.BodyHandlers.discarding());
+	}
+
+}
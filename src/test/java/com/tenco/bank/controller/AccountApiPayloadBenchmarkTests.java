@@ -0,0 +1,114 @@
+package com.tenco.bank.controller;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.Benchmark;
+
+/**
+ * 거래내역 한 페이지 - JSP 화면과 REST API 응답 크기, 지연시간 비교 (내장 톰캣 + H2)
+ *
+ * 같은 계좌, 같은 건수(PAGE_SIZE)를 두 경로로 받아서 응답 바이트와 평균 지연시간을 로그로 남긴다.
+ * 응답 형태는 AccountApiControllerTests 에서 확인한다. (-Dbench.requests)
+ */
+@Tag(Benchmark.TAG)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:apibench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false",
+		"bank.admission.enabled=false",
+		"bank.conditional-get.enabled=false", // 매번 조회, 렌더링하도록
+		"bank.history-cache.enabled=false" })
+class AccountApiPayloadBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(AccountApiPayloadBenchmarkTests.class);
+	private static final int REQUESTS = Benchmark.iterations("requests", 500);
+	private static final int HISTORY_ROWS = 200;
+	private static final int PAGE_SIZE = 20;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+
+	@Test
+	void historyPagePayloadAndLatency() throws Exception {
+		int accountId = prepareAccount();
+		String htmlPath = "/account/detail/" + accountId + "?type=all&page=1&size=" + PAGE_SIZE;
+		String jsonPath = "/api/v1/accounts/" + accountId + "/history?type=all&size=" + PAGE_SIZE;
+		int htmlBytes = get(htmlPath).body().getBytes(StandardCharsets.UTF_8).length;
+		int jsonBytes = get(jsonPath).body().getBytes(StandardCharsets.UTF_8).length;
+
+		double html = Benchmark.nanosPerOp(REQUESTS, () -> request(htmlPath));
+		double json = Benchmark.nanosPerOp(REQUESTS, () -> request(jsonPath));
+
+		log.info("[거래내역 {}건] JSP 화면 {} bytes {} us/요청, REST API {} bytes {} us/요청, 크기 비율 {}", PAGE_SIZE,
+				htmlBytes, String.format("%.1f", html / 1_000), jsonBytes, String.format("%.1f", json / 1_000),
+				String.format("%.2f", (double) jsonBytes / htmlBytes));
+	}
+
+	// 회원 가입, 로그인 후 거래내역이 HISTORY_ROWS 건인 계좌 하나
+	private int prepareAccount() throws Exception {
+		post("/user/sign-up", "username=bench&password=1234&fullname=" + URLEncoder.encode("벤치", StandardCharsets.UTF_8));
+		post("/user/sign-in", "username=bench&password=1234");
+
+		Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = 'bench'", Integer.class);
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values ('B-001', '1234', ?, ?)",
+				HISTORY_ROWS * 1_000L, userId);
+		Integer accountId = jdbcTemplate.queryForObject("select id from account_tb where number = 'B-001'",
+				Integer.class);
+
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 1; i <= HISTORY_ROWS; i++) {
+			rows.add(new Object[] { 1_000L, i * 1_000L, accountId });
+		}
+		jdbcTemplate.batchUpdate("insert into history_tb(amount, d_balance, d_account_id) values (?, ?, ?)", rows);
+		return accountId;
+	}
+
+	private void request(String path) throws Exception {
+		HttpResponse<String> response = get(path);
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException(path + " " + response.statusCode());
+		}
+	}
+
+	private HttpResponse<String> get(String path) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+	}
+
+	private void post(String path, String form) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form))
+				.build();
+		client.send(request, HttpResponse.BodyHandlers.discarding());
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.tenco.bank.handler;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.Benchmark;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.utils.AlertScript;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 업무 오류 거절 1건 비용 - 스택 있는 예외 + StringBuffer 본문 / 스택 없는 예외 / 미리 만든 예외
+ * 서블릿 필터, MVC, 트랜잭션 프록시만큼 호출 스택을 쌓은 곳에서 던진다. (-Dbench.errors)
+ */
+@Tag(Benchmark.TAG)
+class BusinessErrorPathBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(BusinessErrorPathBenchmarkTests.class);
+	private static final int ITERATIONS = Benchmark.iterations("errors", 200_000);
+	private static final int STACK_DEPTH = 80;
+
+	private static final Account ACCOUNT = Account.builder().id(1).number("1111").password("1234").balance(0L)
+			.userId(1).build();
+
+	private static long sink;
+
+	@Test
+	void rejectedRequestCost() throws Exception {
+		double legacy = Benchmark.nanosPerOp(ITERATIONS, () -> {
+			try {
+				deep(STACK_DEPTH, () -> {
+					throw new LegacyDataDeliveryException(Define.FAIL_ACCOUNT_PASSWROD);
+				});
+			} catch (LegacyDataDeliveryException e) {
+				sink += legacyBody(e.getMessage()).length();
+			}
+		});
+		double stackless = Benchmark.nanosPerOp(ITERATIONS, () -> {
+			try {
+				deep(STACK_DEPTH, () -> {
+					throw new DataDeliveryException(Define.FAIL_ACCOUNT_PASSWROD, HttpStatus.BAD_REQUEST);
+				});
+			} catch (DataDeliveryException e) {
+				sink += AlertScript.back(e.getMessage()).length();
+			}
+		});
+		double shared = Benchmark.nanosPerOp(ITERATIONS, () -> {
+			try {
+				deep(STACK_DEPTH, () -> ACCOUNT.checkPassword("wrong"));
+			} catch (DataDeliveryException e) {
+				sink += AlertScript.back(e.getMessage()).length();
+			}
+		});
+		log.info("업무 오류 ns/건 - 스택 + StringBuffer {}, 스택 없음 {}, 미리 만든 예외 {}", String.format("%.1f", legacy),
+				String.format("%.1f", stackless), String.format("%.1f", shared));
+	}
+
+	private static void deep(int depth, Runnable action) {
+		if (depth == 0) {
+			action.run();
+			return;
+		}
+		deep(depth - 1, action);
+	}
+
+	private static String legacyBody(String message) {
+		StringBuffer sb = new StringBuffer();
+		sb.append(" <script>");
+		sb.append(" alert('" + message + "');");
+		sb.append(" window.history.back();");
+		sb.append(" </script>");
+		return sb.toString();
+	}
+
+	// 변경 전 DataDeliveryException (스택 트레이스 수집)
+	private static class LegacyDataDeliveryException extends RuntimeException {
+
+		private LegacyDataDeliveryException(String message) {
+			super(message);
+		}
+
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.tenco.bank.handler.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.utils.AlertScript;
+import com.tenco.bank.utils.Define;
+
+class DataDeliveryExceptionTests {
+
+	@Test
+	void businessFailureHasNoStackTrace() {
+		DataDeliveryException e = new DataDeliveryException(Define.FAIL_ACCOUNT_PASSWROD, HttpStatus.BAD_REQUEST);
+		assertEquals(0, e.getStackTrace().length);
+		assertEquals(Define.FAIL_ACCOUNT_PASSWROD, e.getMessage());
+		assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+	}
+
+	@Test
+	void processingFailureKeepsStackTrace() {
+		DataDeliveryException e = new DataDeliveryException(Define.FAILED_PROCESSING, HttpStatus.INTERNAL_SERVER_ERROR);
+		assertTrue(e.getStackTrace().length > 0);
+		assertEquals("processingFailureKeepsStackTrace", e.getStackTrace()[0].getMethodName());
+
+		assertEquals(0, new UnAuthorizedException(Define.ENTER_YOUR_LOGIN, HttpStatus.UNAUTHORIZED).getStackTrace().length);
+		assertTrue(new UnAuthorizedException(Define.UNKNOWN, HttpStatus.INTERNAL_SERVER_ERROR).getStackTrace().length > 0);
+	}
+
+	@Test
+	void wrongPasswordThrowsSharedException() {
+		Account account = Account.builder().id(1).number("1111").password("1234").balance(0L).userId(1).build();
+		DataDeliveryException first = assertThrows(DataDeliveryException.class, () -> account.checkPassword("x"));
+		DataDeliveryException second = assertThrows(DataDeliveryException.class, () -> account.checkPassword("y"));
+		assertSame(first, second, "미리 만든 예외를 다시 던진다");
+		assertEquals(Define.FAIL_ACCOUNT_PASSWROD, first.getMessage());
+	}
+
+	@Test
+	void alertBodiesArePrecomputedForDefineMessages() {
+		assertEquals(" <script> alert('" + Define.FAIL_ACCOUNT_PASSWROD + "'); window.history.back(); </script>",
+				AlertScript.back(Define.FAIL_ACCOUNT_PASSWROD));
+		assertSame(AlertScript.back(Define.FAIL_ACCOUNT_PASSWROD), AlertScript.back(Define.FAIL_ACCOUNT_PASSWROD));
+	}
+
+	@Test
+	void otherMessagesAreEscaped() {
+		assertEquals(" <script> alert('a\\'b\\\\c\\x3C/script>'); window.history.back(); </script>",
+				AlertScript.back("a'b\\c</script>"));
+	}
+
+}
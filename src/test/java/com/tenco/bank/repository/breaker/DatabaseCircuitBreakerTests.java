@@ -0,0 +1,92 @@
+package com.tenco.bank.repository.breaker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.tenco.bank.utils.CircuitBreaker.State;
+
+/**
+ * DB 서킷 브레이커 상태 전이 (CLOSED -> OPEN -> HALF_OPEN -> CLOSED / OPEN)
+ * 열린 시간은 짧게(50ms) 잡고 실제로 기다린다.
+ */
+class DatabaseCircuitBreakerTests {
+
+	private static final long OPEN_MS = 50;
+
+	@Test
+	void opensAfterConsecutiveFailures() {
+		DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker(3, OPEN_MS);
+
+		breaker.onFailure();
+		breaker.onFailure();
+		breaker.onSuccess(); // 연속 실패 초기화
+		breaker.onFailure();
+		breaker.onFailure();
+		assertEquals(State.CLOSED, breaker.getState());
+		assertTrue(breaker.allowRequest());
+
+		breaker.onFailure();
+		assertEquals(State.OPEN, breaker.getState());
+		assertTrue(breaker.isRejecting());
+		assertFalse(breaker.allowRequest());
+		assertEquals(1, breaker.getOpened());
+		assertEquals(1, breaker.getRejected());
+	}
+
+	@Test
+	void halfOpenLetsOneTrialThroughAndClosesOnSuccess() throws InterruptedException {
+		DatabaseCircuitBreaker breaker = opened();
+		Thread.sleep(OPEN_MS + 10);
+
+		assertFalse(breaker.isRejecting());
+		assertTrue(breaker.allowRequest()); // 시험 요청
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		assertFalse(breaker.allowRequest()); // 시험 요청 결과를 기다리는 동안 나머지는 거절
+
+		breaker.onSuccess();
+		assertEquals(State.CLOSED, breaker.getState());
+		assertTrue(breaker.allowRequest());
+		assertTrue(breaker.allowRequest());
+	}
+
+	@Test
+	void failedTrialReopens() throws InterruptedException {
+		DatabaseCircuitBreaker breaker = opened();
+		Thread.sleep(OPEN_MS + 10);
+		assertTrue(breaker.allowRequest());
+
+		breaker.onFailure(); // 실패 한 번으로 바로 다시 OPEN
+
+		assertEquals(State.OPEN, breaker.getState());
+		assertTrue(breaker.isRejecting());
+		assertFalse(breaker.allowRequest());
+		assertEquals(2, breaker.getOpened());
+	}
+
+	@Test
+	void countsOnlyConnectivityFailures() {
+		assertTrue(DatabaseCircuitBreaker.isConnectivityFailure(
+				new DataAccessResourceFailureException("x", new SQLTransientConnectionException("timeout"))));
+		assertTrue(DatabaseCircuitBreaker.isConnectivityFailure(new SQLException("refused", "08S01")));
+		assertFalse(DatabaseCircuitBreaker.isConnectivityFailure(
+				new SQLIntegrityConstraintViolationException("duplicate", "23000")));
+		assertFalse(DatabaseCircuitBreaker.isConnectivityFailure(new SQLException("lock wait", "HY000")));
+	}
+
+	private DatabaseCircuitBreaker opened() {
+		DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker(2, OPEN_MS);
+		breaker.onFailure();
+		breaker.onFailure();
+		assertEquals(State.OPEN, breaker.getState());
+		return breaker;
+	}
+
+}
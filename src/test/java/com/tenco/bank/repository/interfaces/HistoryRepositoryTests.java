@@ -0,0 +1,103 @@
+package com.tenco.bank.repository.interfaces;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.service.AccountNumberAllocator;
+import com.tenco.bank.utils.AccountNumber;
+
+/**
+ * 거래내역 조회 (내장 H2) - 발급된 12자리 계좌번호가 보내는 분, 받는 분에 잘리지 않고 나오는지
+ * (상세 화면 : findByAccountIdAndOfHistory, REST API : findByAccountIdBeforeCursor)
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:historyread;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false" })
+class HistoryRepositoryTests {
+
+	@Autowired
+	private HistoryRepository historyRepository;
+
+	@Autowired
+	private AccountNumberAllocator accountNumberAllocator;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private String senderNumber;
+	private String receiverNumber;
+	private int senderId;
+	private int receiverId;
+
+	@BeforeEach
+	void setUp() {
+		senderNumber = accountNumberAllocator.allocate();
+		receiverNumber = accountNumberAllocator.allocate();
+		assertEquals(AccountNumber.LENGTH, senderNumber.length());
+		senderId = insertAccount(senderNumber, 9_000L);
+		receiverId = insertAccount(receiverNumber, 1_000L);
+
+		// 이체 1건 + ATM 입금 1건
+		jdbcTemplate.update("insert into history_tb(amount, w_account_id, d_account_id, w_balance, d_balance) "
+				+ "values (1000, ?, ?, 9000, 1000)", senderId, receiverId);
+		jdbcTemplate.update("insert into history_tb(amount, w_account_id, d_account_id, w_balance, d_balance) "
+				+ "values (500, null, ?, null, 1500)", receiverId);
+	}
+
+	@Test
+	void detailPageShowsFullAccountNumbers() {
+		List<HistoryAccount> all = historyRepository.findByAccountIdAndOfHistory("all", receiverId, 10, 0);
+		assertEquals(2, all.size());
+		assertEquals(senderNumber, all.get(0).getSender());
+		assertEquals(receiverNumber, all.get(0).getReceiver());
+		assertEquals("ATM", all.get(1).getSender());
+
+		List<HistoryAccount> deposits = historyRepository.findByAccountIdAndOfHistory("deposit", receiverId, 10, 0);
+		assertEquals(senderNumber, deposits.get(0).getSender());
+		assertEquals(receiverNumber, deposits.get(0).getReceiver());
+
+		List<HistoryAccount> withdrawals = historyRepository.findByAccountIdAndOfHistory("withdrawal", senderId, 10, 0);
+		assertEquals(1, withdrawals.size());
+		assertEquals(senderNumber, withdrawals.get(0).getSender());
+		assertEquals(receiverNumber, withdrawals.get(0).getReceiver());
+	}
+
+	@Test
+	void apiCursorPageShowsFullAccountNumbers() {
+		for (String type : List.of("all", "deposit")) {
+			List<HistoryAccount> page = historyRepository.findByAccountIdBeforeCursor(type, receiverId, null, 10);
+			assertEquals(2, page.size(), type);
+			assertEquals("ATM", page.get(0).getSender(), type); // 최신순
+			assertEquals(senderNumber, page.get(1).getSender(), type);
+			assertEquals(receiverNumber, page.get(1).getReceiver(), type);
+		}
+
+		List<HistoryAccount> withdrawals = historyRepository.findByAccountIdBeforeCursor("withdrawal", senderId, null,
+				10);
+		assertEquals(1, withdrawals.size());
+		assertEquals(senderNumber, withdrawals.get(0).getSender());
+		assertEquals(receiverNumber, withdrawals.get(0).getReceiver());
+	}
+
+	private int insertAccount(String number, long balance) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values (?, '1234', ?, 1)", number,
+				balance);
+		return jdbcTemplate.queryForObject("select id from account_tb where number = ?", Integer.class, number);
+	}
+
+}
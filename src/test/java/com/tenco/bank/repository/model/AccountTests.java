@@ -0,0 +1,49 @@
+package com.tenco.bank.repository.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.utils.Define;
+import com.tenco.bank.utils.Money;
+
+class AccountTests {
+
+	@Test
+	void moneyArithmeticIsOverflowChecked() {
+		assertEquals(300L, Money.add(100L, 200L));
+		assertEquals(-100L, Money.subtract(100L, 200L));
+		assertEquals(Long.MAX_VALUE, Money.add(Long.MAX_VALUE - 1, 1L));
+		assertThrows(DataDeliveryException.class, () -> Money.add(Long.MAX_VALUE, 1L));
+		assertThrows(DataDeliveryException.class, () -> Money.subtract(Long.MIN_VALUE, 1L));
+	}
+
+	@Test
+	void overflowingDepositLeavesBalanceUnchanged() {
+		Account account = Account.builder().id(1).balance(Long.MAX_VALUE).userId(1).build();
+		DataDeliveryException e = assertThrows(DataDeliveryException.class, () -> account.deposit(1L));
+		assertEquals(Define.AMOUNT_OUT_OF_RANGE, e.getMessage());
+		assertEquals(Long.MAX_VALUE, account.getBalance(), "넘치면 잔액을 바꾸지 않는다");
+	}
+
+	@Test
+	void withdrawAndDepositMoveBalance() {
+		Account account = Account.builder().id(1).balance(1_000L).userId(1).build();
+		account.checkBalance(1_000L);
+		account.withdraw(400L);
+		account.deposit(50L);
+		assertEquals(650L, account.getBalance());
+		assertThrows(DataDeliveryException.class, () -> account.checkBalance(651L));
+	}
+
+	@Test
+	void checkOwnerComparesValuesAbove127() {
+		// Integer 캐시(-128 ~ 127) 밖의 아이디도 본인으로 인정해야 한다.
+		Account account = Account.builder().id(1).balance(0L).userId(Integer.valueOf(1_000)).build();
+		account.checkOwner(Integer.valueOf(1_000));
+		assertThrows(DataDeliveryException.class, () -> account.checkOwner(1_001));
+	}
+
+}
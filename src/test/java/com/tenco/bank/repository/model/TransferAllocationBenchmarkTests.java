@@ -0,0 +1,93 @@
+package com.tenco.bank.repository.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tenco.bank.Benchmark;
+
+/**
+ * 이체 1건 도메인 처리(소유자, 잔액 확인 -> 입금, 출금 -> 거래내역 생성)의 할당량
+ * Long 잔액, 금액(연산마다 박싱) / long 잔액, 금액 + 넘침 검사. (-Dbench.transfers)
+ */
+@Tag(Benchmark.TAG)
+class TransferAllocationBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(TransferAllocationBenchmarkTests.class);
+	private static final int TRANSFERS = Benchmark.iterations("transfers", 1_000_000);
+
+	private static History sink;
+	private static LegacyHistory legacySink;
+
+	@Test
+	void allocationPerTransfer() throws Exception {
+		double legacy = Benchmark.bytesPerOp(TRANSFERS, () -> {
+			LegacyAccount withdraw = new LegacyAccount(7_000_000L);
+			LegacyAccount deposit = new LegacyAccount(3_000_000L);
+			for (int i = 0; i < TRANSFERS; i++) {
+				Long amount = Long.valueOf(1_000 + (i & 1023)); // 폼 바인딩
+				withdraw.checkOwner(1_000);
+				withdraw.checkBalance(amount);
+				deposit.deposit(amount);
+				withdraw.withdraw(amount);
+				legacySink = new LegacyHistory(amount, withdraw.balance, deposit.balance);
+				withdraw.deposit(amount); // 잔액 원복
+				deposit.withdraw(amount);
+			}
+		});
+		double primitive = Benchmark.bytesPerOp(TRANSFERS, () -> {
+			Account withdraw = Account.builder().id(1).balance(7_000_000L).userId(1_000).build();
+			Account deposit = Account.builder().id(2).balance(3_000_000L).userId(2_000).build();
+			for (int i = 0; i < TRANSFERS; i++) {
+				long amount = 1_000 + (i & 1023);
+				withdraw.checkOwner(1_000);
+				withdraw.checkBalance(amount);
+				deposit.deposit(amount);
+				withdraw.withdraw(amount);
+				sink = History.builder().amount(amount).wAccountId(withdraw.getId()).dAccountId(deposit.getId())
+						.wBalance(withdraw.getBalance()).dBalance(deposit.getBalance()).build();
+				withdraw.deposit(amount);
+				deposit.withdraw(amount);
+			}
+		});
+		log.info("이체 1건 할당 bytes - Long {}, long {}", String.format("%.1f", legacy),
+				String.format("%.1f", primitive));
+	}
+
+	// 변경 전 Account (Long 잔액)
+	private static class LegacyAccount {
+
+		private Long balance;
+		private Integer userId = 1_000;
+
+		private LegacyAccount(Long balance) {
+			this.balance = balance;
+		}
+
+		private void withdraw(Long amount) {
+			this.balance -= amount;
+		}
+
+		private void deposit(Long amount) {
+			this.balance += amount;
+		}
+
+		private void checkBalance(Long amount) {
+			if (this.balance < amount) {
+				throw new IllegalStateException();
+			}
+		}
+
+		private void checkOwner(Integer principalId) {
+			if (!this.userId.equals(principalId)) { // 참조 비교 버그는 빼고 박싱 비용만 재현
+				throw new IllegalStateException();
+			}
+		}
+
+	}
+
+	private record LegacyHistory(Long amount, Long wBalance, Long dBalance) {
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.AccountImportResultDTO;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 계좌 일괄 생성 CSV (내장 H2, 묶음 2줄)
+ * 정상 줄, 잘못된 줄, 파일 안 / DB 와의 번호 중복, 따옴표로 감싼 값을 줄별 결과로 확인한다.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:accountimport;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false",
+		"bank.account-import.chunk-size=2" })
+class AccountImportServiceTests {
+
+	private static final int USER_ID = 1;
+
+	@Autowired
+	private AccountImportService accountImportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void importWritesOneResultPerLine() throws IOException {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values('IMP-EXIST', '1', 1, 2)");
+		String csv = String.join("\n",
+				"number,password,balance",
+				"IMP-1,1234,1000",
+				"IMP-2, \"12,34\" ,2000", // 따옴표 안의 쉼표
+				"IMP-3,\"say \"\"hi\"\"\",3000",
+				"IMP-4,1234",
+				"IMP-5,1234,abc",
+				"IMP-6,\"1234,5000",
+				"IMP-7,12\"34,5000",
+				"IMP-1,1234,1000",
+				"IMP-EXIST,1234,1000",
+				"",
+				"IMP-8,1234,0");
+		StringWriter out = new StringWriter();
+
+		AccountImportResultDTO result = accountImportService.importCsv(new StringReader(csv), out, USER_ID);
+
+		assertEquals(10, result.getRows());
+		assertEquals(3, result.getCreated());
+		assertEquals(7, result.getFailed());
+
+		List<String> lines = out.toString().lines().toList();
+		assertEquals("line,number,result,message", lines.get(0));
+		assertEquals("2,IMP-1,CREATED,", lines.get(1));
+		assertEquals("3,IMP-2,CREATED,", lines.get(2));
+		assertEquals("4,IMP-3,CREATED,", lines.get(3));
+		assertEquals("5,,FAILED,\"" + Define.INVALID_CSV_ROW + "\"", lines.get(4));
+		assertEquals("6,IMP-5,FAILED," + Define.ENTER_YOUR_BALANCE, lines.get(5));
+		assertEquals("7,,FAILED," + Define.INVALID_CSV_QUOTE, lines.get(6));
+		assertEquals("8,,FAILED," + Define.INVALID_CSV_QUOTE, lines.get(7));
+		assertEquals("9,IMP-1,FAILED," + Define.DUPLICATE_ACCOUNT_NUMBER, lines.get(8));
+		assertEquals("10,IMP-EXIST,FAILED," + Define.DUPLICATE_ACCOUNT_NUMBER, lines.get(9));
+		assertEquals("12,IMP-8,FAILED," + Define.ENTER_YOUR_BALANCE, lines.get(10));
+		assertEquals(12, lines.size()); // 헤더 + 10줄 + 요약
+
+		assertEquals("12,34", password("IMP-2"));
+		assertEquals("say \"hi\"", password("IMP-3"));
+		assertEquals(3, jdbcTemplate.queryForObject(
+				"select count(*) from account_tb where user_id = ?", Integer.class, USER_ID));
+	}
+
+	@Test
+	void splitHandlesQuotedValues() {
+		assertEquals(List.of("a", "b", ""), AccountImportService.split(" a ,b,"));
+		assertEquals(List.of(" a ", "b,c", "d\"e"), AccountImportService.split("\" a \",\"b,c\",\"d\"\"e\""));
+		assertEquals(List.of("", ""), AccountImportService.split("\"\","));
+		assertNull(AccountImportService.split("\"a"));
+		assertNull(AccountImportService.split("\"a\"b,c"));
+		assertNull(AccountImportService.split("a\"b"));
+	}
+
+	private String password(String number) {
+		return jdbcTemplate.queryForObject("select password from account_tb where number = ?", String.class, number);
+	}
+
+}
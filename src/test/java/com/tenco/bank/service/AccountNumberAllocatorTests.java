@@ -0,0 +1,118 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.repository.interfaces.AccountNumberRepository;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.AccountNumber;
+
+/**
+ * 계좌번호 발급 - 구간 예약과 동시 발급 (순번 행은 메모리로 흉내)
+ */
+class AccountNumberAllocatorTests {
+
+	private AccountNumberRepository accountNumberRepository;
+	private ShardRouter shardRouter;
+	private long nextValue; // account_number_seq_tb.next_value
+
+	@BeforeEach
+	void setUp() {
+		nextValue = AccountNumber.FIRST_SEQUENCE;
+		accountNumberRepository = mock(AccountNumberRepository.class);
+		when(accountNumberRepository.findNextValueForUpdate(anyString())).thenAnswer(invocation -> nextValue);
+		when(accountNumberRepository.updateNextValue(anyString(), anyLong())).thenAnswer(invocation -> {
+			nextValue = invocation.getArgument(1);
+			return 1;
+		});
+		shardRouter = mock(ShardRouter.class);
+		// 행 잠금 대신 한 번에 하나씩 실행
+		when(shardRouter.callInNewTransaction(anyInt(), anyBoolean(), any())).thenAnswer(invocation -> {
+			synchronized (this) {
+				return invocation.<Supplier<?>>getArgument(2).get();
+			}
+		});
+	}
+
+	@Test
+	void reservesNextBlockAtBoundary() {
+		AccountNumberAllocator allocator = new AccountNumberAllocator(accountNumberRepository, shardRouter, 3);
+
+		List<String> numbers = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			numbers.add(allocator.allocate());
+		}
+		assertEquals(1, allocator.readMetrics().getBlocksReserved());
+		assertEquals(0, allocator.readMetrics().getRemainingInBlock());
+		assertEquals(AccountNumber.FIRST_SEQUENCE + 3, nextValue);
+
+		numbers.add(allocator.allocate()); // 구간을 다 쓴 다음 번호
+
+		assertEquals(2, allocator.readMetrics().getBlocksReserved());
+		assertEquals(2, allocator.readMetrics().getRemainingInBlock());
+		assertEquals(AccountNumber.FIRST_SEQUENCE + 6, nextValue);
+		for (int i = 0; i < numbers.size(); i++) {
+			assertEquals(AccountNumber.of(AccountNumber.FIRST_SEQUENCE + i), numbers.get(i));
+		}
+	}
+
+	@Test
+	void failsWhenSequenceIsUsedUp() {
+		nextValue = AccountNumber.LAST_SEQUENCE - 1; // 남은 순번 2개
+		AccountNumberAllocator allocator = new AccountNumberAllocator(accountNumberRepository, shardRouter, 3);
+
+		assertThrows(IllegalStateException.class, allocator::allocate);
+	}
+
+	@Test
+	void concurrentAllocationNeverDuplicates() throws Exception {
+		int threads = 16;
+		int perThread = 500;
+		AccountNumberAllocator allocator = new AccountNumberAllocator(accountNumberRepository, shardRouter, 7);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<List<String>>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				List<String> numbers = new ArrayList<>(perThread);
+				for (int i = 0; i < perThread; i++) {
+					numbers.add(allocator.allocate());
+				}
+				return numbers;
+			}));
+		}
+		start.countDown();
+		Set<String> unique = new HashSet<>();
+		for (Future<List<String>> future : futures) {
+			unique.addAll(future.get());
+		}
+		executor.shutdown();
+
+		assertEquals(threads * perThread, unique.size());
+		assertEquals(threads * perThread, allocator.readMetrics().getAllocated());
+		// 버린 번호 없이 구간을 차례로 썼다 -> 예약 횟수는 필요한 만큼만
+		assertEquals((threads * perThread + 6) / 7, allocator.readMetrics().getBlocksReserved());
+	}
+
+}
@@ -0,0 +1,261 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.dto.WithdrawalDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+
+/**
+ * AccountService 동시성 부하 테스트 (내장 H2)
+ *
+ * 여러 스레드가 이체, 출금, 입금을 동시에 실행한 뒤 다음을 확인한다.
+ * - 모든 요청이 성공, 업무 거절, 재시도 초과 중 하나로 끝남
+ * - 전체 금액 보존 : 시작 잔액 합 + 입금 합 - 출금 합 = 끝 잔액 합
+ * - 음수 잔액 없음
+ * - 계좌별 거래내역의 거래 후 잔액이 id 순서대로 정확히 이어지고, 마지막 값이 계좌 잔액과 같음
+ * 처리량, 락 대기 초과/교착 재시도 횟수, 지연시간 분포는 로그로 남긴다.
+ *
+ * 기본 부하는 gradle test 에서 가볍게 돌도록 16 x 25 이다.
+ * 부하를 올릴 때 : gradle test --tests '*AccountServiceConcurrencyTests' -Dstress.threads=200 -Dstress.ops=50
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:stress;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.datasource.hikari.maximum-pool-size=32",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false" })
+class AccountServiceConcurrencyTests {
+
+	private static final Logger log = LoggerFactory.getLogger(AccountServiceConcurrencyTests.class);
+	private static final int THREADS = Integer.getInteger("stress.threads", 16);
+	private static final int OPS_PER_THREAD = Integer.getInteger("stress.ops", 25);
+	private static final int USERS = 20;
+	private static final int ACCOUNTS_PER_USER = 5;
+	private static final long OPENING_BALANCE = 100_000;
+	private static final String PASSWORD = "1234";
+	private static final int MAX_RETRIES = 3;
+	private static final String DEADLOCK_SQL_STATE = "40001";
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 결과 집계
+	private final LongAdder deposited = new LongAdder();
+	private final LongAdder withdrawn = new LongAdder();
+	private final LongAdder succeeded = new LongAdder();
+	private final LongAdder rejected = new LongAdder(); // 잔액 부족 등 업무 오류
+	private final LongAdder lockRetries = new LongAdder();
+	private final LongAdder deadlocks = new LongAdder();
+	private final LongAdder gaveUp = new LongAdder();
+
+	@Test
+	void parallelTransfersConserveMoney() throws Exception {
+		List<Integer> owners = new ArrayList<>();
+		List<String> numbers = new ArrayList<>();
+		setUpAccounts(owners, numbers);
+		long openingTotal = totalBalance();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<long[]>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			long seed = t;
+			futures.add(executor.submit(() -> {
+				start.await();
+				return runClient(new SplittableRandom(seed), owners, numbers);
+			}));
+		}
+
+		long startedNanos = System.nanoTime();
+		start.countDown();
+		long[] latencies = new long[THREADS * OPS_PER_THREAD];
+		int offset = 0;
+		for (Future<long[]> future : futures) {
+			long[] clientLatencies = future.get();
+			System.arraycopy(clientLatencies, 0, latencies, offset, clientLatencies.length);
+			offset += clientLatencies.length;
+		}
+		long elapsedNanos = System.nanoTime() - startedNanos;
+		executor.shutdown();
+
+		report(latencies, elapsedNanos);
+
+		// 0. 모든 요청이 집계됨
+		assertEquals((long) THREADS * OPS_PER_THREAD, succeeded.sum() + rejected.sum() + gaveUp.sum(), "요청 수");
+
+		// 1. 전체 금액 보존
+		assertEquals(openingTotal + deposited.sum() - withdrawn.sum(), totalBalance(), "전체 금액 보존");
+
+		// 2. 음수 잔액 없음
+		Integer negatives = jdbcTemplate.queryForObject("select count(*) from account_tb where balance < 0",
+				Integer.class);
+		assertEquals(0, negatives, "음수 잔액 계좌 수");
+
+		// 3. 거래내역 잔액 연결
+		assertHistoryChains();
+	}
+
+	private void setUpAccounts(List<Integer> owners, List<String> numbers) {
+		for (int u = 1; u <= USERS; u++) {
+			jdbcTemplate.update("insert into user_tb(username, password, fullname) values(?, ?, ?)",
+					"stress" + u, PASSWORD, "stress" + u);
+			Integer userId = jdbcTemplate.queryForObject("select id from user_tb where username = ?",
+					Integer.class, "stress" + u);
+			for (int a = 0; a < ACCOUNTS_PER_USER; a++) {
+				String number = String.format("S%03d-%d", u, a);
+				jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, ?, ?, ?)",
+						number, PASSWORD, OPENING_BALANCE, userId);
+				owners.add(userId);
+				numbers.add(number);
+			}
+		}
+	}
+
+	// 클라이언트 스레드 하나 - 요청별 지연시간(ns) 반환
+	private long[] runClient(SplittableRandom random, List<Integer> owners, List<String> numbers) {
+		long[] latencies = new long[OPS_PER_THREAD];
+		for (int i = 0; i < OPS_PER_THREAD; i++) {
+			int from = random.nextInt(numbers.size());
+			int to = random.nextInt(numbers.size() - 1);
+			if (to >= from) {
+				to++; // 같은 계좌 제외
+			}
+			long amount = 1 + random.nextInt(1000);
+			double type = random.nextDouble();
+
+			long begin = System.nanoTime();
+			if (type < 0.6) {
+				TransferDTO dto = new TransferDTO();
+				dto.setAmount(amount);
+				dto.setWAccountNumber(numbers.get(from));
+				dto.setDAccountNumber(numbers.get(to));
+				dto.setPassword(PASSWORD);
+				Integer owner = owners.get(from);
+				call(() -> accountService.updateAccountTransfer(dto, owner), 0, 0);
+			} else if (type < 0.8) {
+				WithdrawalDTO dto = new WithdrawalDTO(amount, numbers.get(from), PASSWORD);
+				Integer owner = owners.get(from);
+				call(() -> accountService.updateAccountWithdraw(dto, owner), 0, amount);
+			} else {
+				DepositDTO dto = new DepositDTO();
+				dto.setAmount(amount);
+				dto.setDAccountNumber(numbers.get(from));
+				Integer owner = owners.get(from);
+				call(() -> accountService.updateAccountDeposit(dto, owner), amount, 0);
+			}
+			latencies[i] = System.nanoTime() - begin;
+		}
+		return latencies;
+	}
+
+	// 락 대기 초과, 교착 상태는 재시도 (트랜잭션 전체가 롤백되므로 안전)
+	private void call(Runnable request, long depositAmount, long withdrawAmount) {
+		for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+			try {
+				request.run();
+				succeeded.increment();
+				deposited.add(depositAmount);
+				withdrawn.add(withdrawAmount);
+				return;
+			} catch (DataDeliveryException e) {
+				rejected.increment();
+				return;
+			} catch (PessimisticLockingFailureException e) {
+				if (isDeadlock(e)) {
+					deadlocks.increment();
+				}
+				lockRetries.increment();
+			}
+		}
+		gaveUp.increment();
+	}
+
+	// 교착 상태도 락 대기 초과와 같은 예외로 변환되므로 SQLState 40001 로 구분한다. (MySQL 1213, H2 40001)
+	private static boolean isDeadlock(PessimisticLockingFailureException e) {
+		return e.getMostSpecificCause() instanceof SQLException sqlException
+				&& DEADLOCK_SQL_STATE.equals(sqlException.getSQLState());
+	}
+
+	private long totalBalance() {
+		return jdbcTemplate.queryForObject("select coalesce(sum(balance), 0) from account_tb", Long.class);
+	}
+
+	private void assertHistoryChains() {
+		Map<Integer, Long> balances = new HashMap<>();
+		jdbcTemplate.queryForList("select id from account_tb", Integer.class)
+				.forEach(id -> balances.put(id, OPENING_BALANCE));
+
+		jdbcTemplate.query("select * from history_tb order by id", rs -> {
+			long historyId = rs.getLong("id");
+			long amount = rs.getLong("amount");
+			int wAccountId = rs.getInt("w_account_id");
+			if (!rs.wasNull()) {
+				long expected = balances.get(wAccountId) - amount;
+				assertEquals(expected, rs.getLong("w_balance"), "출금 잔액 연결 history=" + historyId);
+				balances.put(wAccountId, expected);
+			}
+			int dAccountId = rs.getInt("d_account_id");
+			if (!rs.wasNull()) {
+				long expected = balances.get(dAccountId) + amount;
+				assertEquals(expected, rs.getLong("d_balance"), "입금 잔액 연결 history=" + historyId);
+				balances.put(dAccountId, expected);
+			}
+		});
+
+		jdbcTemplate.query("select id, balance from account_tb", rs -> {
+			assertEquals(balances.get(rs.getInt("id")), rs.getLong("balance"),
+					"마지막 거래 후 잔액 = 계좌 잔액 account=" + rs.getInt("id"));
+		});
+		assertTrue(succeeded.sum() > 0, "성공한 요청이 있어야 한다");
+	}
+
+	private void report(long[] latencies, long elapsedNanos) {
+		Arrays.sort(latencies);
+		double seconds = elapsedNanos / 1_000_000_000.0;
+		log.info("동시성 부하 테스트 - 스레드 {} x 요청 {}, {}초, 처리량 {} req/s (성공 {}, 업무 거절 {}, 재시도 초과 {})",
+				THREADS, OPS_PER_THREAD, String.format("%.2f", seconds), String.format("%.1f", latencies.length / seconds),
+				succeeded.sum(), rejected.sum(), gaveUp.sum());
+		log.info("동시성 부하 테스트 - 락 재시도 {} (교착 {}), 지연시간 ms p50 {} / p90 {} / p99 {} / max {}",
+				lockRetries.sum(), deadlocks.sum(), String.format("%.2f", percentile(latencies, 0.50)),
+				String.format("%.2f", percentile(latencies, 0.90)), String.format("%.2f", percentile(latencies, 0.99)),
+				String.format("%.2f", latencies[latencies.length - 1] / 1e6));
+	}
+
+	private double percentile(long[] sorted, double p) {
+		int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+}
@@ -0,0 +1,156 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tenco.bank.dto.AccountStreamDTO;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.Outbox;
+
+/**
+ * SSE 전송 - 같은 계좌 이벤트 순서, 늦게 온 이벤트 버림, 끝난 연결 정리
+ */
+class AccountStreamServiceTests {
+
+	private static final int USER_ID = 7;
+
+	private final List<RecordingEmitter> created = new CopyOnWriteArrayList<>();
+	private AccountStreamService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new AccountStreamService(60_000, 10) {
+			@Override
+			SseEmitter createEmitter() {
+				RecordingEmitter emitter = new RecordingEmitter();
+				created.add(emitter);
+				return emitter;
+			}
+		};
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void sameAccountEventsAreDeliveredInOrder() throws Exception {
+		service.connect(USER_ID);
+		RecordingEmitter emitter = created.get(0);
+
+		for (int historyId = 1; historyId <= 200; historyId++) {
+			service.onHistoryCommitted(deposit(1, historyId));
+		}
+
+		List<Integer> received = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			received.add(emitter.next().getHistoryId());
+		}
+		for (int i = 0; i < 200; i++) {
+			assertEquals(i + 1, received.get(i));
+		}
+		assertEquals(200, service.readMetrics().getPushed());
+	}
+
+	@Test
+	void staleAndDuplicateEventsAreDroppedPerAccount() throws Exception {
+		service.connect(USER_ID);
+		RecordingEmitter emitter = created.get(0);
+
+		service.onHistoryCommitted(deposit(1, 5));
+		service.onHistoryCommitted(deposit(1, 3)); // 늦게 커밋된 이전 거래
+		service.onHistoryCommitted(deposit(1, 5)); // 중복
+		service.onHistoryCommitted(deposit(2, 1)); // 다른 계좌는 따로 비교
+		service.onHistoryCommitted(deposit(1, 6));
+
+		assertEquals(5, emitter.next().getHistoryId());
+		AccountStreamDTO other = emitter.next();
+		assertEquals(2, other.getAccountId());
+		assertEquals(1, other.getHistoryId());
+		assertEquals(6, emitter.next().getHistoryId());
+		assertNull(emitter.sent.poll(100, TimeUnit.MILLISECONDS));
+		assertEquals(2, service.readMetrics().getOutOfOrder());
+	}
+
+	@Test
+	void emitterIsRemovedOnCompletionOrTimeout() throws Exception {
+		service.connect(USER_ID);
+		service.connect(USER_ID);
+		RecordingEmitter completed = created.get(0);
+		RecordingEmitter timedOut = created.get(1);
+		assertEquals(2, service.readMetrics().getConnections());
+		assertEquals(1, service.readMetrics().getUsers());
+
+		completed.completionCallback.run();
+		assertEquals(1, service.readMetrics().getConnections());
+
+		service.onHistoryCommitted(deposit(1, 1));
+		assertEquals(1, timedOut.next().getHistoryId());
+		assertNull(completed.sent.poll(100, TimeUnit.MILLISECONDS), "끝난 연결로는 보내지 않는다");
+
+		timedOut.timeoutCallback.run();
+		timedOut.completionCallback.run(); // 시간 초과 뒤 완료 콜백이 또 와도 한 번만 뺀다
+		assertEquals(0, service.readMetrics().getConnections());
+		assertEquals(0, service.readMetrics().getUsers());
+	}
+
+	private AccountHistoryEvent deposit(int accountId, int historyId) {
+		History history = History.builder().id(historyId).amount(1_000L).dAccountId(accountId).build();
+		Account account = Account.builder().id(accountId).number("10000000000" + accountId).balance(historyId * 1_000L)
+				.userId(USER_ID).build();
+		return AccountHistoryEvent.of(Outbox.DEPOSIT, history, null, account);
+	}
+
+	// 보낸 잔액 이벤트와 등록된 콜백을 기록한다. (서블릿 응답 없이)
+	private static class RecordingEmitter extends SseEmitter {
+
+		private final BlockingQueue<AccountStreamDTO> sent = new LinkedBlockingQueue<>();
+		private Runnable completionCallback;
+		private Runnable timeoutCallback;
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			for (DataWithMediaType part : builder.build()) {
+				if (part.getData() instanceof AccountStreamDTO data) {
+					sent.add(data);
+				}
+			}
+		}
+
+		@Override
+		public synchronized void onCompletion(Runnable callback) {
+			completionCallback = callback;
+			super.onCompletion(callback);
+		}
+
+		@Override
+		public synchronized void onTimeout(Runnable callback) {
+			timeoutCallback = callback;
+			super.onTimeout(callback);
+		}
+
+		private AccountStreamDTO next() throws InterruptedException {
+			AccountStreamDTO data = sent.poll(5, TimeUnit.SECONDS);
+			assertNotNull(data, "이벤트가 전송되지 않음");
+			return data;
+		}
+
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+
+/**
+ * 조건부 GET - 같은 ETag 로 다시 요청하면 304, 거래가 커밋되면 새로 그린다.
+ * (AccountController.notModified 와 같이 ServletWebRequest.checkNotModified 로 확인)
+ */
+class AccountVersionServiceTests {
+
+	private static final int USER_ID = 1;
+	private static final int ACCOUNT_ID = 10;
+
+	private final AccountVersionService accountVersionService = new AccountVersionService(true);
+
+	@Test
+	void sameETagAnswersNotModified() {
+		String etag = accountVersionService.listETag(USER_ID);
+
+		MockHttpServletResponse first = get(null, etag);
+		assertEquals(HttpStatus.OK.value(), first.getStatus());
+		assertEquals(etag, first.getHeader(HttpHeaders.ETAG));
+
+		MockHttpServletResponse second = get(etag, accountVersionService.listETag(USER_ID));
+		assertEquals(HttpStatus.NOT_MODIFIED.value(), second.getStatus());
+	}
+
+	@Test
+	void committedHistoryChangesListAndDetailETag() {
+		String listETag = accountVersionService.listETag(USER_ID);
+		String detailETag = accountVersionService.detailETag(USER_ID, ACCOUNT_ID);
+		String otherDetailETag = accountVersionService.detailETag(USER_ID, ACCOUNT_ID + 1);
+
+		accountVersionService.onHistoryCommitted(AccountHistoryEvent.of("DEPOSIT",
+				History.builder().id(1).amount(1000).build(), null,
+				Account.builder().id(ACCOUNT_ID).userId(USER_ID).balance(1000L).build()));
+
+		assertNotEquals(listETag, accountVersionService.listETag(USER_ID));
+		assertNotEquals(detailETag, accountVersionService.detailETag(USER_ID, ACCOUNT_ID));
+		assertEquals(otherDetailETag, accountVersionService.detailETag(USER_ID, ACCOUNT_ID + 1));
+		assertEquals(HttpStatus.OK.value(),
+				get(listETag, accountVersionService.listETag(USER_ID)).getStatus());
+	}
+
+	@Test
+	void touchUserWaitsForCommit() {
+		String etag = accountVersionService.listETag(USER_ID);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			accountVersionService.touchUser(USER_ID);
+			assertEquals(etag, accountVersionService.listETag(USER_ID)); // 커밋 전 - 옛 화면 그대로
+
+			for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+				synchronization.afterCommit();
+			}
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertNotEquals(etag, accountVersionService.listETag(USER_ID));
+	}
+
+	@Test
+	void touchAllChangesEveryETag() {
+		String etag = accountVersionService.detailETag(USER_ID, ACCOUNT_ID);
+
+		accountVersionService.touchAll();
+
+		assertNotEquals(etag, accountVersionService.detailETag(USER_ID, ACCOUNT_ID));
+	}
+
+	@Test
+	void disabledSendsNoETag() {
+		AccountVersionService disabled = new AccountVersionService(false);
+
+		assertNull(disabled.listETag(USER_ID));
+		assertNull(disabled.detailETag(USER_ID, ACCOUNT_ID));
+		assertTrue(disabled.accountVersion(ACCOUNT_ID) >= 0);
+		assertFalse(disabled.readMetrics().isEnabled());
+	}
+
+	// 브라우저가 If-None-Match 로 이전 ETag 를 보냈을 때 컨트롤러가 보는 결과
+	private MockHttpServletResponse get(String ifNoneMatch, String currentETag) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/account/list");
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new ServletWebRequest(request, response).checkNotModified(currentETag);
+		return response;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.BalanceAsOfDTO;
+
+/**
+ * 시점 잔액 조회와 자정 체크포인트 (내장 H2)
+ * 거래내역 ID 가 등록 시각 순서와 다를 때도 체크포인트가 등록 시각 기준으로 나뉘는지 확인한다.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:checkpoint;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false" })
+class BalanceCheckpointServiceTests {
+
+	private static final int USER_ID = 1;
+	private static final LocalDateTime MIDNIGHT = LocalDate.now().atStartOfDay();
+
+	@Autowired
+	private BalanceCheckpointService balanceCheckpointService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void checkpointIsSplitByCreatedAtNotById() {
+		account(1, "C-1", 300, MIDNIGHT.minusDays(2));
+		account(2, "C-2", 1_000, MIDNIGHT.minusDays(2));
+		// 자정 뒤에 등록되었지만 ID 가 더 작은 거래 (다른 계좌의 자정 전 거래보다 ID 가 작음)
+		deposit(3, 1, 100, 100, MIDNIGHT.minusHours(5));
+		deposit(9, 1, 200, 300, MIDNIGHT.plusSeconds(5));
+		deposit(11, 2, 1_000, 1_000, MIDNIGHT.minusMinutes(1));
+
+		balanceCheckpointService.createCheckpoints();
+		balanceCheckpointService.createCheckpoints(); // 같은 기준 시각은 다시 만들지 않음
+
+		assertEquals(2, count("select count(*) from balance_checkpoint_tb"));
+		assertEquals(100L, jdbcTemplate.queryForObject(
+				"select balance from balance_checkpoint_tb where account_id = 1", Long.class));
+
+		BalanceAsOfDTO beforeLateRow = balanceCheckpointService.readBalanceAt(1, at(MIDNIGHT.plusSeconds(1)), USER_ID);
+		assertEquals(100L, beforeLateRow.getBalance());
+		assertEquals(at(MIDNIGHT), beforeLateRow.getCheckpointAt());
+		assertNull(beforeLateRow.getHistoryId());
+
+		BalanceAsOfDTO afterLateRow = balanceCheckpointService.readBalanceAt(1, at(MIDNIGHT.plusSeconds(10)), USER_ID);
+		assertEquals(300L, afterLateRow.getBalance());
+		assertEquals(9, afterLateRow.getHistoryId());
+	}
+
+	@Test
+	void balanceWithoutCheckpointUsesRowsAroundTheTime() {
+		LocalDateTime opened = LocalDateTime.now().minusHours(3);
+		account(21, "N-1", 5_000, opened.minusMinutes(1));
+		// 개설 5,000 -> 출금 1,000 -> 입금 1,000 (같은 시각이면 ID 순)
+		withdraw(31, 21, 1_000, 4_000, opened.plusMinutes(10));
+		deposit(32, 21, 1_000, 5_000, opened.plusMinutes(10));
+
+		assertEquals(5_000L, balanceCheckpointService.readBalanceAt(21, at(opened), USER_ID).getBalance());
+		BalanceAsOfDTO after = balanceCheckpointService.readBalanceAt(21, at(opened.plusMinutes(20)), USER_ID);
+		assertEquals(5_000L, after.getBalance());
+		assertEquals(32, after.getHistoryId());
+		assertNull(after.getCheckpointAt());
+	}
+
+	private void account(int id, String number, long balance, LocalDateTime createdAt) {
+		jdbcTemplate.update("insert into account_tb(id, number, password, balance, user_id, created_at) "
+				+ "values(?, ?, '1234', ?, ?, ?)", id, number, balance, USER_ID, at(createdAt));
+	}
+
+	private void deposit(int id, int accountId, long amount, long balance, LocalDateTime createdAt) {
+		jdbcTemplate.update("insert into history_tb(id, amount, d_account_id, d_balance, created_at) values(?, ?, ?, ?, ?)",
+				id, amount, accountId, balance, at(createdAt));
+	}
+
+	private void withdraw(int id, int accountId, long amount, long balance, LocalDateTime createdAt) {
+		jdbcTemplate.update("insert into history_tb(id, amount, w_account_id, w_balance, created_at) values(?, ?, ?, ?, ?)",
+				id, amount, accountId, balance, at(createdAt));
+	}
+
+	private int count(String sql) {
+		return jdbcTemplate.queryForObject(sql, Integer.class);
+	}
+
+	private static Timestamp at(LocalDateTime time) {
+		return Timestamp.valueOf(time);
+	}
+
+}
@@ -0,0 +1,200 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.dto.SaveDTO;
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.HistoryAccount;
+import com.tenco.bank.repository.model.TransferSaga;
+import com.tenco.bank.repository.shard.ShardRouter;
+
+/**
+ * 샤드 간 이체 saga (shard 프로필과 같은 구성 - H2 인메모리 DB 2개)
+ * 정상 완료, 입금 전 중단된 saga 복구, 입금 후 중단된 saga 복구(inbox 로 중복 입금 방지),
+ * 입금 불가 시 환불과 출금 한도 예약 반환을 확인한다.
+ */
+@SpringBootTest(properties = {
+		"spring.sql.init.mode=never",
+		"bank.sharding.enabled=true",
+		"bank.sharding.in-doubt-after-millis=0",
+		"bank.sharding.recovery-interval-ms=3600000",
+		"bank.sharding.shards[0].url=jdbc:h2:mem:sagashard0;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+		"bank.sharding.shards[0].driver-class-name=org.h2.Driver",
+		"bank.sharding.shards[0].username=sa",
+		"bank.sharding.shards[0].password=",
+		"bank.sharding.shards[0].init-scripts[0]=classpath:db/table.sql",
+		"bank.sharding.shards[0].init-scripts[1]=classpath:db/shard/h2-shard0-of-2.sql",
+		"bank.sharding.shards[1].url=jdbc:h2:mem:sagashard1;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+		"bank.sharding.shards[1].driver-class-name=org.h2.Driver",
+		"bank.sharding.shards[1].username=sa",
+		"bank.sharding.shards[1].password=",
+		"bank.sharding.shards[1].init-scripts[0]=classpath:db/table.sql",
+		"bank.sharding.shards[1].init-scripts[1]=classpath:db/shard/h2-shard1-of-2.sql",
+		"bank.limit.hourly-outflow=1500",
+		"bank.limit.daily-outflow=0",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false" })
+class CrossShardTransferServiceTests {
+
+	private static final String PASSWORD = "1234";
+	private static final long OPENING_BALANCE = 10_000;
+	private static final long AMOUNT = 1_000;
+	private static final AtomicInteger USER_IDS = new AtomicInteger(100);
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private CrossShardTransferService crossShardTransferService;
+
+	@SpyBean
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private HistoryRepository historyRepository;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final Set<String> usedNumbers = new HashSet<>();
+
+	@Test
+	void crossShardTransferCommits() {
+		int senderId = USER_IDS.incrementAndGet();
+		int receiverId = USER_IDS.incrementAndGet();
+		Account sender = openAccount(senderId, 0);
+		Account receiver = openAccount(receiverId, 1);
+
+		accountService.updateAccountTransfer(transfer(sender, receiver), senderId);
+
+		assertEquals(OPENING_BALANCE - AMOUNT, balance(sender));
+		assertEquals(OPENING_BALANCE + AMOUNT, balance(receiver));
+		assertEquals(List.of(TransferSaga.DONE), sagaStatuses(sender));
+
+		// 상대 계좌가 다른 샤드에 있어도 거래내역, 자동완성에 계좌번호가 나온다. ('ATM' 이 아님)
+		HistoryAccount received = accountService.readHistoryByAccountId("deposit", receiver.getId(), 1, 10).get(0);
+		assertEquals(sender.getNumber(), received.getSender());
+		HistoryAccount sent = accountService.readHistoryByAccountId("withdrawal", sender.getId(), 1, 10).get(0);
+		assertEquals(receiver.getNumber(), sent.getReceiver());
+		assertTrue(shardRouter.collectFromAllShards(() -> historyRepository.findRecentCounterparties(senderId, 10))
+				.stream().anyMatch(recent -> receiver.getNumber().equals(recent.getNumber())));
+	}
+
+	@Test
+	void pendingSagaIsDepositedByRecovery() {
+		int userId = USER_IDS.incrementAndGet();
+		Account sender = openAccount(userId, 1);
+		Account receiver = openAccount(userId, 0);
+
+		// 입금 샤드 장애 - 출금만 커밋되고 saga 는 PENDING
+		doThrow(new QueryTimeoutException("입금 샤드 응답 없음")).when(accountRepository)
+				.findByNumberForUpdate(receiver.getNumber());
+		accountService.updateAccountTransfer(transfer(sender, receiver), userId);
+		assertEquals(OPENING_BALANCE - AMOUNT, balance(sender));
+		assertEquals(OPENING_BALANCE, balance(receiver));
+		assertEquals(List.of(TransferSaga.PENDING), sagaStatuses(sender));
+
+		reset(accountRepository);
+		crossShardTransferService.recover();
+
+		assertEquals(OPENING_BALANCE + AMOUNT, balance(receiver));
+		assertEquals(List.of(TransferSaga.DONE), sagaStatuses(sender));
+	}
+
+	@Test
+	void depositedSagaIsCompletedFromInboxWithoutDepositingTwice() {
+		int userId = USER_IDS.incrementAndGet();
+		Account sender = openAccount(userId, 0);
+		Account receiver = openAccount(userId, 1);
+		accountService.updateAccountTransfer(transfer(sender, receiver), userId);
+
+		// 입금까지 커밋된 뒤 saga DONE 기록 전에 서버가 내려간 상태
+		int withdrawShard = shardRouter.shardOfNumber(sender.getNumber());
+		shardRouter.callInNewTransaction(withdrawShard, false, () -> jdbcTemplate
+				.update("update transfer_saga_tb set status = 'PENDING' where w_account_id = ?", sender.getId()));
+
+		crossShardTransferService.recover();
+
+		assertEquals(OPENING_BALANCE + AMOUNT, balance(receiver));
+		assertEquals(List.of(TransferSaga.DONE), sagaStatuses(sender));
+	}
+
+	@Test
+	void compensationRefundsAndReleasesVelocityReservation() {
+		int userId = USER_IDS.incrementAndGet();
+		Account sender = openAccount(userId, 0);
+		Account receiver = openAccount(userId, 1);
+
+		// 출금 뒤 입금 계좌가 사라짐 -> 환불
+		doReturn(null).when(accountRepository).findByNumberForUpdate(receiver.getNumber());
+		accountService.updateAccountTransfer(transfer(sender, receiver), userId);
+		reset(accountRepository);
+
+		assertEquals(OPENING_BALANCE, balance(sender));
+		assertEquals(OPENING_BALANCE, balance(receiver));
+		assertEquals(List.of(TransferSaga.COMPENSATED), sagaStatuses(sender));
+
+		// 1시간 한도 1500 - 환불한 1000 을 되돌리지 않았다면 한도 초과
+		accountService.updateAccountTransfer(transfer(sender, receiver), userId);
+		assertEquals(OPENING_BALANCE - AMOUNT, balance(sender));
+		assertEquals(OPENING_BALANCE + AMOUNT, balance(receiver));
+	}
+
+	// 지정한 샤드에 들어가는 계좌가 나올 때까지 계좌를 만든다. (계좌번호 해시로 샤드가 정해짐)
+	private Account openAccount(int userId, int shard) {
+		while (true) {
+			accountService.createAccount(SaveDTO.builder().password(PASSWORD).balance(OPENING_BALANCE).build(), userId);
+			for (Account account : accountService.readAccountListByUserId(userId)) {
+				if (shardRouter.shardOfNumber(account.getNumber()) == shard && usedNumbers.add(account.getNumber())) {
+					return account;
+				}
+			}
+		}
+	}
+
+	private TransferDTO transfer(Account sender, Account receiver) {
+		assertNotEquals(shardRouter.shardOfNumber(sender.getNumber()), shardRouter.shardOfNumber(receiver.getNumber()));
+		TransferDTO dto = new TransferDTO();
+		dto.setAmount(AMOUNT);
+		dto.setWAccountNumber(sender.getNumber());
+		dto.setDAccountNumber(receiver.getNumber());
+		dto.setPassword(PASSWORD);
+		return dto;
+	}
+
+	private long balance(Account account) {
+		return shardRouter.callInNewTransaction(shardRouter.shardOfNumber(account.getNumber()), true,
+				() -> accountRepository.findByNumber(account.getNumber())).getBalance();
+	}
+
+	private List<String> sagaStatuses(Account sender) {
+		return shardRouter.callInNewTransaction(shardRouter.shardOfNumber(sender.getNumber()), true,
+				() -> jdbcTemplate.queryForList("select status from transfer_saga_tb where w_account_id = ? order by created_at",
+						String.class, sender.getId()));
+	}
+
+}
@@ -0,0 +1,151 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.dto.DashboardDTO;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.DashboardActivity;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.LastHistory;
+import com.tenco.bank.repository.model.MonthFlow;
+import com.tenco.bank.repository.shard.ShardRouter;
+
+/**
+ * 대시보드 - DB 에서 만든 뒤 커밋된 거래 이벤트로 갱신 (DB 는 mock)
+ * DB 에서 만들 때 읽은 계좌별 마지막 거래내역 ID 이하의 이벤트는 다시 더하지 않는다.
+ */
+class DashboardServiceTests {
+
+	private static final int USER_ID = 1;
+	private static final int ACCOUNT_ID = 10;
+	private static final int OTHER_ACCOUNT_ID = 11;
+	private static final int LOADED_HISTORY_ID = 50;
+
+	private AccountRepository accountRepository;
+	private HistoryRepository historyRepository;
+	private DashboardService dashboardService;
+
+	@BeforeEach
+	void setUp() {
+		accountRepository = mock(AccountRepository.class);
+		historyRepository = mock(HistoryRepository.class);
+		ShardRouter shardRouter = mock(ShardRouter.class);
+		when(shardRouter.collectFromAllShards(any()))
+				.thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+		when(shardRouter.callInNewTransaction(anyInt(), anyBoolean(), any()))
+				.thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
+		when(accountRepository.findByUserId(USER_ID)).thenAnswer(invocation -> List.of(
+				account(ACCOUNT_ID, "1111", 5_000), account(OTHER_ACCOUNT_ID, "2222", 1_000)));
+		// 최근 거래 창(3건)에는 40번대만 있고, 35번 같은 더 오래된 거래는 이번 달 합계에만 들어 있다.
+		when(historyRepository.findLastIdsByAccountIds(anyList()))
+				.thenReturn(List.of(new LastHistory(ACCOUNT_ID, LOADED_HISTORY_ID)));
+		when(historyRepository.findRecentByAccountIds(anyList(), anyInt())).thenReturn(new ArrayList<>(List.of(
+				activity(50), activity(45), activity(40))));
+		when(historyRepository.findFlowByAccountIdsSince(anyList(), anyList(), any()))
+				.thenReturn(new MonthFlow(9_000, 0));
+
+		dashboardService = new DashboardService(accountRepository, historyRepository, shardRouter, true, 100, 3);
+	}
+
+	@Test
+	void eventsAlreadyLoadedAreIgnored() {
+		dashboardService.read(USER_ID);
+
+		dashboardService.onHistoryCommitted(deposit(35, ACCOUNT_ID, 1_000, 4_000)); // 최근 거래 창 밖, 합계에는 포함
+		dashboardService.onHistoryCommitted(deposit(LOADED_HISTORY_ID, ACCOUNT_ID, 1_000, 5_000));
+
+		DashboardDTO view = dashboardService.read(USER_ID);
+		assertEquals(9_000, view.getMonthInflow());
+		assertEquals(6_000, view.getTotalBalance());
+		assertEquals(0, dashboardService.readMetrics().getUpdates());
+	}
+
+	@Test
+	void newerEventIsApplied() {
+		dashboardService.read(USER_ID);
+
+		dashboardService.onHistoryCommitted(deposit(51, ACCOUNT_ID, 1_000, 6_000));
+		// 다른 계좌는 DB 에서 만들 때 거래내역이 없었으므로 모두 새 거래
+		dashboardService.onHistoryCommitted(deposit(3, OTHER_ACCOUNT_ID, 500, 1_500));
+
+		DashboardDTO view = dashboardService.read(USER_ID);
+		assertEquals(10_500, view.getMonthInflow());
+		assertEquals(7_500, view.getTotalBalance());
+		assertEquals(List.of(3, 51, 50), view.getRecent().stream().map(DashboardActivity::getId).toList());
+		assertEquals(1, dashboardService.readMetrics().getLoads());
+	}
+
+	@Test
+	void olderEventAfterNewerReloads() {
+		dashboardService.read(USER_ID);
+
+		dashboardService.onHistoryCommitted(deposit(53, ACCOUNT_ID, 1_000, 7_000));
+		dashboardService.onHistoryCommitted(deposit(52, ACCOUNT_ID, 1_000, 6_000)); // 리스너 순서가 바뀜
+		dashboardService.read(USER_ID);
+
+		assertEquals(2, dashboardService.readMetrics().getLoads());
+		assertEquals(1, dashboardService.readMetrics().getUpdates());
+	}
+
+	@Test
+	void balancesAreReadWithTheWatermark() {
+		// 처음 계좌 조회와 거래내역 조회 사이에 커밋된 거래 -> 거래내역 트랜잭션에서 다시 읽은 잔액을 쓴다.
+		when(accountRepository.findByUserId(eq(USER_ID)))
+				.thenReturn(List.of(account(ACCOUNT_ID, "1111", 4_000), account(OTHER_ACCOUNT_ID, "2222", 1_000)))
+				.thenReturn(List.of(account(ACCOUNT_ID, "1111", 5_000), account(OTHER_ACCOUNT_ID, "2222", 1_000)));
+
+		DashboardDTO view = dashboardService.read(USER_ID);
+		dashboardService.onHistoryCommitted(deposit(LOADED_HISTORY_ID, ACCOUNT_ID, 1_000, 5_000));
+
+		assertEquals(6_000, view.getTotalBalance());
+		assertEquals(6_000, dashboardService.read(USER_ID).getTotalBalance());
+	}
+
+	@Test
+	void transferBetweenOwnAccountsIsNotFlow() {
+		dashboardService.read(USER_ID);
+
+		History history = History.builder().id(51).amount(700).build();
+		dashboardService.onHistoryCommitted(AccountHistoryEvent.of("TRANSFER", history,
+				account(ACCOUNT_ID, "1111", 4_300), account(OTHER_ACCOUNT_ID, "2222", 1_700)));
+
+		DashboardDTO view = dashboardService.read(USER_ID);
+		assertEquals(9_000, view.getMonthInflow());
+		assertEquals(0, view.getMonthOutflow());
+		assertEquals(6_000, view.getTotalBalance());
+	}
+
+	private AccountHistoryEvent deposit(int historyId, int accountId, long amount, long balance) {
+		History history = History.builder().id(historyId).amount(amount).dAccountId(accountId).dBalance(balance).build();
+		return AccountHistoryEvent.of("DEPOSIT", history, null,
+				account(accountId, accountId == ACCOUNT_ID ? "1111" : "2222", balance));
+	}
+
+	private Account account(int id, String number, long balance) {
+		return Account.builder().id(id).number(number).balance(balance).userId(USER_ID).build();
+	}
+
+	private DashboardActivity activity(int historyId) {
+		return DashboardActivity.builder().id(historyId).accountId(ACCOUNT_ID).accountNumber("1111").inbound(true)
+				.amount(1_000).balance(5_000L).createdAt(new Timestamp(System.currentTimeMillis() - 1_000 + historyId)).build();
+	}
+
+}
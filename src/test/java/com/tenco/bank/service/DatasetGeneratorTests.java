@@ -0,0 +1,91 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tenco.bank.utils.AccountNumber;
+
+/**
+ * 테스트 데이터 생성 (내장 H2, 작은 규모) - 생성 건수, 계좌번호 검사 숫자, 마지막 거래 후 잔액 = 계좌 잔액
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:datagen;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false",
+		"bank.datagen.enabled=true",
+		"bank.datagen.exit-after=false",
+		"bank.datagen.users=" + DatasetGeneratorTests.USERS,
+		"bank.datagen.merchants=" + DatasetGeneratorTests.MERCHANTS,
+		"bank.datagen.histories=" + DatasetGeneratorTests.HISTORIES,
+		"bank.datagen.max-accounts-per-user=" + DatasetGeneratorTests.MAX_ACCOUNTS_PER_USER,
+		"bank.datagen.batch-size=64" })
+class DatasetGeneratorTests {
+
+	static final int USERS = 40;
+	static final int MERCHANTS = 3;
+	static final int HISTORIES = 1_000;
+	static final int MAX_ACCOUNTS_PER_USER = 3;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AccountNumberAllocator accountNumberAllocator;
+
+	@Test
+	void generatesRequestedRowCounts() {
+		assertEquals(USERS, count("user_tb"));
+		assertEquals(HISTORIES, count("history_tb"));
+
+		int accounts = count("account_tb");
+		assertTrue(accounts >= USERS && accounts <= MERCHANTS + (USERS - MERCHANTS) * MAX_ACCOUNTS_PER_USER,
+				"계좌 수 " + accounts);
+		// 가맹점 사용자는 계좌 1개
+		assertEquals(MERCHANTS, jdbcTemplate.queryForObject("select count(*) from account_tb a join user_tb u "
+				+ "on a.user_id = u.id where u.username like 'merchant%'", Integer.class));
+	}
+
+	@Test
+	void everyAccountNumberPassesLuhnAndIsNotAllocatedAgain() {
+		List<String> numbers = jdbcTemplate.queryForList("select number from account_tb", String.class);
+		for (String number : numbers) {
+			assertTrue(AccountNumber.isAllocatedFormat(number), number);
+			assertTrue(AccountNumber.isPlausible(number), number);
+		}
+		assertEquals(numbers.size(), numbers.stream().distinct().count());
+
+		// 생성에 쓴 순번은 예약되어 서버 발급 번호와 겹치지 않는다.
+		String allocated = accountNumberAllocator.allocate();
+		assertFalse(numbers.contains(allocated), allocated);
+	}
+
+	@Test
+	void accountBalanceMatchesBalanceAfterItsLastHistory() {
+		Integer mismatches = jdbcTemplate.queryForObject("""
+				select count(*) from account_tb a
+				join history_tb h on h.id = (select max(x.id) from history_tb x
+					where x.w_account_id = a.id or x.d_account_id = a.id)
+				where a.balance != case when h.w_account_id = a.id then h.w_balance else h.d_balance end
+				""", Integer.class);
+		assertEquals(0, mismatches);
+	}
+
+	private int count(String table) {
+		return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+	}
+
+}
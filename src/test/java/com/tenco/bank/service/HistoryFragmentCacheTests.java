@@ -0,0 +1,88 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.dto.HistoryFragmentDTO;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+
+/**
+ * 거래내역 표 조각 캐시 - 거래가 커밋되면 계좌 버전이 올라 옛 조각을 쓰지 않는다.
+ */
+class HistoryFragmentCacheTests {
+
+	private static final int ACCOUNT_ID = 10;
+
+	private final AccountVersionService accountVersionService = new AccountVersionService(true);
+	private final HistoryFragmentCache cache = new HistoryFragmentCache(true, 100, 10_000);
+
+	@Test
+	void newHistoryRowInvalidatesFragment() {
+		long version = accountVersionService.accountVersion(ACCOUNT_ID);
+		HistoryFragmentDTO before = fragment("<tr><td>1</td></tr>");
+		cache.put(ACCOUNT_ID, "all", 1, 5, version, before);
+		assertSame(before, cache.get(ACCOUNT_ID, "all", 1, 5, accountVersionService.accountVersion(ACCOUNT_ID)));
+
+		deposit(ACCOUNT_ID);
+
+		long after = accountVersionService.accountVersion(ACCOUNT_ID);
+		assertNull(cache.get(ACCOUNT_ID, "all", 1, 5, after));
+		HistoryFragmentDTO rebuilt = fragment("<tr><td>2</td></tr><tr><td>1</td></tr>");
+		cache.put(ACCOUNT_ID, "all", 1, 5, after, rebuilt);
+		assertSame(rebuilt, cache.get(ACCOUNT_ID, "all", 1, 5, after));
+		assertEquals(1, cache.readMetrics().getEntries()); // 같은 화면의 옛 조각은 남지 않음
+	}
+
+	@Test
+	void otherAccountKeepsItsFragment() {
+		HistoryFragmentDTO other = fragment("<tr><td>other</td></tr>");
+		cache.put(ACCOUNT_ID + 1, "all", 1, 5, accountVersionService.accountVersion(ACCOUNT_ID + 1), other);
+
+		deposit(ACCOUNT_ID);
+
+		assertSame(other, cache.get(ACCOUNT_ID + 1, "all", 1, 5, accountVersionService.accountVersion(ACCOUNT_ID + 1)));
+	}
+
+	@Test
+	void staleRenderDoesNotOverwriteNewerFragment() {
+		long stale = accountVersionService.accountVersion(ACCOUNT_ID);
+		deposit(ACCOUNT_ID);
+		long current = accountVersionService.accountVersion(ACCOUNT_ID);
+		HistoryFragmentDTO fresh = fragment("<tr><td>new</td></tr>");
+		cache.put(ACCOUNT_ID, "all", 1, 5, current, fresh);
+
+		// 거래 전에 버전을 읽고 늦게 끝난 조회
+		cache.put(ACCOUNT_ID, "all", 1, 5, stale, fragment("<tr><td>old</td></tr>"));
+
+		assertSame(fresh, cache.get(ACCOUNT_ID, "all", 1, 5, current));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedOverCharLimit() {
+		HistoryFragmentCache small = new HistoryFragmentCache(true, 100, 30);
+		small.put(1, "all", 1, 5, 0, fragment("a".repeat(10)));
+		small.put(2, "all", 1, 5, 0, fragment("b".repeat(10)));
+		small.get(1, "all", 1, 5, 0); // 1 을 최근 사용으로
+
+		small.put(3, "all", 1, 5, 0, fragment("c".repeat(15)));
+
+		assertNull(small.get(2, "all", 1, 5, 0));
+		assertEquals(25, small.readMetrics().getChars());
+		assertEquals(1, small.readMetrics().getEvictions());
+	}
+
+	private void deposit(int accountId) {
+		accountVersionService.onHistoryCommitted(AccountHistoryEvent.of("DEPOSIT",
+				History.builder().id(1).amount(1000).dAccountId(accountId).build(), null,
+				Account.builder().id(accountId).userId(1).balance(1000).build()));
+	}
+
+	private HistoryFragmentDTO fragment(String html) {
+		return new HistoryFragmentDTO(html, 1, 1_000, 1_000);
+	}
+
+}
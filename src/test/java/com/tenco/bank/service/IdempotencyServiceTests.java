@@ -0,0 +1,192 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tenco.bank.dto.DepositDTO;
+import com.tenco.bank.dto.WithdrawalDTO;
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.IdempotencyRepository;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 멱등 키 (내장 H2) - 같은 키로 다시 보내도 잔액은 한 번만 바뀌고, 내용이 다르면 409,
+ * 롤백되었거나 보관 기간이 지난 키는 다시 처리한다.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:idempotency;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false" })
+class IdempotencyServiceTests {
+
+	private static final String PASSWORD = "1234";
+	private static final long OPENING_BALANCE = 10_000;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@Autowired
+	private IdempotencyRepository idempotencyRepository;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private static int sequence;
+	private Integer userId;
+	private String number;
+
+	@BeforeEach
+	void setUpAccount() {
+		int n = ++sequence;
+		jdbcTemplate.update("insert into user_tb(username, password, fullname) values(?, ?, ?)", "idem" + n, PASSWORD,
+				"idem" + n);
+		userId = jdbcTemplate.queryForObject("select id from user_tb where username = ?", Integer.class, "idem" + n);
+		number = "IDEM-" + n;
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, ?, ?, ?)", number,
+				PASSWORD, OPENING_BALANCE, userId);
+	}
+
+	@Test
+	void replayDoesNotChangeBalanceAgain() {
+		accountService.updateAccountDeposit(deposit(1_000), userId, "replay");
+
+		// 컨트롤러 확인 (메모리) - 이미 처리된 요청이므로 같은 응답
+		assertTrue(idempotencyService.replayed(userId, "replay", fingerprint(1_000)));
+		// 메모리를 지나친 재시도 (다른 서버, 만료) - 저장된 키를 보고 계좌를 건드리지 않는다.
+		accountService.updateAccountDeposit(deposit(1_000), userId, "replay");
+
+		assertEquals(OPENING_BALANCE + 1_000, balance());
+		assertEquals(1, historyCount());
+	}
+
+	@Test
+	void sameKeyWithDifferentPayloadIsRejected() {
+		accountService.updateAccountDeposit(deposit(1_000), userId, "reused");
+
+		DataDeliveryException memory = assertThrows(DataDeliveryException.class,
+				() -> idempotencyService.replayed(userId, "reused", fingerprint(2_000)));
+		DataDeliveryException store = assertThrows(DataDeliveryException.class,
+				() -> accountService.updateAccountDeposit(deposit(2_000), userId, "reused"));
+
+		assertEquals(HttpStatus.CONFLICT, memory.getStatus());
+		assertEquals(HttpStatus.CONFLICT, store.getStatus());
+		assertEquals(Define.IDEMPOTENCY_KEY_REUSED, store.getMessage());
+		assertEquals(OPENING_BALANCE + 1_000, balance());
+	}
+
+	@Test
+	void racingRequestsPostOnce() throws Exception {
+		int clients = 2;
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				accountService.updateAccountDeposit(deposit(1_000), userId, "race");
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(); // 둘 다 정상 응답 (나중 요청은 앞 요청의 커밋을 기다렸다가 중복으로 끝남)
+		}
+		executor.shutdown();
+
+		assertEquals(OPENING_BALANCE + 1_000, balance());
+		assertEquals(1, historyCount());
+	}
+
+	@Test
+	void failedRequestCanBeRetriedWithSameKey() {
+		WithdrawalDTO withdrawal = new WithdrawalDTO(OPENING_BALANCE + 5_000, number, PASSWORD);
+		assertThrows(DataDeliveryException.class,
+				() -> accountService.updateAccountWithdraw(withdrawal, userId, "retry")); // 잔액 부족 -> 롤백
+		assertFalse(idempotencyService.replayed(userId, "retry",
+				IdempotencyService.fingerprint(Outbox.WITHDRAWAL, number, null, withdrawal.getAmount())));
+
+		accountService.updateAccountDeposit(deposit(5_000), userId, "top-up");
+		accountService.updateAccountWithdraw(withdrawal, userId, "retry");
+
+		assertEquals(0, balance());
+		assertEquals(2, historyCount());
+	}
+
+	@Test
+	void expiredKeyCanBeReused() throws InterruptedException {
+		// 메모리 TTL 1ms, 보관 0시간 -> 정리하면 바로 지워진다.
+		IdempotencyService shortLived = new IdempotencyService(idempotencyRepository, shardRouter, true, 1, 100, 0);
+		assertTrue(claim(shortLived, "expire"));
+		assertFalse(claim(shortLived, "expire"));
+
+		Thread.sleep(20);
+		assertFalse(shortLived.replayed(userId, "expire", fingerprint(1_000)));
+		shortLived.purge();
+
+		assertTrue(claim(shortLived, "expire"));
+	}
+
+	// 거래 트랜잭션 안에서 키만 기록
+	private boolean claim(IdempotencyService service, String key) {
+		Boolean claimed = new TransactionTemplate(transactionManager)
+				.execute(status -> service.claim(userId, key, fingerprint(1_000)));
+		return Boolean.TRUE.equals(claimed);
+	}
+
+	private DepositDTO deposit(long amount) {
+		DepositDTO dto = new DepositDTO();
+		dto.setAmount(amount);
+		dto.setDAccountNumber(number);
+		return dto;
+	}
+
+	private String fingerprint(long amount) {
+		return IdempotencyService.fingerprint(Outbox.DEPOSIT, null, number, amount);
+	}
+
+	private long balance() {
+		return jdbcTemplate.queryForObject("select balance from account_tb where number = ?", Long.class, number);
+	}
+
+	private int historyCount() {
+		return jdbcTemplate.queryForObject(
+				"select count(*) from history_tb h join account_tb a on a.id in (h.w_account_id, h.d_account_id) where a.number = ?",
+				Integer.class, number);
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 이자 지급 배치 (내장 H2)
+ * 이자 입금 거래내역마다 같은 트랜잭션에서 outbox 이벤트가 기록되는지 확인한다.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:interest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=false",
+		"bank.interest.chunk-size=3",
+		"bank.interest.max-accounts-per-second=0" })
+class InterestAccrualServiceTests {
+
+	private static final long BALANCE = 10_000_000L; // 일 이자 547원 (연 2%)
+
+	@Autowired
+	private InterestAccrualService interestAccrualService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void interestPostingsWriteOutboxEvents() {
+		for (int i = 0; i < 7; i++) {
+			jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', ?, 1)",
+					"I-" + i, BALANCE);
+		}
+
+		interestAccrualService.accrue(LocalDate.of(2026, 1, 1));
+		interestAccrualService.accrue(LocalDate.of(2026, 1, 1)); // 같은 기준일은 다시 지급하지 않음
+
+		List<Map<String, Object>> histories = jdbcTemplate
+				.queryForList("select id, d_account_id, amount, d_balance from history_tb order by id");
+		assertEquals(7, histories.size());
+		for (Map<String, Object> history : histories) {
+			Map<String, Object> event = jdbcTemplate.queryForMap(
+					"select event_type, d_account_id, amount, d_balance from outbox_tb where history_id = ?",
+					history.get("id"));
+			assertEquals("DEPOSIT", event.get("event_type"));
+			assertEquals(history.get("d_account_id"), event.get("d_account_id"));
+			assertEquals(history.get("amount"), event.get("amount"));
+			assertEquals(history.get("d_balance"), event.get("d_balance"));
+		}
+		assertEquals(7, jdbcTemplate.queryForObject("select count(*) from outbox_tb", Integer.class));
+		assertEquals(7 * (BALANCE + 547),
+				jdbcTemplate.queryForObject("select sum(balance) from account_tb", Long.class));
+	}
+
+}
@@ -0,0 +1,204 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.tenco.bank.repository.interfaces.OutboxRepository;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.shard.ShardContext;
+import com.tenco.bank.repository.shard.ShardRouter;
+
+/**
+ * outbox relay - 작은 id 가 늦게 커밋되어도 빠뜨리지 않는지, 롤백된 id 는 기다린 뒤 건너뛰는지,
+ * 샤드마다 따로 읽는지
+ */
+class OutboxRelayServiceTests {
+
+	// 샤드별 커밋된 outbox_tb, outbox_offset_tb (mock 은 ShardContext 로 샤드를 고른다)
+	private final Map<Integer, TreeMap<Long, Outbox>> tables = new HashMap<>();
+	private final Map<Integer, Map<String, Long>> shardOffsets = new HashMap<>();
+	private final Map<String, Long> offsets = shardOffsets(0);
+	private final TreeMap<Long, Outbox> table = table(0);
+	private final List<Long> received = new ArrayList<>();
+	private final List<Integer> receivedShards = new ArrayList<>();
+	private OutboxRepository repository;
+	private ShardRouter shardRouter;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(OutboxRepository.class);
+		when(repository.findAfterOffset(anyLong(), anyInt())).thenAnswer(invocation -> {
+			long offset = invocation.getArgument(0);
+			int limit = invocation.getArgument(1);
+			return currentTable().tailMap(offset, false).values().stream().limit(limit).map(this::copy).toList();
+		});
+		when(repository.findByIds(any())).thenAnswer(invocation -> {
+			List<Long> ids = invocation.getArgument(0);
+			TreeMap<Long, Outbox> current = currentTable();
+			return ids.stream().filter(current::containsKey).sorted().map(current::get).map(this::copy).toList();
+		});
+		when(repository.findOffsetBySubscriber(anyString()))
+				.thenAnswer(invocation -> currentOffsets().get(invocation.getArgument(0)));
+		when(repository.insertOffset(anyString(), anyLong())).thenAnswer(invocation -> {
+			currentOffsets().put(invocation.getArgument(0), invocation.getArgument(1));
+			return 1;
+		});
+		when(repository.updateOffset(anyString(), anyLong())).thenAnswer(invocation -> {
+			currentOffsets().put(invocation.getArgument(0), invocation.getArgument(1));
+			return 1;
+		});
+
+		shardRouter = mock(ShardRouter.class);
+		when(shardRouter.getShardCount()).thenReturn(1);
+		when(shardRouter.bind(anyInt())).thenAnswer(invocation -> ShardContext.bind(invocation.getArgument(0)));
+	}
+
+	@Test
+	void lateCommitIsDeliveredAndOffsetWaitsForIt() {
+		OutboxRelayService relay = relay(60_000);
+		commit(1, 2, 4); // 3 은 아직 커밋 전
+
+		relay.relay();
+		assertEquals(List.of(1L, 2L, 4L), received);
+		assertEquals(2L, offsets.get("test"), "gap 앞까지만 저장");
+
+		commit(3);
+		relay.relay();
+		assertEquals(List.of(1L, 2L, 4L, 3L), received);
+		assertEquals(4L, offsets.get("test"));
+
+		relay.relay();
+		assertEquals(4, received.size(), "중복 전달 없음");
+	}
+
+	@Test
+	void rolledBackIdIsSkippedAfterTimeout() {
+		OutboxRelayService relay = relay(0);
+		commit(1, 3); // 2 는 롤백
+
+		relay.relay();
+		assertEquals(List.of(1L, 3L), received);
+		assertEquals(3L, offsets.get("test"));
+		assertEquals(1, relay.readMetrics().getGapsSkipped());
+	}
+
+	@Test
+	void gapsAreRecheckedInRotatingSlices() {
+		OutboxRelayService relay = relay(60_000, 2);
+		commit(1, 3, 5, 7); // 2, 4, 6 은 아직 커밋 전
+		relay.relay();
+
+		commit(2, 4, 6);
+		relay.relay();
+		verify(repository).findByIds(List.of(2L, 4L));
+		assertEquals(List.of(1L, 3L, 5L, 7L, 2L, 4L), received);
+		assertEquals(5L, offsets.get("test"));
+
+		relay.relay();
+		verify(repository).findByIds(List.of(6L));
+		assertEquals(List.of(1L, 3L, 5L, 7L, 2L, 4L, 6L), received);
+		assertEquals(7L, offsets.get("test"));
+	}
+
+	@Test
+	void eachShardHasItsOwnCursorAndOffset() {
+		when(shardRouter.getShardCount()).thenReturn(2);
+		OutboxRelayService relay = relay(60_000);
+		commit(1, 2, 3);
+		commit(table(1), 1, 2); // 1번 샤드 id 는 따로 증가
+
+		relay.relay();
+		assertEquals(List.of(1L, 2L, 3L, 1L, 2L), received);
+		assertEquals(List.of(0, 0, 0, 1, 1), receivedShards);
+		assertEquals(3L, offsets.get("test"));
+		assertEquals(2L, shardOffsets(1).get("test"));
+
+		commit(table(1), 3);
+		relay.relay();
+		assertEquals(List.of(1L, 2L, 3L, 1L, 2L, 3L), received);
+		assertEquals(1, receivedShards.get(5));
+		assertEquals(List.of(3L, 3L), relay.readMetrics().getSubscriberOffsets().get("test"));
+	}
+
+	@Test
+	void metricsDoNotRegisterOffsets() {
+		relay(60_000).readMetrics();
+		verify(repository, never()).insertOffset(anyString(), anyLong());
+	}
+
+	private OutboxRelayService relay(long gapTimeoutMillis) {
+		return relay(gapTimeoutMillis, 500);
+	}
+
+	private OutboxRelayService relay(long gapTimeoutMillis, int gapCheckSize) {
+		OutboxSubscriber subscriber = new OutboxSubscriber() {
+			@Override
+			public String getName() {
+				return "test";
+			}
+
+			@Override
+			public void onEvents(List<Outbox> events) {
+				events.forEach(event -> {
+					received.add(event.getId());
+					receivedShards.add(event.getShard());
+				});
+			}
+		};
+		@SuppressWarnings("unchecked")
+		ObjectProvider<OutboxSubscriber> provider = mock(ObjectProvider.class);
+		when(provider.orderedStream()).thenReturn(Stream.of(subscriber));
+		return new OutboxRelayService(repository, shardRouter, provider, 500, 20, gapTimeoutMillis, 10_000, gapCheckSize);
+	}
+
+	private void commit(long... ids) {
+		commit(table, ids);
+	}
+
+	private void commit(TreeMap<Long, Outbox> target, long... ids) {
+		for (long id : ids) {
+			target.put(id, Outbox.builder().id(id).eventType(Outbox.DEPOSIT).historyId((int) id).amount(1L).build());
+		}
+	}
+
+	private TreeMap<Long, Outbox> table(int shard) {
+		return tables.computeIfAbsent(shard, key -> new TreeMap<>());
+	}
+
+	private Map<String, Long> shardOffsets(int shard) {
+		return shardOffsets.computeIfAbsent(shard, key -> new TreeMap<>());
+	}
+
+	private TreeMap<Long, Outbox> currentTable() {
+		return table(ShardContext.current());
+	}
+
+	private Map<String, Long> currentOffsets() {
+		return shardOffsets(ShardContext.current());
+	}
+
+	// DB 에서 새로 읽은 것처럼 매번 다른 객체 (relay 가 shard 를 채운다)
+	private Outbox copy(Outbox event) {
+		return Outbox.builder().id(event.getId()).eventType(event.getEventType()).historyId(event.getHistoryId())
+				.amount(event.getAmount()).build();
+	}
+
+}
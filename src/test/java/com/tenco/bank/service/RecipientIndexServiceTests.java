@@ -0,0 +1,147 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.dto.RecipientDTO;
+import com.tenco.bank.repository.interfaces.AccountRepository;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.model.Account;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.Outbox;
+import com.tenco.bank.repository.model.RecentCounterparty;
+import com.tenco.bank.repository.shard.ShardRouter;
+
+/**
+ * 이체 자동완성 색인 - 정렬된 배열에서 접두어 조회, 커밋된 이체로 갱신, 샤드별 최근 이체 합치기 (DB 는 mock)
+ */
+class RecipientIndexServiceTests {
+
+	private static final int USER_ID = 1;
+	private static final int OTHER_USER_ID = 2;
+	private static final int MAX_RECENT = 3;
+
+	private static final String OWN_1 = "100000000017";
+	private static final String OWN_2 = "100000000025";
+	private static final String RECENT_1 = "100000000033";
+	private static final String RECENT_2 = "200000000012";
+
+	private AccountRepository accountRepository;
+	private HistoryRepository historyRepository;
+	private int shardCount;
+	private RecipientIndexService recipientIndexService;
+
+	@BeforeEach
+	void setUp() {
+		accountRepository = mock(AccountRepository.class);
+		historyRepository = mock(HistoryRepository.class);
+		ShardRouter shardRouter = mock(ShardRouter.class);
+		shardCount = 1;
+		// 샤드 수만큼 조회해 이어 붙인다. (ShardRouter.collectFromAllShards 와 같은 순서)
+		when(shardRouter.collectFromAllShards(any())).thenAnswer(invocation -> {
+			Supplier<List<?>> action = invocation.getArgument(0);
+			List<Object> result = new ArrayList<>();
+			for (int shard = 0; shard < shardCount; shard++) {
+				result.addAll(action.get());
+			}
+			return result;
+		});
+
+		when(accountRepository.findByUserId(USER_ID)).thenReturn(List.of(account(1, OWN_2), account(2, OWN_1)));
+		when(historyRepository.findRecentCounterparties(eq(USER_ID), anyInt()))
+				.thenReturn(List.of(recent(RECENT_1, 10), recent(RECENT_2, 20)));
+
+		recipientIndexService = new RecipientIndexService(accountRepository, historyRepository, shardRouter, MAX_RECENT,
+				60_000);
+	}
+
+	@Test
+	void prefixSearchReturnsNumbersInOrder() {
+		assertEquals(List.of(new RecipientDTO(OWN_1, true), new RecipientDTO(OWN_2, true),
+				new RecipientDTO(RECENT_1, false), new RecipientDTO(RECENT_2, false)),
+				recipientIndexService.search(USER_ID, "", 10));
+
+		assertEquals(List.of(OWN_1, OWN_2, RECENT_1), numbers(recipientIndexService.search(USER_ID, "1000", 10)));
+		assertEquals(List.of(OWN_2), numbers(recipientIndexService.search(USER_ID, "10000000002", 10)));
+		assertEquals(List.of(RECENT_2), numbers(recipientIndexService.search(USER_ID, "2", 10)));
+		assertEquals(List.of(), recipientIndexService.search(USER_ID, "3", 10));
+		assertEquals(List.of(), recipientIndexService.search(USER_ID, "1000000000171", 10)); // 번호보다 긴 접두어
+		assertEquals(List.of(OWN_1, OWN_2), numbers(recipientIndexService.search(USER_ID, "1", 2)));
+
+		assertEquals(1, recipientIndexService.readMetrics().getLoads());
+	}
+
+	@Test
+	void committedTransferUpdatesIndexWithoutReload() {
+		recipientIndexService.search(USER_ID, "", 10);
+
+		String newRecipient = "300000000019";
+		recipientIndexService.onHistoryCommitted(transfer(USER_ID, OWN_1, OTHER_USER_ID, newRecipient));
+		// 내 계좌 사이 이체, 입금 계좌 소유자를 모르는 이체(샤드 간)는 최근 이체에 넣지 않는다.
+		recipientIndexService.onHistoryCommitted(transfer(USER_ID, OWN_1, USER_ID, OWN_2));
+		recipientIndexService.onHistoryCommitted(transfer(USER_ID, OWN_1, null, "400000000016"));
+
+		assertEquals(List.of(new RecipientDTO(newRecipient, false)), recipientIndexService.search(USER_ID, "3", 10));
+		assertEquals(List.of(), recipientIndexService.search(USER_ID, "4", 10));
+
+		// 최근 이체는 MAX_RECENT 건까지 - 가장 오래된 RECENT_2 가 빠진다.
+		recipientIndexService.onHistoryCommitted(transfer(USER_ID, OWN_1, OTHER_USER_ID, "500000000013"));
+		assertEquals(List.of(), recipientIndexService.search(USER_ID, "2", 10));
+		assertEquals(List.of(OWN_1, OWN_2, RECENT_1), numbers(recipientIndexService.search(USER_ID, "1", 10)));
+
+		assertEquals(1, recipientIndexService.readMetrics().getLoads());
+		assertEquals(2, recipientIndexService.readMetrics().getUpdates());
+	}
+
+	@Test
+	void shardedRecentTransfersAreMergedByRecency() {
+		shardCount = 2;
+		// 샤드마다 최근 순이지만 이어 붙인 결과는 전체 최근 순이 아니다. (600000000025 는 두 샤드에서 이체)
+		when(historyRepository.findRecentCounterparties(eq(USER_ID), anyInt()))
+				.thenReturn(List.of(recent("600000000017", 5), recent("600000000025", 60)))
+				.thenReturn(List.of(recent("700000000011", 10), recent("700000000029", 20), recent("600000000025", 30)));
+		when(accountRepository.findByUserId(USER_ID)).thenReturn(List.of(account(1, OWN_1))).thenReturn(List.of());
+
+		// 최근 3건 = 5초, 10초, 20초 전 -> 30초 전에 이체한 600000000025 는 빠진다.
+		assertEquals(List.of(OWN_1, "600000000017", "700000000011", "700000000029"),
+				numbers(recipientIndexService.search(USER_ID, "", 10)));
+
+		// 새 이체가 들어오면 합친 순서 기준으로 가장 오래된 700000000029 가 빠진다.
+		recipientIndexService.addRecent(USER_ID, "800000000015");
+		assertEquals(List.of(OWN_1, "600000000017", "700000000011", "800000000015"),
+				numbers(recipientIndexService.search(USER_ID, "", 10)));
+	}
+
+	private static List<String> numbers(List<RecipientDTO> recipients) {
+		return recipients.stream().map(RecipientDTO::getNumber).toList();
+	}
+
+	private static Account account(int id, String number) {
+		return Account.builder().id(id).number(number).balance(0L).userId(USER_ID).build();
+	}
+
+	private static RecentCounterparty recent(String number, long secondsAgo) {
+		return new RecentCounterparty(number, new Timestamp(System.currentTimeMillis() - secondsAgo * 1_000));
+	}
+
+	private static AccountHistoryEvent transfer(Integer fromUserId, String fromNumber, Integer toUserId,
+			String toNumber) {
+		History history = History.builder().id(1).amount(1_000L).wAccountId(1).dAccountId(2).build();
+		Account withdrawAccount = Account.builder().id(1).number(fromNumber).balance(0L).userId(fromUserId).build();
+		Account depositAccount = Account.builder().id(2).number(toNumber).balance(1_000L).userId(toUserId).build();
+		return AccountHistoryEvent.of(Outbox.TRANSFER, history, withdrawAccount, depositAccount);
+	}
+
+}
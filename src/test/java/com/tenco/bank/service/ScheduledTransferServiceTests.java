@@ -0,0 +1,113 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.tenco.bank.utils.Define;
+
+/**
+ * 예약 이체 실행 (내장 H2, 로더와 tick 을 짧게 실제로 돌린다)
+ * 실행 시각이 지난 예약이 휠에 올라오는지, 실행할 때 출금 계좌 주인을 다시 확인하는지 본다.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:scheduled;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:db/table.sql",
+		"mybatis.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+		"logging.level.org.apache.ibatis=INFO",
+		"bank.scheduled.enabled=true",
+		"bank.scheduled.tick-ms=100",
+		"bank.scheduled.load-interval-ms=200",
+		"bank.scheduled.overdue-after-ms=1000" })
+class ScheduledTransferServiceTests {
+
+	private static final long WAIT_MILLIS = 10_000;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void overdueRowMissedByTheLoaderIsExecuted() throws InterruptedException {
+		account("S-1", 10_000, 1);
+		account("S-2", 0, 2);
+		Thread.sleep(500); // 첫 로딩이 지나간 뒤 다른 서버가 등록하고 내려간 것처럼 지난 시각으로 넣는다.
+
+		int id = schedule(1, "S-1", "S-2", 3_000, System.currentTimeMillis() - 60_000);
+
+		assertEquals("DONE", waitFor(() -> status(id), "DONE"));
+		assertEquals(7_000L, balance("S-1"));
+		assertEquals(3_000L, balance("S-2"));
+	}
+
+	@Test
+	void executionRechecksTheWithdrawAccountOwner() {
+		account("S-3", 10_000, 3);
+		account("S-4", 0, 4);
+		// 등록한 사용자(4)가 더 이상 출금 계좌 주인이 아님
+		int id = schedule(4, "S-3", "S-4", 3_000, System.currentTimeMillis() + 300);
+
+		assertEquals("FAILED", waitFor(() -> status(id), "FAILED"));
+		assertEquals(Define.NOT_ACCOUNT_OWNER, jdbcTemplate
+				.queryForObject("select last_message from scheduled_transfer_tb where id = ?", String.class, id));
+		assertEquals(10_000L, balance("S-3"));
+	}
+
+	private void account(String number, long balance, int userId) {
+		jdbcTemplate.update("insert into account_tb(number, password, balance, user_id) values(?, '1234', ?, ?)",
+				number, balance, userId);
+	}
+
+	private int schedule(int userId, String from, String to, long amount, long runAtMillis) {
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.update(connection -> {
+			var statement = connection.prepareStatement("insert into scheduled_transfer_tb(user_id, w_account_number, "
+					+ "d_account_number, amount, next_run_at, status) values(?, ?, ?, ?, ?, 'ACTIVE')",
+					new String[] { "id" });
+			statement.setInt(1, userId);
+			statement.setString(2, from);
+			statement.setString(3, to);
+			statement.setLong(4, amount);
+			statement.setTimestamp(5, new Timestamp(runAtMillis / 1000 * 1000));
+			return statement;
+		}, keyHolder);
+		return keyHolder.getKey().intValue();
+	}
+
+	private String status(int id) {
+		Map<String, Object> row = jdbcTemplate.queryForMap("select status from scheduled_transfer_tb where id = ?", id);
+		return (String) row.get("status");
+	}
+
+	private long balance(String number) {
+		return jdbcTemplate.queryForObject("select balance from account_tb where number = ?", Long.class, number);
+	}
+
+	private static <T> T waitFor(Supplier<T> value, T expected) {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		T current = value.get();
+		while (!expected.equals(current) && System.currentTimeMillis() < deadline) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return current;
+			}
+			current = value.get();
+		}
+		return current;
+	}
+
+}
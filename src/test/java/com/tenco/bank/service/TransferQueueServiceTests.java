@@ -0,0 +1,83 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.dto.TransferDTO;
+import com.tenco.bank.dto.TransferTicketDTO;
+
+/**
+ * 비동기 이체 파티션 - 같은 계좌(출금이든 입금이든)의 이체가 동시에 실행되지 않고 접수 순서대로 실행되는지
+ */
+class TransferQueueServiceTests {
+
+	private static final int ACCOUNTS = 8;
+	private static final int TRANSFERS = 2_000;
+
+	@Test
+	void eachAccountIsChangedByOneWorkerInSubmissionOrder() throws Exception {
+		Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+		Map<String, List<Integer>> applied = new ConcurrentHashMap<>();
+		AtomicInteger overlaps = new AtomicInteger();
+
+		AccountService accountService = mock(AccountService.class);
+		doAnswer(invocation -> {
+			TransferDTO dto = invocation.getArgument(0);
+			String[] accounts = { dto.getWAccountNumber(), dto.getDAccountNumber() };
+			for (String account : accounts) {
+				if (running.computeIfAbsent(account, key -> new AtomicInteger()).incrementAndGet() > 1) {
+					overlaps.incrementAndGet();
+				}
+			}
+			for (String account : accounts) {
+				applied.computeIfAbsent(account, key -> new ArrayList<>()).add((int) dto.getAmount());
+				running.get(account).decrementAndGet();
+			}
+			return null;
+		}).when(accountService).updateAccountTransfer(any(TransferDTO.class), anyInt());
+
+		TransferQueueService service = new TransferQueueService(accountService, 4, TRANSFERS, TRANSFERS);
+		Map<String, List<Integer>> submitted = new ConcurrentHashMap<>();
+		List<TransferTicketDTO> tickets = new ArrayList<>();
+		SplittableRandom random = new SplittableRandom(1);
+		for (int i = 0; i < TRANSFERS; i++) {
+			int from = random.nextInt(ACCOUNTS);
+			int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+			TransferDTO dto = new TransferDTO();
+			dto.setAmount(i); // 접수 순번
+			dto.setWAccountNumber("Q-" + from);
+			dto.setDAccountNumber("Q-" + to);
+			submitted.computeIfAbsent(dto.getWAccountNumber(), key -> new ArrayList<>()).add(i);
+			submitted.computeIfAbsent(dto.getDAccountNumber(), key -> new ArrayList<>()).add(i);
+			tickets.add(service.submit(dto, 1));
+		}
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		for (TransferTicketDTO ticket : tickets) {
+			while (!ticket.isFinished()) {
+				assertTrue(System.nanoTime() < deadline, "모든 이체가 끝나야 한다 (교착 없음)");
+				Thread.sleep(1);
+			}
+			assertEquals(TransferTicketDTO.Status.DONE, ticket.getStatus());
+		}
+		service.shutdown();
+
+		assertEquals(0, overlaps.get(), "같은 계좌 이체가 동시에 실행됨");
+		assertEquals(submitted, applied, "계좌별 접수 순서 = 실행 순서");
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.tenco.bank.service;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tenco.bank.Benchmark;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.interfaces.TransferSagaRepository;
+import com.tenco.bank.repository.shard.ShardRouter;
+
+/**
+ * 출금 한도 검사 + 예약 비용 (트랜잭션 밖, 계좌 10,000개에 고르게) - 요청마다 history_tb 를 합산하는 대신
+ * 메모리 카운터로 검사할 때의 1회 비용과 계좌 하나당 할당량을 잰다. (-Dbench.reserves)
+ */
+@Tag(Benchmark.TAG)
+class VelocityLimiterBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(VelocityLimiterBenchmarkTests.class);
+	private static final int ACCOUNTS = 10_000;
+	private static final int RESERVES = Benchmark.iterations("reserves", 2_000_000);
+
+	@Test
+	void reserveCost() throws Exception {
+		VelocityLimiter limiter = new VelocityLimiter(mock(HistoryRepository.class), mock(TransferSagaRepository.class),
+				mock(ShardRouter.class), Long.MAX_VALUE, Long.MAX_VALUE);
+		SplittableRandom random = new SplittableRandom(42);
+
+		int[] nextAccountId = { 0 }; // 워밍업, 측정 모두 새 계좌
+		double perAccountBytes = Benchmark.bytesPerOp(ACCOUNTS, () -> {
+			for (int i = 0; i < ACCOUNTS; i++) {
+				limiter.reserve(nextAccountId[0]++, 1);
+			}
+		});
+		double reserve = Benchmark.nanosPerOp(RESERVES, () -> limiter.reserve(random.nextInt(ACCOUNTS), 1_000));
+		log.info("출금 한도 reserve ns {}, 처음 보는 계좌 하나당 할당 bytes {}", String.format("%.1f", reserve),
+				String.format("%.0f", perAccountBytes));
+	}
+
+}
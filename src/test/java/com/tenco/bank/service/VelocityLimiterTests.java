@@ -0,0 +1,182 @@
+package com.tenco.bank.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tenco.bank.handler.exception.DataDeliveryException;
+import com.tenco.bank.repository.interfaces.HistoryRepository;
+import com.tenco.bank.repository.interfaces.TransferSagaRepository;
+import com.tenco.bank.repository.model.History;
+import com.tenco.bank.repository.model.TransferSaga;
+import com.tenco.bank.repository.shard.ShardRouter;
+import com.tenco.bank.utils.Define;
+
+/**
+ * 출금 한도 - 예약, 롤백/환불 시 되돌리기, 서버 시작 시 복원, 정리 작업과 동시 예약
+ */
+class VelocityLimiterTests {
+
+	private static final int ACCOUNT_ID = 7;
+	private static final long HOURLY_LIMIT = 1_000;
+
+	private HistoryRepository historyRepository;
+	private TransferSagaRepository transferSagaRepository;
+	private ShardRouter shardRouter;
+	private VelocityLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		historyRepository = mock(HistoryRepository.class);
+		transferSagaRepository = mock(TransferSagaRepository.class);
+		shardRouter = mock(ShardRouter.class);
+		when(shardRouter.getShardCount()).thenReturn(1);
+		when(shardRouter.callInNewTransaction(anyInt(), anyBoolean(), any()))
+				.thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+		limiter = new VelocityLimiter(historyRepository, transferSagaRepository, shardRouter, HOURLY_LIMIT, 0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void reserveRejectsAmountOverTheLimit() {
+		limiter.reserve(ACCOUNT_ID, 600);
+
+		DataDeliveryException e = assertThrows(DataDeliveryException.class, () -> limiter.reserve(ACCOUNT_ID, 500));
+		assertEquals(Define.EXCEED_HOURLY_LIMIT, e.getMessage());
+		assertDoesNotThrow(() -> limiter.reserve(ACCOUNT_ID, 400));
+	}
+
+	@Test
+	void rolledBackReservationIsReturned() {
+		TransactionSynchronizationManager.initSynchronization();
+		limiter.reserve(ACCOUNT_ID, 1_000);
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertDoesNotThrow(() -> limiter.reserve(ACCOUNT_ID, 1_000));
+	}
+
+	@Test
+	void compensationReleasesTheReservationAfterCommit() {
+		long reservedAt = System.currentTimeMillis();
+		limiter.reserve(ACCOUNT_ID, 1_000);
+
+		TransactionSynchronizationManager.initSynchronization();
+		limiter.release(ACCOUNT_ID, 1_000, reservedAt);
+		assertThrows(DataDeliveryException.class, () -> limiter.reserve(ACCOUNT_ID, 1)); // 커밋 전
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertDoesNotThrow(() -> limiter.reserve(ACCOUNT_ID, 1_000));
+	}
+
+	@Test
+	void rebuildCountsOutflowAndSkipsCompensatedSagas() {
+		long now = System.currentTimeMillis();
+		doAnswer(invocation -> {
+			ResultHandler<History> handler = invocation.getArgument(1);
+			DefaultResultContext<History> context = new DefaultResultContext<>();
+			context.nextResultObject(outflow(now - 1_000, 700));
+			handler.handleResult(context);
+			context.nextResultObject(outflow(now - 500, 300));
+			handler.handleResult(context);
+			return null;
+		}).when(historyRepository).findOutflowSince(any(), any());
+		when(transferSagaRepository.findByStatusSince(eq(TransferSaga.COMPENSATED), any())).thenReturn(List.of(
+				TransferSaga.builder().wAccountId(ACCOUNT_ID).amount(300).createdAt(new Timestamp(now - 500)).build()));
+
+		limiter.rebuild();
+
+		assertThrows(DataDeliveryException.class, () -> limiter.reserve(ACCOUNT_ID, 301));
+		assertDoesNotThrow(() -> limiter.reserve(ACCOUNT_ID, 300));
+	}
+
+	@Test
+	void rebuildSurvivesUnavailableDatabase() {
+		doThrow(new CannotCreateTransactionException("connection refused")).when(shardRouter)
+				.callInNewTransaction(anyInt(), anyBoolean(), any());
+
+		assertDoesNotThrow(limiter::rebuild);
+		assertDoesNotThrow(() -> limiter.reserve(ACCOUNT_ID, HOURLY_LIMIT));
+	}
+
+	@Test
+	void sweepRunningAlongsideReserveDoesNotLoseReservations() throws Exception {
+		int threads = 4;
+		int attemptsPerThread = 1_000;
+		AtomicInteger accepted = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+		try {
+			for (int t = 0; t < threads; t++) {
+				executor.submit(() -> {
+					for (int i = 0; i < attemptsPerThread; i++) {
+						try {
+							limiter.reserve(ACCOUNT_ID, 1);
+							accepted.incrementAndGet();
+						} catch (DataDeliveryException e) {
+							// 한도 초과
+						}
+					}
+				});
+			}
+			executor.submit(() -> {
+				for (int i = 0; i < attemptsPerThread; i++) {
+					limiter.sweep();
+				}
+			});
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(30, TimeUnit.SECONDS);
+		}
+
+		// 정리 작업이 지운 카운터에 예약했다면 한도보다 많이 받아들인다.
+		assertEquals(HOURLY_LIMIT, accepted.get());
+		limiter.sweep();
+		assertThrows(DataDeliveryException.class, () -> limiter.reserve(ACCOUNT_ID, 1));
+	}
+
+	private History outflow(long createdAt, long amount) {
+		return History.builder().wAccountId(ACCOUNT_ID).amount(amount).createdAt(new Timestamp(createdAt)).build();
+	}
+
+	private void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		for (TransactionSynchronization synchronization : synchronizations) {
+			if (status == TransactionSynchronization.STATUS_COMMITTED) {
+				synchronization.afterCommit();
+			}
+			synchronization.afterCompletion(status);
+		}
+	}
+
+}
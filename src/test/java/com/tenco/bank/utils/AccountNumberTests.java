@@ -0,0 +1,69 @@
+package com.tenco.bank.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 발급 계좌번호 - Luhn 검사 숫자와 오타 거르기
+ */
+class AccountNumberTests {
+
+	@Test
+	void knownVectors() {
+		assertEquals("100000000008", AccountNumber.of(AccountNumber.FIRST_SEQUENCE));
+		assertEquals("100000000016", AccountNumber.of(AccountNumber.FIRST_SEQUENCE + 1));
+		assertEquals("999999999991", AccountNumber.of(AccountNumber.LAST_SEQUENCE));
+		// 널리 쓰이는 Luhn 예시 79927398713 (앞에 0 을 붙여도 합은 같다)
+		assertTrue(AccountNumber.isPlausible("079927398713"));
+		assertFalse(AccountNumber.isPlausible("079927398710"));
+	}
+
+	@Test
+	void rejectsEverySingleDigitTypo() {
+		String number = AccountNumber.of(12_345_678_901L);
+		assertTrue(AccountNumber.isPlausible(number));
+
+		char[] digits = number.toCharArray();
+		for (int i = 0; i < digits.length; i++) {
+			char original = digits[i];
+			for (char typo = '0'; typo <= '9'; typo++) {
+				if (typo == original) {
+					continue;
+				}
+				digits[i] = typo;
+				assertFalse(AccountNumber.isPlausible(new String(digits)), new String(digits));
+			}
+			digits[i] = original;
+		}
+	}
+
+	@Test
+	void rejectsAdjacentSwap() {
+		String number = AccountNumber.of(12_345_678_901L);
+		char[] digits = number.toCharArray();
+		char first = digits[2];
+		digits[2] = digits[3];
+		digits[3] = first;
+
+		assertFalse(AccountNumber.isPlausible(new String(digits)));
+	}
+
+	@Test
+	void legacyNumbersAreNotChecked() {
+		assertTrue(AccountNumber.isPlausible("1111"));
+		assertTrue(AccountNumber.isPlausible("1002-1234"));
+		assertFalse(AccountNumber.isAllocatedFormat("1002-1234"));
+		assertFalse(AccountNumber.isAllocatedFormat("10000000000a"));
+	}
+
+	@Test
+	void sequenceOutOfRange() {
+		assertThrows(IllegalStateException.class, () -> AccountNumber.of(AccountNumber.FIRST_SEQUENCE - 1));
+		assertThrows(IllegalStateException.class, () -> AccountNumber.of(AccountNumber.LAST_SEQUENCE + 1));
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.tenco.bank.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 동시 처리 한도 - 응답 시간이 기준과 같으면 늘고, 느려지면 줄고, 한가하면 그대로
+ * (smoothing 1 -> 창(windowSize 개 응답) 하나마다 newLimit 이 바로 반영된다)
+ */
+class AdaptiveConcurrencyLimiterTests {
+
+	private static final long FAST = 1_000_000; // 1ms
+	private static final long SLOW = 4_000_000; // 4ms
+
+	@Test
+	void rejectsAboveTheLimit() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 1.0, 100);
+
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+
+		limiter.releaseWithoutSample();
+		assertEquals(1, limiter.getInflight());
+		assertTrue(limiter.tryAcquire());
+	}
+
+	@Test
+	void limitGrowsWhileLatencyStaysAtBaseline() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 4, 100, 1.0, 1.0, 16);
+
+		window(limiter, 16, FAST); // 16 * 1 + sqrt(16)
+		assertEquals(20, limiter.getLimit());
+		window(limiter, 16, FAST); // 20 + sqrt(20)
+		assertEquals(24, limiter.getLimit());
+		assertEquals(1.0, limiter.getLongRttMillis(), 0.001);
+	}
+
+	@Test
+	void limitShrinksWhenLatencyExceedsTolerance() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 4, 100, 1.0, 1.0, 16);
+		window(limiter, 16, FAST);
+		int before = limiter.getLimit();
+
+		window(limiter, 16, SLOW); // gradient = 1ms / 4ms -> 하한 0.5
+
+		int expected = (int) (before * 0.5 + Math.sqrt(before));
+		assertEquals(expected, limiter.getLimit());
+		assertEquals(4.0, limiter.getShortRttMillis(), 0.001);
+	}
+
+	@Test
+	void limitStaysWithinMinAndMax() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 12, 18, 1.0, 1.0, 16);
+		window(limiter, 16, FAST);
+		assertEquals(18, limiter.getLimit());
+		for (int i = 0; i < 5; i++) {
+			window(limiter, 12, SLOW * 100);
+		}
+		assertEquals(12, limiter.getLimit());
+	}
+
+	@Test
+	void idleTrafficDoesNotRaiseTheLimit() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 4, 100, 1.0, 1.0, 16);
+
+		for (int i = 0; i < 64; i++) { // 한 번에 한 건씩 -> 한도의 절반도 쓰지 않음
+			assertTrue(limiter.tryAcquire());
+			limiter.release(FAST);
+		}
+
+		assertEquals(16, limiter.getLimit());
+	}
+
+	// concurrency 개를 동시에 잡았다가 rtt 로 반납 (창 하나)
+	private void window(AdaptiveConcurrencyLimiter limiter, int concurrency, long rttNanos) {
+		for (int i = 0; i < concurrency; i++) {
+			assertTrue(limiter.tryAcquire());
+		}
+		for (int i = 0; i < concurrency; i++) {
+			limiter.release(rttNanos);
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.tenco.bank.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 슬라이딩 윈도우 합계 - 1시간 / 60 버킷 (1분 단위)
+ */
+class SlidingWindowCounterTests {
+
+	private static final long MINUTE = 60_000L;
+	private static final long HOUR = 60 * MINUTE;
+	private static final long T0 = 1_000 * HOUR; // 버킷 경계
+
+	@Test
+	void oldBucketsLeaveTheWindow() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(HOUR, 60);
+		counter.add(T0, 100);
+		counter.add(T0 + 30 * MINUTE, 50);
+
+		assertEquals(150, counter.sum(T0 + 59 * MINUTE));
+		assertEquals(50, counter.sum(T0 + 60 * MINUTE)); // 첫 버킷이 밀려남
+		assertEquals(0, counter.sum(T0 + 3 * HOUR));
+		assertTrue(counter.isEmpty(T0 + 3 * HOUR));
+	}
+
+	@Test
+	void addOutsideTheWindowIsIgnored() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(HOUR, 60);
+		counter.add(T0 + HOUR, 10);
+
+		assertEquals(-1, counter.add(T0, 100));
+		assertEquals(10, counter.sum(T0 + HOUR));
+	}
+
+	@Test
+	void subtractRevertsTheReservedBucket() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(HOUR, 60);
+		long bucket = counter.add(T0, 100);
+		counter.add(T0 + MINUTE, 40);
+
+		counter.subtract(bucket, 100);
+
+		assertEquals(40, counter.sum(T0 + MINUTE));
+	}
+
+	@Test
+	void removeByTimeNeverGoesBelowTheBucketValue() {
+		SlidingWindowCounter counter = new SlidingWindowCounter(HOUR, 60);
+		counter.add(T0, 100);
+		counter.add(T0 + MINUTE, 40);
+
+		counter.remove(T0 + 10, 30); // 같은 버킷 안의 다른 시각
+		assertEquals(110, counter.sum(T0 + MINUTE));
+
+		counter.remove(T0, 500); // 버킷에 남은 70 만 뺀다.
+		assertEquals(40, counter.sum(T0 + MINUTE));
+
+		counter.remove(T0 + 2 * MINUTE, 40); // 아직 오지 않은 버킷 -> 무시
+		assertEquals(40, counter.sum(T0 + MINUTE));
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.tenco.bank.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 토큰 버킷 - 시각은 nanoTime 값을 직접 넘긴다.
+ */
+class TokenBucketTests {
+
+	private static final long SECOND = 1_000_000_000L;
+	private static final long T0 = 5 * SECOND;
+
+	@Test
+	void burstUpToCapacityThenReject() {
+		TokenBucket bucket = new TokenBucket(3, 1, T0);
+
+		assertTrue(bucket.tryConsume(T0));
+		assertTrue(bucket.tryConsume(T0));
+		assertTrue(bucket.tryConsume(T0));
+		assertFalse(bucket.tryConsume(T0));
+		assertEquals(1_000, bucket.millisUntilNext(T0));
+	}
+
+	@Test
+	void refillsByElapsedTime() {
+		TokenBucket bucket = new TokenBucket(2, 4, T0); // 250ms 마다 1개
+		bucket.tryConsume(T0);
+		bucket.tryConsume(T0);
+
+		assertFalse(bucket.tryConsume(T0 + SECOND / 5)); // 0.8개
+		assertEquals(50, bucket.millisUntilNext(T0 + SECOND / 5));
+		assertTrue(bucket.tryConsume(T0 + SECOND / 4));
+		assertFalse(bucket.tryConsume(T0 + SECOND / 4));
+	}
+
+	@Test
+	void refillStopsAtCapacity() {
+		TokenBucket bucket = new TokenBucket(2, 10, T0);
+		bucket.tryConsume(T0);
+
+		assertTrue(bucket.isFull(T0 + 60 * SECOND));
+		assertTrue(bucket.tryConsume(T0 + 60 * SECOND));
+		assertTrue(bucket.tryConsume(T0 + 60 * SECOND));
+		assertFalse(bucket.tryConsume(T0 + 60 * SECOND)); // 1분 쉬어도 2개까지만
+	}
+
+	@Test
+	void clockGoingBackwardDoesNotRemoveTokens() {
+		TokenBucket bucket = new TokenBucket(1, 1, T0);
+
+		assertTrue(bucket.tryConsume(T0 - SECOND));
+		assertFalse(bucket.tryConsume(T0 - SECOND));
+		assertTrue(bucket.tryConsume(T0 + SECOND));
+	}
+
+}
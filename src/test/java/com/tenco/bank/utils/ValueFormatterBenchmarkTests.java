@@ -0,0 +1,81 @@
+package com.tenco.bank.utils;
+
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tenco.bank.Benchmark;
+import com.tenco.bank.repository.model.HistoryAccount;
+
+/**
+ * 거래내역 1,000행 페이지 포맷 비용 - 호출마다 SimpleDateFormat, DecimalFormat 생성 / 공유 포맷터
+ * 행마다 detail.jsp 처럼 시간 1번, 금액 2번을 포맷한다. (-Dbench.pages)
+ */
+@Tag(Benchmark.TAG)
+class ValueFormatterBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(ValueFormatterBenchmarkTests.class);
+	private static final int ROWS_PER_PAGE = 1_000;
+	private static final int PAGES = Benchmark.iterations("pages", 2_000);
+
+	private static long sink;
+
+	@Test
+	void historyPageFormattingCost() throws Exception {
+		List<HistoryAccount> page = samplePage();
+
+		double legacy = Benchmark.nanosPerOp(PAGES, () -> {
+			for (HistoryAccount row : page) {
+				sink += legacyTimestamp(row.getCreatedAt()).length();
+				sink += legacyWon(row.getAmount()).length();
+				sink += legacyWon(row.getBalance()).length();
+			}
+		});
+		double shared = Benchmark.nanosPerOp(PAGES, () -> {
+			for (HistoryAccount row : page) {
+				sink += row.timestampToString(row.getCreatedAt()).length();
+				sink += row.formatKoreanWon(row.getAmount()).length();
+				sink += row.formatKoreanWon(row.getBalance()).length();
+			}
+		});
+		log.info("{}행 페이지 포맷 us - 매번 생성 {}, 공유 포맷터 {}", ROWS_PER_PAGE, String.format("%.1f", legacy / 1_000),
+				String.format("%.1f", shared / 1_000));
+	}
+
+	private List<HistoryAccount> samplePage() {
+		SplittableRandom random = new SplittableRandom(42);
+		long now = System.currentTimeMillis();
+		List<HistoryAccount> rows = new ArrayList<>(ROWS_PER_PAGE);
+		for (int i = 0; i < ROWS_PER_PAGE; i++) {
+			rows.add(HistoryAccount.builder()
+					.id(i)
+					.amount((1 + random.nextLong(100_000)) * 100)
+					.balance(random.nextLong(10_000_000_000L))
+					.sender("1111")
+					.receiver("2222")
+					.createdAt(new Timestamp(now - random.nextLong(365L * 24 * 60 * 60 * 1000)))
+					.build());
+		}
+		return rows;
+	}
+
+	// 변경 전 ValueFormatter
+	private static String legacyTimestamp(Timestamp timestamp) {
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-mm-dd HH:mm:ss");
+		return sdf.format(timestamp);
+	}
+
+	private static String legacyWon(Long amount) {
+		DecimalFormat df = new DecimalFormat("#, ###");
+		return df.format(amount) + " 원";
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.tenco.bank.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.text.DecimalFormat;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.tenco.bank.repository.model.HistoryAccount;
+
+class ValueFormatterTests {
+
+	@Test
+	void formatsLikeDecimalFormat() {
+		DecimalFormat reference = new DecimalFormat("#,###");
+		long[] values = { 0, 7, -7, 999, 1_000, -1_000, 123_456, 1_234_567, Long.MAX_VALUE, Long.MIN_VALUE };
+		for (long value : values) {
+			assertEquals(reference.format(value) + " 원", ValueFormatter.formatWon(value));
+		}
+		SplittableRandom random = new SplittableRandom(1);
+		for (int i = 0; i < 100_000; i++) {
+			long value = random.nextLong();
+			assertEquals(reference.format(value) + " 원", ValueFormatter.formatWon(value));
+		}
+	}
+
+	@Test
+	void formatsMonthAndMinuteSeparately() {
+		// 월(MM)과 분(mm)을 구분한다.
+		assertEquals("2024-08-01 13:45:07", ValueFormatter.formatDateTime(Timestamp.valueOf("2024-08-01 13:45:07")));
+		assertEquals("", ValueFormatter.formatDateTime(null));
+	}
+
+	@Test
+	void viewHelpersUseSharedFormatters() {
+		HistoryAccount row = HistoryAccount.builder().amount(1_234_000L).balance(-5L)
+				.createdAt(Timestamp.valueOf("2024-12-31 23:59:59")).build();
+		assertEquals("1,234,000 원", row.formatKoreanWon(row.getAmount()));
+		assertEquals("-5 원", row.formatKoreanWon(row.getBalance()));
+		assertEquals("2024-12-31 23:59:59", row.timestampToString(row.getCreatedAt()));
+	}
+
+}